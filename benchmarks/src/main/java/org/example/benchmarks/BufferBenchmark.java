@@ -0,0 +1,105 @@
+package org.example.benchmarks;
+
+import org.example.engine.producerconsumer.Buffer;
+import org.example.engine.producerconsumer.BufferType;
+import org.example.engine.producerconsumer.ProducerConsumerListener;
+import org.example.engine.producerconsumer.SharedMemoryBuffer;
+import org.example.engine.producerconsumer.WaitStrategy;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// Buffer.produce/consume con un productor y un consumidor en hilos distintos. Como hay
+// uno solo de cada lado, size() alcanza para no bloquear nunca al terminar la iteración;
+// las invocaciones que no encuentran espacio/items vuelven enseguida, así que la métrica
+// a mirar es el contador auxiliar "items" (items efectivamente transferidos por segundo).
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BufferBenchmark {
+
+    @Param({"SEMAPHORE", "SPSC", "SHARED_MEMORY", "ARRAY_BLOCKING_QUEUE", "LINKED_TRANSFER_QUEUE", "MPMC", "WORK_STEALING"})
+    public BufferType bufferType;
+
+    @Param({"10", "1024"})
+    public int capacity;
+
+    @Param({"1", "16"})
+    public int batchSize;
+
+    private Buffer buffer;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        buffer = bufferType.create(capacity, WaitStrategy.YIELD, ProducerConsumerListener.NONE);
+    }
+
+    // SHARED_MEMORY abre un archivo temporal por iteración
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        if (buffer instanceof SharedMemoryBuffer shared) {
+            shared.close();
+        }
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Items {
+        public long items;
+        int[] batch;
+        int sequence = 1;
+
+        @Setup(Level.Iteration)
+        public void setUp(BufferBenchmark benchmark) {
+            items = 0;
+            batch = new int[benchmark.batchSize];
+        }
+    }
+
+    @Benchmark
+    @Group("handoff")
+    @GroupThreads(1)
+    public void produce(Items counters) throws InterruptedException {
+        int free = capacity - buffer.size();
+        if (free <= 0) return;
+        int count = Math.min(free, batchSize);
+        if (count == 1) {
+            buffer.produce(counters.sequence++);
+        } else {
+            for (int i = 0; i < count; i++) {
+                counters.batch[i] = counters.sequence++;
+            }
+            buffer.produceAll(counters.batch, 0, count);
+        }
+        counters.items += count;
+    }
+
+    @Benchmark
+    @Group("handoff")
+    @GroupThreads(1)
+    public int consume(Items counters) throws InterruptedException {
+        if (buffer.size() == 0) return 0;
+        int count = batchSize == 1 ? 1 : buffer.drainTo(counters.batch, batchSize);
+        int item = batchSize == 1 ? buffer.consume() : counters.batch[0];
+        counters.items += count;
+        return item;
+    }
+}
@@ -0,0 +1,53 @@
+package org.example.benchmarks;
+
+import org.example.engine.producerconsumer.Buffer;
+import org.example.engine.producerconsumer.BufferType;
+import org.example.engine.producerconsumer.ProducerConsumerListener;
+import org.example.engine.producerconsumer.WaitStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// Cada hilo produce y luego consume un item: con capacidad >= hilos nunca se bloquea en
+// forma permanente, así que sirve para cualquier cantidad de hilos (-t) en los buffers
+// multi-productor/multi-consumidor.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class BufferRoundTripBenchmark {
+
+    @Param({"SEMAPHORE", "ARRAY_BLOCKING_QUEUE", "LINKED_TRANSFER_QUEUE", "MPMC", "WORK_STEALING"})
+    public BufferType bufferType;
+
+    @Param({"64", "1024"})
+    public int capacity;
+
+    private Buffer buffer;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        buffer = bufferType.create(capacity, WaitStrategy.YIELD, ProducerConsumerListener.NONE);
+    }
+
+    @Benchmark
+    public int produceConsume() throws InterruptedException {
+        buffer.produce(1);
+        return buffer.consume();
+    }
+}
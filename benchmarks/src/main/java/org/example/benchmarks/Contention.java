@@ -0,0 +1,17 @@
+package org.example.benchmarks;
+
+import org.example.engine.Pacer;
+import org.openjdk.jmh.infra.Blackhole;
+
+// Reemplaza los Thread.sleep de la simulación por trabajo de CPU fijo dentro de la sección
+// crítica: a más tokens, más tiempo se retiene cada lock y más contención hay
+final class Contention {
+
+    private Contention() {
+    }
+
+    static Pacer pacer(int workTokens) {
+        if (workTokens == 0) return Pacer.NONE;
+        return millis -> Blackhole.consumeCPU(workTokens);
+    }
+}
@@ -0,0 +1,71 @@
+package org.example.benchmarks;
+
+import org.example.engine.readerswriters.Database;
+import org.example.engine.readerswriters.KeyDistribution;
+import org.example.engine.readerswriters.LockPolicy;
+import org.example.engine.readerswriters.ReadersWritersListener;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// Database.read/write con lectores y escritores concurrentes. La proporción de hilos se
+// cambia con -tg (por ejemplo -tg 8,1); workTokens controla cuánto se retiene el lock y
+// shards/distribution cuánto se reparten los accesos entre locks.
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DatabaseBenchmark {
+
+    @Param({"0", "100", "1000"})
+    public int workTokens;
+
+    @Param
+    public LockPolicy policy;
+
+    @Param({"1", "16"})
+    public int shards;
+
+    @Param
+    public KeyDistribution distribution;
+
+    private Database database;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        // Reiniciar por iteración para que el contenido no crezca sin límite
+        database = new Database(ReadersWritersListener.NONE, Contention.pacer(workTokens));
+        database.setPolicy(policy);
+        database.setSharding(shards, 1024, distribution);
+        database.reset();
+    }
+
+    @Benchmark
+    @Group("readWrite")
+    @GroupThreads(3)
+    public void read() throws InterruptedException {
+        database.read(0, database.nextKey());
+    }
+
+    @Benchmark
+    @Group("readWrite")
+    @GroupThreads(1)
+    public void write() throws InterruptedException {
+        database.write(0, database.nextKey(), "x");
+    }
+}
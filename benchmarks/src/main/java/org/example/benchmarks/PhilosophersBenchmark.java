@@ -0,0 +1,74 @@
+package org.example.benchmarks;
+
+import org.example.engine.Pacer;
+import org.example.engine.philosophers.DiningTable;
+import org.example.engine.philosophers.ForkStrategy;
+import org.example.engine.philosophers.PhilosophersListener;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.infra.ThreadParams;
+
+import java.util.concurrent.TimeUnit;
+
+// Toma y devolución de palillos (el camino crítico de Philosopher.eat). Cada hilo es un
+// filósofo; con menos filósofos que hilos, varios hilos comparten asiento y compiten más.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class PhilosophersBenchmark {
+
+    @Param({"5", "64"})
+    public int philosophers;
+
+    @Param({"0", "100"})
+    public int workTokens;
+
+    // Chandy–Misra supone un hilo por filósofo: los tamaños de mesa superan a @Threads
+    @Param
+    public ForkStrategy strategy;
+
+    private DiningTable table;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        table = new DiningTable(philosophers, PhilosophersListener.NONE, Pacer.NONE);
+        table.setStrategy(strategy);
+        table.reset();
+    }
+
+    @State(Scope.Thread)
+    public static class Seat {
+        int id;
+
+        @Setup
+        public void setUp(PhilosophersBenchmark benchmark, ThreadParams threads) {
+            id = threads.getThreadIndex() % benchmark.philosophers;
+        }
+    }
+
+    @Benchmark
+    public void eat(Seat seat) throws InterruptedException {
+        table.pickUp(seat.id);
+        try {
+            Blackhole.consumeCPU(workTokens);
+        } finally {
+            table.putDown(seat.id);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package org.example;
+
+import org.example.engine.producerconsumer.BufferSnapshot;
+
+import javax.swing.*;
+import javax.swing.border.Border;
+import java.awt.*;
+import java.util.function.Supplier;
+
+// Vista del buffer circular: muestrea el estado publicado por el buffer a frecuencia de
+// cuadro y solo toca los labels cuyo contenido cambió, reutilizando bordes y colores
+public class BufferView extends JPanel {
+    private static final Color EMPTY_COLOR = Color.LIGHT_GRAY;
+    private static final Color OCCUPIED_COLOR = new Color(76, 175, 80); // Verde para ocupado
+    private static final Border NORMAL_BORDER = BorderFactory.createLineBorder(Color.BLACK);
+    private static final Border IN_BORDER = BorderFactory.createLineBorder(Color.BLUE, 3); // Azul para próxima inserción
+    private static final Border OUT_BORDER = BorderFactory.createLineBorder(Color.RED, 3); // Rojo para próxima extracción
+    private static final Font LABEL_FONT = new Font("Arial", Font.BOLD, 12);
+
+    private final int capacity;
+    private final Supplier<BufferSnapshot> source;
+    private final JLabel[] bufferLabels;
+    private final JLabel infoLabel;
+    private final FrameRenderer renderer;
+
+    // Lo último que se mostró en cada celda, para no repetir setters
+    private final int[] shownItems;
+    private final Border[] shownBorders;
+    private int shownCount = -1, shownIn = -1, shownOut = -1;
+
+    public BufferView(String title, int capacity, Supplier<BufferSnapshot> source) {
+        this.capacity = capacity;
+        this.source = source;
+        this.bufferLabels = new JLabel[capacity];
+        this.shownItems = new int[capacity];
+        this.shownBorders = new Border[capacity];
+
+        setLayout(new BorderLayout());
+        JPanel cellsPanel = new JPanel(new GridLayout(1, capacity, 5, 5));
+        cellsPanel.setBorder(BorderFactory.createTitledBorder(title));
+        for (int i = 0; i < capacity; i++) {
+            bufferLabels[i] = new JLabel("", SwingConstants.CENTER);
+            bufferLabels[i].setOpaque(true);
+            bufferLabels[i].setBackground(EMPTY_COLOR);
+            bufferLabels[i].setBorder(NORMAL_BORDER);
+            bufferLabels[i].setPreferredSize(new Dimension(50, 50));
+            bufferLabels[i].setFont(LABEL_FONT);
+            shownBorders[i] = NORMAL_BORDER;
+
+            JPanel cellPanel = new JPanel(new BorderLayout());
+            cellPanel.add(new JLabel(String.valueOf(i), SwingConstants.CENTER), BorderLayout.NORTH);
+            cellPanel.add(bufferLabels[i], BorderLayout.CENTER);
+            cellsPanel.add(cellPanel);
+        }
+        infoLabel = new JLabel("Buffer: 0/" + capacity + " items");
+
+        add(cellsPanel, BorderLayout.CENTER);
+        add(infoLabel, BorderLayout.SOUTH);
+
+        renderer = new FrameRenderer(this::render);
+    }
+
+    // Seguro desde cualquier hilo y sin costo si ya hay un cuadro pendiente
+    public void markDirty() {
+        renderer.markDirty();
+    }
+
+    private void render() {
+        BufferSnapshot snapshot = source.get();
+        int[] items = snapshot.items();
+        int count = snapshot.count();
+        int in = snapshot.in();
+        int out = snapshot.out();
+
+        for (int i = 0; i < capacity; i++) {
+            // Posición ocupada si está entre out y out + count en el buffer circular
+            int offset = (i - out + capacity) % capacity;
+            int item = offset < count ? items[i] : 0;
+            if (item != shownItems[i]) {
+                bufferLabels[i].setText(item != 0 ? String.valueOf(item) : "");
+                if ((item != 0) != (shownItems[i] != 0)) {
+                    bufferLabels[i].setBackground(item != 0 ? OCCUPIED_COLOR : EMPTY_COLOR);
+                }
+                shownItems[i] = item;
+            }
+
+            // Destacar posición de inserción (in) y extracción (out)
+            Border border = NORMAL_BORDER;
+            if (count < capacity && i == in) border = IN_BORDER;
+            if (count > 0 && i == out) border = OUT_BORDER;
+            if (border != shownBorders[i]) {
+                bufferLabels[i].setBorder(border);
+                shownBorders[i] = border;
+            }
+        }
+
+        // Actualizar información del buffer
+        if (count != shownCount || in != shownIn || out != shownOut) {
+            infoLabel.setText(String.format("Buffer: %d/%d items (IN=%d, OUT=%d)", count, capacity, in, out));
+            shownCount = count;
+            shownIn = in;
+            shownOut = out;
+        }
+    }
+}
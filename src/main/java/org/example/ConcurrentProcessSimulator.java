@@ -2,12 +2,21 @@ package org.example;
 
 import javax.swing.*;
 import java.awt.*;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.example.engine.BatchRunner;
+import org.example.engine.metrics.MetricsRegistry;
 
 public class ConcurrentProcessSimulator extends JFrame {
     private JTabbedPane tabbedPane;
     private ProducerConsumerPanel producerConsumerPanel;
     private ReadersWritersPanel readersWritersPanel;
     private PhilosophersPanel philosophersPanel;
+    private PipelinePanel pipelinePanel;
+    private MetricsPanel metricsPanel;
 
     public ConcurrentProcessSimulator() {
         setTitle("Simulador de Procesos Concurrentes");
@@ -17,6 +26,24 @@ public class ConcurrentProcessSimulator extends JFrame {
         
         initializeComponents();
         setupUI();
+
+        // Antes de salir, que los logs terminen de volcarse a disco
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosing(WindowEvent e) {
+                closeLogs(getContentPane());
+            }
+        });
+    }
+
+    private static void closeLogs(Container container) {
+        for (Component component : container.getComponents()) {
+            if (component instanceof LogView logView) {
+                logView.close();
+            } else if (component instanceof Container child) {
+                closeLogs(child);
+            }
+        }
     }
 
     private void initializeComponents() {
@@ -24,6 +51,14 @@ public class ConcurrentProcessSimulator extends JFrame {
         producerConsumerPanel = new ProducerConsumerPanel();
         readersWritersPanel = new ReadersWritersPanel();
         philosophersPanel = new PhilosophersPanel();
+        pipelinePanel = new PipelinePanel();
+
+        Map<String, MetricsRegistry> scenarios = new LinkedHashMap<>();
+        scenarios.put("Productor-Consumidor", producerConsumerPanel.metrics());
+        scenarios.put("Lectores-Escritores", readersWritersPanel.metrics());
+        scenarios.put("Filósofos Comensales", philosophersPanel.metrics());
+        scenarios.put("Pipeline", pipelinePanel.metrics());
+        metricsPanel = new MetricsPanel(scenarios);
     }
 
     private void setupUI() {
@@ -42,6 +77,8 @@ public class ConcurrentProcessSimulator extends JFrame {
         tabbedPane.addTab("Productor-Consumidor", producerConsumerPanel);
         tabbedPane.addTab("Lectores-Escritores", readersWritersPanel);
         tabbedPane.addTab("Filósofos Comensales", philosophersPanel);
+        tabbedPane.addTab("Pipeline", pipelinePanel);
+        tabbedPane.addTab("Métricas", metricsPanel);
         
         tabbedPane.setFont(new Font("Arial", Font.BOLD, 14));
         
@@ -49,7 +86,12 @@ public class ConcurrentProcessSimulator extends JFrame {
         add(tabbedPane, BorderLayout.CENTER);
     }
 
-    public static void main(String[] args) {
+    // --batch <escenario> [parámetro=valores]... corre un barrido sin interfaz (ver BatchRunner)
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0 && args[0].equals("--batch")) {
+            BatchRunner.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
         SwingUtilities.invokeLater(() -> {
             try {
                 UIManager.setLookAndFeel(UIManager.getSystemLookAndFeelClassName());
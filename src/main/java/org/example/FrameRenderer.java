@@ -0,0 +1,33 @@
+package org.example;
+
+import javax.swing.*;
+
+// Redibuja a lo sumo ~60 veces por segundo y solo si alguien marcó cambios desde el
+// último cuadro: el costo de la interfaz deja de depender de la tasa de operaciones
+public class FrameRenderer {
+    public static final int FRAME_MILLIS = 16;
+
+    private final Timer timer;
+    private volatile boolean dirty = false;
+
+    public FrameRenderer(Runnable render) {
+        timer = new Timer(FRAME_MILLIS, e -> {
+            if (dirty) {
+                dirty = false;
+                render.run();
+            }
+        });
+        timer.start();
+    }
+
+    // Se puede llamar desde cualquier hilo; evita escribir si ya estaba marcado
+    public void markDirty() {
+        if (!dirty) {
+            dirty = true;
+        }
+    }
+
+    public void stop() {
+        timer.stop();
+    }
+}
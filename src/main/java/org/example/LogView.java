@@ -0,0 +1,81 @@
+package org.example;
+
+import org.example.engine.log.EventFormatter;
+import org.example.engine.log.EventLog;
+import org.example.engine.log.RollingFileSink;
+
+import javax.swing.*;
+import javax.swing.text.BadLocationException;
+import java.awt.*;
+import java.nio.file.Path;
+
+// Área de log que se refresca a frecuencia fija desde un EventLog: un solo append por
+// cuadro y solo se conservan las últimas maxLines líneas. close() detiene el refresco y
+// termina de volcar el archivo, si hay
+public class LogView extends JScrollPane {
+    private static final int FRAME_MILLIS = 50;
+    private static final int MAX_EVENTS_PER_FRAME = 2000;
+
+    private final JTextArea textArea;
+    private final EventLog.Cursor cursor;
+    private final EventFormatter formatter;
+    private final int maxLines;
+    private final StringBuilder pending = new StringBuilder();
+    private final Timer timer;
+    // null sin -Dsimulador.log.dir
+    private final RollingFileSink sink;
+
+    public LogView(EventLog log, EventFormatter formatter, String name, int rows, int columns, int maxLines) {
+        this.cursor = log.cursor();
+        this.formatter = formatter;
+        this.maxLines = maxLines;
+
+        textArea = new JTextArea(rows, columns);
+        textArea.setEditable(false);
+        textArea.setFont(new Font("Monospaced", Font.PLAIN, 12));
+        setViewportView(textArea);
+        setBorder(BorderFactory.createTitledBorder("Log de Eventos"));
+
+        timer = new Timer(FRAME_MILLIS, e -> flush());
+        timer.start();
+
+        // Volcado opcional a disco: -Dsimulador.log.dir=<directorio>
+        String directory = System.getProperty("simulador.log.dir");
+        sink = directory == null ? null
+                : new RollingFileSink(log, formatter, Path.of(directory, name + ".log"), 10_000_000, 5);
+    }
+
+    public void close() {
+        timer.stop();
+        if (sink != null) {
+            sink.close();
+        }
+    }
+
+    public void clear() {
+        cursor.skipToEnd();
+        textArea.setText("");
+    }
+
+    private void flush() {
+        pending.setLength(0);
+        cursor.drain(this::appendEvent, MAX_EVENTS_PER_FRAME);
+        if (pending.length() == 0) return;
+
+        textArea.append(pending.toString());
+        int excess = textArea.getLineCount() - maxLines - 1;
+        if (excess > 0) {
+            try {
+                textArea.getDocument().remove(0, textArea.getLineStartOffset(excess));
+            } catch (BadLocationException e) {
+                textArea.setText("");
+            }
+        }
+        textArea.setCaretPosition(textArea.getDocument().getLength());
+    }
+
+    private void appendEvent(long time, int code, int a, int b, int c, Object ref) {
+        pending.append('[').append(time % 10000).append("] ")
+                .append(formatter.format(code, a, b, c, ref)).append('\n');
+    }
+}
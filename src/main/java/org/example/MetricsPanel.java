@@ -0,0 +1,197 @@
+package org.example;
+
+import org.example.engine.metrics.ChromeTrace;
+import org.example.engine.metrics.Histogram;
+import org.example.engine.metrics.MetricsRegistry;
+import org.example.engine.metrics.Probe;
+import org.example.engine.metrics.Timeline;
+
+import javax.swing.*;
+import javax.swing.table.AbstractTableModel;
+import java.awt.*;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+// Pestaña de métricas: espera y retención de cada primitiva de las tres simulaciones,
+// leídas de las sondas dos veces por segundo mientras la pestaña está visible. Al elegir
+// una fila se listan los actores que más esperaron en esa primitiva
+public class MetricsPanel extends JPanel {
+    private static final int REFRESH_MILLIS = 500;
+    private static final int TOP_ACTORS = 10;
+    private static final Integer[] SAMPLE_RATES = {1, 16, 64, 256};
+    private static final int MAX_TIMELINE_SPANS = 2_000_000;
+    private static final DateTimeFormatter FILE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+    private static final String[] COLUMNS = {"Escenario", "Primitiva", "Muestras",
+            "Espera p50", "Espera p99", "Espera máx", "Retención p50", "Retención p99", "Retención máx"};
+
+    private final Map<String, MetricsRegistry> scenarios;
+    private final ProbeTableModel model = new ProbeTableModel();
+    private final JTable table = new JTable(model);
+    private final JTextArea actorsArea = new JTextArea(TOP_ACTORS + 1, 60);
+    private final JCheckBox enabledCheck = new JCheckBox("Medir", MetricsRegistry.isEnabled());
+    private final JComboBox<Integer> sampleCombo = new JComboBox<>(SAMPLE_RATES);
+    private final JToggleButton timelineToggle = new JToggleButton("Grabar línea de tiempo");
+
+    public MetricsPanel(Map<String, MetricsRegistry> scenarios) {
+        this.scenarios = scenarios;
+        setLayout(new BorderLayout());
+
+        // Con las pausas en tiempo real hay pocas operaciones por segundo: se mide todo
+        MetricsRegistry.setSampleEvery(1);
+        sampleCombo.setSelectedItem(1);
+        sampleCombo.setBorder(BorderFactory.createTitledBorder("Muestrear 1 de cada n ms"));
+        sampleCombo.addActionListener(e -> MetricsRegistry.setSampleEvery((Integer) sampleCombo.getSelectedItem()));
+        enabledCheck.addActionListener(e -> MetricsRegistry.setEnabled(enabledCheck.isSelected()));
+        timelineToggle.setToolTipText("Traza de Chrome (chrome://tracing, ui.perfetto.dev) con cada espera y retención");
+        timelineToggle.addActionListener(e -> toggleTimeline());
+
+        JPanel controlPanel = new JPanel(new FlowLayout());
+        controlPanel.add(enabledCheck);
+        controlPanel.add(sampleCombo);
+        controlPanel.add(timelineToggle);
+
+        table.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        table.getSelectionModel().addListSelectionListener(e -> {
+            if (!e.getValueIsAdjusting()) renderActors();
+        });
+        actorsArea.setEditable(false);
+        actorsArea.setFont(new Font("Monospaced", Font.PLAIN, 12));
+        JScrollPane actorsScrollPane = new JScrollPane(actorsArea);
+        actorsScrollPane.setBorder(BorderFactory.createTitledBorder("Actores con más espera"));
+
+        add(controlPanel, BorderLayout.NORTH);
+        add(new JScrollPane(table), BorderLayout.CENTER);
+        add(actorsScrollPane, BorderLayout.SOUTH);
+
+        new Timer(REFRESH_MILLIS, e -> refresh()).start();
+    }
+
+    // Al soltar el botón la traza se escribe desde otro hilo: puede pesar decenas de MB
+    private void toggleTimeline() {
+        if (timelineToggle.isSelected()) {
+            Timeline.startChromeTrace(MAX_TIMELINE_SPANS);
+            return;
+        }
+        ChromeTrace trace = Timeline.stopChromeTrace();
+        if (trace == null) return;
+        Path file = Path.of(System.getProperty("simulador.trace.dir", "trazas"),
+                "linea-de-tiempo-" + LocalDateTime.now().format(FILE_TIME) + ".json");
+        timelineToggle.setEnabled(false);
+        Thread.ofPlatform().daemon().name("timeline-writer").start(() -> {
+            String message;
+            try {
+                trace.writeTo(file);
+                message = String.format("%,d tramos (%,d descartados) en %s", trace.spanCount(),
+                        trace.droppedCount(), file.toAbsolutePath());
+            } catch (IOException e) {
+                message = "No se pudo escribir la línea de tiempo: " + e.getMessage();
+            }
+            String shown = message;
+            SwingUtilities.invokeLater(() -> {
+                timelineToggle.setEnabled(true);
+                JOptionPane.showMessageDialog(this, shown, "Línea de tiempo", JOptionPane.INFORMATION_MESSAGE);
+            });
+        });
+    }
+
+    private void refresh() {
+        if (!isShowing()) return;
+        int selected = table.getSelectedRow();
+        model.reload();
+        if (selected >= 0 && selected < model.getRowCount()) {
+            table.setRowSelectionInterval(selected, selected);
+        }
+        renderActors();
+    }
+
+    private void renderActors() {
+        int row = table.getSelectedRow();
+        if (row < 0 || row >= model.rows.size()) {
+            actorsArea.setText("");
+            return;
+        }
+        Probe probe = model.rows.get(row).probe();
+        int actors = probe.actors();
+        if (actors == 0) {
+            actorsArea.setText("Esta primitiva no distingue actores");
+            return;
+        }
+        // Los TOP_ACTORS de mayor espera total
+        Integer[] order = new Integer[actors];
+        for (int i = 0; i < actors; i++) order[i] = i;
+        Arrays.sort(order, (a, b) -> Long.compare(probe.waitNanos(b), probe.waitNanos(a)));
+
+        StringBuilder text = new StringBuilder(String.format("%-8s %10s %14s %14s %14s%n",
+                "Actor", "Muestras", "Espera media", "Espera máx", "Retención"));
+        for (int i = 0; i < Math.min(TOP_ACTORS, actors); i++) {
+            int actor = order[i];
+            long samples = probe.acquisitions(actor);
+            text.append(String.format("%-8d %,10d %14s %14s %14s%n", actor + 1, samples,
+                    formatNanos(samples == 0 ? 0 : probe.waitNanos(actor) / samples),
+                    formatNanos(probe.maxWait(actor)),
+                    probe.measuresHold() ? formatNanos(probe.holdNanos(actor)) : "-"));
+        }
+        actorsArea.setText(text.toString());
+    }
+
+    static String formatNanos(long nanos) {
+        if (nanos < 1_000) return nanos + " ns";
+        if (nanos < 1_000_000) return String.format("%.1f µs", nanos / 1e3);
+        if (nanos < 1_000_000_000) return String.format("%.1f ms", nanos / 1e6);
+        return String.format("%.2f s", nanos / 1e9);
+    }
+
+    private record Row(String scenario, Probe probe) {
+    }
+
+    private class ProbeTableModel extends AbstractTableModel {
+        private final List<Row> rows = new ArrayList<>();
+        // Valores calculados al recargar: los histogramas se recorren una vez por refresco
+        private final List<Object[]> values = new ArrayList<>();
+
+        void reload() {
+            rows.clear();
+            values.clear();
+            for (Map.Entry<String, MetricsRegistry> scenario : scenarios.entrySet()) {
+                for (Probe probe : scenario.getValue().probes()) {
+                    rows.add(new Row(scenario.getKey(), probe));
+                    Histogram waits = probe.waits();
+                    Histogram holds = probe.holds();
+                    boolean hold = probe.measuresHold();
+                    values.add(new Object[]{scenario.getKey(), probe.name(), String.format("%,d", Math.max(waits.count(), holds.count())),
+                            formatNanos(waits.percentile(50)), formatNanos(waits.percentile(99)), formatNanos(waits.max()),
+                            hold ? formatNanos(holds.percentile(50)) : "-",
+                            hold ? formatNanos(holds.percentile(99)) : "-",
+                            hold ? formatNanos(holds.max()) : "-"});
+                }
+            }
+            fireTableDataChanged();
+        }
+
+        @Override
+        public int getRowCount() {
+            return values.size();
+        }
+
+        @Override
+        public int getColumnCount() {
+            return COLUMNS.length;
+        }
+
+        @Override
+        public String getColumnName(int column) {
+            return COLUMNS[column];
+        }
+
+        @Override
+        public Object getValueAt(int row, int column) {
+            return values.get(row)[column];
+        }
+    }
+}
@@ -0,0 +1,249 @@
+package org.example;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.List;
+import org.example.engine.Pacer;
+import org.example.engine.log.EventLog;
+import org.example.engine.metrics.MetricsRegistry;
+import org.example.engine.producerconsumer.Buffer;
+import org.example.engine.producerconsumer.BufferSnapshot;
+import org.example.engine.producerconsumer.BufferType;
+import org.example.engine.producerconsumer.PipelineListener;
+import org.example.engine.producerconsumer.PipelineSimulation;
+import org.example.engine.producerconsumer.PipelineStage;
+import org.example.engine.producerconsumer.ServiceTime;
+import org.example.engine.producerconsumer.WaitStrategy;
+
+public class PipelinePanel extends JPanel implements PipelineListener {
+    private static final int BUFFER_SIZE = 10;
+    private static final int MAX_LOG_LINES = 500;
+    private static final String[] STAGE_NAMES = {"Fuente", "Parseo", "Transformación", "Sumidero"};
+    private static final int[] DEFAULT_WORKERS = {1, 1, 2, 1};
+    private static final int[] DEFAULT_MEAN_MILLIS = {300, 1200, 900, 300};
+    private static final Color BOTTLENECK_COLOR = new Color(198, 40, 40);
+
+    // Códigos de evento del log
+    private static final int LOG_MESSAGE = 0;
+    private static final int LOG_BOTTLENECK = 1;
+    private static final int LOG_MOVED = 2;
+
+    private JButton startButton, stopButton;
+    private JComboBox<BufferType> bufferTypeCombo;
+    private JComboBox<ServiceTime> serviceTimeCombo;
+    private JCheckBox rebalanceCheck;
+    private JSlider[] workerSliders, meanSliders;
+    private BufferView[] bufferViews;
+    private JLabel[] stageLabels;
+    private FrameRenderer stageRenderer;
+    private final EventLog eventLog = new EventLog(8192);
+    private LogView logView;
+
+    private final PipelineSimulation simulation;
+
+    public PipelinePanel() {
+        simulation = new PipelineSimulation(BUFFER_SIZE, this, Pacer.REAL_TIME);
+        initializeComponents();
+        setupUI();
+    }
+
+    private void initializeComponents() {
+        startButton = new JButton("Iniciar Simulación");
+        stopButton = new JButton("Detener Simulación");
+        stopButton.setEnabled(false);
+
+        // Solo los buffers que admiten varios trabajadores de cada lado
+        List<BufferType> types = new ArrayList<>();
+        for (BufferType type : BufferType.values()) {
+            if (!type.singleProducerSingleConsumer() && !type.demandDriven()) {
+                types.add(type);
+            }
+        }
+        bufferTypeCombo = new JComboBox<>(types.toArray(new BufferType[0]));
+        bufferTypeCombo.setBorder(BorderFactory.createTitledBorder("Tipo de Buffer"));
+        serviceTimeCombo = new JComboBox<>(ServiceTime.values());
+        serviceTimeCombo.setBorder(BorderFactory.createTitledBorder("Tiempo de servicio"));
+        rebalanceCheck = new JCheckBox("Rebalancear trabajadores");
+
+        int stages = STAGE_NAMES.length;
+        workerSliders = new JSlider[stages];
+        meanSliders = new JSlider[stages];
+        stageLabels = new JLabel[stages];
+        bufferViews = new BufferView[stages - 1];
+        for (int i = 0; i < stages; i++) {
+            workerSliders[i] = new JSlider(1, 4, DEFAULT_WORKERS[i]);
+            workerSliders[i].setBorder(BorderFactory.createTitledBorder("Trabajadores"));
+            meanSliders[i] = new JSlider(100, 2000, DEFAULT_MEAN_MILLIS[i]);
+            meanSliders[i].setBorder(BorderFactory.createTitledBorder("Servicio medio (ms)"));
+            stageLabels[i] = new JLabel(STAGE_NAMES[i] + ": Detenida");
+            if (i < stages - 1) {
+                int stage = i;
+                bufferViews[i] = new BufferView("Cola " + STAGE_NAMES[i] + " → " + STAGE_NAMES[i + 1],
+                        BUFFER_SIZE, () -> bufferSnapshot(stage));
+            }
+        }
+        stageRenderer = new FrameRenderer(this::renderStages);
+
+        logView = new LogView(eventLog, this::formatEvent, "pipeline", 8, 30, MAX_LOG_LINES);
+    }
+
+    private void setupUI() {
+        setLayout(new BorderLayout());
+
+        // Control Panel
+        JPanel controlPanel = new JPanel(new FlowLayout());
+        controlPanel.add(startButton);
+        controlPanel.add(stopButton);
+        controlPanel.add(bufferTypeCombo);
+        controlPanel.add(serviceTimeCombo);
+        controlPanel.add(rebalanceCheck);
+        for (int i = 0; i < STAGE_NAMES.length; i++) {
+            JPanel stagePanel = new JPanel(new GridLayout(2, 1));
+            stagePanel.setBorder(BorderFactory.createTitledBorder(STAGE_NAMES[i]));
+            stagePanel.add(workerSliders[i]);
+            stagePanel.add(meanSliders[i]);
+            controlPanel.add(stagePanel);
+        }
+
+        // Etapas intercaladas con la cola que las une
+        JPanel mainPanel = new JPanel();
+        mainPanel.setLayout(new BoxLayout(mainPanel, BoxLayout.Y_AXIS));
+        for (int i = 0; i < STAGE_NAMES.length; i++) {
+            stageLabels[i].setAlignmentX(Component.LEFT_ALIGNMENT);
+            mainPanel.add(stageLabels[i]);
+            if (i < bufferViews.length) {
+                bufferViews[i].setAlignmentX(Component.LEFT_ALIGNMENT);
+                mainPanel.add(bufferViews[i]);
+            }
+        }
+
+        add(controlPanel, BorderLayout.NORTH);
+        add(new JScrollPane(mainPanel), BorderLayout.CENTER);
+        add(logView, BorderLayout.SOUTH);
+
+        // Event Listeners
+        startButton.addActionListener(e -> startSimulation());
+        stopButton.addActionListener(e -> stopSimulation());
+        rebalanceCheck.addActionListener(e -> {
+            simulation.setRebalance(rebalanceCheck.isSelected());
+            if (simulation.isRunning()) {
+                log(rebalanceCheck.isSelected() ? "Rebalanceo activado" : "Rebalanceo desactivado");
+            }
+        });
+    }
+
+    private void startSimulation() {
+        if (!simulation.isRunning()) {
+            ServiceTime serviceTime = (ServiceTime) serviceTimeCombo.getSelectedItem();
+            List<PipelineStage> stages = new ArrayList<>();
+            for (int i = 0; i < STAGE_NAMES.length; i++) {
+                stages.add(new PipelineStage(STAGE_NAMES[i], workerSliders[i].getValue(), serviceTime,
+                        meanSliders[i]::getValue));
+            }
+
+            startButton.setEnabled(false);
+            stopButton.setEnabled(true);
+            bufferTypeCombo.setEnabled(false);
+            serviceTimeCombo.setEnabled(false);
+            for (JSlider slider : workerSliders) {
+                slider.setEnabled(false);
+            }
+
+            logView.clear();
+            simulation.setStages(stages);
+            simulation.setBufferType((BufferType) bufferTypeCombo.getSelectedItem(), WaitStrategy.YIELD);
+            simulation.setRebalance(rebalanceCheck.isSelected());
+            simulation.start();
+            for (BufferView view : bufferViews) {
+                view.markDirty();
+            }
+            stageRenderer.markDirty();
+
+            log("Pipeline iniciado con " + STAGE_NAMES.length + " etapas, buffer " + simulation.bufferType()
+                    + " y tiempo de servicio " + serviceTime
+                    + (simulation.rebalance() ? " (con rebalanceo)" : ""));
+        }
+    }
+
+    private void stopSimulation() {
+        if (simulation.isRunning()) {
+            simulation.stop();
+            startButton.setEnabled(true);
+            stopButton.setEnabled(false);
+            bufferTypeCombo.setEnabled(true);
+            serviceTimeCombo.setEnabled(true);
+            for (JSlider slider : workerSliders) {
+                slider.setEnabled(true);
+            }
+            stageRenderer.markDirty();
+
+            log(String.format("Simulación detenida: %d items terminados, %.2f items/s, %d trabajadores movidos",
+                    simulation.completedCount(), simulation.throughput(), simulation.moveCount()));
+        }
+    }
+
+    private BufferSnapshot bufferSnapshot(int stage) {
+        Buffer buffer = simulation.buffer(stage);
+        return buffer != null ? buffer.snapshot() : new BufferSnapshot(new int[BUFFER_SIZE], 0, 0, 0);
+    }
+
+    private void renderStages() {
+        List<PipelineStage> stages = simulation.stages();
+        boolean running = simulation.isRunning();
+        int bottleneck = simulation.bottleneck();
+        for (int i = 0; i < stageLabels.length; i++) {
+            if (!running || i >= stages.size()) {
+                stageLabels[i].setText(STAGE_NAMES[i] + ": Detenida");
+                stageLabels[i].setForeground(Color.BLACK);
+                continue;
+            }
+            PipelineStage stage = stages.get(i);
+            stageLabels[i].setText(String.format("%s: %d trabajadores, utilización %.0f%%, %.2f items/s%s",
+                    stage.name(), stage.activeWorkers(), stage.utilization() * 100, stage.rate(),
+                    i == bottleneck ? " (cuello de botella)" : ""));
+            stageLabels[i].setForeground(i == bottleneck ? BOTTLENECK_COLOR : Color.BLACK);
+        }
+    }
+
+    MetricsRegistry metrics() {
+        return simulation.metrics();
+    }
+
+    private void log(String message) {
+        eventLog.append(LOG_MESSAGE, 0, 0, 0, message);
+    }
+
+    private String formatEvent(int code, int a, int b, int c, Object ref) {
+        return switch (code) {
+            case LOG_BOTTLENECK -> "Cuello de botella: " + STAGE_NAMES[a] + " (utilización " + b + "%)";
+            case LOG_MOVED -> "Rebalanceo: un trabajador pasa de " + STAGE_NAMES[a] + " a " + STAGE_NAMES[b];
+            default -> String.valueOf(ref);
+        };
+    }
+
+    // Eventos de la simulación
+
+    @Override
+    public void bufferChanged(int stage) {
+        bufferViews[stage].markDirty();
+    }
+
+    @Override
+    public void sampled() {
+        stageRenderer.markDirty();
+    }
+
+    @Override
+    public void bottleneckChanged(int stage) {
+        if (stage >= 0) {
+            int utilization = (int) Math.round(simulation.stages().get(stage).utilization() * 100);
+            eventLog.append(LOG_BOTTLENECK, stage, utilization);
+        }
+    }
+
+    @Override
+    public void workerMoved(int from, int to) {
+        eventLog.append(LOG_MOVED, from, to);
+    }
+}
@@ -2,27 +2,80 @@ package org.example;
 
 import javax.swing.*;
 import java.awt.*;
-import java.util.concurrent.Semaphore;
-import java.util.concurrent.locks.ReentrantLock;
-
-public class ProducerConsumerPanel extends JPanel {
+import org.example.engine.Pacer;
+import org.example.engine.log.EventLog;
+import org.example.engine.metrics.Histogram;
+import org.example.engine.metrics.MetricsRegistry;
+import org.example.engine.producerconsumer.BufferSnapshot;
+import org.example.engine.producerconsumer.BufferType;
+import org.example.engine.producerconsumer.OverloadPolicy;
+import org.example.engine.producerconsumer.ProducerConsumerListener;
+import org.example.engine.producerconsumer.ProducerConsumerSimulation;
+import org.example.engine.producerconsumer.ProducerConsumerTracer;
+import org.example.engine.producerconsumer.RateControl;
+import org.example.engine.producerconsumer.SharedMemoryBuffer;
+import org.example.engine.producerconsumer.WaitStrategy;
+import org.example.engine.trace.TraceReader;
+import org.example.engine.trace.TraceReplayer;
+
+import java.io.File;
+import java.io.IOException;
+
+public class ProducerConsumerPanel extends JPanel implements ProducerConsumerListener, TraceControls.Target {
     private static final int BUFFER_SIZE = 10;
+    private static final int MAX_LOG_LINES = 500;
+
+    // Códigos de evento del log
+    private static final int LOG_MESSAGE = 0;
+    private static final int LOG_PRODUCED = 1;
+    private static final int LOG_PROCESSED = 2;
+    private static final int LOG_INSERTED = 3;
+    private static final int LOG_REMOVED = 4;
+    private static final int LOG_DROPPED = 5;
+
+    // Estados publicados para la vista
+    private static final int STATUS_STOPPED = 0;
+    private static final int STATUS_WORKING = 1;
+    private static final int STATUS_DONE = 2;
+
     private JButton startButton, stopButton;
-    private JLabel[] bufferLabels;
-    private JLabel producerStatusLabel, consumerStatusLabel, bufferInfoLabel;
-    private JTextArea logArea;
+    private BufferView bufferView;
+    private JLabel producerStatusLabel, consumerStatusLabel;
+    private FrameRenderer statusRenderer;
+    private volatile long producerStatus, consumerStatus;
+    private long shownProducerStatus = -1, shownConsumerStatus = -1;
+    private final EventLog eventLog = new EventLog(8192);
+    private LogView logView;
     private JSlider producerSpeedSlider, consumerSpeedSlider;
-
-    private Buffer buffer;
-    private Producer producer;
-    private Consumer consumer;
-    private Thread producerThread, consumerThread;
-    private boolean isRunning = false;
+    private JSlider producerCountSlider, consumerCountSlider;
+    private JSlider batchSizeSlider;
+    private JComboBox<BufferType> bufferTypeCombo;
+    private JComboBox<WaitStrategy> waitStrategyCombo;
+    private JComboBox<RateControl> rateControlCombo;
+    private JComboBox<OverloadPolicy> overloadCombo;
+    private TraceControls traceControls;
+    private JToggleButton observeButton;
+
+    private final ProducerConsumerTracer tracer = new ProducerConsumerTracer(this);
+    private ProducerConsumerSimulation simulation;
+    private volatile int producers = 1, consumers = 1;
+
+    // Estado del buffer rearmado desde una traza; queda a la vista hasta el próximo inicio
+    private volatile BufferSnapshot replayedBuffer;
+
+    // Región de memoria compartida observada (solo lectura, desde el hilo de Swing) y el
+    // último muestreo de sus contadores para calcular tasas
+    private SharedMemoryBuffer observed;
+    private Timer observeTimer;
+    private long observedProduced, observedConsumed, observedAt;
 
     public ProducerConsumerPanel() {
-        buffer = new Buffer();
+        simulation = new ProducerConsumerSimulation(BUFFER_SIZE, tracer, Pacer.REAL_TIME);
         initializeComponents();
         setupUI();
+        simulation.setProducerDelay(producerSpeedSlider::getValue);
+        simulation.setConsumerDelay(consumerSpeedSlider::getValue);
+        simulation.setMeasureLatency(true);
     }
 
     private void initializeComponents() {
@@ -30,29 +83,41 @@ public class ProducerConsumerPanel extends JPanel {
         stopButton = new JButton("Detener Simulación");
         stopButton.setEnabled(false);
 
-        bufferLabels = new JLabel[BUFFER_SIZE];
-        for (int i = 0; i < BUFFER_SIZE; i++) {
-            bufferLabels[i] = new JLabel("", SwingConstants.CENTER);
-            bufferLabels[i].setOpaque(true);
-            bufferLabels[i].setBackground(Color.LIGHT_GRAY);
-            bufferLabels[i].setBorder(BorderFactory.createLineBorder(Color.BLACK));
-            bufferLabels[i].setPreferredSize(new Dimension(50, 50));
-            bufferLabels[i].setFont(new Font("Arial", Font.BOLD, 12));
-        }
+        bufferView = new BufferView("Buffer Circular", BUFFER_SIZE, this::bufferSnapshot);
 
         producerStatusLabel = new JLabel("Productor: Detenido");
         consumerStatusLabel = new JLabel("Consumidor: Detenido");
-        bufferInfoLabel = new JLabel("Buffer: 0/10 items");
+        statusRenderer = new FrameRenderer(this::renderStatus);
 
-        logArea = new JTextArea(10, 30);
-        logArea.setEditable(false);
-        logArea.setFont(new Font("Monospaced", Font.PLAIN, 12));
+        logView = new LogView(eventLog, this::formatEvent, "productor-consumidor", 10, 30, MAX_LOG_LINES);
 
         producerSpeedSlider = new JSlider(100, 2000, 1000);
         consumerSpeedSlider = new JSlider(100, 2000, 1000);
 
         producerSpeedSlider.setBorder(BorderFactory.createTitledBorder("Velocidad Productor (ms)"));
         consumerSpeedSlider.setBorder(BorderFactory.createTitledBorder("Velocidad Consumidor (ms)"));
+
+        producerCountSlider = new JSlider(1, 5, 1);
+        consumerCountSlider = new JSlider(1, 5, 1);
+        producerCountSlider.setBorder(BorderFactory.createTitledBorder("Productores"));
+        consumerCountSlider.setBorder(BorderFactory.createTitledBorder("Consumidores"));
+
+        batchSizeSlider = new JSlider(1, BUFFER_SIZE, 1);
+        batchSizeSlider.setBorder(BorderFactory.createTitledBorder("Tanda máxima"));
+
+        bufferTypeCombo = new JComboBox<>(BufferType.values());
+        bufferTypeCombo.setBorder(BorderFactory.createTitledBorder("Tipo de Buffer"));
+        bufferTypeCombo.addActionListener(e -> updateRateControls());
+        waitStrategyCombo = new JComboBox<>(WaitStrategy.values());
+        waitStrategyCombo.setSelectedItem(WaitStrategy.YIELD);
+        waitStrategyCombo.setBorder(BorderFactory.createTitledBorder("Estrategia de espera"));
+        rateControlCombo = new JComboBox<>(RateControl.values());
+        rateControlCombo.setBorder(BorderFactory.createTitledBorder("Control de ritmo"));
+        overloadCombo = new JComboBox<>(OverloadPolicy.values());
+        overloadCombo.setBorder(BorderFactory.createTitledBorder("Sobrecarga"));
+
+        traceControls = new TraceControls("productor-consumidor", ProducerConsumerTracer.SCENARIO, this);
+        observeButton = new JToggleButton("Observar memoria compartida");
     }
 
     private void setupUI() {
@@ -64,243 +129,400 @@ public class ProducerConsumerPanel extends JPanel {
         controlPanel.add(stopButton);
         controlPanel.add(producerSpeedSlider);
         controlPanel.add(consumerSpeedSlider);
-
-        // Buffer Visualization
-        JPanel bufferPanel = new JPanel(new GridLayout(1, BUFFER_SIZE, 5, 5));
-        bufferPanel.setBorder(BorderFactory.createTitledBorder("Buffer Circular"));
-        for (int i = 0; i < BUFFER_SIZE; i++) {
-            JPanel cellPanel = new JPanel(new BorderLayout());
-            cellPanel.add(new JLabel(String.valueOf(i), SwingConstants.CENTER), BorderLayout.NORTH);
-            cellPanel.add(bufferLabels[i], BorderLayout.CENTER);
-            bufferPanel.add(cellPanel);
-        }
+        controlPanel.add(producerCountSlider);
+        controlPanel.add(consumerCountSlider);
+        controlPanel.add(batchSizeSlider);
+        controlPanel.add(bufferTypeCombo);
+        controlPanel.add(waitStrategyCombo);
+        controlPanel.add(rateControlCombo);
+        controlPanel.add(overloadCombo);
+        controlPanel.add(traceControls);
+        controlPanel.add(observeButton);
 
         // Status Panel
-        JPanel statusPanel = new JPanel(new GridLayout(3, 1));
+        JPanel statusPanel = new JPanel(new GridLayout(2, 1));
         statusPanel.add(producerStatusLabel);
         statusPanel.add(consumerStatusLabel);
-        statusPanel.add(bufferInfoLabel);
 
         // Main Panel
         JPanel mainPanel = new JPanel(new BorderLayout());
-        mainPanel.add(bufferPanel, BorderLayout.NORTH);
+        mainPanel.add(bufferView, BorderLayout.NORTH);
         mainPanel.add(statusPanel, BorderLayout.CENTER);
 
         // Log Panel
-        JScrollPane logScrollPane = new JScrollPane(logArea);
-        logScrollPane.setBorder(BorderFactory.createTitledBorder("Log de Eventos"));
-
         add(controlPanel, BorderLayout.NORTH);
         add(mainPanel, BorderLayout.CENTER);
-        add(logScrollPane, BorderLayout.SOUTH);
+        add(logView, BorderLayout.SOUTH);
 
         // Event Listeners
         startButton.addActionListener(e -> startSimulation());
         stopButton.addActionListener(e -> stopSimulation());
+        observeButton.addActionListener(e -> {
+            if (observeButton.isSelected()) {
+                startObserving();
+            } else {
+                stopObserving();
+            }
+        });
     }
 
     private void startSimulation() {
-        if (!isRunning) {
-            isRunning = true;
+        if (!simulation.isRunning() && !traceControls.isReplaying() && observed == null) {
+            BufferType type = (BufferType) bufferTypeCombo.getSelectedItem();
+            int producers = producerCountSlider.getValue();
+            int consumers = consumerCountSlider.getValue();
+            if (type.singleProducerSingleConsumer() && (producers != 1 || consumers != 1)) {
+                JOptionPane.showMessageDialog(this, type + " requiere exactamente un productor y un consumidor",
+                        "Configuración inválida", JOptionPane.WARNING_MESSAGE);
+                return;
+            }
+
             startButton.setEnabled(false);
             stopButton.setEnabled(true);
+            bufferTypeCombo.setEnabled(false);
+            waitStrategyCombo.setEnabled(false);
+            rateControlCombo.setEnabled(false);
+            overloadCombo.setEnabled(false);
+            producerCountSlider.setEnabled(false);
+            consumerCountSlider.setEnabled(false);
+            batchSizeSlider.setEnabled(false);
+            traceControls.setSimulationRunning(true);
+            observeButton.setEnabled(false);
+
+            logView.clear();
+            replayedBuffer = null;
+            this.producers = producers;
+            this.consumers = consumers;
+            simulation.setBufferType(type, (WaitStrategy) waitStrategyCombo.getSelectedItem());
+            simulation.setActors(producers, consumers);
+            simulation.setBatchSize(batchSizeSlider.getValue());
+            simulation.setRateControl((RateControl) rateControlCombo.getSelectedItem(),
+                    (OverloadPolicy) overloadCombo.getSelectedItem());
+            tracer.setWriter(traceControls.startRecording(ProducerConsumerTracer.params(producers, consumers, BUFFER_SIZE)));
+            simulation.start();
+            bufferView.markDirty();
+
+            log("Simulación iniciada con " + producers + " productores, " + consumers
+                    + " consumidores y buffer " + simulation.bufferType() + " (ritmo: " + simulation.rateControl()
+                    + ", sobrecarga: " + simulation.overloadPolicy() + ")");
+        }
+    }
 
-            buffer.reset();
-            updateBufferDisplay();
-            logArea.setText("");
-
-            producer = new Producer();
-            consumer = new Consumer();
-
-            producerThread = new Thread(producer);
-            consumerThread = new Thread(consumer);
-
-            producerThread.start();
-            consumerThread.start();
-
-            log("Simulación iniciada");
+    // El modo por demanda ya regula el ritmo con request(n): sin control de ritmo ni descarte
+    private void updateRateControls() {
+        boolean demandDriven = ((BufferType) bufferTypeCombo.getSelectedItem()).demandDriven();
+        if (demandDriven) {
+            rateControlCombo.setSelectedItem(RateControl.NONE);
+            overloadCombo.setSelectedItem(OverloadPolicy.BLOCK);
         }
+        rateControlCombo.setEnabled(!demandDriven);
+        overloadCombo.setEnabled(!demandDriven);
     }
 
     private void stopSimulation() {
-        if (isRunning) {
-            isRunning = false;
+        if (simulation.isRunning()) {
+            simulation.stop();
             startButton.setEnabled(true);
             stopButton.setEnabled(false);
+            bufferTypeCombo.setEnabled(true);
+            waitStrategyCombo.setEnabled(true);
+            updateRateControls();
+            producerCountSlider.setEnabled(true);
+            consumerCountSlider.setEnabled(true);
+            batchSizeSlider.setEnabled(true);
+            traceControls.setSimulationRunning(false);
+            observeButton.setEnabled(true);
+
+            publishProducerStatus(STATUS_STOPPED, 0, 0);
+            publishConsumerStatus(STATUS_STOPPED, 0, 0);
+
+            Histogram latency = simulation.handoffLatency();
+            log(String.format("Simulación detenida: %.2f items/s, latencia de entrega p50=%d ms p99=%d ms",
+                    simulation.throughput(), latency.percentile(50) / 1_000_000, latency.percentile(99) / 1_000_000));
+            if (simulation.rateControl() != RateControl.NONE || simulation.overloadPolicy() != OverloadPolicy.BLOCK) {
+                log(String.format("Control de ritmo: %d items descartados, ritmo final por productor %.2f items/s",
+                        simulation.droppedCount(), simulation.producerRate()));
+            }
 
-            if (producerThread != null) producerThread.interrupt();
-            if (consumerThread != null) consumerThread.interrupt();
-
-            SwingUtilities.invokeLater(() -> {
-                producerStatusLabel.setText("Productor: Detenido");
-                consumerStatusLabel.setText("Consumidor: Detenido");
-            });
+            tracer.setWriter(null);
+            String trace = traceControls.stopRecording();
+            if (trace != null) log(trace);
+        }
+    }
 
-            log("Simulación detenida");
+    @Override
+    public TraceReplayer.Sink replayStarted(TraceReader reader) {
+        if (reader.param(2) != BUFFER_SIZE) {
+            JOptionPane.showMessageDialog(this, "La traza usa un buffer de " + reader.param(2)
+                    + " posiciones y la vista muestra " + BUFFER_SIZE, "Traza", JOptionPane.WARNING_MESSAGE);
+            return null;
         }
+        startButton.setEnabled(false);
+        observeButton.setEnabled(false);
+        logView.clear();
+        producers = reader.param(0);
+        consumers = reader.param(1);
+        replayedBuffer = new BufferSnapshot(new int[BUFFER_SIZE], 0, 0, 0);
+        bufferView.markDirty();
+        log("Reproduciendo traza de " + producers + " productores y " + consumers
+                + " consumidores (" + reader.size() + " eventos)");
+        return ProducerConsumerTracer.replayInto(this);
     }
 
-    private void updateBufferDisplay() {
-        // Capturar el estado del buffer de forma thread-safe
-        buffer.mutex.lock();
-        int[] itemsCopy = new int[BUFFER_SIZE];
-        System.arraycopy(buffer.items, 0, itemsCopy, 0, BUFFER_SIZE);
-        int currentIn = buffer.in;
-        int currentOut = buffer.out;
-        int currentCount = buffer.count;
-        buffer.mutex.unlock();
-
-        SwingUtilities.invokeLater(() -> {
-            // Resetear todos los labels
-            for (int i = 0; i < BUFFER_SIZE; i++) {
-                bufferLabels[i].setText("");
-                bufferLabels[i].setBackground(Color.LIGHT_GRAY);
-                bufferLabels[i].setBorder(BorderFactory.createLineBorder(Color.BLACK));
-            }
+    @Override
+    public void replayFinished(TraceReader reader, long replayed) {
+        startButton.setEnabled(true);
+        observeButton.setEnabled(true);
+        publishProducerStatus(STATUS_STOPPED, 0, 0);
+        publishConsumerStatus(STATUS_STOPPED, 0, 0);
+        log("Reproducción terminada: " + replayed + " de " + reader.size() + " eventos");
+    }
 
-            // Mostrar elementos ocupados en el buffer circular
-            if (currentCount > 0) {
-                int current = currentOut;
-                for (int i = 0; i < currentCount; i++) {
-                    int pos = (current + i) % BUFFER_SIZE;
-                    if (itemsCopy[pos] != 0) {
-                        bufferLabels[pos].setText(String.valueOf(itemsCopy[pos]));
-                        bufferLabels[pos].setBackground(new Color(76, 175, 80)); // Verde para ocupado
-                    }
-                }
-            }
+    private BufferSnapshot bufferSnapshot() {
+        if (observed != null) {
+            return fitToView(observed.snapshot());
+        }
+        BufferSnapshot replayed = replayedBuffer;
+        return replayed != null ? replayed : simulation.buffer().snapshot();
+    }
 
-            // Destacar posición de inserción (in) y extracción (out)
-            if (currentCount < BUFFER_SIZE) {
-                bufferLabels[currentIn].setBorder(BorderFactory.createLineBorder(Color.BLUE, 3)); // Azul para próxima inserción
-            }
-            if (currentCount > 0) {
-                bufferLabels[currentOut].setBorder(BorderFactory.createLineBorder(Color.RED, 3)); // Rojo para próxima extracción
+    // Se conecta en solo lectura a un anillo en memoria compartida (SharedMemoryChannel, o el
+    // simulador-pc-*.shm temporal de otra instancia con el buffer "en memoria mapeada") y lo
+    // muestra sin participar
+    private void startObserving() {
+        JFileChooser chooser = new JFileChooser(SharedMemoryBuffer.defaultFile().toFile().getParentFile());
+        chooser.setSelectedFile(SharedMemoryBuffer.defaultFile().toFile());
+        if (chooser.showOpenDialog(this) != JFileChooser.APPROVE_OPTION) {
+            observeButton.setSelected(false);
+            return;
+        }
+        File file = chooser.getSelectedFile();
+        try {
+            observed = SharedMemoryBuffer.observe(file.toPath());
+        } catch (IOException e) {
+            observeButton.setSelected(false);
+            JOptionPane.showMessageDialog(this, "No se pudo abrir la región: " + e.getMessage(),
+                    "Memoria compartida", JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+        startButton.setEnabled(false);
+        traceControls.setSimulationRunning(true);
+        logView.clear();
+        observedProduced = observed.producedCount();
+        observedConsumed = observed.consumedCount();
+        observedAt = System.nanoTime();
+        log("Observando " + file + " (capacidad " + observed.capacity() + ")");
+
+        observeTimer = new Timer(FrameRenderer.FRAME_MILLIS, e -> {
+            bufferView.markDirty();
+            if (System.nanoTime() - observedAt >= 1_000_000_000L) {
+                sampleObserved();
             }
-
-            // Actualizar información del buffer
-            bufferInfoLabel.setText(String.format("Buffer: %d/%d items (IN=%d, OUT=%d)",
-                    currentCount, BUFFER_SIZE, currentIn, currentOut));
         });
+        observeTimer.start();
     }
 
-    private void log(String message) {
-        SwingUtilities.invokeLater(() -> {
-            logArea.append(String.format("[%d] %s\n", System.currentTimeMillis() % 10000, message));
-            logArea.setCaretPosition(logArea.getDocument().getLength());
-        });
+    private void stopObserving() {
+        if (observed == null) return;
+        observeTimer.stop();
+        observed.close();
+        observed = null;
+        startButton.setEnabled(true);
+        traceControls.setSimulationRunning(false);
+        observeButton.setSelected(false);
+        shownProducerStatus = shownConsumerStatus = -1;
+        publishProducerStatus(STATUS_STOPPED, 0, 0);
+        publishConsumerStatus(STATUS_STOPPED, 0, 0);
+        bufferView.markDirty();
+        log("Observación terminada");
     }
 
-    private class Buffer {
-        private int[] items = new int[BUFFER_SIZE];
-        private int in = 0, out = 0, count = 0;
-        private Semaphore empty = new Semaphore(BUFFER_SIZE);
-        private Semaphore full = new Semaphore(0);
-        private ReentrantLock mutex = new ReentrantLock();
-
-        public void produce(int item) throws InterruptedException {
-            empty.acquire(); // Esperar a que haya espacio
-            mutex.lock();
-            try {
-                items[in] = item; //<---- Donde insertar el item
-                log(String.format("Productor insertó item %d en posición %d", item, in));
-                in = (in + 1) % BUFFER_SIZE;
-                count++;
-            } finally {
-                mutex.unlock();
-            }
-            full.release(); // Señalar que hay un nuevo item
-            updateBufferDisplay(); // Actualizar después de liberar el lock
+    // Tasas del último segundo a partir de tail/head, que solo crecen mientras dura la región
+    private void sampleObserved() {
+        long now = System.nanoTime();
+        long produced = observed.producedCount();
+        long consumed = observed.consumedCount();
+        double seconds = (now - observedAt) / 1e9;
+        double producedRate = Math.max(0, produced - observedProduced) / seconds;
+        double consumedRate = Math.max(0, consumed - observedConsumed) / seconds;
+        String state = observed.isFinished() ? " (terminó)" : observed.isOwnerAlive() ? "" : " (proceso inexistente)";
+        producerStatusLabel.setText(String.format("Productor externo: %,d items, %,.0f items/s%s", produced, producedRate, state));
+        consumerStatusLabel.setText(String.format("Consumidor externo: %,d items, %,.0f items/s", consumed, consumedRate));
+        if (produced != observedProduced || consumed != observedConsumed) {
+            log(String.format("Memoria compartida: %,.0f items/s publicados, %,.0f items/s extraídos, ocupación %d/%d",
+                    producedRate, consumedRate, observed.size(), observed.capacity()));
         }
+        observedProduced = produced;
+        observedConsumed = consumed;
+        observedAt = now;
+    }
 
-        public int consume() throws InterruptedException {
-            full.acquire(); // Esperar a que haya items
-            mutex.lock();
-            int item;
-            try {
-                item = items[out];
-                items[out] = 0; // Limpiar la posición
-                log(String.format("Consumidor extrajo item %d de posición %d", item, out));
-                out = (out + 1) % BUFFER_SIZE;
-                count--;
-            } finally {
-                mutex.unlock();
+    // Una región de otra capacidad se muestra escalada a las BUFFER_SIZE celdas de la vista:
+    // cada celda cubre un tramo de posiciones y muestra el primer item que encuentre en él
+    private static BufferSnapshot fitToView(BufferSnapshot snapshot) {
+        int capacity = snapshot.capacity();
+        if (capacity == BUFFER_SIZE) return snapshot;
+        int[] items = new int[BUFFER_SIZE];
+        for (int i = 0; i < BUFFER_SIZE; i++) {
+            int end = (int) ((long) (i + 1) * capacity / BUFFER_SIZE);
+            for (int slot = (int) ((long) i * capacity / BUFFER_SIZE); slot < end && items[i] == 0; slot++) {
+                items[i] = snapshot.items()[slot];
             }
-            empty.release(); // Señalar que hay espacio libre
-            updateBufferDisplay(); // Actualizar después de liberar el lock
-            return item;
         }
+        int out = (int) ((long) snapshot.out() * BUFFER_SIZE / capacity);
+        int count = (int) Math.min(BUFFER_SIZE, ((long) snapshot.count() * BUFFER_SIZE + capacity - 1) / capacity);
+        return new BufferSnapshot(items, (out + count) % BUFFER_SIZE, out, count);
+    }
 
-        public void reset() {
-            mutex.lock();
-            try {
-                for (int i = 0; i < BUFFER_SIZE; i++) {
-                    items[i] = 0;
-                }
-                in = out = count = 0;
-                empty = new Semaphore(BUFFER_SIZE);
-                full = new Semaphore(0);
-            } finally {
-                mutex.unlock();
-            }
+    // Solo desde el hilo de reproducción; la vista lee la instantánea publicada. Los buffers
+    // sin posiciones (slot -1) avanzan in/out en orden circular
+    private void replayInsert(int item, int slot) {
+        BufferSnapshot buffer = replayedBuffer;
+        int position = slot >= 0 ? slot : buffer.in();
+        int[] items = buffer.items().clone();
+        items[position] = item;
+        replayedBuffer = new BufferSnapshot(items, (position + 1) % BUFFER_SIZE, buffer.out(),
+                Math.min(BUFFER_SIZE, buffer.count() + 1));
+    }
+
+    private void replayRemove(int slot) {
+        BufferSnapshot buffer = replayedBuffer;
+        int position = slot >= 0 ? slot : buffer.out();
+        int[] items = buffer.items().clone();
+        items[position] = 0;
+        replayedBuffer = new BufferSnapshot(items, buffer.in(), (position + 1) % BUFFER_SIZE,
+                Math.max(0, buffer.count() - 1));
+    }
+
+    // Estado de productor/consumidor empaquetado en un long: una sola escritura volatile
+    // por evento desde los hilos de la simulación, y el texto se arma al dibujar el cuadro
+    private static long packStatus(int state, int actor, int item) {
+        return ((long) state << 56) | ((long) (actor & 0xFFFFFF) << 32) | (item & 0xFFFFFFFFL);
+    }
+
+    private void publishProducerStatus(int state, int producer, int item) {
+        producerStatus = packStatus(state, producer, item);
+        statusRenderer.markDirty();
+    }
+
+    private void publishConsumerStatus(int state, int consumer, int item) {
+        consumerStatus = packStatus(state, consumer, item);
+        statusRenderer.markDirty();
+    }
+
+    private void renderStatus() {
+        long producer = producerStatus;
+        if (producer != shownProducerStatus) {
+            producerStatusLabel.setText(formatStatus(producer, true));
+            shownProducerStatus = producer;
+        }
+        long consumer = consumerStatus;
+        if (consumer != shownConsumerStatus) {
+            consumerStatusLabel.setText(formatStatus(consumer, false));
+            shownConsumerStatus = consumer;
         }
     }
 
-    private class Producer implements Runnable {
-        private int itemCount = 1;
+    private String formatStatus(long status, boolean producer) {
+        int state = (int) (status >>> 56);
+        int actor = (int) (status >>> 32) & 0xFFFFFF;
+        int item = (int) status;
+        if (producer) {
+            return switch (state) {
+                case STATUS_WORKING -> producerName(actor) + ": Produciendo item " + item;
+                case STATUS_DONE -> producerName(actor) + ": Item " + item + " producido";
+                default -> "Productor: Detenido";
+            };
+        }
+        return switch (state) {
+            case STATUS_WORKING -> consumerName(actor) + ": Esperando item";
+            case STATUS_DONE -> consumerName(actor) + ": Procesando item " + item;
+            default -> "Consumidor: Detenido";
+        };
+    }
 
-        @Override
-        public void run() {
-            while (isRunning && !Thread.currentThread().isInterrupted()) {
-                try {
-                    SwingUtilities.invokeLater(() ->
-                            producerStatusLabel.setText("Productor: Produciendo item " + itemCount));
+    MetricsRegistry metrics() {
+        return simulation.metrics();
+    }
 
-                    // Simular tiempo de producción
-                    Thread.sleep(producerSpeedSlider.getValue() / 3);
+    private void log(String message) {
+        eventLog.append(LOG_MESSAGE, 0, 0, 0, message);
+    }
 
-                    buffer.produce(itemCount);//<-----
-                    log("Productor creó item: " + itemCount);
+    private String formatEvent(int code, int a, int b, int c, Object ref) {
+        return switch (code) {
+            case LOG_PRODUCED -> producerName(a) + " creó item: " + b;
+            case LOG_PROCESSED -> consumerName(a) + " procesó item: " + b;
+            case LOG_INSERTED -> b < 0 ? "Productor insertó item " + a
+                    : "Productor insertó item " + a + " en posición " + b;
+            case LOG_DROPPED -> producerName(a) + " descartó item " + b + " (buffer sobrecargado)";
+            case LOG_REMOVED -> b < 0 ? "Consumidor extrajo item " + a
+                    : "Consumidor extrajo item " + a + " de posición " + b;
+            default -> String.valueOf(ref);
+        };
+    }
 
-                    SwingUtilities.invokeLater(() ->
-                            producerStatusLabel.setText("Productor: Item " + itemCount + " producido"));
+    private String producerName(int producer) {
+        return producers == 1 ? "Productor" : "Productor " + (producer + 1);
+    }
 
-                    itemCount++;//<-----
+    private String consumerName(int consumer) {
+        return consumers == 1 ? "Consumidor" : "Consumidor " + (consumer + 1);
+    }
 
-                    // Pausa después de producir
-                    Thread.sleep(producerSpeedSlider.getValue() / 3);
-                } catch (InterruptedException e) {
-                    break;
-                }
-            }
-            SwingUtilities.invokeLater(() ->
-                    producerStatusLabel.setText("Productor: Detenido"));
-        }
+    // Eventos de la simulación
+
+    @Override
+    public void producerWorking(int producer, int item) {
+        publishProducerStatus(STATUS_WORKING, producer, item);
     }
 
-    private class Consumer implements Runnable {
-        @Override
-        public void run() {
-            while (isRunning && !Thread.currentThread().isInterrupted()) {
-                try {
-                    SwingUtilities.invokeLater(() ->
-                            consumerStatusLabel.setText("Consumidor: Esperando item"));
+    @Override
+    public void producerProduced(int producer, int item) {
+        eventLog.append(LOG_PRODUCED, producer, item);
+        publishProducerStatus(STATUS_DONE, producer, item);
+    }
 
-                    int item = buffer.consume();
+    @Override
+    public void producerStopped(int producer) {
+        publishProducerStatus(STATUS_STOPPED, producer, 0);
+    }
 
-                    SwingUtilities.invokeLater(() ->
-                            consumerStatusLabel.setText("Consumidor: Procesando item " + item));
+    @Override
+    public void itemDropped(int producer, int item) {
+        eventLog.append(LOG_DROPPED, producer, item);
+    }
 
-                    log("Consumidor procesó item: " + item);
+    @Override
+    public void consumerWaiting(int consumer) {
+        publishConsumerStatus(STATUS_WORKING, consumer, 0);
+    }
 
-                    // Simular tiempo de procesamiento
-                    Thread.sleep(consumerSpeedSlider.getValue());
-                } catch (InterruptedException e) {
-                    break;
-                }
-            }
-            SwingUtilities.invokeLater(() ->
-                    consumerStatusLabel.setText("Consumidor: Detenido"));
-        }
+    @Override
+    public void consumerProcessing(int consumer, int item) {
+        publishConsumerStatus(STATUS_DONE, consumer, item);
+        eventLog.append(LOG_PROCESSED, consumer, item);
+    }
+
+    @Override
+    public void consumerStopped(int consumer) {
+        publishConsumerStatus(STATUS_STOPPED, consumer, 0);
+    }
+
+    @Override
+    public void itemInserted(int item, int slot) {
+        if (replayedBuffer != null) replayInsert(item, slot);
+        eventLog.append(LOG_INSERTED, item, slot);
+    }
+
+    @Override
+    public void itemRemoved(int item, int slot) {
+        if (replayedBuffer != null) replayRemove(slot);
+        eventLog.append(LOG_REMOVED, item, slot);
+    }
+
+    @Override
+    public void bufferChanged() {
+        bufferView.markDirty(); // El próximo cuadro toma el estado nuevo
     }
-}
\ No newline at end of file
+}
@@ -1,25 +1,79 @@
 package org.example;
 
 import javax.swing.*;
+import javax.swing.text.BadLocationException;
 import java.awt.*;
-import java.util.concurrent.Semaphore;
-import java.util.Random;
+import org.example.engine.ActorState;
+import org.example.engine.ActorTally;
+import org.example.engine.ExecutionMode;
+import org.example.engine.Pacer;
+import org.example.engine.log.EventLog;
+import org.example.engine.metrics.MetricsRegistry;
+import org.example.engine.readerswriters.CacheEviction;
+import org.example.engine.readerswriters.CacheWritePolicy;
+import org.example.engine.readerswriters.Database;
+import org.example.engine.readerswriters.KeyDistribution;
+import org.example.engine.readerswriters.LockPolicy;
+import org.example.engine.readerswriters.LockStats;
+import org.example.engine.readerswriters.ReadThroughCache;
+import org.example.engine.readerswriters.ReadersWritersListener;
+import org.example.engine.readerswriters.ReadersWritersSimulation;
+import org.example.engine.readerswriters.ReadersWritersTracer;
+import org.example.engine.readerswriters.VersionedStore;
+import org.example.engine.trace.TraceReader;
+import org.example.engine.trace.TraceReplayer;
+
+public class ReadersWritersPanel extends JPanel implements ReadersWritersListener, TraceControls.Target {
+    private static final int MAX_LOG_LINES = 500;
+    private static final int MAX_DATABASE_LINES = 1000;
+    private static final int MAX_PLATFORM_READERS = 5, MAX_PLATFORM_WRITERS = 3;
+    private static final int MAX_VIRTUAL_READERS = 10_000, MAX_VIRTUAL_WRITERS = 1_000;
+    private static final int MAX_SHARDS = 16;
+    private static final int KEY_COUNT = 64;
+    private static final int CACHE_CAPACITY = 16;
+    private static final long CACHE_TTL_MILLIS = 20_000;
+
+    // Códigos de evento del log
+    private static final int LOG_MESSAGE = 0;
+    private static final int LOG_READ = 1;
+    private static final int LOG_WROTE = 2;
 
-public class ReadersWritersPanel extends JPanel {
     private JButton startButton, stopButton;
-    private JTextArea databaseArea, logArea;
+    private JTextArea databaseArea;
+    private final EventLog eventLog = new EventLog(8192);
+    private LogView logView;
     private JLabel[] readerLabels, writerLabels;
     private JSlider readerCountSlider, writerCountSlider;
-    
-    private Database database;
-    private Thread[] readerThreads, writerThreads;
-    private Reader[] readers;
-    private Writer[] writers;
-    private boolean isRunning = false;
-    private Random random = new Random();
+    private JComboBox<ExecutionMode> executionModeCombo;
+    private JComboBox<LockPolicy> lockPolicyCombo;
+    private JSlider shardCountSlider;
+    private JComboBox<KeyDistribution> keyDistributionCombo;
+    private JComboBox<CacheEviction> cacheEvictionCombo;
+    private JComboBox<CacheWritePolicy> cacheWritePolicyCombo;
+
+    // Con más actores que labels se muestran totales por estado en lugar de un label por actor
+    private CardLayout statusCards;
+    private JPanel statusPanel;
+    private JLabel[] readerSummaryLabels, writerSummaryLabels;
+    private FrameRenderer summaryRenderer, databaseRenderer;
+    private volatile boolean aggregated = false;
+
+    // Última versión dibujada de la base de datos: cada cuadro solo agrega lo nuevo
+    private VersionedStore.Snapshot shownData;
+    private final StringBuilder pendingData = new StringBuilder();
+
+    // Estado rearmado desde una traza: la base de datos queda a la vista hasta el próximo inicio
+    private volatile VersionedStore replayedData;
+    private volatile boolean replaying = false;
+    private final ActorTally replayedReaders = new ActorTally();
+    private final ActorTally replayedWriters = new ActorTally();
+    private TraceControls traceControls;
+
+    private final ReadersWritersTracer tracer = new ReadersWritersTracer(this);
+    private ReadersWritersSimulation simulation;
 
     public ReadersWritersPanel() {
-        database = new Database();
+        simulation = new ReadersWritersSimulation(tracer, Pacer.REAL_TIME);
         initializeComponents();
         setupUI();
     }
@@ -35,15 +89,30 @@ public class ReadersWritersPanel extends JPanel {
         databaseArea.setText("Base de Datos Vacía");
         databaseArea.setBackground(new Color(240, 240, 240));
         
-        logArea = new JTextArea(10, 30);
-        logArea.setEditable(false);
-        logArea.setFont(new Font("Monospaced", Font.PLAIN, 12));
+        logView = new LogView(eventLog, this::formatEvent, "lectores-escritores", 10, 30, MAX_LOG_LINES);
         
         readerCountSlider = new JSlider(1, 5, 3);
         writerCountSlider = new JSlider(1, 3, 2);
         
         readerCountSlider.setBorder(BorderFactory.createTitledBorder("Número de Lectores"));
         writerCountSlider.setBorder(BorderFactory.createTitledBorder("Número de Escritores"));
+
+        executionModeCombo = new JComboBox<>(ExecutionMode.values());
+        executionModeCombo.setBorder(BorderFactory.createTitledBorder("Ejecución"));
+        executionModeCombo.addActionListener(e -> updateActorLimits());
+
+        lockPolicyCombo = new JComboBox<>(LockPolicy.values());
+        lockPolicyCombo.setBorder(BorderFactory.createTitledBorder("Política de acceso"));
+
+        shardCountSlider = new JSlider(1, MAX_SHARDS, 1);
+        shardCountSlider.setBorder(BorderFactory.createTitledBorder("Shards"));
+        keyDistributionCombo = new JComboBox<>(KeyDistribution.values());
+        keyDistributionCombo.setBorder(BorderFactory.createTitledBorder("Claves (" + KEY_COUNT + ")"));
+        cacheEvictionCombo = new JComboBox<>(CacheEviction.values());
+        cacheEvictionCombo.setBorder(BorderFactory.createTitledBorder("Caché (" + CACHE_CAPACITY + " entradas, "
+                + CACHE_TTL_MILLIS / 1000 + " s)"));
+        cacheWritePolicyCombo = new JComboBox<>(CacheWritePolicy.values());
+        cacheWritePolicyCombo.setBorder(BorderFactory.createTitledBorder("Escrituras en caché"));
         
         readerLabels = new JLabel[5];
         writerLabels = new JLabel[3];
@@ -61,6 +130,17 @@ public class ReadersWritersPanel extends JPanel {
             writerLabels[i].setBackground(Color.LIGHT_GRAY);
             writerLabels[i].setBorder(BorderFactory.createLineBorder(Color.BLACK));
         }
+
+        readerSummaryLabels = new JLabel[3];
+        writerSummaryLabels = new JLabel[3];
+        for (int i = 0; i < 3; i++) {
+            readerSummaryLabels[i] = new JLabel();
+            writerSummaryLabels[i] = new JLabel();
+        }
+        summaryRenderer = new FrameRenderer(this::renderSummary);
+        databaseRenderer = new FrameRenderer(this::renderDatabase);
+
+        traceControls = new TraceControls("lectores-escritores", ReadersWritersTracer.SCENARIO, this);
     }
 
     private void setupUI() {
@@ -72,9 +152,16 @@ public class ReadersWritersPanel extends JPanel {
         controlPanel.add(stopButton);
         controlPanel.add(readerCountSlider);
         controlPanel.add(writerCountSlider);
+        controlPanel.add(executionModeCombo);
+        controlPanel.add(lockPolicyCombo);
+        controlPanel.add(shardCountSlider);
+        controlPanel.add(keyDistributionCombo);
+        controlPanel.add(cacheEvictionCombo);
+        controlPanel.add(cacheWritePolicyCombo);
+        controlPanel.add(traceControls);
         
         // Status Panel
-        JPanel statusPanel = new JPanel(new GridLayout(1, 2));
+        JPanel individualPanel = new JPanel(new GridLayout(1, 2));
         
         JPanel readersPanel = new JPanel(new GridLayout(5, 1));
         readersPanel.setBorder(BorderFactory.createTitledBorder("Lectores"));
@@ -88,17 +175,30 @@ public class ReadersWritersPanel extends JPanel {
             writersPanel.add(label);
         }
         
-        statusPanel.add(readersPanel);
-        statusPanel.add(writersPanel);
+        individualPanel.add(readersPanel);
+        individualPanel.add(writersPanel);
+
+        JPanel summaryPanel = new JPanel(new GridLayout(1, 2));
+        JPanel readerSummaryPanel = new JPanel(new GridLayout(3, 1));
+        readerSummaryPanel.setBorder(BorderFactory.createTitledBorder("Lectores"));
+        JPanel writerSummaryPanel = new JPanel(new GridLayout(3, 1));
+        writerSummaryPanel.setBorder(BorderFactory.createTitledBorder("Escritores"));
+        for (int i = 0; i < 3; i++) {
+            readerSummaryPanel.add(readerSummaryLabels[i]);
+            writerSummaryPanel.add(writerSummaryLabels[i]);
+        }
+        summaryPanel.add(readerSummaryPanel);
+        summaryPanel.add(writerSummaryPanel);
+
+        statusCards = new CardLayout();
+        statusPanel = new JPanel(statusCards);
+        statusPanel.add(individualPanel, "individual");
+        statusPanel.add(summaryPanel, "agregado");
         
         // Database Panel
         JScrollPane databaseScrollPane = new JScrollPane(databaseArea);
         databaseScrollPane.setBorder(BorderFactory.createTitledBorder("Base de Datos"));
         
-        // Log Panel
-        JScrollPane logScrollPane = new JScrollPane(logArea);
-        logScrollPane.setBorder(BorderFactory.createTitledBorder("Log de Eventos"));
-        
         // Main Panel
         JPanel mainPanel = new JPanel(new BorderLayout());
         mainPanel.add(statusPanel, BorderLayout.WEST);
@@ -106,7 +206,7 @@ public class ReadersWritersPanel extends JPanel {
         
         add(controlPanel, BorderLayout.NORTH);
         add(mainPanel, BorderLayout.CENTER);
-        add(logScrollPane, BorderLayout.SOUTH);
+        add(logView, BorderLayout.SOUTH);
         
         // Event Listeners
         startButton.addActionListener(e -> startSimulation());
@@ -114,199 +214,332 @@ public class ReadersWritersPanel extends JPanel {
     }
 
     private void startSimulation() {
-        if (!isRunning) {
-            isRunning = true;
+        if (!simulation.isRunning() && !traceControls.isReplaying()) {
             startButton.setEnabled(false);
             stopButton.setEnabled(true);
+            executionModeCombo.setEnabled(false);
+            lockPolicyCombo.setEnabled(false);
+            shardCountSlider.setEnabled(false);
+            keyDistributionCombo.setEnabled(false);
+            cacheEvictionCombo.setEnabled(false);
+            cacheWritePolicyCombo.setEnabled(false);
+            traceControls.setSimulationRunning(true);
             
-            database.reset();
-            logArea.setText("");
+            logView.clear();
+            replayedData = null;
             
             int readerCount = readerCountSlider.getValue();
             int writerCount = writerCountSlider.getValue();
+            ExecutionMode mode = (ExecutionMode) executionModeCombo.getSelectedItem();
+            LockPolicy policy = (LockPolicy) lockPolicyCombo.getSelectedItem();
+            int shards = shardCountSlider.getValue();
+            KeyDistribution distribution = (KeyDistribution) keyDistributionCombo.getSelectedItem();
+            CacheEviction eviction = (CacheEviction) cacheEvictionCombo.getSelectedItem();
+            CacheWritePolicy writePolicy = (CacheWritePolicy) cacheWritePolicyCombo.getSelectedItem();
+
+            aggregated = readerCount > readerLabels.length || writerCount > writerLabels.length;
+            statusCards.show(statusPanel, aggregated ? "agregado" : "individual");
             
-            readers = new Reader[readerCount];
-            writers = new Writer[writerCount];
-            readerThreads = new Thread[readerCount];
-            writerThreads = new Thread[writerCount];
-            
-            for (int i = 0; i < readerCount; i++) {
-                readers[i] = new Reader(i);
-                readerThreads[i] = new Thread(readers[i]);
-                readerThreads[i].start();
-            }
-            
-            for (int i = 0; i < writerCount; i++) {
-                writers[i] = new Writer(i);
-                writerThreads[i] = new Thread(writers[i]);
-                writerThreads[i].start();
-            }
+            simulation.setActors(readerCount, writerCount);
+            simulation.setExecutionMode(mode);
+            simulation.setLockPolicy(policy);
+            simulation.setSharding(shards, KEY_COUNT, distribution);
+            simulation.setCache(eviction, CACHE_CAPACITY, CACHE_TTL_MILLIS, writePolicy);
+            tracer.setWriter(traceControls.startRecording(ReadersWritersTracer.params(readerCount, writerCount)));
+            simulation.start();
+            summaryRenderer.markDirty();
             
-            log("Simulación iniciada con " + readerCount + " lectores y " + writerCount + " escritores");
+            log("Simulación iniciada con " + readerCount + " lectores y " + writerCount + " escritores (" + mode + ", " + policy
+                    + ", " + shards + (shards == 1 ? " shard" : " shards") + ", claves " + distribution + ", " + eviction
+                    + (eviction == CacheEviction.NONE ? "" : " / " + writePolicy) + ")");
         }
     }
 
     private void stopSimulation() {
-        if (isRunning) {
-            isRunning = false;
+        if (simulation.isRunning()) {
+            simulation.stop();
             startButton.setEnabled(true);
             stopButton.setEnabled(false);
+            executionModeCombo.setEnabled(true);
+            lockPolicyCombo.setEnabled(true);
+            shardCountSlider.setEnabled(true);
+            keyDistributionCombo.setEnabled(true);
+            cacheEvictionCombo.setEnabled(true);
+            cacheWritePolicyCombo.setEnabled(true);
+            traceControls.setSimulationRunning(false);
             
-            if (readerThreads != null) {
-                for (Thread thread : readerThreads) {
-                    if (thread != null) thread.interrupt();
-                }
-            }
+            resetLabels();
             
-            if (writerThreads != null) {
-                for (Thread thread : writerThreads) {
-                    if (thread != null) thread.interrupt();
-                }
+            double seconds = simulation.elapsedNanos() / 1e9;
+            LockStats stats = simulation.lockStats();
+            log(String.format("Simulación detenida: %.2f lecturas/s, %.2f escrituras/s, espera de escritores p99=%d ms "
+                            + "máx=%d ms (%d esperas)",
+                    simulation.readCount() / seconds, simulation.writeCount() / seconds,
+                    stats.writerWait().percentile(99) / 1_000_000, stats.maxWriterWait() / 1_000_000,
+                    stats.writerWaitCount()));
+            Database database = simulation.database();
+            if (database.shardCount() > 1) {
+                int hottest = database.hottestShard();
+                log(String.format("Shard %d de %d: %.0f%% de la espera total (%d lecturas, %d escrituras)",
+                        hottest + 1, database.shardCount(), database.waitShare(hottest) * 100,
+                        database.shardReads(hottest), database.shardWrites(hottest)));
             }
-            
-            for (JLabel label : readerLabels) {
-                label.setText(label.getText().split(":")[0] + ": Inactivo");
-                label.setBackground(Color.LIGHT_GRAY);
+            if (database.policy().multiVersion()) {
+                log(String.format("MVCC: %d versiones publicadas, hasta %d retenidas por lectores (%,d bytes)",
+                        database.publishedVersions(), database.peakRetainedVersions(), database.peakRetainedBytes()));
             }
-            
-            for (JLabel label : writerLabels) {
-                label.setText(label.getText().split(":")[0] + ": Inactivo");
-                label.setBackground(Color.LIGHT_GRAY);
+            ReadThroughCache cache = simulation.cache();
+            if (cache != null) {
+                log(String.format("Caché %s: %.0f%% aciertos, %.0f%% fallos (%d lecturas a la base, %d compartidas), "
+                                + "%d desalojos, %d vencidas, %.1f s de lectura ahorrados",
+                        cache.eviction(), cache.hitRatio() * 100, cache.missRatio() * 100, cache.misses(),
+                        cache.coalesced(), cache.evictions(), cache.expirations(), cache.savedNanos() / 1e9));
             }
-            
-            log("Simulación detenida");
+
+            tracer.setWriter(null);
+            String trace = traceControls.stopRecording();
+            if (trace != null) log(trace);
         }
     }
 
+    private void resetLabels() {
+        for (JLabel label : readerLabels) {
+            label.setText(label.getText().split(":")[0] + ": Inactivo");
+            label.setBackground(Color.LIGHT_GRAY);
+        }
+
+        for (JLabel label : writerLabels) {
+            label.setText(label.getText().split(":")[0] + ": Inactivo");
+            label.setBackground(Color.LIGHT_GRAY);
+        }
+    }
+
+    @Override
+    public TraceReplayer.Sink replayStarted(TraceReader reader) {
+        int readerCount = reader.param(0);
+        int writerCount = reader.param(1);
+        startButton.setEnabled(false);
+        logView.clear();
+
+        aggregated = readerCount > readerLabels.length || writerCount > writerLabels.length;
+        statusCards.show(statusPanel, aggregated ? "agregado" : "individual");
+        replayedReaders.reset(readerCount);
+        replayedWriters.reset(writerCount);
+        replayedData = new VersionedStore("Base de Datos Inicial");
+        replaying = true;
+        summaryRenderer.markDirty();
+        databaseRenderer.markDirty();
+
+        log("Reproduciendo traza de " + readerCount + " lectores y " + writerCount
+                + " escritores (" + reader.size() + " eventos)");
+        return ReadersWritersTracer.replayInto(new ReplayListener(writerCount), writerCount);
+    }
+
+    @Override
+    public void replayFinished(TraceReader reader, long replayed) {
+        replaying = false;
+        startButton.setEnabled(true);
+        resetLabels();
+        log("Reproducción terminada: " + replayed + " de " + reader.size() + " eventos");
+    }
+
+    private void updateActorLimits() {
+        boolean virtual = executionModeCombo.getSelectedItem() == ExecutionMode.VIRTUAL;
+        readerCountSlider.setMaximum(virtual ? MAX_VIRTUAL_READERS : MAX_PLATFORM_READERS);
+        writerCountSlider.setMaximum(virtual ? MAX_VIRTUAL_WRITERS : MAX_PLATFORM_WRITERS);
+    }
+
+    private void renderSummary() {
+        readerSummaryLabels[0].setText("Leyendo: " + readers(ActorState.ACTIVE));
+        readerSummaryLabels[1].setText("Esperando: " + readers(ActorState.WAITING));
+        readerSummaryLabels[2].setText("Descansando: " + readers(ActorState.RESTING));
+        writerSummaryLabels[0].setText("Escribiendo: " + writers(ActorState.ACTIVE));
+        writerSummaryLabels[1].setText("Esperando: " + writers(ActorState.WAITING));
+        writerSummaryLabels[2].setText("Descansando: " + writers(ActorState.RESTING));
+    }
+
+    private long readers(ActorState state) {
+        return replaying ? replayedReaders.count(state) : simulation.readers(state);
+    }
+
+    private long writers(ActorState state) {
+        return replaying ? replayedWriters.count(state) : simulation.writers(state);
+    }
+
+    private void renderDatabase() {
+        VersionedStore store = replayedData;
+        VersionedStore.Snapshot snapshot = store != null ? store.snapshot() : simulation.database().snapshot();
+        int from = 0;
+        if (snapshot.continues(shownData)) {
+            from = shownData.size();
+        } else {
+            databaseArea.setText("");
+        }
+        shownData = snapshot;
+        if (from == snapshot.size()) return;
+
+        // Nunca más de MAX_DATABASE_LINES por cuadro, por grande que sea el salto de versión
+        from = Math.max(from, snapshot.size() - MAX_DATABASE_LINES);
+        pendingData.setLength(0);
+        databaseArea.append(snapshot.appendTo(pendingData, from, snapshot.size()).toString());
+        int excess = databaseArea.getLineCount() - MAX_DATABASE_LINES - 1;
+        if (excess > 0) {
+            try {
+                databaseArea.getDocument().remove(0, databaseArea.getLineStartOffset(excess));
+            } catch (BadLocationException e) {
+                databaseArea.setText("");
+            }
+        }
+        databaseArea.setCaretPosition(databaseArea.getDocument().getLength());
+    }
+
+    MetricsRegistry metrics() {
+        return simulation.metrics();
+    }
+
     private void log(String message) {
+        eventLog.append(LOG_MESSAGE, 0, 0, 0, message);
+    }
+
+    private String formatEvent(int code, int a, int b, int c, Object ref) {
+        return switch (code) {
+            case LOG_READ -> "Lector " + (a + 1) + " terminó de leer";
+            case LOG_WROTE -> "Escritor " + (a + 1) + " escribió: " + ref;
+            default -> String.valueOf(ref);
+        };
+    }
+
+    // Eventos de la simulación
+
+    @Override
+    public void readerWaiting(int readerId) {
+        if (aggregated) {
+            summaryRenderer.markDirty();
+            return;
+        }
         SwingUtilities.invokeLater(() -> {
-            logArea.append(String.format("[%d] %s\n", System.currentTimeMillis() % 10000, message));
-            logArea.setCaretPosition(logArea.getDocument().getLength());
+            readerLabels[readerId].setText("Lector " + (readerId + 1) + ": Esperando");
+            readerLabels[readerId].setBackground(Color.YELLOW);
         });
     }
 
-    private class Database {
-        private StringBuilder data = new StringBuilder("Base de Datos Inicial\n");
-        private int readerCount = 0;
-        private Semaphore readCountMutex = new Semaphore(1);
-        private Semaphore writeMutex = new Semaphore(1);
-
-        public void read(int readerId) throws InterruptedException {
-            readCountMutex.acquire();
-            readerCount++;
-            if (readerCount == 1) {
-                writeMutex.acquire();
-            }
-            readCountMutex.release();
-
-            // Reading
-            SwingUtilities.invokeLater(() -> {
-                readerLabels[readerId].setText("Lector " + (readerId + 1) + ": Leyendo");
-                readerLabels[readerId].setBackground(new Color(76, 175, 80));
-                databaseArea.setText(data.toString());
-            });
-            
-            Thread.sleep(1000 + random.nextInt(2000));
+    @Override
+    public void readerReading(int readerId) {
+        if (aggregated) {
+            summaryRenderer.markDirty();
+            return;
+        }
+        SwingUtilities.invokeLater(() -> {
+            readerLabels[readerId].setText("Lector " + (readerId + 1) + ": Leyendo");
+            readerLabels[readerId].setBackground(new Color(76, 175, 80));
+        });
+    }
 
-            readCountMutex.acquire();
-            readerCount--;
-            if (readerCount == 0) {
-                writeMutex.release();
-            }
-            readCountMutex.release();
+    @Override
+    public void readerFinished(int readerId) {
+        eventLog.append(LOG_READ, readerId);
+        if (aggregated) {
+            summaryRenderer.markDirty();
+            return;
+        }
+        SwingUtilities.invokeLater(() -> {
+            readerLabels[readerId].setText("Lector " + (readerId + 1) + ": Descansando");
+            readerLabels[readerId].setBackground(Color.LIGHT_GRAY);
+        });
+    }
+
+    @Override
+    public void writerWaiting(int writerId) {
+        if (aggregated) {
+            summaryRenderer.markDirty();
+            return;
+        }
+        SwingUtilities.invokeLater(() -> {
+            writerLabels[writerId].setText("Escritor " + (writerId + 1) + ": Esperando");
+            writerLabels[writerId].setBackground(Color.YELLOW);
+        });
+    }
+
+    @Override
+    public void writerWriting(int writerId) {
+        if (aggregated) {
+            summaryRenderer.markDirty();
+            return;
         }
+        SwingUtilities.invokeLater(() -> {
+            writerLabels[writerId].setText("Escritor " + (writerId + 1) + ": Escribiendo");
+            writerLabels[writerId].setBackground(new Color(244, 67, 54));
+        });
+    }
 
-        public void write(int writerId, String newData) throws InterruptedException {
-            writeMutex.acquire();//<-----
+    @Override
+    public void writerFinished(int writerId, String data) {
+        eventLog.append(LOG_WROTE, writerId, 0, 0, data);
+        if (aggregated) {
+            summaryRenderer.markDirty();
+            return;
+        }
+        SwingUtilities.invokeLater(() -> {
+            writerLabels[writerId].setText("Escritor " + (writerId + 1) + ": Descansando");
+            writerLabels[writerId].setBackground(Color.LIGHT_GRAY);
+        });
+    }
 
-            SwingUtilities.invokeLater(() -> {
-                writerLabels[writerId].setText("Escritor " + (writerId + 1) + ": Escribiendo");
-                writerLabels[writerId].setBackground(new Color(244, 67, 54));
-            });
+    @Override
+    public void dataChanged() {
+        databaseRenderer.markDirty();
+    }
 
-            data.append(newData).append("\n");
-            
-            SwingUtilities.invokeLater(() -> {
-                databaseArea.setText(data.toString());
-            });
-            
-            Thread.sleep(2000 + random.nextInt(3000));
+    // Durante la reproducción hace lo que en vivo hacen la simulación (contar estados) y
+    // la base de datos (guardar lo escrito al empezar cada escritura) antes de pasar cada
+    // evento a la vista
+    private class ReplayListener implements ReadersWritersListener {
+        private final int[] writeCounts;
 
-            writeMutex.release();//<------
+        ReplayListener(int writers) {
+            writeCounts = new int[writers];
         }
 
-        public void reset() {
-            data = new StringBuilder("Base de Datos Inicial\n");
-            readerCount = 0;
-            readCountMutex = new Semaphore(1);
-            writeMutex = new Semaphore(1);
-            SwingUtilities.invokeLater(() -> databaseArea.setText(data.toString()));
+        @Override
+        public void readerWaiting(int readerId) {
+            replayedReaders.move(readerId, ActorState.WAITING);
+            ReadersWritersPanel.this.readerWaiting(readerId);
         }
-    }
 
-    private class Reader implements Runnable {
-        private int id;
+        @Override
+        public void readerReading(int readerId) {
+            replayedReaders.move(readerId, ActorState.ACTIVE);
+            ReadersWritersPanel.this.readerReading(readerId);
+        }
 
-        public Reader(int id) {
-            this.id = id;
+        @Override
+        public void readerFinished(int readerId) {
+            replayedReaders.move(readerId, ActorState.RESTING);
+            ReadersWritersPanel.this.readerFinished(readerId);
         }
 
         @Override
-        public void run() {
-            while (isRunning && !Thread.currentThread().isInterrupted()) {
-                try {
-                    SwingUtilities.invokeLater(() -> {
-                        readerLabels[id].setText("Lector " + (id + 1) + ": Esperando");
-                        readerLabels[id].setBackground(Color.YELLOW);
-                    });
-                    
-                    database.read(id);// <------
-                    log("Lector " + (id + 1) + " terminó de leer");
-                    
-                    SwingUtilities.invokeLater(() -> {
-                        readerLabels[id].setText("Lector " + (id + 1) + ": Descansando");
-                        readerLabels[id].setBackground(Color.LIGHT_GRAY);
-                    });
-                    
-                    Thread.sleep(2000 + random.nextInt(3000));
-                } catch (InterruptedException e) {
-                    break;
-                }
-            }
+        public void writerWaiting(int writerId) {
+            replayedWriters.move(writerId, ActorState.WAITING);
+            ReadersWritersPanel.this.writerWaiting(writerId);
         }
-    }
 
-    private class Writer implements Runnable {
-        private int id;
-        private int writeCount = 1;
+        @Override
+        public void writerWriting(int writerId) {
+            replayedWriters.move(writerId, ActorState.ACTIVE);
+            replayedData.append(ReadersWritersTracer.entry(writerId, ++writeCounts[writerId]));
+            ReadersWritersPanel.this.writerWriting(writerId);
+        }
 
-        public Writer(int id) {
-            this.id = id;
+        @Override
+        public void writerFinished(int writerId, String data) {
+            replayedWriters.move(writerId, ActorState.RESTING);
+            ReadersWritersPanel.this.writerFinished(writerId, data);
         }
 
         @Override
-        public void run() {
-            while (isRunning && !Thread.currentThread().isInterrupted()) {
-                try {
-                    SwingUtilities.invokeLater(() -> {
-                        writerLabels[id].setText("Escritor " + (id + 1) + ": Esperando");
-                        writerLabels[id].setBackground(Color.YELLOW);
-                    });
-                    
-                    String newData = "Escritor " + (id + 1) + " - Entrada #" + writeCount++;
-                    database.write(id, newData); // <------
-                    log("Escritor " + (id + 1) + " escribió: " + newData);
-                    
-                    SwingUtilities.invokeLater(() -> {
-                        writerLabels[id].setText("Escritor " + (id + 1) + ": Descansando");
-                        writerLabels[id].setBackground(Color.LIGHT_GRAY);
-                    });
-                    
-                    Thread.sleep(3000 + random.nextInt(4000));
-                } catch (InterruptedException e) {
-                    break;
-                }
-            }
+        public void dataChanged() {
+            ReadersWritersPanel.this.dataChanged();
         }
     }
 }
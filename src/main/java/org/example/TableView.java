@@ -0,0 +1,306 @@
+package org.example;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.ComponentAdapter;
+import java.awt.event.ComponentEvent;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.IntFunction;
+
+// Mesa de los filósofos dibujada en un solo componente. El estado vive en arreglos de
+// bytes que los hilos de la simulación escriben sin tocar Swing; cada cuadro redibuja en
+// una imagen solo los asientos y palillos marcados como sucios y repinta sus rectángulos.
+// La geometría se calcula una vez por cambio de tamaño: hasta LABELED_SEATS filósofos se
+// dibujan con nombre alrededor de la mesa, y con más se acomodan en anillos de puntos
+public class TableView extends JComponent {
+    public static final byte THINKING = 0;
+    public static final byte HUNGRY = 1;
+    public static final byte EATING = 2;
+    public static final byte STOPPED = 3;
+
+    private static final int LABELED_SEATS = 12;
+    private static final int MARGIN = 10;
+    private static final Color BACKGROUND = Color.WHITE;
+    private static final Color TABLE_COLOR = new Color(139, 69, 19);
+    private static final Color TABLE_BORDER = new Color(101, 67, 33);
+    private static final Color TABLE_TRIM = new Color(160, 82, 45);
+    private static final Color FORK_FREE = Color.LIGHT_GRAY;
+    private static final Color FORK_IN_USE = new Color(255, 182, 193); // Rosa claro para indicar uso
+    private static final Color[] STATE_COLORS = {
+            new Color(158, 158, 158), Color.ORANGE, new Color(76, 175, 80), new Color(158, 158, 158)};
+    private static final String[] STATE_NAMES = {"Pensando", "Hambriento", "Comiendo", "Detenido"};
+    private static final Font NAME_FONT = new Font("Arial", Font.BOLD, 12);
+    private static final Stroke THIN = new BasicStroke(1), THICK = new BasicStroke(2), TABLE_STROKE = new BasicStroke(3);
+
+    private final IntFunction<String> names;
+    private final FrameRenderer renderer;
+
+    // Escritos desde cualquier hilo; se reemplazan solo al cambiar la cantidad de filósofos
+    private volatile byte[] philosophers = new byte[0];
+    private volatile byte[] forks = new byte[0];
+    private volatile AtomicLongArray dirtyPhilosophers = new AtomicLongArray(0);
+    private volatile AtomicLongArray dirtyForks = new AtomicLongArray(0);
+
+    // Geometría y backbuffer: solo desde el hilo de Swing
+    private BufferedImage image;
+    private boolean labeled;
+    private int centerX, centerY, tableRadius;
+    private int seatWidth, seatHeight, forkSize;
+    private int[] seatX = new int[0], seatY = new int[0], forkX = new int[0], forkY = new int[0];
+
+    public TableView(int size, IntFunction<String> names) {
+        this.names = names;
+        setPreferredSize(new Dimension(400, 400));
+        setOpaque(true);
+        setPhilosopherCount(size);
+        renderer = new FrameRenderer(this::render);
+        addComponentListener(new ComponentAdapter() {
+            @Override
+            public void componentResized(ComponentEvent e) {
+                rebuild();
+            }
+        });
+    }
+
+    // Desde el hilo de Swing, con la simulación detenida
+    public void setPhilosopherCount(int size) {
+        if (size == philosophers.length) return;
+        philosophers = new byte[size];
+        forks = new byte[size];
+        dirtyPhilosophers = new AtomicLongArray((size + 63) >>> 6);
+        dirtyForks = new AtomicLongArray((size + 63) >>> 6);
+        rebuild();
+    }
+
+    // Todos los filósofos en el mismo estado y los palillos libres (desde el hilo de Swing)
+    public void reset(byte state) {
+        Arrays.fill(philosophers, state);
+        Arrays.fill(forks, (byte) 0);
+        rebuild();
+    }
+
+    public void setPhilosopher(int philosopher, byte state) {
+        byte[] states = philosophers;
+        if (philosopher >= states.length || states[philosopher] == state) return;
+        states[philosopher] = state;
+        markDirty(dirtyPhilosophers, philosopher);
+    }
+
+    public void setFork(int fork, boolean inUse) {
+        byte[] states = forks;
+        byte state = (byte) (inUse ? 1 : 0);
+        if (fork >= states.length || states[fork] == state) return;
+        states[fork] = state;
+        markDirty(dirtyForks, fork);
+    }
+
+    private void markDirty(AtomicLongArray dirty, int index) {
+        int word = index >>> 6;
+        long bit = 1L << index;
+        if ((dirty.get(word) & bit) == 0) {
+            dirty.getAndAccumulate(word, bit, (current, mask) -> current | mask);
+        }
+        renderer.markDirty();
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        if (image == null) {
+            g.setColor(BACKGROUND);
+            g.fillRect(0, 0, getWidth(), getHeight());
+            return;
+        }
+        g.drawImage(image, 0, 0, null); // Solo se copia dentro del clip del repintado
+    }
+
+    // Recalcula la geometría y redibuja la imagen completa
+    private void rebuild() {
+        int width = getWidth(), height = getHeight();
+        if (width <= 0 || height <= 0) return;
+        int size = philosophers.length;
+        layoutSeats(size, width, height);
+
+        if (image == null || image.getWidth() != width || image.getHeight() != height) {
+            image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        }
+        Graphics2D g = image.createGraphics();
+        g.setColor(BACKGROUND);
+        g.fillRect(0, 0, width, height);
+        drawTable(g);
+        for (int i = 0; i < size; i++) {
+            drawPhilosopher(g, i);
+            drawFork(g, i);
+        }
+        g.dispose();
+        clear(dirtyPhilosophers);
+        clear(dirtyForks);
+        repaint();
+    }
+
+    private static void clear(AtomicLongArray dirty) {
+        for (int i = 0; i < dirty.length(); i++) {
+            dirty.set(i, 0);
+        }
+    }
+
+    // Un cuadro: solo lo que cambió desde el anterior
+    private void render() {
+        if (image == null) return;
+        Graphics2D g = image.createGraphics();
+        AtomicLongArray dirty = dirtyPhilosophers;
+        for (int word = 0; word < dirty.length(); word++) {
+            long bits = dirty.get(word) != 0 ? dirty.getAndSet(word, 0) : 0;
+            while (bits != 0) {
+                int i = (word << 6) + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+                if (i < seatX.length) {
+                    drawPhilosopher(g, i);
+                    repaint(seatX[i] - seatWidth / 2 - 1, seatY[i] - seatHeight / 2 - 1, seatWidth + 2, seatHeight + 2);
+                }
+            }
+        }
+        dirty = dirtyForks;
+        for (int word = 0; word < dirty.length(); word++) {
+            long bits = dirty.get(word) != 0 ? dirty.getAndSet(word, 0) : 0;
+            while (bits != 0) {
+                int i = (word << 6) + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+                if (i < forkX.length) {
+                    drawFork(g, i);
+                    repaint(forkX[i] - forkSize / 2 - 1, forkY[i] - forkSize / 2 - 1, forkSize + 2, forkSize + 2);
+                }
+            }
+        }
+        g.dispose();
+    }
+
+    private void layoutSeats(int size, int width, int height) {
+        seatX = new int[size];
+        seatY = new int[size];
+        forkX = new int[size];
+        forkY = new int[size];
+        centerX = width / 2;
+        centerY = height / 2;
+        int outer = Math.max(1, Math.min(width, height) / 2 - MARGIN);
+        labeled = size <= LABELED_SEATS;
+
+        if (labeled) {
+            // Como la mesa original: filósofos afuera, palillos entre ellos más adentro
+            seatWidth = Math.max(40, Math.min(100, (int) (2 * Math.PI * outer * 0.7 / size) - 6));
+            seatHeight = seatWidth * 4 / 5;
+            int philRadius = outer - seatHeight / 2;
+            int forkRadius = philRadius * 5 / 7;
+            tableRadius = philRadius / 2;
+            forkSize = 30;
+            for (int i = 0; i < size; i++) {
+                // Ángulo para cada filósofo (empezando desde arriba)
+                double philAngle = 2 * Math.PI * i / size - Math.PI / 2;
+                seatX[i] = (int) (centerX + philRadius * Math.cos(philAngle));
+                seatY[i] = (int) (centerY + philRadius * Math.sin(philAngle));
+                // El palillo i está entre el filósofo i y el filósofo (i+1)
+                double forkAngle = 2 * Math.PI * (i + 0.5) / size - Math.PI / 2;
+                forkX[i] = (int) (centerX + forkRadius * Math.cos(forkAngle));
+                forkY[i] = (int) (centerY + forkRadius * Math.sin(forkAngle));
+            }
+            return;
+        }
+
+        // Anillos concéntricos de celdas de lado cell, del borde hacia adentro, hasta un
+        // 30% del radio; se busca la celda más grande en la que entran todos
+        int inner = outer * 3 / 10;
+        int cell = 1;
+        for (int candidate = 60; candidate > 1; candidate--) {
+            if (ringCapacity(candidate, outer, inner) >= size) {
+                cell = candidate;
+                break;
+            }
+        }
+        seatWidth = seatHeight = Math.max(1, cell * 3 / 5);
+        forkSize = Math.max(1, cell / 4);
+
+        int placed = 0;
+        int radius = outer - cell / 2;
+        while (placed < size) {
+            int capacity = Math.max(1, (int) (2 * Math.PI * radius / cell));
+            int count = Math.min(capacity, size - placed);
+            for (int j = 0; j < count; j++) {
+                double angle = 2 * Math.PI * j / count - Math.PI / 2;
+                seatX[placed + j] = (int) (centerX + radius * Math.cos(angle));
+                seatY[placed + j] = (int) (centerY + radius * Math.sin(angle));
+                double forkAngle = 2 * Math.PI * (j + 0.5) / count - Math.PI / 2;
+                forkX[placed + j] = (int) (centerX + radius * Math.cos(forkAngle));
+                forkY[placed + j] = (int) (centerY + radius * Math.sin(forkAngle));
+            }
+            placed += count;
+            radius = Math.max(cell, radius - cell);
+        }
+        tableRadius = Math.max(0, radius - cell);
+    }
+
+    private static int ringCapacity(int cell, int outer, int inner) {
+        int capacity = 0;
+        for (int radius = outer - cell / 2; radius >= inner; radius -= cell) {
+            capacity += (int) (2 * Math.PI * radius / cell);
+        }
+        return capacity;
+    }
+
+    private void drawTable(Graphics2D g) {
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g.setColor(TABLE_COLOR);
+        g.fillOval(centerX - tableRadius, centerY - tableRadius, tableRadius * 2, tableRadius * 2);
+        g.setColor(TABLE_BORDER);
+        g.setStroke(TABLE_STROKE);
+        g.drawOval(centerX - tableRadius, centerY - tableRadius, tableRadius * 2, tableRadius * 2);
+        if (tableRadius > 5) {
+            // Borde decorativo
+            g.setColor(TABLE_TRIM);
+            g.setStroke(THIN);
+            g.drawOval(centerX - tableRadius + 5, centerY - tableRadius + 5,
+                    (tableRadius - 5) * 2, (tableRadius - 5) * 2);
+        }
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_OFF);
+    }
+
+    private void drawPhilosopher(Graphics2D g, int i) {
+        int state = philosophers.length > i ? philosophers[i] : STOPPED;
+        int x = seatX[i] - seatWidth / 2, y = seatY[i] - seatHeight / 2;
+        g.setColor(STATE_COLORS[state]);
+        if (!labeled) {
+            // Sin antialiasing: el punto cubre siempre los mismos píxeles y se puede pisar
+            g.fillOval(x, y, seatWidth, seatHeight);
+            return;
+        }
+        g.fillRect(x, y, seatWidth, seatHeight);
+        g.setColor(Color.BLACK);
+        g.setStroke(THICK);
+        g.drawRect(x + 1, y + 1, seatWidth - 2, seatHeight - 2);
+        g.setFont(NAME_FONT);
+        FontMetrics metrics = g.getFontMetrics();
+        String name = names.apply(i);
+        String status = STATE_NAMES[state];
+        int lineY = seatY[i] - 2;
+        g.drawString(name, seatX[i] - metrics.stringWidth(name) / 2, lineY);
+        g.drawString(status, seatX[i] - metrics.stringWidth(status) / 2, lineY + metrics.getHeight());
+    }
+
+    private void drawFork(Graphics2D g, int i) {
+        boolean inUse = forks.length > i && forks[i] != 0;
+        int x = forkX[i] - forkSize / 2, y = forkY[i] - forkSize / 2;
+        if (!labeled) {
+            g.setColor(inUse ? Color.RED : BACKGROUND);
+            g.fillRect(x, y, forkSize, forkSize);
+            return;
+        }
+        g.setColor(inUse ? FORK_IN_USE : FORK_FREE);
+        g.fillRect(x, y, forkSize, forkSize);
+        // El palillo como un rectángulo marrón
+        g.setColor(TABLE_COLOR);
+        g.fillRoundRect(x + forkSize / 4, y + forkSize / 6, forkSize / 2, forkSize * 2 / 3, 3, 3);
+        g.setColor(inUse ? Color.RED : Color.BLACK);
+        g.setStroke(inUse ? THICK : THIN);
+        g.drawRect(x, y, forkSize - 1, forkSize - 1);
+    }
+}
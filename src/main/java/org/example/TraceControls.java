@@ -0,0 +1,153 @@
+package org.example;
+
+import org.example.engine.trace.TraceReader;
+import org.example.engine.trace.TraceReplayer;
+import org.example.engine.trace.TraceWriter;
+
+import javax.swing.*;
+import java.awt.*;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+// Grabación y reproducción de trazas binarias de un escenario. La grabación se arma al
+// iniciar la simulación; la reproducción abre una traza y la despacha a la vista a la
+// velocidad elegida. Las trazas van a -Dsimulador.trace.dir (por defecto "trazas")
+public class TraceControls extends JPanel {
+    private static final String[] SPEED_LABELS = {"x0.25", "x1", "x4", "x16", "x100", "Sin pausas"};
+    private static final double[] SPEEDS = {0.25, 1, 4, 16, 100, Double.POSITIVE_INFINITY};
+    private static final DateTimeFormatter FILE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    // La vista que recibe la reproducción
+    interface Target {
+        // Prepara la vista para la traza y devuelve a dónde despachar los eventos; null
+        // si la traza no se puede mostrar (la vista ya avisó por qué)
+        TraceReplayer.Sink replayStarted(TraceReader reader);
+
+        // En el hilo de eventos de Swing, al terminar o detener la reproducción
+        void replayFinished(TraceReader reader, long replayed);
+    }
+
+    private final String name;
+    private final int scenario;
+    private final Target target;
+    private final Path directory = Path.of(System.getProperty("simulador.trace.dir", "trazas"));
+
+    private final JCheckBox recordCheck = new JCheckBox("Grabar traza");
+    private final JButton replayButton = new JButton("Reproducir traza...");
+    private final JComboBox<String> speedCombo = new JComboBox<>(SPEED_LABELS);
+    private TraceWriter recording;
+    private volatile TraceReplayer replayer;
+
+    public TraceControls(String name, int scenario, Target target) {
+        this.name = name;
+        this.scenario = scenario;
+        this.target = target;
+
+        speedCombo.setSelectedIndex(1);
+        speedCombo.addActionListener(e -> {
+            if (replayer != null) replayer.setSpeed(speed());
+        });
+        replayButton.addActionListener(e -> {
+            if (replayer != null) {
+                replayer.stop();
+            } else {
+                chooseAndReplay();
+            }
+        });
+
+        setLayout(new FlowLayout());
+        setBorder(BorderFactory.createTitledBorder("Traza"));
+        add(recordCheck);
+        add(replayButton);
+        add(speedCombo);
+    }
+
+    // Abre una traza nueva si está marcado "Grabar traza"; null si no se graba
+    public TraceWriter startRecording(int[] params) {
+        if (!recordCheck.isSelected()) return null;
+        Path file = directory.resolve(name + "-" + LocalDateTime.now().format(FILE_TIME) + ".trace");
+        try {
+            recording = new TraceWriter(file, scenario, params);
+        } catch (IOException e) {
+            JOptionPane.showMessageDialog(this, "No se pudo crear la traza: " + e.getMessage(),
+                    "Traza", JOptionPane.ERROR_MESSAGE);
+        }
+        return recording;
+    }
+
+    // Cierra la traza en curso y devuelve el resumen para el log; null si no se grababa
+    public String stopRecording() {
+        TraceWriter writer = recording;
+        if (writer == null) return null;
+        recording = null;
+        try {
+            writer.close();
+        } catch (IOException e) {
+            return "No se pudo cerrar la traza " + writer.file() + ": " + e.getMessage();
+        }
+        return String.format("Traza grabada en %s: %,d eventos, %,d descartados",
+                writer.file(), writer.recordCount(), writer.droppedCount());
+    }
+
+    // Mientras corre la simulación no se puede reproducir ni cambiar la grabación
+    public void setSimulationRunning(boolean running) {
+        recordCheck.setEnabled(!running);
+        replayButton.setEnabled(!running);
+    }
+
+    public boolean isReplaying() {
+        return replayer != null;
+    }
+
+    private double speed() {
+        return SPEEDS[speedCombo.getSelectedIndex()];
+    }
+
+    private void chooseAndReplay() {
+        JFileChooser chooser = new JFileChooser(directory.toFile());
+        if (chooser.showOpenDialog(this) != JFileChooser.APPROVE_OPTION) return;
+        File file = chooser.getSelectedFile();
+
+        TraceReader reader;
+        try {
+            reader = new TraceReader(file.toPath());
+        } catch (IOException e) {
+            JOptionPane.showMessageDialog(this, e.getMessage(), "Traza", JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+        if (reader.scenario() != scenario) {
+            JOptionPane.showMessageDialog(this, "La traza es de otro escenario", "Traza", JOptionPane.WARNING_MESSAGE);
+            closeQuietly(reader);
+            return;
+        }
+        TraceReplayer.Sink sink = target.replayStarted(reader);
+        if (sink == null) {
+            closeQuietly(reader);
+            return;
+        }
+
+        recordCheck.setEnabled(false);
+        replayButton.setText("Detener reproducción");
+        replayer = new TraceReplayer(reader, sink, () -> SwingUtilities.invokeLater(() -> {
+            long replayed = replayer.position();
+            replayer = null;
+            recordCheck.setEnabled(true);
+            replayButton.setText("Reproducir traza...");
+            target.replayFinished(reader, replayed);
+            closeQuietly(reader);
+        }));
+        replayer.setSpeed(speed());
+        replayer.start();
+    }
+
+    private static void closeQuietly(TraceReader reader) {
+        try {
+            reader.close();
+        } catch (IOException e) {
+            // Solo lectura: no hay nada que perder
+        }
+    }
+}
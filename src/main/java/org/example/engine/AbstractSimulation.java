@@ -0,0 +1,103 @@
+package org.example.engine;
+
+import org.example.engine.metrics.MetricsRegistry;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public abstract class AbstractSimulation implements Simulation {
+    private final Pacer pacer;
+    private final List<Thread> workers = new ArrayList<>();
+    private volatile boolean running = false;
+    private volatile boolean started = false;
+    private volatile long startNanos, stopNanos;
+    private volatile ExecutionMode executionMode = ExecutionMode.PLATFORM;
+    private final MetricsRegistry metrics = new MetricsRegistry();
+
+    protected AbstractSimulation(Pacer pacer) {
+        this.pacer = pacer;
+    }
+
+    @Override
+    public synchronized void start() {
+        if (!running) {
+            prepare();
+            startNanos = pacer.now();
+            started = true;
+            running = true;
+
+            workers.clear();
+            for (Runnable task : createWorkers()) {
+                workers.add(pacer.newThread(executionMode, task));
+            }
+            for (Thread worker : workers) {
+                worker.start();
+            }
+        }
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (running) {
+            stopNanos = pacer.now(); // Antes de running = false, para elapsedNanos()
+            running = false;
+            for (Thread worker : workers) {
+                worker.interrupt();
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Se aplica en el próximo start()
+    public void setExecutionMode(ExecutionMode executionMode) {
+        this.executionMode = executionMode;
+    }
+
+    public ExecutionMode executionMode() {
+        return executionMode;
+    }
+
+    // Las pausas de los actores y el reloj con el que miden
+    public Pacer pacer() {
+        return pacer;
+    }
+
+    // Sondas de espera/retención de las primitivas; cada simulación las registra en prepare()
+    public MetricsRegistry metrics() {
+        return metrics;
+    }
+
+    // Duración de la última ejecución (hasta ahora si sigue corriendo), en el reloj del Pacer
+    public long elapsedNanos() {
+        if (!started) return 0;
+        long end = running ? pacer.now() : stopNanos;
+        return end - startNanos;
+    }
+
+    // Espera a que terminen los hilos de la última ejecución
+    public boolean awaitTermination(long timeoutMillis) throws InterruptedException {
+        List<Thread> snapshot;
+        synchronized (this) {
+            snapshot = new ArrayList<>(workers);
+        }
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        for (Thread worker : snapshot) {
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) return false;
+            worker.join(remaining);
+            if (worker.isAlive()) return false;
+        }
+        return true;
+    }
+
+    // Se ejecuta antes de marcar la simulación como activa y crear los hilos; si lanza una
+    // excepción la simulación no arranca
+    protected void prepare() {
+    }
+
+    protected abstract List<Runnable> createWorkers();
+}
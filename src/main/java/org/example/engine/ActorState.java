@@ -0,0 +1,8 @@
+package org.example.engine;
+
+// Estado genérico de un actor, para vistas agregadas de muchos actores
+public enum ActorState {
+    WAITING,
+    ACTIVE,
+    RESTING
+}
@@ -0,0 +1,44 @@
+package org.example.engine;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+// Cuenta cuántos actores hay en cada estado. Cada actor solo escribe su propia posición
+// de states, así que el único estado compartido son los LongAdder.
+public final class ActorTally {
+    private static final ActorState[] STATES = ActorState.values();
+
+    private final LongAdder[] counts = new LongAdder[STATES.length];
+    private volatile byte[] states = new byte[0];
+
+    public ActorTally() {
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = new LongAdder();
+        }
+    }
+
+    // Solo con la simulación detenida
+    public void reset(int actors) {
+        byte[] fresh = new byte[actors];
+        Arrays.fill(fresh, (byte) -1);
+        for (LongAdder count : counts) {
+            count.reset();
+        }
+        states = fresh;
+    }
+
+    public void move(int actor, ActorState state) {
+        byte[] current = states;
+        int previous = current[actor];
+        if (previous == state.ordinal()) return;
+        if (previous >= 0) {
+            counts[previous].decrement();
+        }
+        counts[state.ordinal()].increment();
+        current[actor] = (byte) state.ordinal();
+    }
+
+    public long count(ActorState state) {
+        return counts[state.ordinal()].sum();
+    }
+}
@@ -0,0 +1,327 @@
+package org.example.engine;
+
+import org.example.engine.metrics.Histogram;
+import org.example.engine.metrics.MetricsRegistry;
+import org.example.engine.philosophers.ForkStrategy;
+import org.example.engine.philosophers.PhilosophersListener;
+import org.example.engine.philosophers.PhilosophersSimulation;
+import org.example.engine.philosophers.TableStats;
+import org.example.engine.producerconsumer.BufferType;
+import org.example.engine.producerconsumer.ProducerConsumerListener;
+import org.example.engine.producerconsumer.ProducerConsumerSimulation;
+import org.example.engine.producerconsumer.WaitStrategy;
+import org.example.engine.readerswriters.CacheEviction;
+import org.example.engine.readerswriters.CacheWritePolicy;
+import org.example.engine.readerswriters.KeyDistribution;
+import org.example.engine.readerswriters.LockPolicy;
+import org.example.engine.readerswriters.LockStats;
+import org.example.engine.readerswriters.ReadThroughCache;
+import org.example.engine.readerswriters.ReadersWritersListener;
+import org.example.engine.readerswriters.ReadersWritersSimulation;
+import org.example.engine.virtualtime.VirtualClock;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+// Barrido de parámetros sin interfaz gráfica: arma el producto cartesiano de los valores
+// dados, corre cada punto con la simulación del escenario sobre un VirtualClock (un hilo
+// por punto, determinista por semilla) en un ForkJoinPool y escribe una fila CSV por punto.
+// Cada valor es una lista separada por comas; los enteros aceptan rangos inicio..fin o
+// inicio..fin:paso, y los parámetros enumerados (buffer, politica, algoritmo...) aceptan
+// "todas"/"todos". Las combinaciones que la simulación no admite en tiempo virtual (Flow, un
+// anillo SPSC con varios productores) se saltean.
+// Los números son de un modelo: las pausas y esperas transcurren en el reloj virtual y el
+// trabajo de CPU entre ellas no cuesta tiempo, así que no son mediciones de esta máquina.
+// Uso: BatchRunner <pc|lectores|filosofos> [parámetro=valores]... [minutos=60]
+//      [umbral=10000 (ms de espera que cuentan como inanición)] [hilos=núcleos] [salida=<escenario>.csv]
+// Ejemplo: BatchRunner filosofos filosofos=5,100,1000 algoritmo=todos semilla=1..5
+// (con --add-opens java.base/java.lang=ALL-UNNAMED, ver VirtualClock)
+public class BatchRunner {
+
+    // Parámetros del escenario con su valor por defecto, columnas de resultado, qué puntos
+    // admite y cómo correr uno (valores ya elegidos -> resultados en el orden de las columnas)
+    private record Scenario(Map<String, String> parameters, List<String> results,
+                            Predicate<Point> accepts, Function<Point, Object[]> run) {
+    }
+
+    private static final List<String> SCENARIOS = List.of("pc", "lectores", "filosofos");
+
+    // Parámetros que toman el nombre de una constante; "todas"/"todos" las recorre a todas
+    private static final Map<String, Class<? extends Enum<?>>> ENUMS = Map.of(
+            "buffer", BufferType.class,
+            "politica", LockPolicy.class,
+            "distribucion", KeyDistribution.class,
+            "cache", CacheEviction.class,
+            "escritura_cache", CacheWritePolicy.class,
+            "algoritmo", ForkStrategy.class);
+
+    private record Point(Map<String, String> values, long virtualMillis, long starvationNanos) {
+        int integer(String name) {
+            return Integer.parseInt(values.get(name));
+        }
+
+        <E extends Enum<E>> E constant(String name, Class<E> type) {
+            return Enum.valueOf(type, values.get(name));
+        }
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length == 0) {
+            System.err.println("Uso: BatchRunner <pc|lectores|filosofos> [parámetro=valores]... "
+                    + "[minutos=60] [umbral=10000] [hilos=" + Runtime.getRuntime().availableProcessors()
+                    + "] [salida=archivo.csv]");
+            for (String name : SCENARIOS) {
+                System.err.println("  " + name + ": " + scenario(name).parameters());
+            }
+            System.err.println("Cada punto corre la simulación real sobre un reloj virtual: las pausas y esperas son"
+                    + " simuladas y el trabajo de CPU no cuesta tiempo, así que los números son de un modelo,"
+                    + " no mediciones de esta máquina.");
+            return;
+        }
+        String name = args[0];
+        Scenario scenario = scenario(name);
+        Map<String, String> options = new LinkedHashMap<>();
+        for (String arg : Arrays.copyOfRange(args, 1, args.length)) {
+            int equals = arg.indexOf('=');
+            if (equals <= 0) {
+                throw new IllegalArgumentException("Se esperaba parámetro=valores: " + arg);
+            }
+            options.put(arg.substring(0, equals), arg.substring(equals + 1));
+        }
+        long minutes = Long.parseLong(options.getOrDefault("minutos", "60"));
+        long starvationMillis = Long.parseLong(options.getOrDefault("umbral", "10000"));
+        int threads = Integer.parseInt(options.getOrDefault("hilos",
+                String.valueOf(Runtime.getRuntime().availableProcessors())));
+        Path output = Path.of(options.getOrDefault("salida", name + ".csv"));
+        for (String option : options.keySet()) {
+            if (!scenario.parameters().containsKey(option)
+                    && !List.of("minutos", "umbral", "hilos", "salida").contains(option)) {
+                throw new IllegalArgumentException("Parámetro desconocido: " + option
+                        + " (válidos: " + String.join(", ", scenario.parameters().keySet()) + ")");
+            }
+        }
+
+        List<Point> grid = new ArrayList<>();
+        grid.add(new Point(new LinkedHashMap<>(), minutes * 60_000, starvationMillis * 1_000_000));
+        for (Map.Entry<String, String> parameter : scenario.parameters().entrySet()) {
+            List<String> values = expand(parameter.getKey(), options.getOrDefault(parameter.getKey(), parameter.getValue()));
+            List<Point> next = new ArrayList<>(grid.size() * values.size());
+            for (Point point : grid) {
+                for (String value : values) {
+                    Map<String, String> chosen = new LinkedHashMap<>(point.values());
+                    chosen.put(parameter.getKey(), value);
+                    next.add(new Point(chosen, point.virtualMillis(), point.starvationNanos()));
+                }
+            }
+            grid = next;
+        }
+        int skipped = grid.size();
+        grid = grid.stream().filter(scenario.accepts()).toList();
+        skipped -= grid.size();
+        if (skipped > 0) {
+            System.err.printf("%s: %d combinaciones no admitidas se saltean%n", name, skipped);
+        }
+
+        System.err.printf("%s: %d puntos de %d minutos simulados en %d hilos%n", name, grid.size(), minutes, threads);
+        long start = System.nanoTime();
+        AtomicInteger done = new AtomicInteger();
+        int total = grid.size();
+        List<Point> points = grid;
+        new VirtualClock(0); // Sin --add-opens falla acá y no en cada punto
+        // Las ventanas de muestreo son de tiempo real: en tiempo virtual se mide todo
+        int sampleEvery = MetricsRegistry.sampleEvery();
+        MetricsRegistry.setSampleEvery(1);
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        List<String> rows;
+        try {
+            rows = pool.submit(() -> points.parallelStream().map(point -> {
+                long pointStart = System.nanoTime();
+                Object[] results = scenario.run().apply(point);
+                double wallMillis = (System.nanoTime() - pointStart) / 1e6;
+                int finished = done.incrementAndGet();
+                if (finished % Math.max(1, total / 20) == 0 || finished == total) {
+                    System.err.printf("  %d/%d%n", finished, total);
+                }
+                return row(point.values().values(), results, wallMillis);
+            }).toList()).get();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Falló un punto del barrido", e.getCause());
+        } finally {
+            pool.shutdown();
+            MetricsRegistry.setSampleEvery(sampleEvery);
+        }
+
+        Path parent = output.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        try (BufferedWriter out = Files.newBufferedWriter(output, StandardCharsets.UTF_8)) {
+            List<String> header = new ArrayList<>(scenario.parameters().keySet());
+            header.addAll(scenario.results());
+            header.add("ms_reales");
+            out.write(String.join(",", header));
+            out.newLine();
+            for (String row : rows) {
+                out.write(row);
+                out.newLine();
+            }
+        }
+        System.err.printf("%s: %d filas en %.1f s%n", output, rows.size(), (System.nanoTime() - start) / 1e9);
+    }
+
+    private static Scenario scenario(String name) {
+        return switch (name) {
+            case "pc" -> new Scenario(parameters("buffer", "SEMAPHORE", "capacidad", "10", "productores", "1",
+                    "consumidores", "1", "lote", "1", "demora_productor", "1000", "demora_consumidor", "1000"),
+                    List.of("items_por_s", "entrega_p50_ms", "entrega_p99_ms", "entrega_max_ms",
+                            "espera_productor_p99_ms", "espera_consumidor_p99_ms", "inanicion"),
+                    BatchRunner::acceptsProducerConsumer,
+                    BatchRunner::runProducerConsumer);
+            case "lectores" -> new Scenario(parameters("lectores", "20", "escritores", "3", "politica", "todas",
+                    "shards", "1", "claves", "64", "distribucion", "UNIFORM", "cache", "NONE", "capacidad_cache", "16",
+                    "ttl", "20000", "escritura_cache", "INVALIDATE", "semilla", "1"),
+                    List.of("lecturas_por_s", "escrituras_por_s", "espera_lector_p99_ms", "espera_escritor_p99_ms",
+                            "espera_escritor_max_ms", "reintentos", "aciertos_cache", "inanicion_lectores",
+                            "inanicion_escritores"),
+                    point -> true, BatchRunner::runReadersWriters);
+            case "filosofos" -> new Scenario(parameters("filosofos", "5", "algoritmo", "todos", "semilla", "1"),
+                    List.of("comidas_por_s", "concurrencia", "equidad", "comidas_min", "comidas_max",
+                            "hambre_p99_ms", "hambre_max_ms", "reintentos", "inanicion"),
+                    point -> true, BatchRunner::runPhilosophers);
+            default -> throw new IllegalArgumentException("Escenario desconocido: " + name
+                    + " (pc, lectores o filosofos)");
+        };
+    }
+
+    // Flow corre en pools propios y no admite tiempo virtual; los anillos SPSC, un solo
+    // productor y un solo consumidor
+    private static boolean acceptsProducerConsumer(Point point) {
+        BufferType buffer = point.constant("buffer", BufferType.class);
+        return !buffer.demandDriven() && (!buffer.singleProducerSingleConsumer()
+                || (point.integer("productores") == 1 && point.integer("consumidores") == 1));
+    }
+
+    private static Object[] runProducerConsumer(Point point) {
+        VirtualClock clock = new VirtualClock(1);
+        ProducerConsumerSimulation simulation =
+                new ProducerConsumerSimulation(point.integer("capacidad"), ProducerConsumerListener.NONE, clock);
+        // La estrategia de espera no importa: en tiempo virtual los anillos siempre ceden
+        simulation.setBufferType(point.constant("buffer", BufferType.class), WaitStrategy.YIELD);
+        simulation.setActors(point.integer("productores"), point.integer("consumidores"));
+        simulation.setBatchSize(point.integer("lote"));
+        int producerDelay = point.integer("demora_productor");
+        int consumerDelay = point.integer("demora_consumidor");
+        simulation.setProducerDelay(() -> producerDelay);
+        simulation.setConsumerDelay(() -> consumerDelay);
+        simulation.setMeasureLatency(true);
+        clock.run(simulation, point.virtualMillis());
+        Histogram latency = simulation.handoffLatency();
+        Histogram producerWait = simulation.producerWait();
+        Histogram consumerWait = simulation.consumerWait();
+        return new Object[]{simulation.consumedCount() * 1000.0 / point.virtualMillis(),
+                millis(latency.percentile(50)), millis(latency.percentile(99)), millis(latency.max()),
+                millis(producerWait.percentile(99)), millis(consumerWait.percentile(99)),
+                producerWait.countAbove(point.starvationNanos()) + consumerWait.countAbove(point.starvationNanos())};
+    }
+
+    private static Object[] runReadersWriters(Point point) {
+        VirtualClock clock = new VirtualClock(point.integer("semilla"));
+        ReadersWritersSimulation simulation = new ReadersWritersSimulation(ReadersWritersListener.NONE, clock);
+        simulation.setActors(point.integer("lectores"), point.integer("escritores"));
+        simulation.setLockPolicy(point.constant("politica", LockPolicy.class));
+        simulation.setSharding(point.integer("shards"), point.integer("claves"),
+                point.constant("distribucion", KeyDistribution.class));
+        simulation.setCache(point.constant("cache", CacheEviction.class), point.integer("capacidad_cache"),
+                point.integer("ttl"), point.constant("escritura_cache", CacheWritePolicy.class));
+        clock.run(simulation, point.virtualMillis());
+        LockStats stats = simulation.lockStats();
+        ReadThroughCache cache = simulation.cache();
+        double seconds = point.virtualMillis() / 1000.0;
+        return new Object[]{simulation.readCount() / seconds, simulation.writeCount() / seconds,
+                millis(stats.readerWait().percentile(99)), millis(stats.writerWait().percentile(99)),
+                millis(stats.maxWriterWait()), stats.optimisticRetries(), cache == null ? 0.0 : cache.hitRatio(),
+                stats.readerWait().countAbove(point.starvationNanos()),
+                stats.writerWait().countAbove(point.starvationNanos())};
+    }
+
+    private static Object[] runPhilosophers(Point point) {
+        VirtualClock clock = new VirtualClock(point.integer("semilla"));
+        PhilosophersSimulation simulation =
+                new PhilosophersSimulation(point.integer("filosofos"), PhilosophersListener.NONE, clock);
+        simulation.setStrategy(point.constant("algoritmo", ForkStrategy.class));
+        clock.run(simulation, point.virtualMillis());
+        TableStats stats = simulation.stats();
+        return new Object[]{simulation.mealCount() * 1000.0 / point.virtualMillis(), simulation.concurrency(),
+                stats.fairness(), stats.minMeals(), stats.maxMeals(), millis(stats.hungerWait().percentile(99)),
+                millis(stats.hungerWait().max()), stats.retries(),
+                stats.hungerWait().countAbove(point.starvationNanos())};
+    }
+
+    private static Map<String, String> parameters(String... namesAndDefaults) {
+        Map<String, String> parameters = new LinkedHashMap<>();
+        for (int i = 0; i < namesAndDefaults.length; i += 2) {
+            parameters.put(namesAndDefaults[i], namesAndDefaults[i + 1]);
+        }
+        return parameters;
+    }
+
+    // "a,b,c", rangos "1..10" / "10..100:10", y "todas"/"todos" para los enums
+    private static List<String> expand(String parameter, String values) {
+        Class<? extends Enum<?>> type = ENUMS.get(parameter);
+        List<String> expanded = new ArrayList<>();
+        for (String value : values.split(",")) {
+            value = value.trim();
+            if (type != null && (value.equals("todas") || value.equals("todos"))) {
+                for (Enum<?> constant : type.getEnumConstants()) {
+                    expanded.add(constant.name());
+                }
+            } else if (value.contains("..")) {
+                String[] bounds = value.split("\\.\\.|:");
+                long from = Long.parseLong(bounds[0]);
+                long to = Long.parseLong(bounds[1]);
+                long step = bounds.length > 2 ? Long.parseLong(bounds[2]) : 1;
+                if (step <= 0 || from > to) {
+                    throw new IllegalArgumentException("Rango inválido para " + parameter + ": " + value
+                            + " (inicio..fin:paso con inicio <= fin y paso > 0)");
+                }
+                for (long v = from; v <= to; v += step) {
+                    expanded.add(String.valueOf(v));
+                }
+            } else if (type != null) {
+                expanded.add(value.toUpperCase(Locale.ROOT));
+            } else {
+                expanded.add(value);
+            }
+        }
+        return expanded;
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+
+    private static String row(Iterable<String> parameters, Object[] results, double wallMillis) {
+        StringBuilder row = new StringBuilder();
+        for (String value : parameters) {
+            row.append(value).append(',');
+        }
+        for (Object result : results) {
+            row.append(result instanceof Double d ? String.format(Locale.ROOT, "%.3f", d) : result).append(',');
+        }
+        return row.append(String.format(Locale.ROOT, "%.1f", wallMillis)).toString();
+    }
+}
@@ -0,0 +1,32 @@
+package org.example.engine;
+
+// Tipo de hilo que usa la simulación para cada actor
+public enum ExecutionMode {
+    PLATFORM("Hilos de plataforma") {
+        @Override
+        public Thread newThread(Runnable task) {
+            return Thread.ofPlatform().unstarted(task);
+        }
+    },
+    // Para miles de actores: solo deben bloquearse en primitivas de java.util.concurrent
+    // (no en synchronized) para no fijar el hilo portador
+    VIRTUAL("Hilos virtuales") {
+        @Override
+        public Thread newThread(Runnable task) {
+            return Thread.ofVirtual().unstarted(task);
+        }
+    };
+
+    private final String label;
+
+    ExecutionMode(String label) {
+        this.label = label;
+    }
+
+    public abstract Thread newThread(Runnable task);
+
+    @Override
+    public String toString() {
+        return label;
+    }
+}
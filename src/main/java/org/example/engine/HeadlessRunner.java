@@ -0,0 +1,51 @@
+package org.example.engine;
+
+import org.example.engine.philosophers.PhilosophersListener;
+import org.example.engine.philosophers.PhilosophersSimulation;
+import org.example.engine.producerconsumer.BufferType;
+import org.example.engine.producerconsumer.ProducerConsumerListener;
+import org.example.engine.producerconsumer.ProducerConsumerSimulation;
+import org.example.engine.producerconsumer.WaitStrategy;
+import org.example.engine.readerswriters.ReadersWritersListener;
+import org.example.engine.readerswriters.ReadersWritersSimulation;
+
+// Corre los tres escenarios sin interfaz gráfica y sin pausas, para medir solo la sincronización
+public class HeadlessRunner {
+
+    public static void main(String[] args) throws InterruptedException {
+        long millis = args.length > 0 ? Long.parseLong(args[0]) : 2000;
+
+        for (BufferType type : BufferType.values()) {
+            ProducerConsumerSimulation producerConsumer =
+                    new ProducerConsumerSimulation(1024, ProducerConsumerListener.NONE, Pacer.NONE);
+            producerConsumer.setBufferType(type, WaitStrategy.YIELD);
+            run(producerConsumer, millis);
+            System.out.printf("Productor-Consumidor [%s]: %,d items consumidos (%,.0f items/s)%n",
+                    type, producerConsumer.consumedCount(), perSecond(producerConsumer.consumedCount(), millis));
+        }
+
+        ReadersWritersSimulation readersWriters =
+                new ReadersWritersSimulation(ReadersWritersListener.NONE, Pacer.NONE);
+        run(readersWriters, millis);
+        System.out.printf("Lectores-Escritores: %,d lecturas, %,d escrituras (%,.0f ops/s)%n",
+                readersWriters.readCount(), readersWriters.writeCount(),
+                perSecond(readersWriters.readCount() + readersWriters.writeCount(), millis));
+
+        PhilosophersSimulation philosophers =
+                new PhilosophersSimulation(5, PhilosophersListener.NONE, Pacer.NONE);
+        run(philosophers, millis);
+        System.out.printf("Filósofos Comensales: %,d comidas (%,.0f comidas/s)%n",
+                philosophers.mealCount(), perSecond(philosophers.mealCount(), millis));
+    }
+
+    private static void run(AbstractSimulation simulation, long millis) throws InterruptedException {
+        simulation.start();
+        Thread.sleep(millis);
+        simulation.stop();
+        simulation.awaitTermination(5000);
+    }
+
+    private static double perSecond(long count, long millis) {
+        return count * 1000.0 / millis;
+    }
+}
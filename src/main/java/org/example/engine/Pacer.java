@@ -0,0 +1,77 @@
+package org.example.engine;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
+
+// Controla las pausas que simulan trabajo, para poder correr sin Thread.sleep en modo headless
+@FunctionalInterface
+public interface Pacer {
+    Pacer REAL_TIME = Thread::sleep;
+
+    // Sin pausas: solo respeta la interrupción del hilo
+    Pacer NONE = new Pacer() {
+        @Override
+        public void pause(long millis) throws InterruptedException {
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+        }
+
+        @Override
+        public long nanos(long millis) {
+            return 0;
+        }
+    };
+
+    void pause(long millis) throws InterruptedException;
+
+    // Duración real de una pausa, para quien la programa en un ScheduledExecutorService en
+    // vez de dormir el hilo
+    default long nanos(long millis) {
+        return millis * 1_000_000;
+    }
+
+    // Reloj de la simulación en ns, en la misma escala que nanos(): las esperas y latencias
+    // que miden los actores se toman con este reloj para que también valgan en tiempo virtual
+    default long now() {
+        return System.nanoTime();
+    }
+
+    // Espera entre reintentos de un algoritmo de sincronización (no es trabajo simulado, así
+    // que en tiempo real no se escala)
+    default void backoff(long nanos) throws InterruptedException {
+        Thread.sleep(Duration.ofNanos(nanos));
+    }
+
+    // Azar de las pausas y de las claves que piden los actores
+    default RandomGenerator random() {
+        return ThreadLocalRandom.current();
+    }
+
+    // Hilo de cada actor
+    default Thread newThread(ExecutionMode mode, Runnable task) {
+        return mode.newThread(task);
+    }
+
+    // Tiempo simulado (VirtualClock): los actores solo avanzan cuando el reloj los despierta,
+    // así que no pueden esperar en tiempo real ni girar sin ceder el hilo
+    default boolean virtualTime() {
+        return false;
+    }
+
+    // Tiempo real acelerado: las mismas proporciones entre pausas, divididas por speedup
+    static Pacer scaled(double speedup) {
+        return new Pacer() {
+            @Override
+            public void pause(long millis) throws InterruptedException {
+                Thread.sleep(Duration.ofNanos(nanos(millis)));
+            }
+
+            @Override
+            public long nanos(long millis) {
+                return (long) (millis * 1_000_000 / speedup);
+            }
+        };
+    }
+}
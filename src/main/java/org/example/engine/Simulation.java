@@ -0,0 +1,10 @@
+package org.example.engine;
+
+// Ciclo de vida común a todas las simulaciones, independiente de la interfaz gráfica
+public interface Simulation {
+    void start();
+
+    void stop();
+
+    boolean isRunning();
+}
@@ -0,0 +1,74 @@
+package org.example.engine;
+
+import jdk.jfr.Recording;
+import org.example.engine.metrics.ChromeTrace;
+import org.example.engine.metrics.Timeline;
+import org.example.engine.philosophers.PhilosophersListener;
+import org.example.engine.philosophers.PhilosophersSimulation;
+import org.example.engine.producerconsumer.ProducerConsumerListener;
+import org.example.engine.producerconsumer.ProducerConsumerSimulation;
+import org.example.engine.readerswriters.ReadersWritersListener;
+import org.example.engine.readerswriters.ReadersWritersSimulation;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+
+// Corre un escenario sin interfaz gráfica grabando la línea de tiempo de esperas y
+// retenciones en <prefijo>.jfr (abrir con JDK Mission Control) y <prefijo>.json (abrir
+// con chrome://tracing o ui.perfetto.dev).
+// Uso: TimelineExporter <pc|lectores|filosofos> [ms] [aceleración] [actores] [prefijo]
+// También sirve cualquier grabación de JFR de la aplicación: el evento se llama
+// org.example.Synchronization y viene habilitado
+public class TimelineExporter {
+    private static final int MAX_SPANS = 2_000_000;
+    // A partir de esta cantidad de actores cada uno corre en un hilo virtual
+    private static final int VIRTUAL_THRESHOLD = 500;
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        String scenario = args.length > 0 ? args[0] : "pc";
+        long millis = args.length > 1 ? Long.parseLong(args[1]) : 2000;
+        double speedup = args.length > 2 ? Double.parseDouble(args[2]) : 100;
+        int actors = args.length > 3 ? Integer.parseInt(args[3]) : 5;
+        String prefix = args.length > 4 ? args[4] : scenario;
+        Pacer pacer = Pacer.scaled(speedup);
+
+        AbstractSimulation simulation = switch (scenario) {
+            case "pc" -> {
+                ProducerConsumerSimulation producerConsumer =
+                        new ProducerConsumerSimulation(10, ProducerConsumerListener.NONE, pacer);
+                producerConsumer.setActors(actors, actors);
+                yield producerConsumer;
+            }
+            case "lectores" -> {
+                ReadersWritersSimulation readersWriters = new ReadersWritersSimulation(ReadersWritersListener.NONE, pacer);
+                readersWriters.setActors(actors, Math.max(1, actors / 5));
+                yield readersWriters;
+            }
+            case "filosofos" -> new PhilosophersSimulation(actors, PhilosophersListener.NONE, pacer);
+            default -> throw new IllegalArgumentException("Escenario desconocido: " + scenario
+                    + " (pc, lectores o filosofos)");
+        };
+        simulation.setExecutionMode(actors >= VIRTUAL_THRESHOLD ? ExecutionMode.VIRTUAL : ExecutionMode.PLATFORM);
+
+        Path jfrFile = Path.of(prefix + ".jfr");
+        Path chromeFile = Path.of(prefix + ".json");
+        try (Recording recording = new Recording()) {
+            recording.enable("org.example.Synchronization").withStackTrace().withThreshold(Duration.ZERO);
+            recording.start();
+            Timeline.startChromeTrace(MAX_SPANS);
+
+            simulation.start();
+            Thread.sleep(millis);
+            simulation.stop();
+            simulation.awaitTermination(5000);
+
+            ChromeTrace trace = Timeline.stopChromeTrace();
+            recording.stop();
+            recording.dump(jfrFile);
+            trace.writeTo(chromeFile);
+            System.out.printf("%s: %,d tramos (%,d descartados)%n%s%n", chromeFile, trace.spanCount(),
+                    trace.droppedCount(), jfrFile);
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package org.example.engine.log;
+
+// Convierte un evento del EventLog en una línea de texto; cada escenario define sus códigos
+@FunctionalInterface
+public interface EventFormatter {
+    String format(int code, int a, int b, int c, Object ref);
+}
@@ -0,0 +1,115 @@
+package org.example.engine.log;
+
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Anillo acotado de eventos de log. Los hilos de la simulación solo escriben primitivos (y
+// como mucho una referencia que ya existía), sin formatear ni reservar memoria; el texto
+// se arma recién cuando un lector (la vista o un archivo) consume los eventos. Si un
+// lector se queda atrás más de la capacidad, pierde los eventos más viejos.
+public final class EventLog {
+    private final int capacity;
+    private final int mask;
+    private final AtomicLong cursor = new AtomicLong();
+    private final AtomicLongArray published;
+    private final long[] times;
+    private final int[] codes;
+    private final int[] args0, args1, args2;
+    private final Object[] refs;
+
+    public EventLog(int capacity) {
+        this.capacity = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        this.mask = this.capacity - 1;
+        this.published = new AtomicLongArray(this.capacity);
+        for (int i = 0; i < this.capacity; i++) {
+            published.set(i, -1);
+        }
+        this.times = new long[this.capacity];
+        this.codes = new int[this.capacity];
+        this.args0 = new int[this.capacity];
+        this.args1 = new int[this.capacity];
+        this.args2 = new int[this.capacity];
+        this.refs = new Object[this.capacity];
+    }
+
+    public void append(int code, int a) {
+        append(code, a, 0, 0, null);
+    }
+
+    public void append(int code, int a, int b) {
+        append(code, a, b, 0, null);
+    }
+
+    public void append(int code, int a, int b, int c, Object ref) {
+        long sequence = cursor.getAndIncrement();
+        int index = (int) (sequence & mask);
+        published.lazySet(index, -1); // Marcar la celda como en escritura
+        VarHandle.storeStoreFence();
+        times[index] = System.currentTimeMillis();
+        codes[index] = code;
+        args0[index] = a;
+        args1[index] = b;
+        args2[index] = c;
+        refs[index] = ref;
+        published.lazySet(index, sequence);
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    // Lector que arranca desde el próximo evento que se escriba
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    public interface Visitor {
+        void event(long time, int code, int a, int b, int c, Object ref);
+    }
+
+    // Cada lector lleva su propia posición; no es thread-safe (un hilo por Cursor)
+    public final class Cursor {
+        private long position = cursor.get();
+        private long lost = 0;
+
+        // Entrega hasta max eventos publicados, en orden; devuelve cuántos entregó
+        public int drain(Visitor visitor, int max) {
+            long end = cursor.get();
+            if (end - position > capacity) {
+                lost += end - capacity - position;
+                position = end - capacity;
+            }
+            int delivered = 0;
+            while (position < end && delivered < max) {
+                int index = (int) (position & mask);
+                long sequence = published.get(index);
+                if (sequence < position) {
+                    break; // Todavía se está escribiendo
+                }
+                long time = times[index];
+                int code = codes[index];
+                int a = args0[index], b = args1[index], c = args2[index];
+                Object ref = refs[index];
+                VarHandle.loadLoadFence();
+                if (sequence > position || published.get(index) != position) {
+                    lost++; // Lo pisó un escritor una vuelta más adelante
+                } else {
+                    visitor.event(time, code, a, b, c, ref);
+                    delivered++;
+                }
+                position++;
+            }
+            return delivered;
+        }
+
+        // Descarta lo pendiente
+        public void skipToEnd() {
+            position = cursor.get();
+        }
+
+        public long lost() {
+            return lost;
+        }
+    }
+}
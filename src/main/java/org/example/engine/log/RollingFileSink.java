@@ -0,0 +1,126 @@
+package org.example.engine.log;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+// Vuelca un EventLog a disco desde su propio hilo, rotando archivo.log -> archivo.log.1 ...
+// cuando se supera el tamaño máximo. Los hilos de la simulación nunca esperan por la E/S.
+public class RollingFileSink implements AutoCloseable {
+    private static final long IDLE_MILLIS = 200;
+    private static final long CLOSE_TIMEOUT_MILLIS = 5000;
+
+    private final Path file;
+    private final long maxBytes;
+    private final int keepFiles;
+    private final EventLog.Cursor cursor;
+    private final EventFormatter formatter;
+    private final Thread thread;
+    private BufferedWriter writer;
+    // Bytes UTF-8 del archivo actual
+    private long written;
+    private volatile boolean running = true;
+
+    public RollingFileSink(EventLog log, EventFormatter formatter, Path file, long maxBytes, int keepFiles) {
+        this.file = file;
+        this.maxBytes = maxBytes;
+        this.keepFiles = keepFiles;
+        this.cursor = log.cursor();
+        this.formatter = formatter;
+        this.thread = new Thread(this::run, "log-" + file.getFileName());
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    private void run() {
+        try {
+            open();
+            while (running) {
+                if (cursor.drain(this::write, 4096) == 0) {
+                    writer.flush();
+                    Thread.sleep(IDLE_MILLIS);
+                }
+            }
+            cursor.drain(this::write, Integer.MAX_VALUE);
+            writer.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void write(long time, int code, int a, int b, int c, Object ref) {
+        String line = String.format("[%d] %s%n", time, formatter.format(code, a, b, c, ref));
+        long bytes = utf8Length(line);
+        try {
+            if (written + bytes > maxBytes) {
+                roll();
+            }
+            writer.write(line);
+            written += bytes;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Lo que ocupa en el archivo: los acentos y la ñ son dos bytes, no uno
+    private static long utf8Length(String line) {
+        long bytes = 0;
+        for (int i = 0; i < line.length(); i++) {
+            char ch = line.charAt(i);
+            if (ch < 0x80) {
+                bytes += 1;
+            } else if (ch < 0x800) {
+                bytes += 2;
+            } else if (Character.isHighSurrogate(ch) && i + 1 < line.length()
+                    && Character.isLowSurrogate(line.charAt(i + 1))) {
+                bytes += 4;
+                i++;
+            } else {
+                bytes += 3;
+            }
+        }
+        return bytes;
+    }
+
+    private void open() throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8);
+        written = 0;
+    }
+
+    private void roll() throws IOException {
+        writer.close();
+        for (int i = keepFiles - 1; i >= 1; i--) {
+            Path source = i == 1 ? file : sibling(i - 1);
+            if (Files.exists(source)) {
+                Files.move(source, sibling(i), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        open();
+    }
+
+    private Path sibling(int index) {
+        return file.resolveSibling(file.getFileName() + "." + index);
+    }
+
+    // Espera a que se vuelque lo pendiente, como mucho CLOSE_TIMEOUT_MILLIS; si se interrumpe
+    // la espera, el hilo del volcado termina por su cuenta y se conserva la interrupción
+    @Override
+    public void close() {
+        running = false;
+        try {
+            thread.join(CLOSE_TIMEOUT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package org.example.engine.metrics;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+// Tramos de espera y retención en el formato Trace Event de Chrome (chrome://tracing,
+// Perfetto): un evento completo ("ph":"X") por tramo, en la fila del hilo que lo vivió.
+// Los arreglos se reservan al empezar; los tramos que no entran se cuentan como descartados
+public final class ChromeTrace {
+    private final long originNanos = System.nanoTime();
+    private final int capacity;
+    private final AtomicInteger next = new AtomicInteger();
+    private final AtomicInteger dropped = new AtomicInteger();
+    private final long[] starts, durations, threads;
+    private final int[] actors;
+    private final boolean[] holds;
+    // El nombre se publica último: un tramo sin nombre no terminó de escribirse
+    private final AtomicReferenceArray<String> names;
+    private final Map<Long, String> threadNames = new ConcurrentHashMap<>();
+
+    ChromeTrace(int capacity) {
+        this.capacity = capacity;
+        starts = new long[capacity];
+        durations = new long[capacity];
+        threads = new long[capacity];
+        actors = new int[capacity];
+        holds = new boolean[capacity];
+        names = new AtomicReferenceArray<>(capacity);
+    }
+
+    void span(String name, boolean hold, int actor, long begin, long end) {
+        int index = next.getAndIncrement();
+        if (index >= capacity) {
+            dropped.incrementAndGet();
+            return;
+        }
+        Thread thread = Thread.currentThread();
+        long id = thread.threadId();
+        if (!threadNames.containsKey(id)) {
+            threadNames.put(id, thread.getName().isEmpty() ? "Hilo " + id : thread.getName());
+        }
+        starts[index] = begin - originNanos;
+        durations[index] = end - begin;
+        threads[index] = id;
+        actors[index] = actor;
+        holds[index] = hold;
+        names.set(index, name);
+    }
+
+    public int spanCount() {
+        return Math.min(next.get(), capacity);
+    }
+
+    public int droppedCount() {
+        return dropped.get();
+    }
+
+    public void writeTo(Path file) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            out.write("{\"displayTimeUnit\":\"ns\",\"traceEvents\":[\n");
+            boolean first = true;
+            for (Map.Entry<Long, String> thread : threadNames.entrySet()) {
+                if (!first) out.write(",\n");
+                first = false;
+                out.write("{\"ph\":\"M\",\"name\":\"thread_name\",\"pid\":1,\"tid\":" + thread.getKey()
+                        + ",\"args\":{\"name\":" + quote(thread.getValue()) + "}}");
+            }
+            int count = spanCount();
+            for (int i = 0; i < count; i++) {
+                String name = names.get(i);
+                if (name == null) continue;
+                if (!first) out.write(",\n");
+                first = false;
+                // ts y dur van en microsegundos
+                out.write(String.format(Locale.ROOT,
+                        "{\"ph\":\"X\",\"name\":%s,\"cat\":\"%s\",\"pid\":1,\"tid\":%d,\"ts\":%.3f,\"dur\":%.3f,\"args\":{\"actor\":%d}}",
+                        quote((holds[i] ? "Retención: " : "Espera: ") + name), holds[i] ? "retencion" : "espera",
+                        threads[i], starts[i] / 1000.0, durations[i] / 1000.0, actors[i]));
+            }
+            out.write("\n]}\n");
+        }
+    }
+
+    private static String quote(String text) {
+        StringBuilder quoted = new StringBuilder(text.length() + 2).append('"');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '"' -> quoted.append("\\\"");
+                case '\\' -> quoted.append("\\\\");
+                default -> {
+                    if (c < 0x20) {
+                        quoted.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        quoted.append(c);
+                    }
+                }
+            }
+        }
+        return quoted.append('"').toString();
+    }
+}
@@ -0,0 +1,97 @@
+package org.example.engine.metrics;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.LockSupport;
+
+// Las sondas de una simulación, en el orden en que se registraron. La medición se
+// prende/apaga para todas a la vez: -Dsimulador.metrics=false arranca apagada.
+//
+// Un System.nanoTime() cuesta decenas de ns, tanto como una operación del buffer sin
+// locks, así que por defecto se muestrea por ventanas de tiempo: un hilo abre una
+// ventana de 1 ms cada sampleEvery ms y solo las esperas que empiezan dentro de ella se
+// miden. Fuera de la ventana una sonda cuesta una lectura volatile.
+// -Dsimulador.metrics.sample=1 mide todo
+public class MetricsRegistry {
+    private static final long WINDOW_NANOS = 1_000_000;
+
+    private static volatile boolean enabled = !"false".equals(System.getProperty("simulador.metrics"));
+    private static volatile int sampleEvery = Math.max(1, Integer.getInteger("simulador.metrics.sample", 64));
+    private static volatile boolean sampling;
+    private static Thread sampler;
+
+    static {
+        update();
+    }
+
+    private final List<Probe> probes = new CopyOnWriteArrayList<>();
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    // Lo que consultan las sondas en cada begin()
+    static boolean isSampling() {
+        return sampling;
+    }
+
+    public static synchronized void setEnabled(boolean enabled) {
+        MetricsRegistry.enabled = enabled;
+        update();
+    }
+
+    // 1 mide todas las esperas; n mide las que empiezan en 1 de cada n ms
+    public static synchronized void setSampleEvery(int sampleEvery) {
+        MetricsRegistry.sampleEvery = Math.max(1, sampleEvery);
+        update();
+    }
+
+    public static int sampleEvery() {
+        return sampleEvery;
+    }
+
+    private static void update() {
+        boolean windowed = enabled && sampleEvery > 1;
+        sampling = enabled && !windowed;
+        if (windowed && sampler == null) {
+            sampler = Thread.ofPlatform().daemon().name("metrics-sampler").start(MetricsRegistry::openWindows);
+        }
+    }
+
+    private static void openWindows() {
+        while (window(true)) {
+            LockSupport.parkNanos(WINDOW_NANOS);
+            if (!window(false)) {
+                return;
+            }
+            LockSupport.parkNanos(WINDOW_NANOS * (sampleEvery - 1));
+        }
+    }
+
+    // Abre o cierra la ventana si se sigue muestreando por ventanas; si no, el hilo termina.
+    // Con el mismo lock que update(), para no pisar el valor que dejó setSampleEvery(1)
+    private static synchronized boolean window(boolean open) {
+        if (!enabled || sampleEvery <= 1) {
+            sampler = null;
+            sampling = enabled;
+            return false;
+        }
+        sampling = open;
+        return true;
+    }
+
+    public Probe register(Probe probe) {
+        if (!probes.contains(probe)) {
+            probes.add(probe);
+        }
+        return probe;
+    }
+
+    public void clear() {
+        probes.clear();
+    }
+
+    public List<Probe> probes() {
+        return probes;
+    }
+}
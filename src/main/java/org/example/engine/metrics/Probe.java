@@ -0,0 +1,145 @@
+package org.example.engine.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+// Mide una primitiva de sincronización: cuánto se espera para adquirirla y cuánto se
+// retiene, en histogramas (ns) y en totales por actor. Uso alrededor de un acquire:
+//
+//   long start = probe.begin();
+//   semaphore.acquire();
+//   long acquiredAt = probe.acquired(actor, start);
+//   ...
+//   semaphore.release();
+//   probe.released(actor, acquiredAt);
+//
+// Con la medición apagada o fuera de la ventana de muestreo begin() devuelve 0 y el resto
+// no hace nada. No reserva memoria ni toma locks; actor < 0 registra solo en los histogramas.
+// Con una línea de tiempo en curso (Timeline) se mide y se publica cada tramo.
+// El reloj es System.nanoTime() salvo que se dé otro (el del Pacer, para medir en tiempo
+// simulado); la línea de tiempo solo tiene sentido con el reloj real
+public final class Probe {
+    private final String name;
+    private final boolean measuresHold;
+    private final LongSupplier clock;
+    private final Histogram waits = new Histogram();
+    private final Histogram holds = new Histogram();
+    private volatile ActorTimes actors = new ActorTimes(0);
+
+    public Probe(String name, boolean measuresHold) {
+        this(name, measuresHold, System::nanoTime);
+    }
+
+    public Probe(String name, boolean measuresHold, LongSupplier clock) {
+        this.name = name;
+        this.measuresHold = measuresHold;
+        this.clock = clock;
+    }
+
+    public long begin() {
+        if (Timeline.isActive()) {
+            long now = clock.getAsLong();
+            Timeline.opened(now);
+            return now;
+        }
+        return MetricsRegistry.isSampling() ? clock.getAsLong() : 0;
+    }
+
+    public long acquired(int actor, long begin) {
+        if (begin == 0) return 0;
+        long now = clock.getAsLong();
+        if (Timeline.isActive()) {
+            Timeline.span(this, false, actor, begin, now);
+            Timeline.opened(now); // Inicio de la retención o de la próxima espera
+        }
+        if (!MetricsRegistry.isEnabled()) return now;
+
+        long wait = now - begin;
+        waits.record(wait);
+        ActorTimes times = actors;
+        if (actor >= 0 && actor < times.size) {
+            times.acquisitions.incrementAndGet(actor);
+            times.waitNanos.addAndGet(actor, wait);
+            if (wait > times.maxWait.get(actor)) {
+                times.maxWait.accumulateAndGet(actor, wait, Math::max);
+            }
+        }
+        return now;
+    }
+
+    public void released(int actor, long acquiredAt) {
+        if (acquiredAt == 0) return;
+        long now = clock.getAsLong();
+        if (Timeline.isActive()) {
+            Timeline.span(this, true, actor, acquiredAt, now);
+        }
+        if (MetricsRegistry.isEnabled()) {
+            held(actor, now - acquiredAt);
+        }
+    }
+
+    // Retención medida por fuera (por ejemplo un recurso que se suelta en otro método)
+    public void held(int actor, long nanos) {
+        holds.record(nanos);
+        ActorTimes times = actors;
+        if (actor >= 0 && actor < times.size) {
+            times.holdNanos.addAndGet(actor, nanos);
+        }
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public boolean measuresHold() {
+        return measuresHold;
+    }
+
+    public Histogram waits() {
+        return waits;
+    }
+
+    public Histogram holds() {
+        return holds;
+    }
+
+    public int actors() {
+        return actors.size;
+    }
+
+    public long acquisitions(int actor) {
+        return actors.acquisitions.get(actor);
+    }
+
+    public long waitNanos(int actor) {
+        return actors.waitNanos.get(actor);
+    }
+
+    public long maxWait(int actor) {
+        return actors.maxWait.get(actor);
+    }
+
+    public long holdNanos(int actor) {
+        return actors.holdNanos.get(actor);
+    }
+
+    // Vacía los histogramas y prepara los totales para la cantidad de actores dada
+    public void reset(int actorCount) {
+        waits.reset();
+        holds.reset();
+        actors = new ActorTimes(actorCount);
+    }
+
+    private static final class ActorTimes {
+        final int size;
+        final AtomicLongArray acquisitions, waitNanos, maxWait, holdNanos;
+
+        ActorTimes(int size) {
+            this.size = size;
+            acquisitions = new AtomicLongArray(size);
+            waitNanos = new AtomicLongArray(size);
+            maxWait = new AtomicLongArray(size);
+            holdNanos = new AtomicLongArray(size);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package org.example.engine.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+// Evento de JFR por cada espera o retención medida por una sonda: en JMC aparece en la
+// línea del hilo que esperó, con la pila de dónde se quedó esperando
+@Name("org.example.Synchronization")
+@Label("Sincronización")
+@Description("Espera para adquirir o retención de una primitiva de sincronización")
+@Category({"Simulador de Procesos Concurrentes"})
+@StackTrace(true)
+final class SpanEvent extends Event {
+    @Label("Primitiva")
+    String primitive;
+
+    @Label("Fase")
+    String phase;
+
+    @Label("Actor")
+    int actor;
+}
@@ -0,0 +1,125 @@
+package org.example.engine.metrics;
+
+import jdk.jfr.EventType;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.FlightRecorderListener;
+import jdk.jfr.Recording;
+
+// Línea de tiempo de las esperas y retenciones que miden las sondas, hacia JFR (eventos
+// org.example.Synchronization) y/o hacia una traza de Chrome. Mientras no haya una
+// grabación de JFR con el evento habilitado ni una traza de Chrome en curso, cada sonda
+// paga solo una lectura volatile más. Mientras sí, se toman todos los tramos (sin la
+// ventana de muestreo de MetricsRegistry).
+//
+// Un evento de JFR toma su inicio al llamar begin(), pero una sonda recién sabe de qué
+// fue el tramo cuando termina. Por eso cada marca de tiempo que devuelve una sonda abre
+// un evento que queda en un anillo del hilo, indexado por esa marca, y se cierra cuando
+// otra llamada usa la marca como inicio de una espera o de una retención
+public final class Timeline {
+    private static final int OPEN_SPANS = 8;
+
+    private static volatile boolean active = false;
+    private static volatile boolean jfr = false;
+    private static volatile ChromeTrace chrome;
+
+    private static final ThreadLocal<OpenSpans> open = ThreadLocal.withInitial(OpenSpans::new);
+
+    // Registrar el tipo de evento inicializa JFR, y con JFR inicializado la JVM anda más
+    // lenta aunque no grabe nada: solo se consulta cuando cambia el estado de una grabación
+    static {
+        try {
+            FlightRecorder.addListener(new FlightRecorderListener() {
+                @Override
+                public void recordingStateChanged(Recording recording) {
+                    jfr = EventType.getEventType(SpanEvent.class).isEnabled();
+                    update();
+                }
+            });
+            if (FlightRecorder.isInitialized()) {
+                jfr = EventType.getEventType(SpanEvent.class).isEnabled();
+                update();
+            }
+        } catch (RuntimeException | LinkageError e) {
+            // JVM sin JFR: solo queda la traza de Chrome
+        }
+    }
+
+    private Timeline() {
+    }
+
+    static boolean isActive() {
+        return active;
+    }
+
+    private static synchronized void update() {
+        active = jfr || chrome != null;
+    }
+
+    // Empieza a juntar tramos para una traza de Chrome (reemplaza la que hubiera)
+    public static synchronized ChromeTrace startChromeTrace(int capacity) {
+        chrome = new ChromeTrace(capacity);
+        update();
+        return chrome;
+    }
+
+    // Deja de juntar tramos y devuelve la traza para escribirla; null si no había una
+    public static synchronized ChromeTrace stopChromeTrace() {
+        ChromeTrace trace = chrome;
+        chrome = null;
+        update();
+        return trace;
+    }
+
+    // Una marca de tiempo que puede ser inicio de un tramo
+    static void opened(long token) {
+        if (jfr) {
+            SpanEvent event = new SpanEvent();
+            event.begin();
+            open.get().put(token, event);
+        }
+    }
+
+    static void span(Probe probe, boolean hold, int actor, long begin, long end) {
+        if (jfr) {
+            SpanEvent event = open.get().take(begin);
+            if (event != null) {
+                event.end();
+                if (event.shouldCommit()) {
+                    event.primitive = probe.name();
+                    event.phase = hold ? "Retención" : "Espera";
+                    event.actor = actor;
+                    event.commit();
+                }
+            }
+        }
+        ChromeTrace trace = chrome;
+        if (trace != null) {
+            trace.span(probe.name(), hold, actor, begin, end);
+        }
+    }
+
+    // Los eventos abiertos de un hilo; los que nadie cierra (una marca que no fue inicio
+    // de nada) se pisan en orden de llegada
+    private static final class OpenSpans {
+        final long[] tokens = new long[OPEN_SPANS];
+        final SpanEvent[] events = new SpanEvent[OPEN_SPANS];
+        int next = 0;
+
+        void put(long token, SpanEvent event) {
+            tokens[next] = token;
+            events[next] = event;
+            next = (next + 1) % OPEN_SPANS;
+        }
+
+        SpanEvent take(long token) {
+            for (int i = 0; i < OPEN_SPANS; i++) {
+                if (events[i] != null && tokens[i] == token) {
+                    SpanEvent event = events[i];
+                    events[i] = null;
+                    return event;
+                }
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package org.example.engine.philosophers;
+
+import org.example.engine.Pacer;
+
+import java.util.concurrent.Semaphore;
+
+// Toma el palillo izquierdo y prueba el derecho con tryAcquire; si está ocupado suelta
+// el izquierdo y espera un tiempo aleatorio que se duplica en cada intento. Sin orden
+// global: el azar es lo que rompe la simetría y evita el livelock
+class BackoffForks implements ForkAcquisition {
+    private static final long MIN_BACKOFF_NANOS = 1_000;
+    private static final long MAX_BACKOFF_NANOS = 1_000_000;
+
+    private final DiningTable table;
+    private final Semaphore[] forks;
+
+    BackoffForks(DiningTable table) {
+        this.table = table;
+        this.forks = new Semaphore[table.size()];
+        for (int i = 0; i < forks.length; i++) {
+            forks[i] = new Semaphore(1);
+        }
+    }
+
+    @Override
+    public void pickUp(int philosopher) throws InterruptedException {
+        int leftFork = table.leftFork(philosopher);
+        int rightFork = table.rightFork(philosopher);
+        Pacer pacer = table.pacer();
+        long backoff = MIN_BACKOFF_NANOS;
+
+        while (true) {
+            forks[leftFork].acquire();
+            if (forks[rightFork].tryAcquire()) {
+                break;
+            }
+            forks[leftFork].release();
+            table.recordRetry();
+            pacer.backoff(1 + pacer.random().nextLong(backoff));
+            backoff = Math.min(backoff * 2, MAX_BACKOFF_NANOS);
+        }
+        table.forkTaken(philosopher, leftFork);
+        table.forkTaken(philosopher, rightFork);
+    }
+
+    @Override
+    public void putDown(int philosopher) {
+        int leftFork = table.leftFork(philosopher);
+        int rightFork = table.rightFork(philosopher);
+
+        forks[leftFork].release();
+        table.forkReleased(philosopher, leftFork);
+        forks[rightFork].release();
+        table.forkReleased(philosopher, rightFork);
+    }
+}
@@ -0,0 +1,108 @@
+package org.example.engine.philosophers;
+
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Chandy–Misra con palillos limpios y sucios. Cada palillo tiene dueño: al principio el
+// filósofo de menor número, y sucio. Un filósofo entrega un palillo que le piden solo si
+// está sucio y no está comiendo; quien lo recibe lo recibe limpio y no lo suelta hasta
+// comer. Comer ensucia los dos palillos. Así el que acaba de comer cede ante el vecino
+// y nadie pasa hambre indefinidamente. Versión en memoria compartida: "pedir" un palillo
+// es esperar en su Condition hasta que el dueño lo pueda ceder
+class ChandyMisraForks implements ForkAcquisition {
+    private final DiningTable table;
+    private final Fork[] forks;
+    // eating[p] se escribe con los locks de los dos palillos de p tomados y se lee con
+    // el lock de cualquiera de ellos
+    private final boolean[] eating;
+
+    private static final class Fork {
+        final ReentrantLock lock = new ReentrantLock();
+        final Condition changed = lock.newCondition();
+        int owner;
+        boolean dirty = true;
+    }
+
+    ChandyMisraForks(DiningTable table) {
+        this.table = table;
+        int size = table.size();
+        this.forks = new Fork[size];
+        this.eating = new boolean[size];
+        for (int i = 0; i < size; i++) {
+            // El palillo i está entre el filósofo i y el filósofo i + 1
+            forks[i] = new Fork();
+            forks[i].owner = Math.min(i, (i + 1) % size);
+        }
+    }
+
+    @Override
+    public void pickUp(int philosopher) throws InterruptedException {
+        int leftFork = table.leftFork(philosopher);
+        int rightFork = table.rightFork(philosopher);
+        Fork first = forks[Math.min(leftFork, rightFork)];
+        Fork second = forks[Math.max(leftFork, rightFork)];
+
+        // Un palillo propio y sucio se puede perder mientras se espera el otro: se repite
+        // hasta tener los dos a la vez (los recibidos limpios ya no se pierden)
+        while (true) {
+            request(philosopher, forks[leftFork]);
+            request(philosopher, forks[rightFork]);
+
+            first.lock.lockInterruptibly();
+            try {
+                second.lock.lockInterruptibly();
+                try {
+                    if (first.owner == philosopher && second.owner == philosopher) {
+                        eating[philosopher] = true;
+                        break;
+                    }
+                } finally {
+                    second.lock.unlock();
+                }
+            } finally {
+                first.lock.unlock();
+            }
+        }
+        table.forkTaken(philosopher, leftFork);
+        table.forkTaken(philosopher, rightFork);
+    }
+
+    private void request(int philosopher, Fork fork) throws InterruptedException {
+        fork.lock.lockInterruptibly();
+        try {
+            while (fork.owner != philosopher) {
+                if (fork.dirty && !eating[fork.owner]) {
+                    fork.owner = philosopher;
+                    fork.dirty = false;
+                } else {
+                    fork.changed.await();
+                }
+            }
+        } finally {
+            fork.lock.unlock();
+        }
+    }
+
+    @Override
+    public void putDown(int philosopher) {
+        int leftFork = table.leftFork(philosopher);
+        int rightFork = table.rightFork(philosopher);
+        Fork first = forks[Math.min(leftFork, rightFork)];
+        Fork second = forks[Math.max(leftFork, rightFork)];
+
+        first.lock.lock();
+        second.lock.lock();
+        try {
+            eating[philosopher] = false;
+            first.dirty = true;
+            second.dirty = true;
+            first.changed.signalAll();
+            second.changed.signalAll();
+        } finally {
+            second.lock.unlock();
+            first.lock.unlock();
+        }
+        table.forkReleased(philosopher, leftFork);
+        table.forkReleased(philosopher, rightFork);
+    }
+}
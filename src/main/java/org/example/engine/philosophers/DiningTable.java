@@ -0,0 +1,120 @@
+package org.example.engine.philosophers;
+
+import org.example.engine.Pacer;
+import org.example.engine.metrics.MetricsRegistry;
+import org.example.engine.metrics.Probe;
+
+public class DiningTable {
+    private final PhilosophersListener listener;
+    private final Pacer pacer;
+    private final TableStats stats = new TableStats();
+    private volatile int size;
+    private volatile int nextSize;
+    private volatile ForkStrategy strategy = ForkStrategy.ORDERED;
+    private volatile ForkAcquisition forks;
+
+    // Espera por los dos palillos y tiempo con ellos, por filósofo y por palillo
+    private final Probe philosopherProbe;
+    private final Probe forkProbe;
+    private volatile long[] acquiredAt = new long[0]; // Cada filósofo escribe solo su posición
+
+    public DiningTable(int size, PhilosophersListener listener, Pacer pacer) {
+        this.listener = listener;
+        this.pacer = pacer;
+        this.philosopherProbe = new Probe("Palillos (por filósofo)", true, pacer::now);
+        this.forkProbe = new Probe("Palillo (por palillo)", true, pacer::now);
+        setSize(size);
+        reset();
+    }
+
+    // El palillo izquierdo del filósofo i es el palillo i
+    // El palillo derecho del filósofo i es el palillo (i+1) % size
+    // Pero visualmente, el palillo i está entre el filósofo i y el filósofo (i+1)
+
+    // Para el filósofo i:
+    // - Su palillo izquierdo es el palillo (i-1+size) % size
+    // - Su palillo derecho es el palillo i
+    public int leftFork(int philosopher) {
+        return (philosopher - 1 + size) % size;
+    }
+
+    public int rightFork(int philosopher) {
+        return philosopher;
+    }
+
+    public void pickUp(int philosopher) throws InterruptedException {
+        long start = philosopherProbe.begin();
+        forks.pickUp(philosopher);
+        acquiredAt[philosopher] = philosopherProbe.acquired(philosopher, start);
+    }
+
+    public void putDown(int philosopher) {
+        forks.putDown(philosopher);
+        long since = acquiredAt[philosopher];
+        if (since != 0) {
+            philosopherProbe.released(philosopher, since);
+            if (MetricsRegistry.isEnabled()) {
+                long held = pacer.now() - since;
+                forkProbe.held(leftFork(philosopher), held);
+                forkProbe.held(rightFork(philosopher), held);
+            }
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // Tamaño y estrategia se aplican en el próximo reset()
+    public void setSize(int size) {
+        if (size < 2) {
+            throw new IllegalArgumentException("Se necesitan al menos 2 filósofos: " + size);
+        }
+        this.nextSize = size;
+    }
+
+    public void setStrategy(ForkStrategy strategy) {
+        this.strategy = strategy;
+    }
+
+    public ForkStrategy strategy() {
+        return strategy;
+    }
+
+    public TableStats stats() {
+        return stats;
+    }
+
+    public Probe philosopherProbe() {
+        return philosopherProbe;
+    }
+
+    public Probe forkProbe() {
+        return forkProbe;
+    }
+
+    public void reset() {
+        size = nextSize;
+        forks = strategy.create(this);
+        stats.reset(size);
+        acquiredAt = new long[size];
+        philosopherProbe.reset(size);
+        forkProbe.reset(size);
+    }
+
+    Pacer pacer() {
+        return pacer;
+    }
+
+    void forkTaken(int philosopher, int fork) {
+        listener.forkTaken(philosopher, fork, fork == leftFork(philosopher));
+    }
+
+    void forkReleased(int philosopher, int fork) {
+        listener.forkReleased(philosopher, fork);
+    }
+
+    void recordRetry() {
+        stats.recordRetry();
+    }
+}
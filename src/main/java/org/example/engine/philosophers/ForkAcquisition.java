@@ -0,0 +1,8 @@
+package org.example.engine.philosophers;
+
+// Algoritmo con el que un filósofo consigue sus dos palillos y los devuelve
+public interface ForkAcquisition {
+    void pickUp(int philosopher) throws InterruptedException;
+
+    void putDown(int philosopher);
+}
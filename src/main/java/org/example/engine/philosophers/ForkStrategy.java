@@ -0,0 +1,41 @@
+package org.example.engine.philosophers;
+
+public enum ForkStrategy {
+    ORDERED("Orden de recursos") {
+        @Override
+        ForkAcquisition create(DiningTable table) {
+            return new OrderedForks(table);
+        }
+    },
+    WAITER("Camarero (árbitro)") {
+        @Override
+        ForkAcquisition create(DiningTable table) {
+            return new WaiterForks(table);
+        }
+    },
+    CHANDY_MISRA("Chandy–Misra") {
+        @Override
+        ForkAcquisition create(DiningTable table) {
+            return new ChandyMisraForks(table);
+        }
+    },
+    BACKOFF("tryAcquire con espera aleatoria") {
+        @Override
+        ForkAcquisition create(DiningTable table) {
+            return new BackoffForks(table);
+        }
+    };
+
+    private final String label;
+
+    ForkStrategy(String label) {
+        this.label = label;
+    }
+
+    abstract ForkAcquisition create(DiningTable table);
+
+    @Override
+    public String toString() {
+        return label;
+    }
+}
@@ -0,0 +1,54 @@
+package org.example.engine.philosophers;
+
+import java.util.concurrent.Semaphore;
+
+// Orden global de recursos: siempre se toma primero el palillo de menor número, así no
+// puede formarse un ciclo de esperas
+class OrderedForks implements ForkAcquisition {
+    private final DiningTable table;
+    private final Semaphore[] forks;
+
+    OrderedForks(DiningTable table) {
+        this.table = table;
+        this.forks = new Semaphore[table.size()];
+        for (int i = 0; i < forks.length; i++) {
+            forks[i] = new Semaphore(1);
+        }
+    }
+
+    @Override
+    public void pickUp(int philosopher) throws InterruptedException {
+        int leftFork = table.leftFork(philosopher);
+        int rightFork = table.rightFork(philosopher);
+        // Ordeno los palillos a agarrar
+        int firstFork = Math.min(leftFork, rightFork);
+        int secondFork = Math.max(leftFork, rightFork);
+
+        // Agarro los palillos en orden
+        forks[firstFork].acquire();
+        table.forkTaken(philosopher, firstFork);
+
+        try {
+            forks[secondFork].acquire();
+        } catch (InterruptedException e) {
+            forks[firstFork].release();
+            table.forkReleased(philosopher, firstFork);
+            throw e;
+        }
+        table.forkTaken(philosopher, secondFork);
+    }
+
+    @Override
+    public void putDown(int philosopher) {
+        int leftFork = table.leftFork(philosopher);
+        int rightFork = table.rightFork(philosopher);
+        int firstFork = Math.min(leftFork, rightFork);
+        int secondFork = Math.max(leftFork, rightFork);
+
+        // Dejo palillos
+        forks[firstFork].release();
+        table.forkReleased(philosopher, firstFork);
+        forks[secondFork].release();
+        table.forkReleased(philosopher, secondFork);
+    }
+}
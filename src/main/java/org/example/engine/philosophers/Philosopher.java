@@ -0,0 +1,56 @@
+package org.example.engine.philosophers;
+
+import org.example.engine.Pacer;
+
+class Philosopher implements Runnable {
+    private final PhilosophersSimulation simulation;
+    private final int id;
+
+    Philosopher(PhilosophersSimulation simulation, int id) {
+        this.simulation = simulation;
+        this.id = id;
+    }
+
+    @Override
+    public void run() {
+        while (simulation.isRunning() && !Thread.currentThread().isInterrupted()) {
+            try {
+                think();
+                eat();
+            } catch (InterruptedException e) {
+                break;
+            }
+        }
+    }
+
+    private void think() throws InterruptedException {
+        simulation.listener().thinking(id);
+        Pacer pacer = simulation.pacer();
+        pacer.pause(2000 + pacer.random().nextInt(3000));
+    }
+
+    private void eat() throws InterruptedException {
+        DiningTable table = simulation.table();
+        PhilosophersListener listener = simulation.listener();
+        Pacer pacer = simulation.pacer();
+        int leftFork = table.leftFork(id);
+        int rightFork = table.rightFork(id);
+
+        listener.hungry(id);
+        long hungrySince = pacer.now();
+        table.pickUp(id);
+
+        // Comer
+        long eatingSince = pacer.now();
+        listener.eating(id, leftFork, rightFork);
+        try {
+            pacer.pause(1500 + pacer.random().nextInt(2500));
+        } finally {
+            table.putDown(id);
+        }
+        table.stats().recordMeal(id, eatingSince - hungrySince, pacer.now() - eatingSince);
+        simulation.recordMeal();
+
+        listener.finishedEating(id, leftFork, rightFork);
+    }
+}
@@ -0,0 +1,51 @@
+package org.example.engine.philosophers;
+
+import org.example.engine.ExecutionMode;
+import org.example.engine.Pacer;
+import org.example.engine.metrics.MetricsRegistry;
+
+// Corre cada algoritmo de palillos para varios tamaños de mesa con las pausas aceleradas
+// y compara comidas/s, concurrencia (fracción de N/2 comiendo en promedio) y equidad.
+// Uso: PhilosophersComparison [tamaños separados por coma] [ms por corrida] [aceleración]
+public class PhilosophersComparison {
+    // A partir de este tamaño cada filósofo corre en un hilo virtual
+    private static final int VIRTUAL_THRESHOLD = 500;
+
+    public static void main(String[] args) throws InterruptedException {
+        String[] sizes = (args.length > 0 ? args[0] : "5,100,10000").split(",");
+        long millis = args.length > 1 ? Long.parseLong(args[1]) : 3000;
+        double speedup = args.length > 2 ? Double.parseDouble(args[2]) : 100;
+
+        int sampleEvery = MetricsRegistry.sampleEvery();
+        MetricsRegistry.setSampleEvery(1);
+        try {
+            System.out.printf("%d núcleos, tiempo x%.0f, %d ms por corrida%n",
+                    Runtime.getRuntime().availableProcessors(), speedup, millis);
+            System.out.printf("%8s %-32s %14s %12s %10s %10s %12s %12s%n", "N", "Algoritmo", "comidas/s",
+                    "concurrencia", "Jain", "mín/máx", "hambre p99", "reintentos");
+            for (String sizeArg : sizes) {
+                int size = Integer.parseInt(sizeArg.trim());
+                for (ForkStrategy strategy : ForkStrategy.values()) {
+                    PhilosophersSimulation simulation =
+                            new PhilosophersSimulation(size, PhilosophersListener.NONE, Pacer.scaled(speedup));
+                    simulation.setStrategy(strategy);
+                    simulation.setExecutionMode(
+                            size >= VIRTUAL_THRESHOLD ? ExecutionMode.VIRTUAL : ExecutionMode.PLATFORM);
+
+                    simulation.start();
+                    Thread.sleep(millis);
+                    simulation.stop();
+                    simulation.awaitTermination(5000);
+
+                    TableStats stats = simulation.stats();
+                    System.out.printf("%8d %-32s %,14.1f %12.3f %10.3f %4d/%-5d %9.1f ms %,12d%n", size, strategy,
+                            simulation.mealsPerSecond(), simulation.concurrency(), stats.fairness(),
+                            stats.minMeals(), stats.maxMeals(), stats.hungerWait().percentile(99) / 1e6,
+                            stats.retries());
+                }
+            }
+        } finally {
+            MetricsRegistry.setSampleEvery(sampleEvery);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package org.example.engine.philosophers;
+
+public interface PhilosophersListener {
+    PhilosophersListener NONE = new PhilosophersListener() {
+    };
+
+    default void thinking(int philosopher) {
+    }
+
+    default void hungry(int philosopher) {
+    }
+
+    default void forkTaken(int philosopher, int fork, boolean left) {
+    }
+
+    default void eating(int philosopher, int leftFork, int rightFork) {
+    }
+
+    default void forkReleased(int philosopher, int fork) {
+    }
+
+    default void finishedEating(int philosopher, int leftFork, int rightFork) {
+    }
+}
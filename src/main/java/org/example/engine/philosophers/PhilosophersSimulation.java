@@ -0,0 +1,78 @@
+package org.example.engine.philosophers;
+
+import org.example.engine.AbstractSimulation;
+import org.example.engine.Pacer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+public class PhilosophersSimulation extends AbstractSimulation {
+    private final DiningTable table;
+    private final PhilosophersListener listener;
+    private final LongAdder meals = new LongAdder();
+
+    public PhilosophersSimulation(int size, PhilosophersListener listener, Pacer pacer) {
+        super(pacer);
+        this.table = new DiningTable(size, listener, pacer);
+        this.listener = listener;
+    }
+
+    @Override
+    protected void prepare() {
+        table.reset();
+        meals.reset();
+
+        metrics().clear();
+        metrics().register(table.philosopherProbe());
+        metrics().register(table.forkProbe());
+    }
+
+    @Override
+    protected List<Runnable> createWorkers() {
+        List<Runnable> workers = new ArrayList<>();
+        for (int i = 0; i < table.size(); i++) {
+            workers.add(new Philosopher(this, i));
+        }
+        return workers;
+    }
+
+    public DiningTable table() {
+        return table;
+    }
+
+    public long mealCount() {
+        return meals.sum();
+    }
+
+    // Cantidad de filósofos y algoritmo para la próxima ejecución
+    public void setSize(int size) {
+        table.setSize(size);
+    }
+
+    public void setStrategy(ForkStrategy strategy) {
+        table.setStrategy(strategy);
+    }
+
+    public TableStats stats() {
+        return table.stats();
+    }
+
+    public double mealsPerSecond() {
+        return mealCount() * 1e9 / Math.max(1, elapsedNanos());
+    }
+
+    // Fracción del máximo teórico de comensales simultáneos (N/2) que se alcanzó en promedio
+    public double concurrency() {
+        int maxEating = table.size() / 2;
+        return table.stats().eatingNanos() / ((double) Math.max(1, elapsedNanos()) * maxEating);
+    }
+
+    PhilosophersListener listener() {
+        return listener;
+    }
+
+    void recordMeal() {
+        meals.increment();
+    }
+}
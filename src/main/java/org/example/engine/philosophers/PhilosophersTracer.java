@@ -0,0 +1,94 @@
+package org.example.engine.philosophers;
+
+import org.example.engine.trace.TraceReplayer;
+import org.example.engine.trace.TraceWriter;
+
+// Pasa cada evento a la vista y, si hay una traza abierta, lo graba también. El costo
+// sin grabar es una lectura volatile por evento
+public class PhilosophersTracer implements PhilosophersListener {
+    public static final int SCENARIO = 3;
+
+    // Códigos de registro
+    private static final int THINKING = 1;
+    private static final int HUNGRY = 2;
+    private static final int FORK_TAKEN = 3;
+    private static final int EATING = 4;
+    private static final int FORK_RELEASED = 5;
+    private static final int FINISHED_EATING = 6;
+
+    private final PhilosophersListener delegate;
+    private volatile TraceWriter writer;
+
+    public PhilosophersTracer(PhilosophersListener delegate) {
+        this.delegate = delegate;
+    }
+
+    // null deja de grabar; cerrar la traza queda a cargo de quien la abrió
+    public void setWriter(TraceWriter writer) {
+        this.writer = writer;
+    }
+
+    // Parámetros del encabezado: cantidad de filósofos
+    public static int[] params(int size) {
+        return new int[]{size};
+    }
+
+    private void record(int code, int a, int b, int c) {
+        TraceWriter current = writer;
+        if (current != null) {
+            current.record(code, a, b, c);
+        }
+    }
+
+    @Override
+    public void thinking(int philosopher) {
+        record(THINKING, philosopher, 0, 0);
+        delegate.thinking(philosopher);
+    }
+
+    @Override
+    public void hungry(int philosopher) {
+        record(HUNGRY, philosopher, 0, 0);
+        delegate.hungry(philosopher);
+    }
+
+    @Override
+    public void forkTaken(int philosopher, int fork, boolean left) {
+        record(FORK_TAKEN, philosopher, fork, left ? 1 : 0);
+        delegate.forkTaken(philosopher, fork, left);
+    }
+
+    @Override
+    public void eating(int philosopher, int leftFork, int rightFork) {
+        record(EATING, philosopher, leftFork, rightFork);
+        delegate.eating(philosopher, leftFork, rightFork);
+    }
+
+    @Override
+    public void forkReleased(int philosopher, int fork) {
+        record(FORK_RELEASED, philosopher, fork, 0);
+        delegate.forkReleased(philosopher, fork);
+    }
+
+    @Override
+    public void finishedEating(int philosopher, int leftFork, int rightFork) {
+        record(FINISHED_EATING, philosopher, leftFork, rightFork);
+        delegate.finishedEating(philosopher, leftFork, rightFork);
+    }
+
+    // Convierte los registros de vuelta en eventos
+    public static TraceReplayer.Sink replayInto(PhilosophersListener target) {
+        return (code, a, b, c) -> {
+            switch (code) {
+                case THINKING -> target.thinking(a);
+                case HUNGRY -> target.hungry(a);
+                case FORK_TAKEN -> target.forkTaken(a, b, c != 0);
+                case EATING -> target.eating(a, b, c);
+                case FORK_RELEASED -> target.forkReleased(a, b);
+                case FINISHED_EATING -> target.finishedEating(a, b, c);
+                default -> {
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,79 @@
+package org.example.engine.philosophers;
+
+import org.example.engine.metrics.Histogram;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+// Comidas por filósofo, tiempo total comiendo y espera con hambre (ns)
+public class TableStats {
+    private volatile AtomicLongArray meals = new AtomicLongArray(0);
+    private final LongAdder eatingNanos = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+    private final Histogram hungerWait = new Histogram();
+
+    void reset(int size) {
+        meals = new AtomicLongArray(size);
+        eatingNanos.reset();
+        retries.reset();
+        hungerWait.reset();
+    }
+
+    void recordMeal(int philosopher, long hungryNanos, long eatNanos) {
+        meals.incrementAndGet(philosopher);
+        hungerWait.record(hungryNanos);
+        eatingNanos.add(eatNanos);
+    }
+
+    void recordRetry() {
+        retries.increment();
+    }
+
+    public long mealsOf(int philosopher) {
+        return meals.get(philosopher);
+    }
+
+    public long eatingNanos() {
+        return eatingNanos.sum();
+    }
+
+    // Intentos fallidos de tomar los palillos (solo estrategias que reintentan)
+    public long retries() {
+        return retries.sum();
+    }
+
+    public Histogram hungerWait() {
+        return hungerWait;
+    }
+
+    public long minMeals() {
+        AtomicLongArray counts = meals;
+        long min = Long.MAX_VALUE;
+        for (int i = 0; i < counts.length(); i++) {
+            min = Math.min(min, counts.get(i));
+        }
+        return counts.length() == 0 ? 0 : min;
+    }
+
+    public long maxMeals() {
+        AtomicLongArray counts = meals;
+        long max = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            max = Math.max(max, counts.get(i));
+        }
+        return max;
+    }
+
+    // Índice de Jain sobre las comidas por filósofo: 1 si todos comieron lo mismo,
+    // 1/N si uno solo se llevó todo
+    public double fairness() {
+        AtomicLongArray counts = meals;
+        double sum = 0, sumOfSquares = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            long count = counts.get(i);
+            sum += count;
+            sumOfSquares += (double) count * count;
+        }
+        return sumOfSquares == 0 ? 1 : sum * sum / (counts.length() * sumOfSquares);
+    }
+}
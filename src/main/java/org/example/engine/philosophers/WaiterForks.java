@@ -0,0 +1,62 @@
+package org.example.engine.philosophers;
+
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Camarero (árbitro): un único lock decide quién come y entrega los dos palillos juntos,
+// así nadie retiene uno solo. Al devolverlos avisa solo a los dos vecinos, que son los
+// únicos que pueden haber quedado esperando esos palillos
+class WaiterForks implements ForkAcquisition {
+    private final DiningTable table;
+    private final ReentrantLock waiter = new ReentrantLock();
+    private final Condition[] turns;
+    private final boolean[] inUse;
+
+    WaiterForks(DiningTable table) {
+        this.table = table;
+        int size = table.size();
+        this.inUse = new boolean[size];
+        this.turns = new Condition[size];
+        for (int i = 0; i < size; i++) {
+            turns[i] = waiter.newCondition();
+        }
+    }
+
+    @Override
+    public void pickUp(int philosopher) throws InterruptedException {
+        int leftFork = table.leftFork(philosopher);
+        int rightFork = table.rightFork(philosopher);
+
+        waiter.lockInterruptibly();
+        try {
+            while (inUse[leftFork] || inUse[rightFork]) {
+                turns[philosopher].await();
+            }
+            inUse[leftFork] = true;
+            inUse[rightFork] = true;
+        } finally {
+            waiter.unlock();
+        }
+        table.forkTaken(philosopher, leftFork);
+        table.forkTaken(philosopher, rightFork);
+    }
+
+    @Override
+    public void putDown(int philosopher) {
+        int leftFork = table.leftFork(philosopher);
+        int rightFork = table.rightFork(philosopher);
+
+        waiter.lock();
+        try {
+            inUse[leftFork] = false;
+            inUse[rightFork] = false;
+            // El palillo izquierdo es el derecho del vecino de la izquierda y viceversa
+            turns[leftFork].signalAll();
+            turns[(philosopher + 1) % table.size()].signalAll();
+        } finally {
+            waiter.unlock();
+        }
+        table.forkReleased(philosopher, leftFork);
+        table.forkReleased(philosopher, rightFork);
+    }
+}
@@ -0,0 +1,24 @@
+package org.example.engine.producerconsumer;
+
+// Tamaño de tanda que crece mientras hay trabajo acumulado (se amortiza la sincronización)
+// y se achica cuando el otro lado está esperando (se prioriza la latencia). Lo usa un solo hilo.
+final class AdaptiveBatchSizer {
+    private final int max;
+    private int size = 1;
+
+    AdaptiveBatchSizer(int max) {
+        this.max = Math.max(1, max);
+    }
+
+    int size() {
+        return size;
+    }
+
+    void grow() {
+        size = Math.min(max, size * 2);
+    }
+
+    void shrink() {
+        size = Math.max(1, size / 2);
+    }
+}
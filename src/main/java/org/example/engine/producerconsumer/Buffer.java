@@ -0,0 +1,27 @@
+package org.example.engine.producerconsumer;
+
+// Buffer circular acotado compartido entre productores y consumidores
+public interface Buffer extends ObservableBuffer {
+    void produce(int item) throws InterruptedException;
+
+    int consume() throws InterruptedException;
+
+    // Inserta sin bloquear; false si no había espacio (el item no entra)
+    boolean offer(int item);
+
+    // Inserta length items a partir de offset, bloqueando mientras no haya espacio
+    default void produceAll(int[] items, int offset, int length) throws InterruptedException {
+        for (int i = 0; i < length; i++) {
+            produce(items[offset + i]);
+        }
+    }
+
+    // Espera al menos un item y extrae hasta max sin volver a bloquear; devuelve cuántos extrajo
+    default int drainTo(int[] target, int max) throws InterruptedException {
+        target[0] = consume();
+        return 1;
+    }
+
+    // Solo debe llamarse con la simulación detenida
+    void reset();
+}
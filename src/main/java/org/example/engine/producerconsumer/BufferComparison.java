@@ -0,0 +1,42 @@
+package org.example.engine.producerconsumer;
+
+import org.example.engine.Pacer;
+import org.example.engine.metrics.Histogram;
+
+// Corre cada tipo de buffer con N productores y M consumidores sin pausas y compara
+// throughput y latencia de entrega.
+// Uso: BufferComparison [productores] [consumidores] [capacidad] [ms por tipo] [tanda máxima]
+public class BufferComparison {
+
+    public static void main(String[] args) throws InterruptedException {
+        int producers = args.length > 0 ? Integer.parseInt(args[0]) : 1;
+        int consumers = args.length > 1 ? Integer.parseInt(args[1]) : 1;
+        int capacity = args.length > 2 ? Integer.parseInt(args[2]) : 1024;
+        long millis = args.length > 3 ? Long.parseLong(args[3]) : 2000;
+        int batchSize = args.length > 4 ? Integer.parseInt(args[4]) : 1;
+
+        System.out.printf("%d productores x %d consumidores, capacidad %d, tanda máxima %d, %d ms por tipo%n",
+                producers, consumers, capacity, batchSize, millis);
+        System.out.printf("%-34s %15s %12s %12s %7s%n", "Buffer", "items/s", "p50 (us)", "p99 (us)", "hilos");
+        for (BufferType type : BufferType.values()) {
+            if (type.singleProducerSingleConsumer() && (producers != 1 || consumers != 1)) {
+                continue;
+            }
+            ProducerConsumerSimulation simulation =
+                    new ProducerConsumerSimulation(capacity, ProducerConsumerListener.NONE, Pacer.NONE);
+            simulation.setBufferType(type, WaitStrategy.YIELD);
+            simulation.setActors(producers, consumers);
+            simulation.setMeasureLatency(true);
+            simulation.setBatchSize(batchSize);
+
+            simulation.start();
+            Thread.sleep(millis);
+            simulation.stop();
+            simulation.awaitTermination(5000);
+
+            Histogram latency = simulation.handoffLatency();
+            System.out.printf("%-34s %,15.0f %12.2f %12.2f %7d%n", type, simulation.throughput(),
+                    latency.percentile(50) / 1000.0, latency.percentile(99) / 1000.0, simulation.threadCount());
+        }
+    }
+}
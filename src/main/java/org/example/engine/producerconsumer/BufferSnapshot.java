@@ -0,0 +1,7 @@
+package org.example.engine.producerconsumer;
+
+public record BufferSnapshot(int[] items, int in, int out, int count) {
+    public int capacity() {
+        return items.length;
+    }
+}
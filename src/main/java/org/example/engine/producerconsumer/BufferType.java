@@ -0,0 +1,123 @@
+package org.example.engine.producerconsumer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+public enum BufferType {
+    SEMAPHORE("Semáforos + ReentrantLock") {
+        @Override
+        public ObservableBuffer open(int capacity, WaitStrategy waitStrategy, ProducerConsumerListener listener,
+                                     int consumers) {
+            return new SemaphoreBuffer(capacity, listener);
+        }
+    },
+    SPSC("Anillo SPSC sin locks") {
+        @Override
+        public ObservableBuffer open(int capacity, WaitStrategy waitStrategy, ProducerConsumerListener listener,
+                                     int consumers) {
+            return new SpscRingBuffer(capacity, waitStrategy, listener);
+        }
+
+        @Override
+        public boolean singleProducerSingleConsumer() {
+            return true;
+        }
+    },
+    // El mismo anillo que usa SharedMemoryChannel entre procesos, pero en un archivo temporal
+    // propio: sirve para comparar el costo de la memoria mapeada contra el anillo en el heap.
+    // Quien lo crea debe cerrarlo (SharedMemoryBuffer es AutoCloseable)
+    SHARED_MEMORY("Anillo SPSC en memoria mapeada") {
+        @Override
+        public ObservableBuffer open(int capacity, WaitStrategy waitStrategy, ProducerConsumerListener listener,
+                                     int consumers) {
+            try {
+                return SharedMemoryBuffer.createTemporary(capacity, waitStrategy, listener);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public boolean singleProducerSingleConsumer() {
+            return true;
+        }
+    },
+    FLOW("Flow por demanda (request(n))") {
+        @Override
+        public ObservableBuffer open(int capacity, WaitStrategy waitStrategy, ProducerConsumerListener listener,
+                                     int consumers) {
+            return new FlowBuffer(capacity, listener);
+        }
+
+        @Override
+        public boolean demandDriven() {
+            return true;
+        }
+    },
+    ARRAY_BLOCKING_QUEUE("ArrayBlockingQueue") {
+        @Override
+        public ObservableBuffer open(int capacity, WaitStrategy waitStrategy, ProducerConsumerListener listener,
+                                     int consumers) {
+            return QueueBuffer.arrayBlocking(capacity, listener);
+        }
+    },
+    LINKED_TRANSFER_QUEUE("LinkedTransferQueue") {
+        @Override
+        public ObservableBuffer open(int capacity, WaitStrategy waitStrategy, ProducerConsumerListener listener,
+                                     int consumers) {
+            return QueueBuffer.linkedTransfer(capacity, listener);
+        }
+    },
+    MPMC("Cola MPMC sin locks") {
+        @Override
+        public ObservableBuffer open(int capacity, WaitStrategy waitStrategy, ProducerConsumerListener listener,
+                                     int consumers) {
+            return new MpmcArrayBuffer(capacity, waitStrategy, listener);
+        }
+    },
+    WORK_STEALING("Colas por consumidor con robo") {
+        @Override
+        public ObservableBuffer open(int capacity, WaitStrategy waitStrategy, ProducerConsumerListener listener,
+                                     int consumers) {
+            return new WorkStealingBuffer(capacity, consumers, waitStrategy, listener);
+        }
+    };
+
+    private final String label;
+
+    BufferType(String label) {
+        this.label = label;
+    }
+
+    // Cualquier tipo, incluidos los por demanda (FlowBuffer, que arma FlowPipeline). consumers
+    // es para los buffers que reparten los items por consumidor; los demás la ignoran
+    public abstract ObservableBuffer open(int capacity, WaitStrategy waitStrategy, ProducerConsumerListener listener,
+                                          int consumers);
+
+    // Un Buffer con produce/consume; sin la cantidad de consumidores, una cola por núcleo
+    public Buffer create(int capacity, WaitStrategy waitStrategy, ProducerConsumerListener listener) {
+        return create(capacity, waitStrategy, listener, Runtime.getRuntime().availableProcessors());
+    }
+
+    public Buffer create(int capacity, WaitStrategy waitStrategy, ProducerConsumerListener listener, int consumers) {
+        if (demandDriven()) {
+            throw new IllegalArgumentException(this + " no tiene produce/consume: se arma con FlowPipeline");
+        }
+        return (Buffer) open(capacity, waitStrategy, listener, consumers);
+    }
+
+    // Solo es correcto con un productor y un consumidor
+    public boolean singleProducerSingleConsumer() {
+        return false;
+    }
+
+    // Productores y consumidores Flow en un pool chico en vez de un hilo por actor
+    public boolean demandDriven() {
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return label;
+    }
+}
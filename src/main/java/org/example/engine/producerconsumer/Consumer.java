@@ -0,0 +1,68 @@
+package org.example.engine.producerconsumer;
+
+import org.example.engine.metrics.Histogram;
+import org.example.engine.metrics.Probe;
+
+class Consumer implements Runnable {
+    private final ProducerConsumerSimulation simulation;
+    private final int id;
+    private final Histogram latency;
+
+    Consumer(ProducerConsumerSimulation simulation, int id, Histogram latency) {
+        this.simulation = simulation;
+        this.id = id;
+        this.latency = latency;
+    }
+
+    @Override
+    public void run() {
+        ProducerConsumerListener listener = simulation.listener();
+        Buffer buffer = simulation.blockingBuffer();
+        HandoffTracker tracker = simulation.tracker();
+        Probe probe = simulation.consumeProbe();
+        AdaptiveBatchSizer sizer = new AdaptiveBatchSizer(simulation.batchSize());
+        int[] batch = new int[simulation.batchSize()];
+        while (simulation.isRunning() && !Thread.currentThread().isInterrupted()) {
+            try {
+                listener.consumerWaiting(id);
+
+                int requested = sizer.size();
+                int count;
+                long start = probe.begin();
+                if (requested == 1) {
+                    batch[0] = buffer.consume();
+                    count = 1;
+                } else {
+                    count = buffer.drainTo(batch, requested);
+                }
+                probe.acquired(id, start);
+                // Tanda completa: probablemente quedan más items, pedir más la próxima vez
+                if (count == requested) {
+                    sizer.grow();
+                } else {
+                    sizer.shrink();
+                }
+
+                if (simulation.measuresLatency()) {
+                    for (int i = 0; i < count; i++) {
+                        long nanos = tracker.latency(batch[i]);
+                        if (nanos >= 0) {
+                            latency.record(nanos);
+                        }
+                    }
+                }
+                simulation.recordConsumed(count);
+
+                for (int i = 0; i < count; i++) {
+                    listener.consumerProcessing(id, batch[i]);
+
+                    // Simular tiempo de procesamiento
+                    simulation.pacer().pause(simulation.consumerDelay());
+                }
+            } catch (InterruptedException e) {
+                break;
+            }
+        }
+        listener.consumerStopped(id);
+    }
+}
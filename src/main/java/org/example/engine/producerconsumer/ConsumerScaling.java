@@ -0,0 +1,62 @@
+package org.example.engine.producerconsumer;
+
+import org.example.engine.Pacer;
+
+import java.util.List;
+
+// Cómo escala el consumo al sumar consumidores (1, 2, 4... hasta el máximo, por defecto un
+// consumidor por núcleo) con un buffer compartido detrás de un solo mutex, con la cola
+// compartida sin locks y con una cola por consumidor con robo. Cada punto corre sin pausas
+// con tantos productores como consumidores, salvo que se fije la cantidad de productores.
+// Uso: ConsumerScaling [máximo de consumidores] [productores] [capacidad] [ms por punto] [tanda máxima]
+public class ConsumerScaling {
+    private static final List<BufferType> TYPES = List.of(BufferType.SEMAPHORE, BufferType.MPMC, BufferType.WORK_STEALING);
+
+    public static void main(String[] args) throws InterruptedException {
+        int maxConsumers = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+        int fixedProducers = args.length > 1 ? Integer.parseInt(args[1]) : 0;
+        int capacity = args.length > 2 ? Integer.parseInt(args[2]) : 1024;
+        long millis = args.length > 3 ? Long.parseLong(args[3]) : 1000;
+        int batchSize = args.length > 4 ? Integer.parseInt(args[4]) : 1;
+
+        System.out.printf("Hasta %d consumidores, %s, capacidad %d, tanda máxima %d, %d ms por punto (%d núcleos)%n",
+                maxConsumers, fixedProducers > 0 ? fixedProducers + " productores" : "un productor por consumidor",
+                capacity, batchSize, millis, Runtime.getRuntime().availableProcessors());
+        System.out.printf("%-13s", "consumidores");
+        for (BufferType type : TYPES) {
+            System.out.printf(" %30s %7s", type, "escala");
+        }
+        System.out.printf(" %8s%n", "robados");
+
+        double[] base = new double[TYPES.size()];
+        for (int consumers = 1; consumers <= maxConsumers; consumers = next(consumers, maxConsumers)) {
+            System.out.printf("%-13d", consumers);
+            double stolen = 0;
+            for (int i = 0; i < TYPES.size(); i++) {
+                ProducerConsumerSimulation simulation =
+                        new ProducerConsumerSimulation(capacity, ProducerConsumerListener.NONE, Pacer.NONE);
+                simulation.setBufferType(TYPES.get(i), WaitStrategy.YIELD);
+                simulation.setActors(fixedProducers > 0 ? fixedProducers : consumers, consumers);
+                simulation.setBatchSize(batchSize);
+
+                simulation.start();
+                Thread.sleep(millis);
+                simulation.stop();
+                simulation.awaitTermination(5000);
+
+                double throughput = simulation.throughput();
+                if (consumers == 1) base[i] = throughput;
+                System.out.printf(" %,30.0f %6.2fx", throughput, base[i] == 0 ? 0 : throughput / base[i]);
+                if (simulation.buffer() instanceof WorkStealingBuffer stealing) {
+                    stolen = stealing.stolenFraction();
+                }
+            }
+            System.out.printf(" %7.1f%%%n", stolen * 100);
+        }
+    }
+
+    // Potencias de dos, y el máximo aunque no lo sea
+    private static int next(int consumers, int maxConsumers) {
+        return consumers < maxConsumers && consumers * 2 > maxConsumers ? maxConsumers : consumers * 2;
+    }
+}
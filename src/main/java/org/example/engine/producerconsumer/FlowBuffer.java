@@ -0,0 +1,198 @@
+package org.example.engine.producerconsumer;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Buffer circular por demanda: en vez de los semáforos empty/full, los lugares libres se
+// le piden a los productores con request(n) (cada productor solo produce lo que se le pidió)
+// y los items se entregan a los consumidores solo hasta el crédito que pidieron. Ningún
+// hilo espera: llegadas, entregas y créditos se resuelven en un bucle de drenado
+// serializado con un contador (el que lo encuentra en 0 lo corre, los demás solo avisan
+// que hay algo nuevo), así que el anillo lo toca un solo hilo por vez sin lock.
+// No es un Buffer (no hay produce/consume): se alimenta con FlowProducer y lo leen
+// FlowConsumer; para la vista es un ObservableBuffer
+public class FlowBuffer implements ObservableBuffer, Flow.Publisher<Integer> {
+    private final int capacity;
+    private final ProducerConsumerListener listener;
+    private final int[] items;
+    // Publicados para la vista; solo los escribe el bucle de drenado
+    private volatile int in = 0, out = 0, count = 0;
+
+    private final AtomicInteger wip = new AtomicInteger();
+    private final Queue<Integer> arrivals = new ConcurrentLinkedQueue<>();
+    private final List<Inlet> inlets = new CopyOnWriteArrayList<>();
+    private final List<Outlet> outlets = new CopyOnWriteArrayList<>();
+    // Solo del bucle de drenado: lugares ya pedidos a los productores y todavía no llegados,
+    // y a quién le toca el próximo crédito o el próximo item
+    private int promised = 0;
+    private int nextInlet = 0, nextOutlet = 0;
+
+    public FlowBuffer(int capacity, ProducerConsumerListener listener) {
+        this.capacity = capacity;
+        this.listener = listener;
+        this.items = new int[capacity];
+    }
+
+    // Conecta un productor: el buffer se suscribe y le va pidiendo items a medida que hay lugar
+    public void connect(Flow.Publisher<Integer> producer) {
+        producer.subscribe(new Inlet());
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super Integer> subscriber) {
+        Outlet outlet = new Outlet(subscriber);
+        outlets.add(outlet);
+        subscriber.onSubscribe(outlet);
+    }
+
+    private void drain() {
+        if (wip.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        do {
+            boolean changed = false;
+
+            // Llegadas: siempre hay lugar, porque solo llegan items que se pidieron
+            Integer arrived;
+            while ((arrived = arrivals.poll()) != null) {
+                int item = arrived;
+                int slot = in;
+                items[slot] = item;
+                listener.itemInserted(item, slot);
+                in = (slot + 1) % capacity;
+                count = count + 1;
+                promised--;
+                changed = true;
+            }
+
+            // Entregas: en orden, repartidas en round robin entre quienes tienen crédito
+            while (count > 0) {
+                Outlet outlet = nextWithDemand();
+                if (outlet == null) break;
+                int slot = out;
+                int item = items[slot];
+                items[slot] = 0; // Limpiar la posición
+                listener.itemRemoved(item, slot);
+                out = (slot + 1) % capacity;
+                count = count - 1;
+                outlet.demand.decrementAndGet();
+                outlet.subscriber.onNext(item);
+                changed = true;
+            }
+
+            // Créditos: cada lugar libre que nadie tiene prometido se le pide a un productor
+            int free = capacity - count - promised;
+            int inletCount = inlets.size();
+            for (; free > 0 && inletCount > 0; free--) {
+                Inlet inlet = inlets.get(nextInlet++ % inletCount);
+                promised++;
+                inlet.subscription.request(1);
+            }
+
+            if (changed) {
+                listener.bufferChanged();
+            }
+            missed = wip.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    private Outlet nextWithDemand() {
+        int size = outlets.size();
+        for (int i = 0; i < size; i++) {
+            Outlet outlet = outlets.get(nextOutlet++ % size);
+            if (outlet.demand.get() > 0) {
+                return outlet;
+            }
+        }
+        return null;
+    }
+
+    // Suscripción del buffer a un productor
+    private final class Inlet implements Flow.Subscriber<Integer> {
+        private Flow.Subscription subscription;
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            // Los créditos se reparten en el próximo drenado (el primer request de un
+            // consumidor), así arrancan parejos todos los productores conectados antes
+            this.subscription = subscription;
+            inlets.add(this);
+        }
+
+        @Override
+        public void onNext(Integer item) {
+            arrivals.offer(item);
+            drain();
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            inlets.remove(this);
+        }
+
+        @Override
+        public void onComplete() {
+            inlets.remove(this);
+        }
+    }
+
+    // Suscripción de un consumidor al buffer: demand es el crédito pendiente
+    private final class Outlet implements Flow.Subscription {
+        private final Flow.Subscriber<? super Integer> subscriber;
+        private final AtomicLong demand = new AtomicLong();
+
+        Outlet(Flow.Subscriber<? super Integer> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                outlets.remove(this);
+                subscriber.onError(new IllegalArgumentException("request(" + n + "): la demanda debe ser positiva"));
+                return;
+            }
+            demand.getAndAccumulate(n, (current, added) -> current + added < 0 ? Long.MAX_VALUE : current + added);
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            outlets.remove(this);
+        }
+    }
+
+    @Override
+    public int size() {
+        return count;
+    }
+
+    // in/out/count se leen por separado, así que pueden estar levemente desfasados
+    @Override
+    public BufferSnapshot snapshot() {
+        return new BufferSnapshot(items.clone(), in, out, count);
+    }
+
+    @Override
+    public int capacity() {
+        return capacity;
+    }
+
+    // Solo debe llamarse con la simulación detenida
+    public void reset() {
+        for (int i = 0; i < capacity; i++) {
+            items[i] = 0;
+        }
+        in = out = count = 0;
+        promised = nextInlet = nextOutlet = 0;
+        arrivals.clear();
+        inlets.clear();
+        outlets.clear();
+    }
+}
@@ -0,0 +1,87 @@
+package org.example.engine.producerconsumer;
+
+import org.example.engine.metrics.Histogram;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+// Arma el modo por demanda (FlowBuffer): conecta productores y consumidores Flow y corre
+// todos sus pasos en un ForkJoinPool con un hilo por núcleo como máximo; las pausas que
+// simulan trabajo las cuenta un único hilo temporizador que después encola el paso. Es el
+// único worker de la simulación: espera hasta que la detengan y después apaga los pools
+final class FlowPipeline implements Runnable {
+    private final ProducerConsumerSimulation simulation;
+    private final List<Histogram> latencies;
+    private final ForkJoinPool workers;
+    private final ScheduledThreadPoolExecutor timer;
+
+    FlowPipeline(ProducerConsumerSimulation simulation, List<Histogram> latencies) {
+        this.simulation = simulation;
+        this.latencies = latencies;
+        int threads = Math.max(1, Math.min(simulation.producerCount() + simulation.consumerCount(),
+                Runtime.getRuntime().availableProcessors()));
+        // Modo FIFO: los pasos encolados se atienden en orden de llegada
+        this.workers = new ForkJoinPool(threads, ForkJoinPool.defaultForkJoinWorkerThreadFactory, null, true);
+        this.timer = new ScheduledThreadPoolExecutor(1, task -> {
+            Thread thread = new Thread(task, "flow-temporizador");
+            thread.setDaemon(true);
+            return thread;
+        });
+        timer.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+    }
+
+    @Override
+    public void run() {
+        FlowBuffer buffer = simulation.flowBuffer();
+        for (int i = 0; i < simulation.producerCount(); i++) {
+            buffer.connect(new FlowProducer(this, simulation, i));
+        }
+        for (int i = 0; i < simulation.consumerCount(); i++) {
+            buffer.subscribe(new FlowConsumer(this, simulation, i, latencies.get(i)));
+        }
+        try {
+            while (simulation.isRunning()) {
+                Thread.sleep(Long.MAX_VALUE);
+            }
+        } catch (InterruptedException e) {
+            // Detenida
+        } finally {
+            timer.shutdownNow();
+            workers.shutdownNow();
+            try {
+                workers.awaitTermination(1, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            for (int i = 0; i < simulation.producerCount(); i++) {
+                simulation.listener().producerStopped(i);
+            }
+            for (int i = 0; i < simulation.consumerCount(); i++) {
+                simulation.listener().consumerStopped(i);
+            }
+        }
+    }
+
+    // Corre el paso después de la pausa dada (ms del Pacer); se ignora con la simulación detenida
+    void schedule(Runnable step, long pauseMillis) {
+        if (!simulation.isRunning()) return;
+        try {
+            long nanos = simulation.pacer().nanos(pauseMillis);
+            if (nanos <= 0) {
+                workers.execute(step);
+            } else {
+                timer.schedule(() -> schedule(step, 0), nanos, TimeUnit.NANOSECONDS);
+            }
+        } catch (RejectedExecutionException e) {
+            // Los pools ya se apagaron
+        }
+    }
+
+    // Hilos que llegaron a usar los pools (el temporizador solo si hubo pausas)
+    int threadCount() {
+        return workers.getParallelism() + timer.getLargestPoolSize();
+    }
+}
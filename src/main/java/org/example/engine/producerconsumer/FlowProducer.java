@@ -0,0 +1,63 @@
+package org.example.engine.producerconsumer;
+
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Productor como Flow.Publisher: solo crea items mientras tenga demanda pendiente, y las
+// pausas que simulan el trabajo se programan en el pipeline en vez de
+// dormir un hilo. Sin demanda no ocupa ningún hilo: es lo que reemplaza al semáforo empty
+final class FlowProducer implements Flow.Publisher<Integer> {
+    private final FlowPipeline pipeline;
+    private final ProducerConsumerSimulation simulation;
+    private final int id;
+    private final AtomicLong demand = new AtomicLong();
+    private Flow.Subscriber<? super Integer> subscriber;
+    private long sequence = 0;
+
+    FlowProducer(FlowPipeline pipeline, ProducerConsumerSimulation simulation, int id) {
+        this.pipeline = pipeline;
+        this.simulation = simulation;
+        this.id = id;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super Integer> subscriber) {
+        this.subscriber = subscriber;
+        subscriber.onSubscribe(new Flow.Subscription() {
+            @Override
+            public void request(long n) {
+                // La demanda que pasa de 0 a n reanuda al productor; si ya estaba
+                // trabajando la toma al terminar el item en curso
+                if (demand.getAndAdd(n) == 0) {
+                    pipeline.schedule(FlowProducer.this::work, 0);
+                }
+            }
+
+            @Override
+            public void cancel() {
+                demand.set(Long.MIN_VALUE / 2);
+            }
+        });
+    }
+
+    // Un item por paso: trabajo simulado, emisión y pausa posterior, como Producer
+    private void work() {
+        int item = simulation.tracker().item(id, sequence++);
+        simulation.listener().producerWorking(id, item);
+        pipeline.schedule(() -> emit(item), simulation.producerDelay() / 3);
+    }
+
+    private void emit(int item) {
+        if (simulation.measuresLatency()) {
+            simulation.tracker().stamp(item);
+        }
+        subscriber.onNext(item);
+        simulation.recordProduced(1);
+        simulation.listener().producerProduced(id, item);
+        pipeline.schedule(() -> {
+            if (demand.decrementAndGet() > 0) {
+                work();
+            }
+        }, simulation.producerDelay() / 3);
+    }
+}
@@ -0,0 +1,74 @@
+package org.example.engine.producerconsumer;
+
+import org.example.engine.Pacer;
+
+// Marca de tiempo por item para medir la latencia productor -> consumidor sin compartir
+// estado entre productores: cada productor tiene su propio anillo de marcas y el item
+// codifica qué productor lo creó y su número de secuencia. Cada posición recuerda de qué
+// item es su marca: si otro item la pisó (con descartes la secuencia en vuelo puede tener
+// huecos) esa muestra se pierde en vez de medirse mal. Las marcas son del reloj del Pacer
+final class HandoffTracker {
+    // Con descartes o con ventanas de prefetch (Flow) hay más items en vuelo que lugares en
+    // el buffer: se agranda el anillo para que las posiciones casi nunca se pisen
+    private static final int SPARSE_FACTOR = 64;
+
+    private final Pacer pacer;
+    private final int producers;
+    private final int wrap;
+    private final int mask;
+    private final long[][] stamps;
+    private final int[][] owners;
+    // Lo que había en la última posición marcada por cada productor, para deshacerla
+    private final long[] undoStamps;
+    private final int[] undoOwners;
+
+    HandoffTracker(int producers, int consumers, int capacity, boolean sparse, Pacer pacer) {
+        this.pacer = pacer;
+        this.producers = producers;
+        this.wrap = (Integer.MAX_VALUE - 1) / producers;
+        // Items de un productor en vuelo: como mucho capacity en el buffer, uno por consumidor
+        // todavía sin medir y el que se está insertando
+        int size = Integer.highestOneBit(capacity + consumers + 1) << 1;
+        if (sparse) {
+            size *= SPARSE_FACTOR;
+        }
+        this.mask = size - 1;
+        this.stamps = new long[producers][size];
+        this.owners = new int[producers][size];
+        this.undoStamps = new long[producers];
+        this.undoOwners = new int[producers];
+    }
+
+    // Ids positivos; con un solo productor coinciden con 1, 2, 3...
+    int item(int producer, long sequence) {
+        return (int) (sequence % wrap) * producers + producer + 1;
+    }
+
+    void stamp(int item) {
+        int id = item - 1;
+        int producer = id % producers;
+        int slot = (id / producers) & mask;
+        undoStamps[producer] = stamps[producer][slot];
+        undoOwners[producer] = owners[producer][slot];
+        owners[producer][slot] = item;
+        stamps[producer][slot] = pacer.now();
+    }
+
+    // Deshace el último stamp del productor de este item (que al final no se encoló)
+    void unstamp(int item) {
+        int id = item - 1;
+        int producer = id % producers;
+        int slot = (id / producers) & mask;
+        stamps[producer][slot] = undoStamps[producer];
+        owners[producer][slot] = undoOwners[producer];
+    }
+
+    // -1 si la marca del item ya no está
+    long latency(int item) {
+        int id = item - 1;
+        int producer = id % producers;
+        int slot = (id / producers) & mask;
+        long stamp = stamps[producer][slot];
+        return owners[producer][slot] == item ? pacer.now() - stamp : -1;
+    }
+}
@@ -0,0 +1,195 @@
+package org.example.engine.producerconsumer;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+abstract class MpmcPadding0 {
+    long p00, p01, p02, p03, p04, p05, p06, p07;
+}
+
+abstract class MpmcProducerIndex extends MpmcPadding0 {
+    long producerIndex;
+}
+
+abstract class MpmcPadding1 extends MpmcProducerIndex {
+    long p10, p11, p12, p13, p14, p15, p16, p17;
+}
+
+abstract class MpmcConsumerIndex extends MpmcPadding1 {
+    long consumerIndex;
+}
+
+abstract class MpmcPadding2 extends MpmcConsumerIndex {
+    long p20, p21, p22, p23, p24, p25, p26, p27;
+}
+
+// Cola acotada multi-productor/multi-consumidor sin locks (algoritmo de Vyukov): cada
+// celda lleva una secuencia que indica si está libre para la vuelta actual del productor
+// o lista para el consumidor; los índices se reservan con CAS.
+// Las secuencias van de a dos: la celda del índice i está libre con 2i y publicada con
+// 2i + 1, y al consumirla queda libre para la vuelta siguiente con 2(i + capacity). Con
+// secuencias simples (i, i + 1, i + capacity) un anillo de una celda no distingue
+// "publicada" de "libre para la próxima vuelta".
+public final class MpmcArrayBuffer extends MpmcPadding2 implements Buffer {
+    private static final VarHandle PRODUCER_INDEX;
+    private static final VarHandle CONSUMER_INDEX;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            PRODUCER_INDEX = lookup.findVarHandle(MpmcProducerIndex.class, "producerIndex", long.class);
+            CONSUMER_INDEX = lookup.findVarHandle(MpmcConsumerIndex.class, "consumerIndex", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final int capacity;
+    private final int mask;
+    private final int[] items;
+    private final AtomicLongArray sequences;
+    private final WaitStrategy waitStrategy;
+    private final ProducerConsumerListener listener;
+
+    public MpmcArrayBuffer(int capacity, WaitStrategy waitStrategy, ProducerConsumerListener listener) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        this.mask = Integer.bitCount(capacity) == 1 ? capacity - 1 : -1;
+        this.items = new int[capacity];
+        this.sequences = new AtomicLongArray(capacity);
+        this.waitStrategy = waitStrategy;
+        this.listener = listener;
+        reset();
+    }
+
+    @Override
+    public void produce(int item) throws InterruptedException {
+        int idle = 0;
+        while (true) {
+            long index = (long) PRODUCER_INDEX.getVolatile(this);
+            int slot = index(index);
+            long difference = sequences.get(slot) - 2 * index;
+            if (difference == 0) {
+                if (PRODUCER_INDEX.compareAndSet(this, index, index + 1)) {
+                    items[slot] = item;
+                    listener.itemInserted(item, slot);
+                    sequences.lazySet(slot, 2 * index + 1); // Publicar para el consumidor
+                    listener.bufferChanged();
+                    return;
+                }
+            } else if (difference < 0) {
+                idle = waitStrategy.idle(idle); // Lleno
+            }
+        }
+    }
+
+    @Override
+    public boolean offer(int item) {
+        while (true) {
+            long index = (long) PRODUCER_INDEX.getVolatile(this);
+            int slot = index(index);
+            long difference = sequences.get(slot) - 2 * index;
+            if (difference == 0) {
+                if (PRODUCER_INDEX.compareAndSet(this, index, index + 1)) {
+                    items[slot] = item;
+                    listener.itemInserted(item, slot);
+                    sequences.lazySet(slot, 2 * index + 1);
+                    listener.bufferChanged();
+                    return true;
+                }
+            } else if (difference < 0) {
+                return false; // Lleno
+            }
+        }
+    }
+
+    @Override
+    public int consume() throws InterruptedException {
+        int idle = 0;
+        while (true) {
+            long index = (long) CONSUMER_INDEX.getVolatile(this);
+            int slot = index(index);
+            long difference = sequences.get(slot) - (2 * index + 1);
+            if (difference == 0) {
+                if (CONSUMER_INDEX.compareAndSet(this, index, index + 1)) {
+                    int item = items[slot];
+                    items[slot] = 0; // Limpiar la posición
+                    listener.itemRemoved(item, slot);
+                    sequences.lazySet(slot, 2 * (index + capacity)); // Liberar para la próxima vuelta
+                    listener.bufferChanged();
+                    return item;
+                }
+            } else if (difference < 0) {
+                idle = waitStrategy.idle(idle); // Vacío
+            }
+        }
+    }
+
+    // Cada item se reserva con su propio CAS; después del primero ya no se bloquea
+    @Override
+    public int drainTo(int[] target, int max) throws InterruptedException {
+        target[0] = consume();
+        return 1 + poll(target, 1, max - 1);
+    }
+
+    // Extrae hasta max items a partir de offset sin bloquear; devuelve cuántos extrajo
+    int poll(int[] target, int offset, int max) {
+        int taken = 0;
+        while (taken < max) {
+            long index = (long) CONSUMER_INDEX.getVolatile(this);
+            int slot = index(index);
+            long difference = sequences.get(slot) - (2 * index + 1);
+            if (difference < 0) {
+                break; // Vacío
+            }
+            if (difference == 0 && CONSUMER_INDEX.compareAndSet(this, index, index + 1)) {
+                int item = items[slot];
+                items[slot] = 0;
+                target[offset + taken++] = item;
+                listener.itemRemoved(item, slot);
+                sequences.lazySet(slot, 2 * (index + capacity));
+            }
+        }
+        if (taken > 0) {
+            listener.bufferChanged();
+        }
+        return taken;
+    }
+
+    @Override
+    public int size() {
+        long consumer = (long) CONSUMER_INDEX.getVolatile(this);
+        long producer = (long) PRODUCER_INDEX.getVolatile(this);
+        return (int) Math.max(0, Math.min(capacity, producer - consumer));
+    }
+
+    @Override
+    public BufferSnapshot snapshot() {
+        long consumer = (long) CONSUMER_INDEX.getVolatile(this);
+        long producer = (long) PRODUCER_INDEX.getVolatile(this);
+        int count = (int) Math.max(0, Math.min(capacity, producer - consumer));
+        return new BufferSnapshot(items.clone(), index(producer), index(consumer), count);
+    }
+
+    @Override
+    public int capacity() {
+        return capacity;
+    }
+
+    @Override
+    public void reset() {
+        for (int i = 0; i < capacity; i++) {
+            items[i] = 0;
+            sequences.set(i, 2L * i);
+        }
+        PRODUCER_INDEX.setVolatile(this, 0L);
+        CONSUMER_INDEX.setVolatile(this, 0L);
+    }
+
+    private int index(long sequence) {
+        return mask >= 0 ? (int) (sequence & mask) : (int) (sequence % capacity);
+    }
+}
@@ -0,0 +1,22 @@
+package org.example.engine.producerconsumer;
+
+import org.example.engine.metrics.Probe;
+
+import java.util.List;
+
+// Lo que las vistas y los controles leen de un buffer, sin producir ni consumir: lo
+// implementan Buffer y también FlowBuffer, que entrega los items por demanda
+public interface ObservableBuffer {
+    // Ocupación aproximada, sin bloquear
+    int size();
+
+    // Vista in/out/count usada por la visualización del buffer circular
+    BufferSnapshot snapshot();
+
+    int capacity();
+
+    // Sondas de las primitivas internas del buffer, si las tiene
+    default List<Probe> probes() {
+        return List.of();
+    }
+}
@@ -0,0 +1,25 @@
+package org.example.engine.producerconsumer;
+
+// Qué hace un productor con un item que no conviene encolar
+public enum OverloadPolicy {
+    // Espera a que haya lugar (el comportamiento clásico)
+    BLOCK("Bloquear"),
+    // Si el buffer está lleno el item se descarta
+    DROP("Descartar"),
+    // Por encima de la banda de ocupación solo se ofrece uno de cada SAMPLE_EVERY items,
+    // y se descarta si aun así no hay lugar
+    SAMPLE("Muestrear");
+
+    static final int SAMPLE_EVERY = 4;
+
+    private final String label;
+
+    OverloadPolicy(String label) {
+        this.label = label;
+    }
+
+    @Override
+    public String toString() {
+        return label;
+    }
+}
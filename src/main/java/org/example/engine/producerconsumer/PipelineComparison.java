@@ -0,0 +1,64 @@
+package org.example.engine.producerconsumer;
+
+import org.example.engine.Pacer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Corre el mismo pipeline sin y con rebalanceo y muestra, por etapa, trabajadores,
+// utilización, ocupación de las colas y ritmo, marcando el cuello de botella.
+// Cada etapa es trabajadores:media_ms[:FIXED|UNIFORM|EXPONENTIAL]; la primera genera los
+// items y la última los termina.
+// Uso: PipelineComparison [aceleración] [segundos] [capacidad] [etapa]...
+public class PipelineComparison {
+
+    public static void main(String[] args) throws InterruptedException {
+        double speedup = args.length > 0 ? Double.parseDouble(args[0]) : 20;
+        long seconds = args.length > 1 ? Long.parseLong(args[1]) : 5;
+        int capacity = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+        String[] specs = args.length > 3 ? Arrays.copyOfRange(args, 3, args.length)
+                : new String[]{"1:100", "1:400", "2:300", "2:100"};
+
+        System.out.printf("Pipeline %s, capacidad %d por cola, x%.0f, %d s por corrida%n",
+                String.join(" → ", specs), capacity, speedup, seconds);
+        for (boolean rebalance : new boolean[]{false, true}) {
+            PipelineSimulation simulation =
+                    new PipelineSimulation(capacity, PipelineListener.NONE, Pacer.scaled(speedup));
+            simulation.setStages(stages(specs));
+            simulation.setRebalance(rebalance);
+
+            simulation.start();
+            Thread.sleep(seconds * 1000);
+            simulation.stop();
+            simulation.awaitTermination(5000);
+
+            // Ritmos en tiempo simulado, para compararlos con los tiempos de servicio
+            System.out.printf("%n%s: %.2f items/s, %d trabajadores movidos%n",
+                    rebalance ? "Con rebalanceo" : "Sin rebalanceo", simulation.throughput() / speedup,
+                    simulation.moveCount());
+            System.out.printf("%-8s %12s %12s %10s %10s %10s%n", "Etapa", "trabajadores", "utilización",
+                    "entrada", "salida", "items/s");
+            List<PipelineStage> stages = simulation.stages();
+            for (int i = 0; i < stages.size(); i++) {
+                PipelineStage stage = stages.get(i);
+                System.out.printf("%-8s %7d -> %-2d %11.0f%% %9.0f%% %9.0f%% %10.2f%s%n", stage.name(),
+                        stage.workers(), stage.activeWorkers(), stage.utilization() * 100,
+                        stage.inputOccupancy() * 100, stage.outputOccupancy() * 100, stage.rate() / speedup,
+                        i == simulation.bottleneck() ? "  <- cuello de botella" : "");
+            }
+        }
+    }
+
+    private static List<PipelineStage> stages(String[] specs) {
+        List<PipelineStage> stages = new ArrayList<>();
+        for (int i = 0; i < specs.length; i++) {
+            String[] parts = specs[i].split(":");
+            int workers = Integer.parseInt(parts[0]);
+            int mean = Integer.parseInt(parts[1]);
+            ServiceTime serviceTime = parts.length > 2 ? ServiceTime.valueOf(parts[2]) : ServiceTime.FIXED;
+            stages.add(new PipelineStage("E" + (i + 1), workers, serviceTime, () -> mean));
+        }
+        return stages;
+    }
+}
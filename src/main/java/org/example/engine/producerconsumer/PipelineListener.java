@@ -0,0 +1,24 @@
+package org.example.engine.producerconsumer;
+
+// Eventos del pipeline de etapas encadenadas; la vista solo observa
+public interface PipelineListener {
+    PipelineListener NONE = new PipelineListener() {
+    };
+
+    // Se invoca después de cada operación sobre la cola que está a la salida de la etapa
+    // indicada, fuera del mutex del buffer
+    default void bufferChanged(int stage) {
+    }
+
+    // Al cerrar cada ventana de medición, con la utilización y la ocupación ya actualizadas
+    default void sampled() {
+    }
+
+    // stage es -1 mientras no hay datos suficientes para señalar una etapa
+    default void bottleneckChanged(int stage) {
+    }
+
+    // El rebalanceo pasó un trabajador de una etapa a otra
+    default void workerMoved(int from, int to) {
+    }
+}
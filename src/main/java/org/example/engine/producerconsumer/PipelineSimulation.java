@@ -0,0 +1,238 @@
+package org.example.engine.producerconsumer;
+
+import org.example.engine.AbstractSimulation;
+import org.example.engine.Pacer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Varias etapas encadenadas por buffers (fuente → transformaciones → sumidero), cada una
+// con sus trabajadores y su tiempo de servicio. Un monitor cierra una ventana de medición
+// cada WINDOW_MILLIS, señala la etapa cuello de botella y, si el rebalanceo está activo,
+// le pasa trabajadores desde la etapa con más holgura sin cambiar el total
+public class PipelineSimulation extends AbstractSimulation {
+    // En tiempo real, independiente del Pacer: las utilizaciones son proporciones
+    static final long WINDOW_MILLIS = 250;
+    // Ventanas entre dos movimientos, para que las colas se acomoden al cambio anterior
+    private static final int REBALANCE_WINDOWS = 4;
+    // Utilización a partir de la cual una etapa se considera saturada; un donante tiene que
+    // quedar por debajo aun con un trabajador menos
+    private static final double SATURATED = 0.8;
+    // Peso de las colas en el puntaje: el cuello tiene la entrada llena y la salida vacía
+    private static final double OCCUPANCY_WEIGHT = 0.25;
+
+    private final int capacity;
+    private final PipelineListener listener;
+    private final AtomicInteger nextItem = new AtomicInteger();
+
+    private volatile List<PipelineStage> stages = List.of();
+    private volatile List<Buffer> buffers = List.of();
+    private volatile BufferType bufferType = BufferType.SEMAPHORE;
+    private volatile WaitStrategy waitStrategy = WaitStrategy.YIELD;
+    private volatile boolean rebalance = false;
+    private volatile int bottleneck = -1;
+    private volatile int moves = 0;
+
+    public PipelineSimulation(int capacity, PipelineListener listener, Pacer pacer) {
+        super(pacer);
+        this.capacity = capacity;
+        this.listener = listener;
+    }
+
+    @Override
+    protected void prepare() {
+        List<PipelineStage> stages = this.stages;
+        if (stages.size() < 2) {
+            throw new IllegalStateException("El pipeline necesita al menos una fuente y un sumidero");
+        }
+        if (bufferType.singleProducerSingleConsumer() || bufferType.demandDriven()) {
+            throw new IllegalStateException(bufferType + " no sirve entre etapas con varios trabajadores");
+        }
+        if (pacer().virtualTime()) {
+            throw new IllegalStateException("El monitor del pipeline mide ventanas de tiempo real: no admite tiempo virtual");
+        }
+        // Cada etapa tiene hilos para recibir todos los trabajadores que las demás pueden
+        // ceder (todas se quedan con al menos uno)
+        int total = 0;
+        for (PipelineStage stage : stages) {
+            total += stage.workers();
+        }
+        int maxWorkers = total - (stages.size() - 1);
+
+        List<Buffer> buffers = new ArrayList<>();
+        for (int i = 0; i < stages.size() - 1; i++) {
+            int stage = i;
+            buffers.add(bufferType.create(capacity, waitStrategy, new ProducerConsumerListener() {
+                @Override
+                public void bufferChanged() {
+                    listener.bufferChanged(stage);
+                }
+            }, maxWorkers));
+        }
+        this.buffers = buffers;
+        metrics().clear();
+        for (int i = 0; i < stages.size(); i++) {
+            PipelineStage stage = stages.get(i);
+            stage.reset(i > 0 ? buffers.get(i - 1) : null, i < buffers.size() ? buffers.get(i) : null, maxWorkers);
+            if (i > 0) metrics().register(stage.inputProbe());
+            if (i < buffers.size()) metrics().register(stage.outputProbe());
+        }
+        nextItem.set(0);
+        bottleneck = -1;
+        moves = 0;
+    }
+
+    @Override
+    protected List<Runnable> createWorkers() {
+        List<Runnable> workers = new ArrayList<>();
+        for (PipelineStage stage : stages) {
+            for (int i = 0; i < stage.maxWorkers(); i++) {
+                workers.add(new StageWorker(this, stage, i));
+            }
+        }
+        workers.add(this::monitor);
+        return workers;
+    }
+
+    private void monitor() {
+        long last = System.nanoTime();
+        int windows = 0;
+        try {
+            while (isRunning()) {
+                Thread.sleep(WINDOW_MILLIS);
+                long now = System.nanoTime();
+                for (PipelineStage stage : stages) {
+                    stage.sample(now - last);
+                }
+                last = now;
+
+                int found = findBottleneck();
+                if (found != bottleneck) {
+                    bottleneck = found;
+                    listener.bottleneckChanged(found);
+                }
+                if (rebalance && ++windows >= REBALANCE_WINDOWS) {
+                    windows = 0;
+                    rebalance(found);
+                }
+                listener.sampled();
+            }
+        } catch (InterruptedException e) {
+            // Detenida
+        }
+    }
+
+    // La etapa con mayor utilización, corregida por sus colas: con tiempos de servicio
+    // parecidos decide la que acumula trabajo en la entrada y deja vacía la salida
+    private int findBottleneck() {
+        List<PipelineStage> stages = this.stages;
+        int found = -1;
+        double best = 0;
+        for (int i = 0; i < stages.size(); i++) {
+            PipelineStage stage = stages.get(i);
+            double score = stage.utilization()
+                    + OCCUPANCY_WEIGHT * (stage.inputOccupancy() - stage.outputOccupancy());
+            if (stage.rate() > 0 && (found < 0 || score > best)) {
+                found = i;
+                best = score;
+            }
+        }
+        return found;
+    }
+
+    // Un trabajador por vez, y solo si el cuello está saturado y hay una etapa que lo puede
+    // ceder sin saturarse ella
+    private void rebalance(int target) {
+        if (target < 0) return;
+        List<PipelineStage> stages = this.stages;
+        PipelineStage receiver = stages.get(target);
+        if (receiver.utilization() < SATURATED || receiver.activeWorkers() >= receiver.maxWorkers()) {
+            return;
+        }
+        int donor = -1;
+        double lowest = SATURATED;
+        for (int i = 0; i < stages.size(); i++) {
+            PipelineStage stage = stages.get(i);
+            int active = stage.activeWorkers();
+            if (i == target || active <= 1) continue;
+            double projected = stage.utilization() * active / (active - 1);
+            if (projected < lowest) {
+                donor = i;
+                lowest = projected;
+            }
+        }
+        if (donor >= 0) {
+            PipelineStage giver = stages.get(donor);
+            giver.setActiveWorkers(giver.activeWorkers() - 1);
+            receiver.setActiveWorkers(receiver.activeWorkers() + 1);
+            moves++;
+            listener.workerMoved(donor, target);
+        }
+    }
+
+    // Se aplica en el próximo start()
+    public void setStages(List<PipelineStage> stages) {
+        this.stages = List.copyOf(stages);
+    }
+
+    public List<PipelineStage> stages() {
+        return stages;
+    }
+
+    // Se aplica en el próximo start(); los buffers para un solo productor y un solo
+    // consumidor, o por demanda, no sirven entre etapas
+    public void setBufferType(BufferType bufferType, WaitStrategy waitStrategy) {
+        this.bufferType = bufferType;
+        this.waitStrategy = waitStrategy;
+    }
+
+    public BufferType bufferType() {
+        return bufferType;
+    }
+
+    // Se puede prender y apagar mientras corre
+    public void setRebalance(boolean rebalance) {
+        this.rebalance = rebalance;
+    }
+
+    public boolean rebalance() {
+        return rebalance;
+    }
+
+    // La cola a la salida de la etapa indicada; null antes del primer start()
+    public Buffer buffer(int stage) {
+        List<Buffer> buffers = this.buffers;
+        return stage < buffers.size() ? buffers.get(stage) : null;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    // Índice de la etapa cuello de botella en la última ventana, -1 si todavía no hay
+    public int bottleneck() {
+        return bottleneck;
+    }
+
+    // Trabajadores que movió el rebalanceo en la última ejecución
+    public int moveCount() {
+        return moves;
+    }
+
+    // Items que terminaron la última etapa
+    public long completedCount() {
+        List<PipelineStage> stages = this.stages;
+        return stages.isEmpty() ? 0 : stages.get(stages.size() - 1).processedCount();
+    }
+
+    public double throughput() {
+        long elapsed = elapsedNanos();
+        return elapsed == 0 ? 0 : completedCount() * 1e9 / elapsed;
+    }
+
+    // Los items empiezan en 1: 0 es una posición vacía en la vista del buffer
+    int nextItem() {
+        return nextItem.incrementAndGet();
+    }
+}
@@ -0,0 +1,155 @@
+package org.example.engine.producerconsumer;
+
+import org.example.engine.metrics.Probe;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntSupplier;
+
+// Una etapa del pipeline: cuántos trabajadores la atienden y cuánto tarda cada item. La
+// primera no tiene cola de entrada (genera los items) y la última no tiene cola de salida.
+// La configuración se fija al crearla; los trabajadores activos los puede mover el
+// rebalanceo mientras corre, y los inactivos quedan esperando en el monitor de la etapa
+public class PipelineStage {
+    // Peso de cada ventana nueva en la ocupación suavizada de la cola de entrada
+    private static final double OCCUPANCY_SMOOTHING = 0.5;
+
+    private final String name;
+    private final int workers;
+    private final ServiceTime serviceTime;
+    private final IntSupplier meanMillis;
+    private final Probe inputProbe;
+    private final Probe outputProbe;
+
+    private final LongAdder processed = new LongAdder();
+    private final LongAdder busyNanos = new LongAdder();
+    private volatile Buffer input, output;
+    private volatile int activeWorkers, maxWorkers;
+
+    // Publicados al cerrar cada ventana; solo los escribe el monitor
+    private volatile double utilization, rate, inputOccupancy, outputOccupancy;
+    private long sampledProcessed, sampledBusy;
+
+    // meanMillis se consulta en cada item, así la vista lo puede enlazar a un slider
+    public PipelineStage(String name, int workers, ServiceTime serviceTime, IntSupplier meanMillis) {
+        this.name = name;
+        this.workers = Math.max(1, workers);
+        this.serviceTime = serviceTime;
+        this.meanMillis = meanMillis;
+        this.inputProbe = new Probe(name + ": esperar entrada", false);
+        this.outputProbe = new Probe(name + ": entregar a la siguiente", false);
+    }
+
+    void reset(Buffer input, Buffer output, int maxWorkers) {
+        this.input = input;
+        this.output = output;
+        this.maxWorkers = maxWorkers;
+        this.activeWorkers = workers;
+        processed.reset();
+        busyNanos.reset();
+        sampledProcessed = sampledBusy = 0;
+        utilization = rate = inputOccupancy = outputOccupancy = 0;
+        inputProbe.reset(maxWorkers);
+        outputProbe.reset(maxWorkers);
+    }
+
+    // Cierra una ventana: utilización = tiempo de servicio sobre el tiempo disponible de los
+    // trabajadores activos; lo que pasan esperando las colas no cuenta como ocupado
+    void sample(long windowNanos) {
+        long nowProcessed = processed.sum();
+        long nowBusy = busyNanos.sum();
+        utilization = Math.min(1, (nowBusy - sampledBusy) / ((double) windowNanos * activeWorkers));
+        rate = (nowProcessed - sampledProcessed) * 1e9 / windowNanos;
+        sampledProcessed = nowProcessed;
+        sampledBusy = nowBusy;
+        inputOccupancy = smooth(inputOccupancy, input);
+        outputOccupancy = smooth(outputOccupancy, output);
+    }
+
+    private static double smooth(double previous, ObservableBuffer buffer) {
+        if (buffer == null) return 0;
+        double current = (double) buffer.size() / buffer.capacity();
+        return previous + OCCUPANCY_SMOOTHING * (current - previous);
+    }
+
+    // Los trabajadores con índice >= activos esperan acá hasta que el rebalanceo los necesite
+    synchronized void awaitActive(int worker) throws InterruptedException {
+        while (worker >= activeWorkers) {
+            wait();
+        }
+    }
+
+    synchronized void setActiveWorkers(int activeWorkers) {
+        this.activeWorkers = activeWorkers;
+        notifyAll();
+    }
+
+    void recordProcessed(long busy) {
+        processed.increment();
+        busyNanos.add(busy);
+    }
+
+    public String name() {
+        return name;
+    }
+
+    // Trabajadores configurados al crear la etapa
+    public int workers() {
+        return workers;
+    }
+
+    public int activeWorkers() {
+        return activeWorkers;
+    }
+
+    // Hilos que tiene la etapa: los configurados más los que le pueden pasar las demás
+    public int maxWorkers() {
+        return maxWorkers;
+    }
+
+    public ServiceTime serviceTime() {
+        return serviceTime;
+    }
+
+    public int meanMillis() {
+        return meanMillis.getAsInt();
+    }
+
+    public long processedCount() {
+        return processed.sum();
+    }
+
+    // Fracción de la última ventana que los trabajadores activos pasaron atendiendo items
+    public double utilization() {
+        return utilization;
+    }
+
+    // Items por segundo (real) en la última ventana
+    public double rate() {
+        return rate;
+    }
+
+    // Ocupación suavizada de la cola de entrada y de la de salida, entre 0 y 1 (0 si no hay)
+    public double inputOccupancy() {
+        return inputOccupancy;
+    }
+
+    public double outputOccupancy() {
+        return outputOccupancy;
+    }
+
+    Buffer input() {
+        return input;
+    }
+
+    Buffer output() {
+        return output;
+    }
+
+    Probe inputProbe() {
+        return inputProbe;
+    }
+
+    Probe outputProbe() {
+        return outputProbe;
+    }
+}
@@ -0,0 +1,121 @@
+package org.example.engine.producerconsumer;
+
+import org.example.engine.metrics.Probe;
+
+class Producer implements Runnable {
+    private final ProducerConsumerSimulation simulation;
+    private final int id;
+    private long sequence = 0;
+    // Items vistos por encima de la banda de ocupación, para muestrear uno de cada N
+    private long overloaded = 0;
+    // Fracción de ms de pausa de control todavía no dormida
+    private double owedMillis = 0;
+
+    Producer(ProducerConsumerSimulation simulation, int id) {
+        this.simulation = simulation;
+        this.id = id;
+    }
+
+    @Override
+    public void run() {
+        ProducerConsumerListener listener = simulation.listener();
+        Buffer buffer = simulation.blockingBuffer();
+        HandoffTracker tracker = simulation.tracker();
+        Probe probe = simulation.produceProbe();
+        AdaptiveBatchSizer sizer = new AdaptiveBatchSizer(simulation.batchSize());
+        // Sin agrupamiento la tanda es siempre 1: no hace falta mirar la ocupación
+        boolean batching = simulation.batchSize() > 1;
+        RateController controller = simulation.rateController();
+        OverloadPolicy overload = simulation.overloadPolicy();
+        int[] batch = new int[simulation.batchSize()];
+        while (simulation.isRunning() && !Thread.currentThread().isInterrupted()) {
+            try {
+                int count = sizer.size();
+                for (int i = 0; i < count; i++) {
+                    int item = tracker.item(id, sequence + i);
+                    listener.producerWorking(id, item);
+
+                    // Simular tiempo de producción
+                    simulation.pacer().pause(simulation.producerDelay() / 3);
+                    batch[i] = item;
+                }
+
+                if (simulation.measuresLatency() && overload == OverloadPolicy.BLOCK) {
+                    for (int i = 0; i < count; i++) {
+                        tracker.stamp(batch[i]);
+                    }
+                }
+                // Si los consumidores ya tienen trabajo pendiente conviene agrupar más
+                boolean backlog = batching && buffer.size() > 0;
+                long start = probe.begin();
+                int inserted = count;
+                if (overload != OverloadPolicy.BLOCK) {
+                    inserted = offer(buffer, tracker, batch, count, overload, listener);
+                } else if (count == 1) {
+                    buffer.produce(batch[0]);//<-----
+                } else {
+                    buffer.produceAll(batch, 0, count);
+                }
+                probe.acquired(id, start);
+                simulation.recordProduced(inserted);
+                if (batching) {
+                    if (backlog) {
+                        sizer.grow();
+                    } else {
+                        sizer.shrink();
+                    }
+                }
+
+                for (int i = 0; i < count; i++) {
+                    listener.producerProduced(id, batch[i]);
+
+                    // Pausa después de producir
+                    simulation.pacer().pause(simulation.producerDelay() / 3);
+                }
+                sequence += count;//<-----
+
+                if (controller != null) {
+                    throttle(controller, count);
+                }
+            } catch (InterruptedException e) {
+                break;
+            }
+        }
+        listener.producerStopped(id);
+    }
+
+    // Ofrece la tanda sin bloquear; lo que no entra, o queda fuera de la muestra, se descarta
+    private int offer(Buffer buffer, HandoffTracker tracker, int[] batch, int count, OverloadPolicy policy,
+                      ProducerConsumerListener listener) {
+        boolean measure = simulation.measuresLatency();
+        int inserted = 0;
+        for (int i = 0; i < count; i++) {
+            boolean sampledOut = policy == OverloadPolicy.SAMPLE
+                    && buffer.size() >= RateController.HIGH * buffer.capacity()
+                    && overloaded++ % OverloadPolicy.SAMPLE_EVERY != 0;
+            if (!sampledOut) {
+                if (measure) tracker.stamp(batch[i]);
+                if (buffer.offer(batch[i])) {
+                    inserted++;
+                    continue;
+                }
+                if (measure) tracker.unstamp(batch[i]);
+            }
+            listener.itemDropped(id, batch[i]);
+        }
+        simulation.recordDropped(count - inserted);
+        return inserted;
+    }
+
+    // Pausa extra que pide el control de ritmo, acumulando las fracciones de ms
+    private void throttle(RateController controller, int count) throws InterruptedException {
+        double naturalMillis = 2 * (simulation.producerDelay() / 3);
+        controller.observe(naturalMillis);
+        owedMillis += controller.pauseMillis(naturalMillis) * count;
+        if (owedMillis >= 1) {
+            long whole = (long) owedMillis;
+            owedMillis -= whole;
+            simulation.pacer().pause(whole);
+        }
+    }
+}
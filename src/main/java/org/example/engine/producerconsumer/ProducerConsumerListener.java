@@ -0,0 +1,43 @@
+package org.example.engine.producerconsumer;
+
+// Eventos que la simulación publica; la vista (o un contador headless) solo observa
+public interface ProducerConsumerListener {
+    ProducerConsumerListener NONE = new ProducerConsumerListener() {
+    };
+
+    default void producerWorking(int producer, int item) {
+    }
+
+    default void producerProduced(int producer, int item) {
+    }
+
+    default void producerStopped(int producer) {
+    }
+
+    // El control de sobrecarga descartó el item en vez de encolarlo
+    default void itemDropped(int producer, int item) {
+    }
+
+    default void consumerWaiting(int consumer) {
+    }
+
+    default void consumerProcessing(int consumer, int item) {
+    }
+
+    default void consumerStopped(int consumer) {
+    }
+
+    // Se invoca dentro de la operación del buffer (con el mutex tomado, si lo hay);
+    // slot es -1 si el buffer no expone posiciones
+    default void itemInserted(int item, int slot) {
+    }
+
+    // Se invoca dentro de la operación del buffer (con el mutex tomado, si lo hay);
+    // slot es -1 si el buffer no expone posiciones
+    default void itemRemoved(int item, int slot) {
+    }
+
+    // Se invoca después de liberar el mutex
+    default void bufferChanged() {
+    }
+}
@@ -0,0 +1,297 @@
+package org.example.engine.producerconsumer;
+
+import org.example.engine.AbstractSimulation;
+import org.example.engine.Pacer;
+import org.example.engine.metrics.Histogram;
+import org.example.engine.metrics.Probe;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntSupplier;
+
+public class ProducerConsumerSimulation extends AbstractSimulation {
+    private final int capacity;
+    private final ProducerConsumerListener listener;
+    private final LongAdder produced = new LongAdder();
+    private final LongAdder consumed = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final List<Histogram> consumerLatencies = new ArrayList<>();
+    // Tiempo dentro de produce/consume por actor, para cualquier tipo de buffer
+    private final Probe produceProbe;
+    private final Probe consumeProbe;
+
+    private volatile ObservableBuffer buffer;
+    private volatile BufferType bufferType = BufferType.SEMAPHORE;
+    private volatile WaitStrategy waitStrategy = WaitStrategy.YIELD;
+    private volatile HandoffTracker tracker;
+    private volatile int producerCount = 1;
+    private volatile int consumerCount = 1;
+    private volatile boolean measureLatency = false;
+    private volatile int batchSize = 1;
+    private volatile RateControl rateControl = RateControl.NONE;
+    private volatile OverloadPolicy overloadPolicy = OverloadPolicy.BLOCK;
+    private volatile RateController rateController;
+    private volatile FlowPipeline flowPipeline;
+
+    // Tiempos en ms; la vista los enlaza a sus sliders
+    private volatile IntSupplier producerDelay = () -> 0;
+    private volatile IntSupplier consumerDelay = () -> 0;
+
+    public ProducerConsumerSimulation(int capacity, ProducerConsumerListener listener, Pacer pacer) {
+        super(pacer);
+        this.capacity = capacity;
+        this.listener = listener;
+        this.produceProbe = new Probe("Productor: insertar en buffer", false, pacer::now);
+        this.consumeProbe = new Probe("Consumidor: tomar del buffer", false, pacer::now);
+        this.buffer = bufferType.open(capacity, waitStrategy, listener, 1);
+    }
+
+    @Override
+    protected void prepare() {
+        if (bufferType.singleProducerSingleConsumer() && (producerCount != 1 || consumerCount != 1)) {
+            throw new IllegalStateException(bufferType + " requiere exactamente un productor y un consumidor");
+        }
+        if (bufferType.demandDriven() && (rateControl != RateControl.NONE || overloadPolicy != OverloadPolicy.BLOCK)) {
+            throw new IllegalStateException(bufferType + " regula el ritmo con request(n): no admite control de ritmo"
+                    + " ni política de sobrecarga");
+        }
+        WaitStrategy waitStrategy = this.waitStrategy;
+        if (pacer().virtualTime()) {
+            if (bufferType.demandDriven()) {
+                throw new IllegalStateException(bufferType + " corre en pools de hilos propios: no admite tiempo virtual");
+            }
+            // Con el reloj virtual esperar activamente no consume tiempo simulado, y el reloj
+            // solo reconoce la espera que cede el hilo
+            waitStrategy = WaitStrategy.YIELD;
+        }
+        close(buffer);
+        buffer = bufferType.open(capacity, waitStrategy, listener, consumerCount);
+        tracker = new HandoffTracker(producerCount, consumerCount, capacity,
+                overloadPolicy != OverloadPolicy.BLOCK || bufferType.demandDriven(), pacer());
+        produced.reset();
+        consumed.reset();
+        dropped.reset();
+        rateController = rateControl == RateControl.NONE ? null
+                : new RateController(rateControl, blockingBuffer(), produced::sum, consumed::sum, pacer());
+
+        metrics().clear();
+        produceProbe.reset(producerCount);
+        consumeProbe.reset(consumerCount);
+        metrics().register(produceProbe);
+        metrics().register(consumeProbe);
+        for (Probe probe : buffer.probes()) {
+            probe.reset(0);
+            metrics().register(probe);
+        }
+    }
+
+    @Override
+    protected List<Runnable> createWorkers() {
+        List<Runnable> workers = new ArrayList<>();
+        List<Histogram> latencies = new ArrayList<>();
+        synchronized (consumerLatencies) {
+            consumerLatencies.clear();
+            for (int i = 0; i < consumerCount; i++) {
+                Histogram latency = new Histogram();
+                consumerLatencies.add(latency);
+                latencies.add(latency);
+            }
+        }
+        if (bufferType.demandDriven()) {
+            // Los actores Flow no tienen hilo propio: un solo worker arma el pipeline
+            flowPipeline = new FlowPipeline(this, latencies);
+            return List.of(flowPipeline);
+        }
+        flowPipeline = null;
+        for (int i = 0; i < consumerCount; i++) {
+            workers.add(new Consumer(this, i, latencies.get(i)));
+        }
+        for (int i = 0; i < producerCount; i++) {
+            workers.add(new Producer(this, i));
+        }
+        return workers;
+    }
+
+    // El buffer queda a la vista (snapshot) hasta el próximo start(); si es memoria mapeada se
+    // suelta el archivo ya al detener
+    @Override
+    public synchronized void stop() {
+        super.stop();
+        close(buffer);
+    }
+
+    private static void close(ObservableBuffer buffer) {
+        if (buffer instanceof SharedMemoryBuffer shared) {
+            shared.close();
+        }
+    }
+
+    public ObservableBuffer buffer() {
+        return buffer;
+    }
+
+    // El de produce/consume de Producer y Consumer; los tipos por demanda no tienen
+    Buffer blockingBuffer() {
+        return (Buffer) buffer;
+    }
+
+    FlowBuffer flowBuffer() {
+        return (FlowBuffer) buffer;
+    }
+
+    // Se aplica en el próximo start()
+    public void setBufferType(BufferType bufferType, WaitStrategy waitStrategy) {
+        this.bufferType = bufferType;
+        this.waitStrategy = waitStrategy;
+    }
+
+    public BufferType bufferType() {
+        return bufferType;
+    }
+
+    // Se aplica en el próximo start()
+    public void setActors(int producerCount, int consumerCount) {
+        this.producerCount = producerCount;
+        this.consumerCount = consumerCount;
+    }
+
+    public int producerCount() {
+        return producerCount;
+    }
+
+    public int consumerCount() {
+        return consumerCount;
+    }
+
+    // Agrega dos System.nanoTime() por item, por eso es opcional
+    public void setMeasureLatency(boolean measureLatency) {
+        this.measureLatency = measureLatency;
+    }
+
+    // Tamaño máximo de tanda de productores y consumidores; 1 desactiva el agrupamiento
+    public void setBatchSize(int batchSize) {
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    // Control de ritmo de los productores y qué hacer con lo que no conviene encolar; se
+    // aplica en el próximo start(). Los tipos por demanda solo admiten NONE y BLOCK
+    public void setRateControl(RateControl rateControl, OverloadPolicy overloadPolicy) {
+        this.rateControl = rateControl;
+        this.overloadPolicy = overloadPolicy;
+    }
+
+    public RateControl rateControl() {
+        return rateControl;
+    }
+
+    public OverloadPolicy overloadPolicy() {
+        return overloadPolicy;
+    }
+
+    public void setProducerDelay(IntSupplier producerDelay) {
+        this.producerDelay = producerDelay;
+    }
+
+    public void setConsumerDelay(IntSupplier consumerDelay) {
+        this.consumerDelay = consumerDelay;
+    }
+
+    public long producedCount() {
+        return produced.sum();
+    }
+
+    public long consumedCount() {
+        return consumed.sum();
+    }
+
+    public long droppedCount() {
+        return dropped.sum();
+    }
+
+    // Items por segundo (del Pacer) permitidos a cada productor; NaN sin control de ritmo
+    public double producerRate() {
+        RateController controller = rateController;
+        return controller == null ? Double.NaN : controller.rate();
+    }
+
+    // Hilos que usó la última ejecución: uno por actor, o los pools del modo Flow
+    // más el hilo que lo arma
+    public int threadCount() {
+        FlowPipeline pipeline = flowPipeline;
+        return pipeline != null ? pipeline.threadCount() + 1 : producerCount + consumerCount;
+    }
+
+    public double throughput() {
+        long elapsed = elapsedNanos();
+        return elapsed == 0 ? 0 : consumedCount() * 1e9 / elapsed;
+    }
+
+    // Latencia de entrega en ns, combinando los histogramas de todos los consumidores
+    public Histogram handoffLatency() {
+        Histogram merged = new Histogram();
+        synchronized (consumerLatencies) {
+            for (Histogram latency : consumerLatencies) {
+                merged.add(latency);
+            }
+        }
+        return merged;
+    }
+
+    // Espera de productores y consumidores dentro de produce/consume (ns del Pacer)
+    public Histogram producerWait() {
+        return produceProbe.waits();
+    }
+
+    public Histogram consumerWait() {
+        return consumeProbe.waits();
+    }
+
+    Probe produceProbe() {
+        return produceProbe;
+    }
+
+    Probe consumeProbe() {
+        return consumeProbe;
+    }
+
+    ProducerConsumerListener listener() {
+        return listener;
+    }
+
+    RateController rateController() {
+        return rateController;
+    }
+
+    HandoffTracker tracker() {
+        return tracker;
+    }
+
+    boolean measuresLatency() {
+        return measureLatency;
+    }
+
+    int producerDelay() {
+        return producerDelay.getAsInt();
+    }
+
+    int consumerDelay() {
+        return consumerDelay.getAsInt();
+    }
+
+    int batchSize() {
+        return batchSize;
+    }
+
+    void recordProduced(int count) {
+        produced.add(count);
+    }
+
+    void recordDropped(int count) {
+        dropped.add(count);
+    }
+
+    void recordConsumed(int count) {
+        consumed.add(count);
+    }
+}
@@ -0,0 +1,130 @@
+package org.example.engine.producerconsumer;
+
+import org.example.engine.trace.TraceReplayer;
+import org.example.engine.trace.TraceWriter;
+
+// Pasa cada evento a la vista y, si hay una traza abierta, lo graba también. El costo
+// sin grabar es una lectura volatile por evento
+public class ProducerConsumerTracer implements ProducerConsumerListener {
+    public static final int SCENARIO = 1;
+
+    // Códigos de registro
+    private static final int PRODUCER_WORKING = 1;
+    private static final int PRODUCER_PRODUCED = 2;
+    private static final int PRODUCER_STOPPED = 3;
+    private static final int CONSUMER_WAITING = 4;
+    private static final int CONSUMER_PROCESSING = 5;
+    private static final int CONSUMER_STOPPED = 6;
+    private static final int ITEM_INSERTED = 7;
+    private static final int ITEM_REMOVED = 8;
+    private static final int ITEM_DROPPED = 9;
+
+    private final ProducerConsumerListener delegate;
+    private volatile TraceWriter writer;
+
+    public ProducerConsumerTracer(ProducerConsumerListener delegate) {
+        this.delegate = delegate;
+    }
+
+    // null deja de grabar; cerrar la traza queda a cargo de quien la abrió
+    public void setWriter(TraceWriter writer) {
+        this.writer = writer;
+    }
+
+    // Parámetros del encabezado: productores, consumidores y capacidad del buffer
+    public static int[] params(int producers, int consumers, int capacity) {
+        return new int[]{producers, consumers, capacity};
+    }
+
+    private void record(int code, int a, int b) {
+        TraceWriter current = writer;
+        if (current != null) {
+            current.record(code, a, b, 0);
+        }
+    }
+
+    @Override
+    public void producerWorking(int producer, int item) {
+        record(PRODUCER_WORKING, producer, item);
+        delegate.producerWorking(producer, item);
+    }
+
+    @Override
+    public void producerProduced(int producer, int item) {
+        record(PRODUCER_PRODUCED, producer, item);
+        delegate.producerProduced(producer, item);
+    }
+
+    @Override
+    public void producerStopped(int producer) {
+        record(PRODUCER_STOPPED, producer, 0);
+        delegate.producerStopped(producer);
+    }
+
+    @Override
+    public void itemDropped(int producer, int item) {
+        record(ITEM_DROPPED, producer, item);
+        delegate.itemDropped(producer, item);
+    }
+
+    @Override
+    public void consumerWaiting(int consumer) {
+        record(CONSUMER_WAITING, consumer, 0);
+        delegate.consumerWaiting(consumer);
+    }
+
+    @Override
+    public void consumerProcessing(int consumer, int item) {
+        record(CONSUMER_PROCESSING, consumer, item);
+        delegate.consumerProcessing(consumer, item);
+    }
+
+    @Override
+    public void consumerStopped(int consumer) {
+        record(CONSUMER_STOPPED, consumer, 0);
+        delegate.consumerStopped(consumer);
+    }
+
+    @Override
+    public void itemInserted(int item, int slot) {
+        record(ITEM_INSERTED, item, slot);
+        delegate.itemInserted(item, slot);
+    }
+
+    @Override
+    public void itemRemoved(int item, int slot) {
+        record(ITEM_REMOVED, item, slot);
+        delegate.itemRemoved(item, slot);
+    }
+
+    @Override
+    public void bufferChanged() {
+        delegate.bufferChanged();
+    }
+
+    // Convierte los registros de vuelta en eventos. bufferChanged no se graba: se emite
+    // después de cada inserción o extracción
+    public static TraceReplayer.Sink replayInto(ProducerConsumerListener target) {
+        return (code, a, b, c) -> {
+            switch (code) {
+                case PRODUCER_WORKING -> target.producerWorking(a, b);
+                case PRODUCER_PRODUCED -> target.producerProduced(a, b);
+                case PRODUCER_STOPPED -> target.producerStopped(a);
+                case ITEM_DROPPED -> target.itemDropped(a, b);
+                case CONSUMER_WAITING -> target.consumerWaiting(a);
+                case CONSUMER_PROCESSING -> target.consumerProcessing(a, b);
+                case CONSUMER_STOPPED -> target.consumerStopped(a);
+                case ITEM_INSERTED -> {
+                    target.itemInserted(a, b);
+                    target.bufferChanged();
+                }
+                case ITEM_REMOVED -> {
+                    target.itemRemoved(a, b);
+                    target.bufferChanged();
+                }
+                default -> {
+                }
+            }
+        };
+    }
+}
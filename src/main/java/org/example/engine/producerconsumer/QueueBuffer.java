@@ -0,0 +1,126 @@
+package org.example.engine.producerconsumer;
+
+import java.util.Iterator;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedTransferQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+
+// Adapta una BlockingQueue de java.util.concurrent al Buffer de la simulación. Las colas
+// no exponen posiciones, así que in/out se derivan de los contadores y los eventos
+// itemInserted/itemRemoved se publican con slot -1.
+public class QueueBuffer implements Buffer {
+    private final int capacity;
+    private final boolean bounded;
+    private final ProducerConsumerListener listener;
+    private final LongAdder taken = new LongAdder();
+    private BlockingQueue<Integer> queue;
+    private Semaphore slots;
+
+    private QueueBuffer(int capacity, boolean bounded, ProducerConsumerListener listener) {
+        this.capacity = capacity;
+        this.bounded = bounded;
+        this.listener = listener;
+        reset();
+    }
+
+    public static QueueBuffer arrayBlocking(int capacity, ProducerConsumerListener listener) {
+        return new QueueBuffer(capacity, true, listener);
+    }
+
+    // LinkedTransferQueue no tiene capacidad: se acota con un semáforo de espacios libres
+    public static QueueBuffer linkedTransfer(int capacity, ProducerConsumerListener listener) {
+        return new QueueBuffer(capacity, false, listener);
+    }
+
+    @Override
+    public void produce(int item) throws InterruptedException {
+        if (slots != null) {
+            slots.acquire();
+        }
+        queue.put(item);
+        listener.itemInserted(item, -1);
+        listener.bufferChanged();
+    }
+
+    @Override
+    public boolean offer(int item) {
+        if (slots != null && !slots.tryAcquire()) {
+            return false;
+        }
+        if (!queue.offer(item)) {
+            return false;
+        }
+        listener.itemInserted(item, -1);
+        listener.bufferChanged();
+        return true;
+    }
+
+    @Override
+    public int consume() throws InterruptedException {
+        int item = queue.take();
+        taken.increment();
+        if (slots != null) {
+            slots.release();
+        }
+        listener.itemRemoved(item, -1);
+        listener.bufferChanged();
+        return item;
+    }
+
+    @Override
+    public int drainTo(int[] target, int max) throws InterruptedException {
+        target[0] = queue.take();
+        int count = 1;
+        Integer item;
+        while (count < max && (item = queue.poll()) != null) {
+            target[count++] = item;
+        }
+        taken.add(count);
+        if (slots != null) {
+            slots.release(count);
+        }
+        for (int i = 0; i < count; i++) {
+            listener.itemRemoved(target[i], -1);
+        }
+        listener.bufferChanged();
+        return count;
+    }
+
+    @Override
+    public int size() {
+        return queue.size();
+    }
+
+    // Aproximada: la cola se recorre sin detener a productores ni consumidores
+    @Override
+    public BufferSnapshot snapshot() {
+        int[] items = new int[capacity];
+        int out = (int) (taken.sum() % capacity);
+        int count = 0;
+        Iterator<Integer> iterator = queue.iterator();
+        while (iterator.hasNext() && count < capacity) {
+            items[(out + count) % capacity] = iterator.next();
+            count++;
+        }
+        return new BufferSnapshot(items, (out + count) % capacity, out, count);
+    }
+
+    @Override
+    public int capacity() {
+        return capacity;
+    }
+
+    @Override
+    public void reset() {
+        taken.reset();
+        if (bounded) {
+            queue = new ArrayBlockingQueue<>(capacity);
+            slots = null;
+        } else {
+            queue = new LinkedTransferQueue<>();
+            slots = new Semaphore(capacity);
+        }
+    }
+}
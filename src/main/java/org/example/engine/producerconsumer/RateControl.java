@@ -0,0 +1,23 @@
+package org.example.engine.producerconsumer;
+
+// Cómo ajustan los productores su ritmo según la ocupación del buffer (ver RateController)
+public enum RateControl {
+    NONE("Sin control"),
+    // Suma un paso fijo al ritmo mientras la ocupación está por debajo de la banda y lo
+    // divide por dos apenas la supera
+    AIMD("AIMD"),
+    // Ritmo de drenado estimado corregido por el error de ocupación (proporcional,
+    // integral y derivativo)
+    PID("PID");
+
+    private final String label;
+
+    RateControl(String label) {
+        this.label = label;
+    }
+
+    @Override
+    public String toString() {
+        return label;
+    }
+}
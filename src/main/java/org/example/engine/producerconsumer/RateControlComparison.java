@@ -0,0 +1,44 @@
+package org.example.engine.producerconsumer;
+
+import org.example.engine.Pacer;
+import org.example.engine.metrics.Histogram;
+
+// Productores más rápidos que los consumidores, con cada combinación de control de ritmo
+// y política de sobrecarga: compara throughput, descartes y latencia de entrega.
+// Uso: RateControlComparison [demora productor ms] [demora consumidor ms] [capacidad] [aceleración] [ms por combinación]
+public class RateControlComparison {
+
+    public static void main(String[] args) throws InterruptedException {
+        int producerDelay = args.length > 0 ? Integer.parseInt(args[0]) : 300;
+        int consumerDelay = args.length > 1 ? Integer.parseInt(args[1]) : 500;
+        int capacity = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+        double speedup = args.length > 3 ? Double.parseDouble(args[3]) : 100;
+        long millis = args.length > 4 ? Long.parseLong(args[4]) : 3000;
+
+        System.out.printf("Productor cada %d ms, consumidor cada %d ms, capacidad %d, x%.0f, %d ms por combinación%n",
+                producerDelay, consumerDelay, capacity, speedup, millis);
+        System.out.printf("%-12s %-10s %12s %12s %14s %14s %14s%n", "Control", "Sobrecarga", "items/s",
+                "descartados", "ritmo final", "p50 (ms sim)", "p99 (ms sim)");
+        for (RateControl control : RateControl.values()) {
+            for (OverloadPolicy overload : OverloadPolicy.values()) {
+                ProducerConsumerSimulation simulation =
+                        new ProducerConsumerSimulation(capacity, ProducerConsumerListener.NONE, Pacer.scaled(speedup));
+                simulation.setProducerDelay(() -> producerDelay);
+                simulation.setConsumerDelay(() -> consumerDelay);
+                simulation.setMeasureLatency(true);
+                simulation.setRateControl(control, overload);
+
+                simulation.start();
+                Thread.sleep(millis);
+                simulation.stop();
+                simulation.awaitTermination(5000);
+
+                // Latencia y ritmo en tiempo simulado, para compararlos con las demoras
+                Histogram latency = simulation.handoffLatency();
+                System.out.printf("%-12s %-10s %12.2f %12d %14.2f %14.1f %14.1f%n", control, overload,
+                        simulation.throughput() / speedup, simulation.droppedCount(), simulation.producerRate(),
+                        latency.percentile(50) * speedup / 1e6, latency.percentile(99) * speedup / 1e6);
+            }
+        }
+    }
+}
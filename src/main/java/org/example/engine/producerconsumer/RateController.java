@@ -0,0 +1,114 @@
+package org.example.engine.producerconsumer;
+
+import org.example.engine.Pacer;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+// Ritmo de los productores en función de la ocupación del buffer y del drenado de los
+// consumidores. La meta es una ocupación dentro de la banda [LOW, HIGH] de la capacidad:
+// por la ley de Little la espera en el buffer es ocupación / ritmo de drenado, así que un
+// buffer con poco pero nunca sin trabajo minimiza la latencia de punta a punta sin dejar
+// ociosos a los consumidores. El ritmo está en items por segundo del Pacer por productor
+// y se traduce en una pausa extra después de cada item; se recalcula cada PERIOD_NANOS
+// del reloj del Pacer a cargo del productor que llega primero, los demás solo leen el
+// valor publicado
+final class RateController {
+    static final double LOW = 0.2;
+    static final double HIGH = 0.5;
+
+    private static final long PERIOD_NANOS = 50_000_000;
+    // AIMD: paso aditivo como fracción del ritmo máximo, y factor multiplicativo
+    private static final double ADDITIVE_STEP = 0.05;
+    private static final double DECREASE = 0.5;
+    // PID sobre el error de ocupación (fracción de la capacidad)
+    private static final double KP = 1.0;
+    private static final double KI = 0.3;
+    private static final double KD = 0.5;
+    private static final double MAX_INTEGRAL = 2.0;
+    // Suavizado de la ocupación y del cociente consumidos / producidos: con buffers chicos
+    // la ocupación salta de a un item y la derivada sin suavizar solo mide ruido
+    private static final double SMOOTHING = 0.3;
+    // Cuánto puede cambiar el ritmo en una actualización: la pausa extra se cumple antes de
+    // volver a medir, así que un ritmo muy bajo demora la próxima corrección
+    private static final double MAX_STEP = 2.0;
+    // Nunca se baja de este fragmento del ritmo máximo, para seguir midiendo
+    private static final double MIN_RATE = 0.05;
+
+    private final RateControl mode;
+    private final ObservableBuffer buffer;
+    private final LongSupplier produced;
+    private final LongSupplier consumed;
+    private final Pacer pacer;
+    private final AtomicLong nextUpdate = new AtomicLong();
+
+    // Solo los toca el productor que ganó el turno de actualizar
+    private long lastProduced, lastConsumed;
+    private double fill, drainRatio = 1, integral, lastError;
+
+    private volatile double rate = Double.POSITIVE_INFINITY;
+
+    RateController(RateControl mode, ObservableBuffer buffer, LongSupplier produced, LongSupplier consumed,
+                   Pacer pacer) {
+        this.mode = mode;
+        this.buffer = buffer;
+        this.produced = produced;
+        this.consumed = consumed;
+        this.pacer = pacer;
+    }
+
+    // naturalMillis: lo que ya tarda un item sin control (las pausas del slider)
+    void observe(double naturalMillis) {
+        long now = pacer.now();
+        long next = nextUpdate.get();
+        if (now < next || !nextUpdate.compareAndSet(next, now + PERIOD_NANOS)) {
+            return;
+        }
+        synchronized (this) {
+            update(naturalMillis);
+        }
+    }
+
+    private void update(double naturalMillis) {
+        double maxRate = 1000 / Math.max(naturalMillis, 1);
+        double current = Math.min(rate, maxRate);
+        fill += SMOOTHING * (buffer.size() / (double) buffer.capacity() - fill);
+
+        long producedNow = produced.getAsLong();
+        long consumedNow = consumed.getAsLong();
+        long producedDelta = producedNow - lastProduced;
+        if (producedDelta > 0) {
+            double ratio = (consumedNow - lastConsumed) / (double) producedDelta;
+            drainRatio += SMOOTHING * (ratio - drainRatio);
+        }
+        lastProduced = producedNow;
+        lastConsumed = consumedNow;
+
+        double target;
+        if (mode == RateControl.AIMD) {
+            target = fill > HIGH ? current * DECREASE
+                    : fill < LOW ? current + ADDITIVE_STEP * maxRate
+                    : current;
+        } else {
+            double error = (LOW + HIGH) / 2 - fill; // Positivo: falta trabajo en el buffer
+            integral = Math.max(-MAX_INTEGRAL, Math.min(MAX_INTEGRAL, integral + error));
+            double derivative = error - lastError;
+            lastError = error;
+            // Lo que drenan los consumidores, repartido entre productores, más la corrección
+            target = current * drainRatio * (1 + KP * error + KI * integral + KD * derivative);
+        }
+        target = Math.max(current / MAX_STEP, Math.min(current * MAX_STEP, target));
+        rate = Math.max(MIN_RATE * maxRate, Math.min(maxRate, target));
+    }
+
+    // Pausa extra por item, en ms del Pacer
+    double pauseMillis(double naturalMillis) {
+        double current = rate;
+        return Double.isInfinite(current) ? 0 : Math.max(0, 1000 / current - naturalMillis);
+    }
+
+    // Items por segundo (del Pacer) que se le permiten a cada productor
+    double rate() {
+        return rate;
+    }
+}
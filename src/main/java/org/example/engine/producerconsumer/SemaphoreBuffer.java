@@ -0,0 +1,191 @@
+package org.example.engine.producerconsumer;
+
+import org.example.engine.metrics.Probe;
+
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.locks.ReentrantLock;
+
+public class SemaphoreBuffer implements Buffer {
+    private final int capacity;
+    private final ProducerConsumerListener listener;
+    private final int[] items;
+    private int in = 0, out = 0, count = 0;
+    private Semaphore empty;
+    private Semaphore full;
+    private final ReentrantLock mutex = new ReentrantLock();
+
+    // Espera por espacio (empty), por items (full) y espera/retención del mutex
+    private final Probe emptyProbe = new Probe("Semáforo empty", false);
+    private final Probe fullProbe = new Probe("Semáforo full", false);
+    private final Probe mutexProbe = new Probe("Mutex del buffer", true);
+
+    public SemaphoreBuffer(int capacity, ProducerConsumerListener listener) {
+        this.capacity = capacity;
+        this.listener = listener;
+        this.items = new int[capacity];
+        this.empty = new Semaphore(capacity);
+        this.full = new Semaphore(0);
+    }
+
+    @Override
+    public void produce(int item) throws InterruptedException {
+        long start = emptyProbe.begin();
+        empty.acquire(); // Esperar a que haya espacio
+        insert(item, emptyProbe.acquired(-1, start)); // Fin de esta espera = inicio de la del mutex
+    }
+
+    @Override
+    public boolean offer(int item) {
+        if (!empty.tryAcquire()) {
+            return false;
+        }
+        insert(item, mutexProbe.begin());
+        return true;
+    }
+
+    // Con el permiso de empty ya tomado
+    private void insert(int item, long start) {
+        mutex.lock();
+        long locked = mutexProbe.acquired(-1, start);
+        try {
+            items[in] = item; //<---- Donde insertar el item
+            listener.itemInserted(item, in);
+            in = (in + 1) % capacity;
+            count++;
+        } finally {
+            mutex.unlock();
+            mutexProbe.released(-1, locked);
+        }
+        full.release(); // Señalar que hay un nuevo item
+        listener.bufferChanged(); // Notificar después de liberar el lock
+    }
+
+    @Override
+    public int consume() throws InterruptedException {
+        long start = fullProbe.begin();
+        full.acquire(); // Esperar a que haya items
+        start = fullProbe.acquired(-1, start);
+        mutex.lock();
+        long locked = mutexProbe.acquired(-1, start);
+        int item;
+        try {
+            item = items[out];
+            items[out] = 0; // Limpiar la posición
+            listener.itemRemoved(item, out);
+            out = (out + 1) % capacity;
+            count--;
+        } finally {
+            mutex.unlock();
+            mutexProbe.released(-1, locked);
+        }
+        empty.release(); // Señalar que hay espacio libre
+        listener.bufferChanged(); // Notificar después de liberar el lock
+        return item;
+    }
+
+    // Un acquire de permisos y una toma del mutex por tanda, en vez de por item
+    @Override
+    public void produceAll(int[] batch, int offset, int length) throws InterruptedException {
+        while (length > 0) {
+            int chunk = Math.min(length, capacity);
+            long start = emptyProbe.begin();
+            empty.acquire(chunk); // Esperar a que haya espacio para toda la tanda
+            start = emptyProbe.acquired(-1, start);
+            mutex.lock();
+            long locked = mutexProbe.acquired(-1, start);
+            try {
+                for (int i = 0; i < chunk; i++) {
+                    int item = batch[offset + i];
+                    items[in] = item;
+                    listener.itemInserted(item, in);
+                    in = (in + 1) % capacity;
+                }
+                count += chunk;
+            } finally {
+                mutex.unlock();
+                mutexProbe.released(-1, locked);
+            }
+            full.release(chunk);
+            listener.bufferChanged();
+            offset += chunk;
+            length -= chunk;
+        }
+    }
+
+    @Override
+    public int drainTo(int[] target, int max) throws InterruptedException {
+        long start = fullProbe.begin();
+        full.acquire(); // Esperar a que haya al menos un item
+        start = fullProbe.acquired(-1, start);
+        int taken = 1;
+        if (max > 1) {
+            // Tomar el resto de los permisos de una vez y devolver los que sobren
+            int extra = full.drainPermits();
+            if (extra > max - 1) {
+                full.release(extra - (max - 1));
+                extra = max - 1;
+            }
+            taken += extra;
+        }
+        mutex.lock();
+        long locked = mutexProbe.acquired(-1, start);
+        try {
+            for (int i = 0; i < taken; i++) {
+                int item = items[out];
+                items[out] = 0;
+                target[i] = item;
+                listener.itemRemoved(item, out);
+                out = (out + 1) % capacity;
+            }
+            count -= taken;
+        } finally {
+            mutex.unlock();
+            mutexProbe.released(-1, locked);
+        }
+        empty.release(taken);
+        listener.bufferChanged();
+        return taken;
+    }
+
+    @Override
+    public int size() {
+        return full.availablePermits();
+    }
+
+    // Captura el estado del buffer de forma thread-safe
+    @Override
+    public BufferSnapshot snapshot() {
+        mutex.lock();
+        try {
+            return new BufferSnapshot(items.clone(), in, out, count);
+        } finally {
+            mutex.unlock();
+        }
+    }
+
+    @Override
+    public int capacity() {
+        return capacity;
+    }
+
+    @Override
+    public List<Probe> probes() {
+        return List.of(emptyProbe, fullProbe, mutexProbe);
+    }
+
+    @Override
+    public void reset() {
+        mutex.lock();
+        try {
+            for (int i = 0; i < capacity; i++) {
+                items[i] = 0;
+            }
+            in = out = count = 0;
+            empty = new Semaphore(capacity);
+            full = new Semaphore(0);
+        } finally {
+            mutex.unlock();
+        }
+    }
+}
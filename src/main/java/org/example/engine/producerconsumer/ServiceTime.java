@@ -0,0 +1,41 @@
+package org.example.engine.producerconsumer;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+// Distribución del tiempo de servicio de una etapa del pipeline alrededor de su media
+public enum ServiceTime {
+    FIXED("Fijo") {
+        @Override
+        double sample(double meanMillis, ThreadLocalRandom random) {
+            return meanMillis;
+        }
+    },
+    // Entre la mitad y una vez y media la media
+    UNIFORM("Uniforme") {
+        @Override
+        double sample(double meanMillis, ThreadLocalRandom random) {
+            return meanMillis * (0.5 + random.nextDouble());
+        }
+    },
+    // Sin memoria, como un servidor M/M/c: muchos servicios cortos y algunos muy largos
+    EXPONENTIAL("Exponencial") {
+        @Override
+        double sample(double meanMillis, ThreadLocalRandom random) {
+            return -meanMillis * Math.log(1 - random.nextDouble());
+        }
+    };
+
+    private final String label;
+
+    ServiceTime(String label) {
+        this.label = label;
+    }
+
+    // Un tiempo de servicio en ms; el que pausa acumula las fracciones
+    abstract double sample(double meanMillis, ThreadLocalRandom random);
+
+    @Override
+    public String toString() {
+        return label;
+    }
+}
@@ -0,0 +1,357 @@
+package org.example.engine.producerconsumer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// Anillo SPSC cuyo estado (items, tail = in, head = out) vive en un archivo mapeado a
+// memoria, para que productor y consumidor estén en procesos distintos del mismo host.
+// Mismo protocolo que SpscRingBuffer: cada lado escribe solo su secuencia, la publica con
+// release y lee la del otro con acquire directamente sobre las páginas compartidas, así
+// que el camino rápido no hace syscalls ni copia nada más que el int del item.
+// Layout (little endian): 0 magic, 4 versión, 8 capacidad, 12 estado, 16 pid del proceso
+// que la creó, 64 tail (línea del productor), 128 head (línea del consumidor), 192 en
+// adelante los items
+public final class SharedMemoryBuffer implements Buffer, AutoCloseable {
+    static final int MAGIC = 0x53494D42; // "SIMB"
+    static final int VERSION = 1;
+    private static final int CAPACITY_OFFSET = 8;
+    private static final int STATE_OFFSET = 12;
+    private static final int OWNER_OFFSET = 16;
+    private static final int TAIL_OFFSET = 64;
+    private static final int HEAD_OFFSET = 128;
+    private static final int ITEMS_OFFSET = 192;
+
+    private static final int STATE_OPEN = 1;
+    private static final int STATE_FINISHED = 2;
+
+    private static final VarHandle INT =
+            MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final VarHandle LONG =
+            MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private final Path file;
+    private final FileChannel channel;
+    private final MappedByteBuffer region;
+    private final boolean readOnly;
+    // Región propia de esta JVM: el archivo se borra al cerrarla
+    private final boolean temporary;
+    private final int capacity;
+    private final int mask;
+    private final WaitStrategy waitStrategy;
+    private final ProducerConsumerListener listener;
+
+    // Locales a cada proceso: la última secuencia vista del otro lado
+    private long cachedHead;
+    private long cachedTail;
+
+    private SharedMemoryBuffer(Path file, FileChannel channel, MappedByteBuffer region, boolean readOnly,
+                               boolean temporary, int capacity, WaitStrategy waitStrategy,
+                               ProducerConsumerListener listener) {
+        this.file = file;
+        this.channel = channel;
+        this.region = region;
+        this.readOnly = readOnly;
+        this.temporary = temporary;
+        this.capacity = capacity;
+        this.mask = Integer.bitCount(capacity) == 1 ? capacity - 1 : -1;
+        this.waitStrategy = waitStrategy;
+        this.listener = listener;
+    }
+
+    // Archivo que usan por defecto SharedMemoryChannel y el observador del panel
+    public static Path defaultFile() {
+        return Path.of(System.getProperty("simulador.shm.file",
+                Path.of(System.getProperty("java.io.tmpdir"), "simulador-pc.shm").toString()));
+    }
+
+    // Crea (o reinicia) la región: quien ya estuviera conectado debe volver a conectarse.
+    // El archivo no se trunca, por si otro proceso todavía lo tiene mapeado
+    public static SharedMemoryBuffer create(Path file, int capacity, WaitStrategy waitStrategy,
+                                            ProducerConsumerListener listener) throws IOException {
+        return create(file, false, capacity, waitStrategy, listener);
+    }
+
+    // Región de una simulación dentro de esta JVM (BufferType.SHARED_MEMORY): un archivo
+    // temporal propio, borrado al cerrarla o al salir, que nunca pisa el de defaultFile()
+    // donde puede haber un productor o un consumidor de otro proceso conectado
+    public static SharedMemoryBuffer createTemporary(int capacity, WaitStrategy waitStrategy,
+                                                     ProducerConsumerListener listener) throws IOException {
+        Path file = Files.createTempFile("simulador-pc-", ".shm");
+        file.toFile().deleteOnExit();
+        try {
+            return create(file, true, capacity, waitStrategy, listener);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+    }
+
+    private static SharedMemoryBuffer create(Path file, boolean temporary, int capacity, WaitStrategy waitStrategy,
+                                             ProducerConsumerListener listener) throws IOException {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        MappedByteBuffer region = channel.map(FileChannel.MapMode.READ_WRITE, 0, ITEMS_OFFSET + 4L * capacity);
+        region.order(ByteOrder.LITTLE_ENDIAN);
+        // El magic se borra primero y se publica último: nadie se conecta a medio inicializar
+        INT.setRelease(region, 0, 0);
+        region.putInt(4, VERSION);
+        region.putInt(CAPACITY_OFFSET, capacity);
+        region.putInt(STATE_OFFSET, STATE_OPEN);
+        region.putLong(OWNER_OFFSET, ProcessHandle.current().pid());
+        region.putLong(TAIL_OFFSET, 0);
+        region.putLong(HEAD_OFFSET, 0);
+        for (int i = 0; i < capacity; i++) {
+            region.putInt(ITEMS_OFFSET + 4 * i, 0);
+        }
+        INT.setRelease(region, 0, MAGIC);
+        return new SharedMemoryBuffer(file, channel, region, false, temporary, capacity, waitStrategy, listener);
+    }
+
+    // Se conecta a una región creada por otro proceso, como productor o consumidor
+    public static SharedMemoryBuffer attach(Path file, WaitStrategy waitStrategy,
+                                            ProducerConsumerListener listener) throws IOException {
+        return open(file, false, waitStrategy, listener);
+    }
+
+    // Solo lectura: para mirar in/out/count desde otro proceso sin participar
+    public static SharedMemoryBuffer observe(Path file) throws IOException {
+        return open(file, true, WaitStrategy.YIELD, ProducerConsumerListener.NONE);
+    }
+
+    private static SharedMemoryBuffer open(Path file, boolean readOnly, WaitStrategy waitStrategy,
+                                           ProducerConsumerListener listener) throws IOException {
+        FileChannel channel = readOnly
+                ? FileChannel.open(file, StandardOpenOption.READ)
+                : FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        FileChannel.MapMode mode = readOnly ? FileChannel.MapMode.READ_ONLY : FileChannel.MapMode.READ_WRITE;
+        if (channel.size() < ITEMS_OFFSET) {
+            channel.close();
+            throw new IOException("No es un buffer compartido: " + file);
+        }
+        MappedByteBuffer header = channel.map(mode, 0, ITEMS_OFFSET);
+        header.order(ByteOrder.LITTLE_ENDIAN);
+        if ((int) INT.getAcquire(header, 0) != MAGIC || header.getInt(4) != VERSION) {
+            channel.close();
+            throw new IOException("No es un buffer compartido o todavía no se inicializó: " + file);
+        }
+        int capacity = header.getInt(CAPACITY_OFFSET);
+        MappedByteBuffer region = channel.map(mode, 0, ITEMS_OFFSET + 4L * capacity);
+        region.order(ByteOrder.LITTLE_ENDIAN);
+        return new SharedMemoryBuffer(file, channel, region, readOnly, false, capacity, waitStrategy, listener);
+    }
+
+    @Override
+    public void produce(int item) throws InterruptedException {
+        checkWritable();
+        long currentTail = tail();
+        long wrapPoint = currentTail - capacity;
+        if (cachedHead <= wrapPoint) {
+            int idle = 0;
+            while ((cachedHead = head()) <= wrapPoint) {
+                idle = waitStrategy.idle(idle);
+            }
+        }
+        int slot = index(currentTail);
+        region.putInt(ITEMS_OFFSET + 4 * slot, item);
+        listener.itemInserted(item, slot);
+        LONG.setRelease(region, TAIL_OFFSET, currentTail + 1);
+        listener.bufferChanged();
+    }
+
+    @Override
+    public boolean offer(int item) {
+        checkWritable();
+        long currentTail = tail();
+        long wrapPoint = currentTail - capacity;
+        if (cachedHead <= wrapPoint && (cachedHead = head()) <= wrapPoint) {
+            return false;
+        }
+        int slot = index(currentTail);
+        region.putInt(ITEMS_OFFSET + 4 * slot, item);
+        listener.itemInserted(item, slot);
+        LONG.setRelease(region, TAIL_OFFSET, currentTail + 1);
+        listener.bufferChanged();
+        return true;
+    }
+
+    @Override
+    public int consume() throws InterruptedException {
+        checkWritable();
+        long currentHead = head();
+        if (currentHead >= cachedTail) {
+            int idle = 0;
+            while ((cachedTail = tail()) <= currentHead) {
+                idle = waitStrategy.idle(idle);
+            }
+        }
+        int slot = index(currentHead);
+        int item = region.getInt(ITEMS_OFFSET + 4 * slot);
+        region.putInt(ITEMS_OFFSET + 4 * slot, 0); // Limpiar la posición para el observador
+        listener.itemRemoved(item, slot);
+        LONG.setRelease(region, HEAD_OFFSET, currentHead + 1);
+        listener.bufferChanged();
+        return item;
+    }
+
+    // Escribe todo lo que entra y publica la cola una sola vez por tramo
+    @Override
+    public void produceAll(int[] batch, int offset, int length) throws InterruptedException {
+        checkWritable();
+        long currentTail = tail();
+        while (length > 0) {
+            long free = capacity - (currentTail - cachedHead);
+            if (free <= 0) {
+                int idle = 0;
+                while ((free = capacity - (currentTail - (cachedHead = head()))) <= 0) {
+                    idle = waitStrategy.idle(idle);
+                }
+            }
+            int chunk = (int) Math.min(length, free);
+            for (int i = 0; i < chunk; i++) {
+                int slot = index(currentTail + i);
+                region.putInt(ITEMS_OFFSET + 4 * slot, batch[offset + i]);
+                listener.itemInserted(batch[offset + i], slot);
+            }
+            currentTail += chunk;
+            LONG.setRelease(region, TAIL_OFFSET, currentTail);
+            listener.bufferChanged();
+            offset += chunk;
+            length -= chunk;
+        }
+    }
+
+    @Override
+    public int drainTo(int[] target, int max) throws InterruptedException {
+        checkWritable();
+        long currentHead = head();
+        if (currentHead >= cachedTail) {
+            int idle = 0;
+            while ((cachedTail = tail()) <= currentHead) {
+                idle = waitStrategy.idle(idle);
+            }
+        }
+        int taken = (int) Math.min(max, cachedTail - currentHead);
+        for (int i = 0; i < taken; i++) {
+            int slot = index(currentHead + i);
+            target[i] = region.getInt(ITEMS_OFFSET + 4 * slot);
+            region.putInt(ITEMS_OFFSET + 4 * slot, 0);
+            listener.itemRemoved(target[i], slot);
+        }
+        LONG.setRelease(region, HEAD_OFFSET, currentHead + taken);
+        listener.bufferChanged();
+        return taken;
+    }
+
+    @Override
+    public int size() {
+        long currentHead = head();
+        long currentTail = tail();
+        return (int) Math.max(0, Math.min(capacity, currentTail - currentHead));
+    }
+
+    // Sin lock: head y tail se leen por separado, así que el count puede estar levemente desfasado
+    @Override
+    public BufferSnapshot snapshot() {
+        long currentHead = head();
+        long currentTail = tail();
+        int count = (int) Math.max(0, Math.min(capacity, currentTail - currentHead));
+        int[] items = new int[capacity];
+        for (int i = 0; i < capacity; i++) {
+            items[i] = region.getInt(ITEMS_OFFSET + 4 * i);
+        }
+        return new BufferSnapshot(items, index(currentTail), index(currentHead), count);
+    }
+
+    @Override
+    public int capacity() {
+        return capacity;
+    }
+
+    @Override
+    public void reset() {
+        checkWritable();
+        for (int i = 0; i < capacity; i++) {
+            region.putInt(ITEMS_OFFSET + 4 * i, 0);
+        }
+        cachedHead = cachedTail = 0;
+        LONG.setRelease(region, TAIL_OFFSET, 0L);
+        LONG.setRelease(region, HEAD_OFFSET, 0L);
+        INT.setRelease(region, STATE_OFFSET, STATE_OPEN);
+    }
+
+    // Items publicados y extraídos desde que se creó la región, para medir tasas desde afuera
+    public long producedCount() {
+        return tail();
+    }
+
+    public long consumedCount() {
+        return head();
+    }
+
+    // El productor avisa que no va a publicar más; el consumidor termina al vaciar el anillo
+    public void finish() {
+        checkWritable();
+        INT.setRelease(region, STATE_OFFSET, STATE_FINISHED);
+    }
+
+    public boolean isFinished() {
+        return (int) INT.getAcquire(region, STATE_OFFSET) == STATE_FINISHED;
+    }
+
+    // Si el proceso que creó la región sigue vivo; si no, lo que hay es de una corrida vieja
+    public boolean isOwnerAlive() {
+        return ProcessHandle.of(region.getLong(OWNER_OFFSET)).map(ProcessHandle::isAlive).orElse(false);
+    }
+
+    public Path file() {
+        return file;
+    }
+
+    // Cierra el canal (y borra el archivo si es temporal); las páginas quedan mapeadas hasta
+    // que el GC libere la región, así que un hilo rezagado nunca toca memoria desmapeada.
+    // Se puede llamar más de una vez
+    @Override
+    public void close() {
+        try {
+            channel.close();
+            if (temporary) {
+                Files.deleteIfExists(file);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private long tail() {
+        return (long) LONG.getAcquire(region, TAIL_OFFSET);
+    }
+
+    private long head() {
+        return (long) LONG.getAcquire(region, HEAD_OFFSET);
+    }
+
+    private void checkWritable() {
+        if (readOnly) {
+            throw new IllegalStateException("Buffer compartido abierto solo para observar");
+        }
+    }
+
+    private int index(long sequence) {
+        return mask >= 0 ? (int) (sequence & mask) : (int) (sequence % capacity);
+    }
+}
@@ -0,0 +1,166 @@
+package org.example.engine.producerconsumer;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+// Productor y consumidor en procesos distintos sobre un SharedMemoryBuffer. El productor
+// crea la región y publica items 1, 2, 3... sin pausas durante los segundos pedidos; el
+// consumidor se conecta (esperando a que la región exista), verifica que la secuencia
+// llegue completa y en orden, y termina cuando el productor avisa y el anillo queda vacío.
+// "ambos" corre los dos lados como hilos de esta JVM sobre la misma región, como referencia.
+// Uso: SharedMemoryChannel <productor|consumidor|ambos> [segundos] [capacidad] [tanda] [espera] [archivo]
+public class SharedMemoryChannel {
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0) {
+            System.err.println("Uso: SharedMemoryChannel <productor|consumidor|ambos> [segundos] [capacidad] "
+                    + "[tanda] [espera] [archivo]");
+            return;
+        }
+        String role = args[0];
+        long seconds = args.length > 1 ? Long.parseLong(args[1]) : 10;
+        int capacity = args.length > 2 ? Integer.parseInt(args[2]) : 1024;
+        int batchSize = args.length > 3 ? Integer.parseInt(args[3]) : 1;
+        WaitStrategy waitStrategy = args.length > 4 ? WaitStrategy.valueOf(args[4]) : WaitStrategy.YIELD;
+        Path file = args.length > 5 ? Path.of(args[5]) : SharedMemoryBuffer.defaultFile();
+
+        switch (role) {
+            case "productor" -> {
+                try (SharedMemoryBuffer buffer = SharedMemoryBuffer.create(file, capacity, waitStrategy,
+                        ProducerConsumerListener.NONE)) {
+                    System.out.printf("Productor en %s (capacidad %d, tanda %d, %s)%n", file, capacity, batchSize, waitStrategy);
+                    produce(buffer, seconds, batchSize);
+                }
+            }
+            case "consumidor" -> {
+                try (SharedMemoryBuffer buffer = attach(file, waitStrategy, seconds)) {
+                    System.out.printf("Consumidor en %s (capacidad %d, tanda %d, %s)%n", file, buffer.capacity(),
+                            batchSize, waitStrategy);
+                    consume(buffer, batchSize);
+                }
+            }
+            case "ambos" -> {
+                try (SharedMemoryBuffer producerSide = SharedMemoryBuffer.create(file, capacity, waitStrategy,
+                        ProducerConsumerListener.NONE);
+                     SharedMemoryBuffer consumerSide = SharedMemoryBuffer.attach(file, waitStrategy,
+                             ProducerConsumerListener.NONE)) {
+                    System.out.printf("Productor y consumidor en esta JVM sobre %s (capacidad %d, tanda %d, %s)%n",
+                            file, capacity, batchSize, waitStrategy);
+                    Thread consumer = Thread.ofPlatform().name("consumidor")
+                            .start(() -> consume(consumerSide, batchSize));
+                    produce(producerSide, seconds, batchSize);
+                    consumer.join();
+                }
+            }
+            default -> throw new IllegalArgumentException("Rol desconocido: " + role + " (productor, consumidor o ambos)");
+        }
+    }
+
+    // Reintenta mientras el productor no haya creado la región, o mientras la que hay sea
+    // de una corrida anterior (terminada, o de un proceso que ya no existe). Si el productor
+    // se reinicia con el consumidor conectado, el consumidor también debe reiniciarse
+    private static SharedMemoryBuffer attach(Path file, WaitStrategy waitStrategy, long seconds)
+            throws IOException, InterruptedException {
+        long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+        while (true) {
+            try {
+                SharedMemoryBuffer buffer = SharedMemoryBuffer.attach(file, waitStrategy, ProducerConsumerListener.NONE);
+                if (!buffer.isFinished() && buffer.isOwnerAlive()) {
+                    return buffer;
+                }
+                buffer.close();
+                if (System.nanoTime() > deadline) {
+                    throw new IOException("El productor no inició una corrida nueva en " + file);
+                }
+            } catch (IOException e) {
+                if (System.nanoTime() > deadline) throw e;
+            }
+            Thread.sleep(10);
+        }
+    }
+
+    private static void produce(SharedMemoryBuffer buffer, long seconds, int batchSize) {
+        // Si no hay consumidor el anillo queda lleno y produce no vuelve: se lo corta un
+        // segundo después del plazo
+        Thread producer = Thread.currentThread();
+        Thread timeout = Thread.ofPlatform().daemon().name("plazo-del-productor").start(() -> {
+            try {
+                Thread.sleep(seconds * 1000 + 1000);
+                producer.interrupt();
+            } catch (InterruptedException e) {
+                // El productor terminó a tiempo
+            }
+        });
+
+        int[] batch = new int[batchSize];
+        int next = 1;
+        long start = System.nanoTime();
+        long deadline = start + seconds * 1_000_000_000L;
+        long produced = 0;
+        try {
+            while (System.nanoTime() < deadline) {
+                // Se consulta el reloj una vez cada 1024 tandas
+                for (int round = 0; round < 1024; round++) {
+                    if (batchSize == 1) {
+                        buffer.produce(next);
+                    } else {
+                        for (int i = 0; i < batchSize; i++) {
+                            batch[i] = next + i;
+                        }
+                        buffer.produceAll(batch, 0, batchSize);
+                    }
+                    next += batchSize;
+                    produced += batchSize;
+                }
+            }
+        } catch (InterruptedException e) {
+            System.out.println("Productor: el anillo siguió lleno al vencer el plazo (¿hay un consumidor conectado?)");
+        }
+        timeout.interrupt();
+        buffer.finish();
+        double elapsed = (System.nanoTime() - start) / 1e9;
+        System.out.printf("Productor: %,d items publicados (%,.0f items/s)%n", produced, produced / elapsed);
+    }
+
+    // Un hilo aparte interrumpe al consumidor cuando el productor terminó y no queda nada
+    private static void consume(SharedMemoryBuffer buffer, int batchSize) {
+        Thread consumer = Thread.currentThread();
+        Thread watcher = Thread.ofPlatform().daemon().name("fin-del-productor").start(() -> {
+            try {
+                while (!(buffer.isFinished() && buffer.size() == 0)) {
+                    Thread.sleep(10);
+                }
+                consumer.interrupt();
+            } catch (InterruptedException e) {
+                // El consumidor terminó por su cuenta
+            }
+        });
+
+        int[] batch = new int[batchSize];
+        int expected = 1;
+        long consumed = 0;
+        long outOfOrder = 0;
+        long start = 0;
+        try {
+            while (true) {
+                int taken = buffer.drainTo(batch, batchSize);
+                if (start == 0) start = System.nanoTime();
+                for (int i = 0; i < taken; i++) {
+                    if (batch[i] != expected) {
+                        outOfOrder++;
+                        expected = batch[i];
+                    }
+                    expected++;
+                }
+                consumed += taken;
+            }
+        } catch (InterruptedException e) {
+            // Fin: el productor avisó y el anillo quedó vacío
+        }
+        watcher.interrupt();
+        double elapsed = start == 0 ? 0 : (System.nanoTime() - start) / 1e9;
+        System.out.printf("Consumidor: %,d items (%,.0f items/s), %s%n", consumed,
+                elapsed == 0 ? 0 : consumed / elapsed,
+                outOfOrder == 0 ? "secuencia completa y en orden" : outOfOrder + " saltos en la secuencia");
+    }
+}
@@ -0,0 +1,196 @@
+package org.example.engine.producerconsumer;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+// Relleno para que tail y head queden en líneas de caché distintas (la JVM ubica
+// primero los campos de la superclase)
+abstract class SpscPadding0 {
+    long p00, p01, p02, p03, p04, p05, p06, p07;
+}
+
+// Campos del productor: su secuencia y la última cabeza que vio
+abstract class SpscProducerFields extends SpscPadding0 {
+    long tail;
+    long cachedHead;
+}
+
+abstract class SpscPadding1 extends SpscProducerFields {
+    long p10, p11, p12, p13, p14, p15, p16, p17;
+}
+
+// Campos del consumidor: su secuencia y la última cola que vio
+abstract class SpscConsumerFields extends SpscPadding1 {
+    long head;
+    long cachedTail;
+}
+
+abstract class SpscPadding2 extends SpscConsumerFields {
+    long p20, p21, p22, p23, p24, p25, p26, p27;
+}
+
+// Anillo sin locks para exactamente un productor y un consumidor
+public final class SpscRingBuffer extends SpscPadding2 implements Buffer {
+    private static final VarHandle TAIL;
+    private static final VarHandle HEAD;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            TAIL = lookup.findVarHandle(SpscProducerFields.class, "tail", long.class);
+            HEAD = lookup.findVarHandle(SpscConsumerFields.class, "head", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final int capacity;
+    private final int mask;
+    private final int[] items;
+    private final WaitStrategy waitStrategy;
+    private final ProducerConsumerListener listener;
+
+    public SpscRingBuffer(int capacity, WaitStrategy waitStrategy, ProducerConsumerListener listener) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        this.mask = Integer.bitCount(capacity) == 1 ? capacity - 1 : -1;
+        this.items = new int[capacity];
+        this.waitStrategy = waitStrategy;
+        this.listener = listener;
+    }
+
+    @Override
+    public void produce(int item) throws InterruptedException {
+        long currentTail = tail;
+        long wrapPoint = currentTail - capacity;
+        if (cachedHead <= wrapPoint) {
+            // Solo se relee head (línea de caché del consumidor) cuando el valor cacheado dice lleno
+            int idle = 0;
+            while ((cachedHead = (long) HEAD.getAcquire(this)) <= wrapPoint) {
+                idle = waitStrategy.idle(idle);
+            }
+        }
+        int slot = index(currentTail);
+        items[slot] = item;
+        listener.itemInserted(item, slot);
+        TAIL.setRelease(this, currentTail + 1);
+        listener.bufferChanged();
+    }
+
+    @Override
+    public boolean offer(int item) {
+        long currentTail = tail;
+        long wrapPoint = currentTail - capacity;
+        if (cachedHead <= wrapPoint && (cachedHead = (long) HEAD.getAcquire(this)) <= wrapPoint) {
+            return false;
+        }
+        int slot = index(currentTail);
+        items[slot] = item;
+        listener.itemInserted(item, slot);
+        TAIL.setRelease(this, currentTail + 1);
+        listener.bufferChanged();
+        return true;
+    }
+
+    @Override
+    public int consume() throws InterruptedException {
+        long currentHead = head;
+        if (currentHead >= cachedTail) {
+            int idle = 0;
+            while ((cachedTail = (long) TAIL.getAcquire(this)) <= currentHead) {
+                idle = waitStrategy.idle(idle);
+            }
+        }
+        int slot = index(currentHead);
+        int item = items[slot];
+        items[slot] = 0; // Limpiar la posición
+        listener.itemRemoved(item, slot);
+        HEAD.setRelease(this, currentHead + 1);
+        listener.bufferChanged();
+        return item;
+    }
+
+    // Escribe todo lo que entra y publica la cola una sola vez por tramo
+    @Override
+    public void produceAll(int[] batch, int offset, int length) throws InterruptedException {
+        long currentTail = tail;
+        while (length > 0) {
+            long free = capacity - (currentTail - cachedHead);
+            if (free <= 0) {
+                int idle = 0;
+                while ((free = capacity - (currentTail - (cachedHead = (long) HEAD.getAcquire(this)))) <= 0) {
+                    idle = waitStrategy.idle(idle);
+                }
+            }
+            int chunk = (int) Math.min(length, free);
+            for (int i = 0; i < chunk; i++) {
+                int slot = index(currentTail + i);
+                items[slot] = batch[offset + i];
+                listener.itemInserted(batch[offset + i], slot);
+            }
+            currentTail += chunk;
+            TAIL.setRelease(this, currentTail);
+            listener.bufferChanged();
+            offset += chunk;
+            length -= chunk;
+        }
+    }
+
+    @Override
+    public int drainTo(int[] target, int max) throws InterruptedException {
+        long currentHead = head;
+        if (currentHead >= cachedTail) {
+            int idle = 0;
+            while ((cachedTail = (long) TAIL.getAcquire(this)) <= currentHead) {
+                idle = waitStrategy.idle(idle);
+            }
+        }
+        int taken = (int) Math.min(max, cachedTail - currentHead);
+        for (int i = 0; i < taken; i++) {
+            int slot = index(currentHead + i);
+            target[i] = items[slot];
+            items[slot] = 0;
+            listener.itemRemoved(target[i], slot);
+        }
+        HEAD.setRelease(this, currentHead + taken);
+        listener.bufferChanged();
+        return taken;
+    }
+
+    @Override
+    public int size() {
+        long currentHead = (long) HEAD.getAcquire(this);
+        long currentTail = (long) TAIL.getAcquire(this);
+        return (int) Math.max(0, Math.min(capacity, currentTail - currentHead));
+    }
+
+    // Sin lock: head y tail se leen por separado, así que el count puede estar levemente desfasado
+    @Override
+    public BufferSnapshot snapshot() {
+        long currentHead = (long) HEAD.getAcquire(this);
+        long currentTail = (long) TAIL.getAcquire(this);
+        int count = (int) Math.max(0, Math.min(capacity, currentTail - currentHead));
+        return new BufferSnapshot(items.clone(), index(currentTail), index(currentHead), count);
+    }
+
+    @Override
+    public int capacity() {
+        return capacity;
+    }
+
+    @Override
+    public void reset() {
+        for (int i = 0; i < capacity; i++) {
+            items[i] = 0;
+        }
+        cachedHead = cachedTail = 0;
+        TAIL.setRelease(this, 0L);
+        HEAD.setRelease(this, 0L);
+    }
+
+    private int index(long sequence) {
+        return mask >= 0 ? (int) (sequence & mask) : (int) (sequence % capacity);
+    }
+}
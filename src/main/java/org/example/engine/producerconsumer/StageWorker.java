@@ -0,0 +1,67 @@
+package org.example.engine.producerconsumer;
+
+import org.example.engine.metrics.Probe;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+// Un trabajador de una etapa del pipeline: toma de la cola de entrada (o genera el item si
+// es la primera etapa), lo atiende durante un tiempo de servicio y lo pasa a la cola de
+// salida (o lo da por terminado si es la última)
+class StageWorker implements Runnable {
+    private final PipelineSimulation simulation;
+    private final PipelineStage stage;
+    private final int id;
+    // Fracción de ms de servicio todavía no dormida
+    private double owedMillis = 0;
+
+    StageWorker(PipelineSimulation simulation, PipelineStage stage, int id) {
+        this.simulation = simulation;
+        this.stage = stage;
+        this.id = id;
+    }
+
+    @Override
+    public void run() {
+        Buffer input = stage.input();
+        Buffer output = stage.output();
+        Probe inputProbe = stage.inputProbe();
+        Probe outputProbe = stage.outputProbe();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (simulation.isRunning() && !Thread.currentThread().isInterrupted()) {
+            try {
+                // Si el rebalanceo le sacó este trabajador a la etapa, termina el item en
+                // curso y se queda esperando acá
+                if (id >= stage.activeWorkers()) {
+                    stage.awaitActive(id);
+                }
+
+                int item;
+                if (input == null) {
+                    item = simulation.nextItem();
+                } else {
+                    long start = inputProbe.begin();
+                    item = input.consume();
+                    inputProbe.acquired(id, start);
+                }
+
+                // Simular tiempo de servicio
+                long begin = System.nanoTime();
+                owedMillis += stage.serviceTime().sample(stage.meanMillis(), random);
+                if (owedMillis >= 1) {
+                    long whole = (long) owedMillis;
+                    owedMillis -= whole;
+                    simulation.pacer().pause(whole);
+                }
+                stage.recordProcessed(System.nanoTime() - begin);
+
+                if (output != null) {
+                    long start = outputProbe.begin();
+                    output.produce(item);
+                    outputProbe.acquired(id, start);
+                }
+            } catch (InterruptedException e) {
+                break;
+            }
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package org.example.engine.producerconsumer;
+
+import java.util.concurrent.locks.LockSupport;
+
+// Cómo espera un hilo del anillo SPSC cuando el buffer está lleno o vacío
+public enum WaitStrategy {
+    SPIN {
+        @Override
+        public int idle(int counter) throws InterruptedException {
+            checkInterrupted();
+            Thread.onSpinWait();
+            return counter + 1;
+        }
+    },
+    YIELD {
+        @Override
+        public int idle(int counter) throws InterruptedException {
+            checkInterrupted();
+            if (counter < SPIN_TRIES) {
+                Thread.onSpinWait();
+            } else {
+                Thread.yield();
+            }
+            return counter + 1;
+        }
+    },
+    PARK {
+        @Override
+        public int idle(int counter) throws InterruptedException {
+            checkInterrupted();
+            if (counter < SPIN_TRIES) {
+                Thread.onSpinWait();
+            } else if (counter < SPIN_TRIES + YIELD_TRIES) {
+                Thread.yield();
+            } else {
+                LockSupport.parkNanos(PARK_NANOS);
+            }
+            return counter + 1;
+        }
+    };
+
+    private static final int SPIN_TRIES = 100;
+    private static final int YIELD_TRIES = 100;
+    private static final long PARK_NANOS = 50_000;
+
+    // Recibe cuántas veces se esperó seguidas y devuelve el nuevo contador
+    public abstract int idle(int counter) throws InterruptedException;
+
+    private static void checkInterrupted() throws InterruptedException {
+        if (Thread.interrupted()) {
+            throw new InterruptedException();
+        }
+    }
+}
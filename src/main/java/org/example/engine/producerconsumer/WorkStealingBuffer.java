@@ -0,0 +1,176 @@
+package org.example.engine.producerconsumer;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+// Una cola por consumidor en vez de una sola compartida: cada productor reparte sus items
+// por turno entre las colas (si una está llena, en la siguiente con lugar) y cada
+// consumidor toma de la suya; si está vacía le roba a las demás, empezando por la de al
+// lado. Las colas son anillos MPMC sin locks (MpmcArrayBuffer) y dueño y ladrones sacan del
+// mismo extremo, en orden de llegada, como las colas de ForkJoinPool en modo FIFO. Mientras
+// la carga está pareja cada consumidor solo toca su cola y los consumos no compiten entre sí.
+// Cada hilo que consume se queda con la cola siguiente la primera vez que llama (con más
+// hilos que colas, comparten), y cada hilo que produce empieza su turno en la siguiente:
+// sin azar, la misma secuencia de llamadas reparte igual. La capacidad se reparte entre
+// las colas
+public final class WorkStealingBuffer implements Buffer {
+    private final int capacity;
+    private final MpmcArrayBuffer[] queues;
+    private final WaitStrategy waitStrategy;
+    private final AtomicInteger claimed = new AtomicInteger();
+    private final ThreadLocal<Home> home;
+    private final AtomicInteger producers = new AtomicInteger();
+    // Próxima cola de cada hilo productor; el contador es solo de ese hilo
+    private final ThreadLocal<int[]> turn;
+    private final LongAdder stolen = new LongAdder();
+    private final LongAdder taken = new LongAdder();
+
+    public WorkStealingBuffer(int capacity, int consumers, WaitStrategy waitStrategy, ProducerConsumerListener listener) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        this.waitStrategy = waitStrategy;
+        int count = Math.max(1, Math.min(consumers, capacity));
+        this.queues = new MpmcArrayBuffer[count];
+        // Las posiciones no se corresponden con las del anillo que muestra la vista
+        ProducerConsumerListener unpositioned = new ProducerConsumerListener() {
+            @Override
+            public void itemInserted(int item, int slot) {
+                listener.itemInserted(item, -1);
+            }
+
+            @Override
+            public void itemRemoved(int item, int slot) {
+                listener.itemRemoved(item, -1);
+            }
+
+            @Override
+            public void bufferChanged() {
+                listener.bufferChanged();
+            }
+        };
+        for (int i = 0; i < count; i++) {
+            queues[i] = new MpmcArrayBuffer(capacity / count + (i < capacity % count ? 1 : 0), waitStrategy, unpositioned);
+        }
+        this.home = ThreadLocal.withInitial(() -> new Home(claimed.getAndIncrement() % queues.length));
+        this.turn = ThreadLocal.withInitial(() -> new int[]{producers.getAndIncrement() % queues.length});
+    }
+
+    // La cola de un hilo consumidor y un lugar para el item de consume()
+    private static final class Home {
+        final int queue;
+        final int[] single = new int[1];
+
+        Home(int queue) {
+            this.queue = queue;
+        }
+    }
+
+    @Override
+    public void produce(int item) throws InterruptedException {
+        int idle = 0;
+        while (!offer(item)) {
+            idle = waitStrategy.idle(idle); // Todas llenas
+        }
+    }
+
+    @Override
+    public boolean offer(int item) {
+        int[] next = turn.get();
+        int start = next[0];
+        next[0] = start + 1 == queues.length ? 0 : start + 1;
+        for (int i = 0; i < queues.length; i++) {
+            if (queues[(start + i) % queues.length].offer(item)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public int consume() throws InterruptedException {
+        Home own = home.get();
+        take(own.queue, own.single, 1);
+        return own.single[0];
+    }
+
+    // De la cola propia hasta max; si está vacía, hasta la mitad de lo que tenga la primera
+    // cola ajena con items, para no volver a robar en el próximo consumo
+    @Override
+    public int drainTo(int[] target, int max) throws InterruptedException {
+        return take(home.get().queue, target, max);
+    }
+
+    private int take(int own, int[] target, int max) throws InterruptedException {
+        int idle = 0;
+        while (true) {
+            int count = queues[own].poll(target, 0, max);
+            if (count > 0) {
+                taken.add(count);
+                return count;
+            }
+            for (int i = 1; i < queues.length; i++) {
+                MpmcArrayBuffer victim = queues[(own + i) % queues.length];
+                int available = victim.size();
+                if (available == 0) continue;
+                count = victim.poll(target, 0, Math.min(max, (available + 1) / 2));
+                if (count > 0) {
+                    stolen.add(count);
+                    taken.add(count);
+                    return count;
+                }
+            }
+            idle = waitStrategy.idle(idle); // Todas vacías
+        }
+    }
+
+    // Items tomados de una cola ajena sobre el total, desde el último reset
+    public double stolenFraction() {
+        long total = taken.sum();
+        return total == 0 ? 0 : (double) stolen.sum() / total;
+    }
+
+    public int queueCount() {
+        return queues.length;
+    }
+
+    @Override
+    public int size() {
+        int size = 0;
+        for (MpmcArrayBuffer queue : queues) {
+            size += queue.size();
+        }
+        return size;
+    }
+
+    // Los items de todas las colas uno detrás de otro desde la posición 0: la vista muestra
+    // cuánto hay, no dónde
+    @Override
+    public BufferSnapshot snapshot() {
+        int[] items = new int[capacity];
+        int count = 0;
+        for (MpmcArrayBuffer queue : queues) {
+            BufferSnapshot part = queue.snapshot();
+            for (int i = 0; i < part.count() && count < capacity; i++) {
+                items[count++] = part.items()[(part.out() + i) % part.capacity()];
+            }
+        }
+        return new BufferSnapshot(items, count % capacity, 0, count);
+    }
+
+    @Override
+    public int capacity() {
+        return capacity;
+    }
+
+    @Override
+    public void reset() {
+        for (MpmcArrayBuffer queue : queues) {
+            queue.reset();
+        }
+        claimed.set(0);
+        stolen.reset();
+        taken.reset();
+    }
+}
@@ -0,0 +1,56 @@
+package org.example.engine.readerswriters;
+
+import org.example.engine.Pacer;
+
+// Corre la misma carga sin caché y con caché LRU y W-TinyLFU delante de la base, con claves
+// uniformes y con claves calientes (Zipf), y compara throughput de lectura, aciertos,
+// lecturas que llegaron a la base, fallos que compartieron una carga en curso (estampidas
+// evitadas) y el tiempo de lectura ahorrado. Tiempos en tiempo simulado.
+// Uso: CacheComparison [lectores] [escritores] [claves] [capacidad] [ttl ms] [ms por punto] [aceleración] [escrituras] [política]
+public class CacheComparison {
+
+    public static void main(String[] args) throws InterruptedException {
+        int readers = args.length > 0 ? Integer.parseInt(args[0]) : 20;
+        int writers = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+        int keys = args.length > 2 ? Integer.parseInt(args[2]) : 1000;
+        int capacity = args.length > 3 ? Integer.parseInt(args[3]) : 100;
+        long ttlMillis = args.length > 4 ? Long.parseLong(args[4]) : 30_000;
+        long millis = args.length > 5 ? Long.parseLong(args[5]) : 3000;
+        double speedup = args.length > 6 ? Double.parseDouble(args[6]) : 100;
+        CacheWritePolicy writePolicy = args.length > 7 ? CacheWritePolicy.valueOf(args[7]) : CacheWritePolicy.INVALIDATE;
+        LockPolicy policy = args.length > 8 ? LockPolicy.valueOf(args[8]) : LockPolicy.FAIR;
+
+        System.out.printf("%d lectores x %d escritores, %d claves, caché de %d entradas, ttl %d ms, %s, %s, "
+                + "tiempo x%.0f, %d ms por punto%n", readers, writers, keys, capacity, ttlMillis, writePolicy, policy,
+                speedup, millis);
+        System.out.printf("%-24s %-10s %12s %9s %10s %11s %10s %9s %14s%n", "Claves", "Caché", "lecturas/s",
+                "aciertos", "a la base", "compartidas", "desalojos", "vencidas", "ahorrado (s)");
+        for (KeyDistribution distribution : KeyDistribution.values()) {
+            for (CacheEviction eviction : CacheEviction.values()) {
+                ReadersWritersSimulation simulation =
+                        new ReadersWritersSimulation(ReadersWritersListener.NONE, Pacer.scaled(speedup));
+                simulation.setLockPolicy(policy);
+                simulation.setActors(readers, writers);
+                simulation.setSharding(1, keys, distribution);
+                simulation.setCache(eviction, capacity, ttlMillis, writePolicy);
+
+                simulation.start();
+                Thread.sleep(millis);
+                simulation.stop();
+                simulation.awaitTermination(5000);
+
+                double seconds = simulation.elapsedNanos() * speedup / 1e9;
+                ReadThroughCache cache = simulation.cache();
+                if (cache == null) {
+                    System.out.printf("%-24s %-10s %12.2f %9s %10d %11s %10s %9s %14s%n", distribution, eviction,
+                            simulation.readCount() / seconds, "-", simulation.readCount(), "-", "-", "-", "-");
+                } else {
+                    System.out.printf("%-24s %-10s %12.2f %8.0f%% %10d %11d %10d %9d %14.0f%n", distribution,
+                            eviction, simulation.readCount() / seconds, cache.hitRatio() * 100, cache.misses(),
+                            cache.coalesced(), cache.evictions(), cache.expirations(),
+                            cache.savedNanos() * speedup / 1e9);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package org.example.engine.readerswriters;
+
+// Valor guardado en la caché (puede ser null: la clave todavía no se escribió) y el
+// instante del reloj de la simulación (Pacer.now) a partir del cual vence
+record CacheEntry(String value, long expiresAt) {
+}
@@ -0,0 +1,37 @@
+package org.example.engine.readerswriters;
+
+public enum CacheEviction {
+    // La simulación con NONE lee directo de la base; una ReadThroughCache con NONE no guarda
+    // nada y solo comparte las cargas en curso
+    NONE("Sin caché") {
+        @Override
+        EvictionPolicy create(int capacity) {
+            return new PassThroughPolicy();
+        }
+    },
+    LRU("LRU") {
+        @Override
+        EvictionPolicy create(int capacity) {
+            return new LruPolicy(capacity);
+        }
+    },
+    TINY_LFU("W-TinyLFU") {
+        @Override
+        EvictionPolicy create(int capacity) {
+            return new WindowTinyLfuPolicy(capacity);
+        }
+    };
+
+    private final String label;
+
+    CacheEviction(String label) {
+        this.label = label;
+    }
+
+    abstract EvictionPolicy create(int capacity);
+
+    @Override
+    public String toString() {
+        return label;
+    }
+}
@@ -0,0 +1,18 @@
+package org.example.engine.readerswriters;
+
+// Qué hace la caché con la clave cuando un escritor termina de escribirla
+public enum CacheWritePolicy {
+    INVALIDATE("Invalidar"),
+    WRITE_THROUGH("Escritura directa");
+
+    private final String label;
+
+    CacheWritePolicy(String label) {
+        this.label = label;
+    }
+
+    @Override
+    public String toString() {
+        return label;
+    }
+}
@@ -0,0 +1,366 @@
+package org.example.engine.readerswriters;
+
+import org.example.engine.Pacer;
+import org.example.engine.metrics.Probe;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// Almacén clave-valor partido en shards: la clave k vive en el shard k % shards y cada
+// shard tiene su propio lock de la política elegida, así que un escritor solo bloquea a
+// quienes usan su shard. Con un solo shard es la base de datos de un único lock.
+// En modo MVCC (LockPolicy.MVCC) cada escritura publica una copia nueva de los valores del
+// shard y cada lector fija la versión actual al empezar y la lee sin lock: lectores y
+// escritores no se esperan nunca. Una versión reemplazada queda retenida mientras algún
+// lector la tenga fijada; el último en soltarla la da por liberada.
+// Todas las políticas usan primitivas de java.util.concurrent: con hilos virtuales no se
+// fija el hilo portador
+public class Database {
+    private final ReadersWritersListener listener;
+    private final Pacer pacer;
+
+    private final LockStats stats;
+    private volatile LockPolicy policy = LockPolicy.READER_PREFERRING;
+    private volatile int shardCount = 1;
+    private volatile int keyCount = 64;
+    private volatile KeyDistribution distribution = KeyDistribution.UNIFORM;
+
+    private static final String INITIAL_ENTRY = "Base de Datos Inicial";
+
+    // Registro de cambios que muestra la vista; su append es una sección crítica corta
+    // compartida por todos los shards
+    private volatile VersionedStore data = new VersionedStore(INITIAL_ENTRY);
+    private volatile Shard[] shards = createShards();
+    private volatile KeyDistribution.Chooser keys = distribution.chooser(keyCount);
+
+    // Versiones reemplazadas que algún lector todavía tiene fijadas, y su tamaño estimado
+    private final AtomicLong retainedVersions = new AtomicLong();
+    private final AtomicLong retainedBytes = new AtomicLong();
+    private final AtomicLong peakRetainedVersions = new AtomicLong();
+    private final AtomicLong peakRetainedBytes = new AtomicLong();
+    private final LongAdder publishedVersions = new LongAdder();
+
+    public Database(ReadersWritersListener listener, Pacer pacer) {
+        this.listener = listener;
+        this.pacer = pacer;
+        this.stats = new LockStats(pacer::now);
+    }
+
+    // Un shard: su lock, la versión actual de sus valores y cuánto se lo usa y se lo espera.
+    // Con los locks hay una sola versión que se modifica en el lugar
+    private static final class Shard {
+        final DatabaseLock lock;
+        final boolean multiVersion;
+        volatile Version current;
+        final LongAdder reads = new LongAdder();
+        final LongAdder writes = new LongAdder();
+        final LongAdder waitNanos = new LongAdder();
+
+        Shard(LockPolicy policy, int keys) {
+            this.lock = policy.create();
+            this.multiVersion = policy.multiVersion();
+            this.current = new Version(new String[keys]);
+        }
+
+        // La versión actual con una referencia más; si justo la liberaron, la siguiente
+        Version pin() {
+            while (true) {
+                Version version = current;
+                if (version.tryPin()) {
+                    return version;
+                }
+            }
+        }
+    }
+
+    // Los valores de un shard (la clave k en la posición k / shards). pins cuenta la
+    // referencia del shard mientras es la actual más una por lector que la fijó; al llegar
+    // a 0 la versión está liberada y ya no se puede fijar
+    private static final class Version {
+        final String[] values;
+        final AtomicInteger pins = new AtomicInteger(1);
+
+        Version(String[] values) {
+            this.values = values;
+        }
+
+        boolean tryPin() {
+            int current;
+            do {
+                current = pins.get();
+                if (current == 0) return false;
+            } while (!pins.compareAndSet(current, current + 1));
+            return true;
+        }
+
+        // true si era la última referencia
+        boolean unpin() {
+            return pins.decrementAndGet() == 0;
+        }
+
+        // La versión, su contador y el arreglo: encabezados de 16 bytes y referencias comprimidas
+        long bytes() {
+            return 16 + 16 + 16 + 4L * values.length;
+        }
+    }
+
+    private Shard[] createShards() {
+        LockPolicy current = policy;
+        Shard[] created = new Shard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            created[i] = new Shard(current, (keyCount - i + shardCount - 1) / shardCount);
+        }
+        return created;
+    }
+
+    // Una clave según la distribución configurada
+    public int nextKey() {
+        return keys.next(pacer.random());
+    }
+
+    public String read(int readerId, int key) throws InterruptedException {
+        Shard shard = shards[key % shards.length];
+        if (shard.multiVersion) {
+            return readVersion(readerId, key, shard);
+        }
+        Probe probe = stats.readProbe();
+        long start = probe.begin();
+        long acquiredAt = 0;
+        long stamp;
+        String value;
+        int attempt = 0;
+        do {
+            if (attempt > 0) {
+                stats.recordRetry();
+            }
+            long waitStart = pacer.now();
+            stamp = shard.lock.beginRead(attempt);
+            shard.waitNanos.add(pacer.now() - waitStart);
+            if (attempt == 0) {
+                acquiredAt = probe.acquired(readerId, start);
+            }
+
+            // Reading
+            listener.readerReading(readerId);
+            value = shard.current.values[key / shards.length];
+
+            try {
+                pacer.pause(1000 + pacer.random().nextInt(2000));
+            } catch (InterruptedException e) {
+                shard.lock.endRead(stamp);
+                throw e;
+            }
+            attempt++;
+        } while (!shard.lock.endRead(stamp));
+        probe.released(readerId, acquiredAt);
+        shard.reads.increment();
+        return value;
+    }
+
+    // Sin lock: la versión fijada no cambia aunque los escritores publiquen otras
+    private String readVersion(int readerId, int key, Shard shard) throws InterruptedException {
+        Probe probe = stats.readProbe();
+        long start = probe.begin();
+        Version version = shard.pin();
+        long acquiredAt = probe.acquired(readerId, start);
+        try {
+            // Reading
+            listener.readerReading(readerId);
+            String value = version.values[key / shards.length];
+
+            pacer.pause(1000 + pacer.random().nextInt(2000));
+            shard.reads.increment();
+            return value;
+        } finally {
+            release(version);
+            probe.released(readerId, acquiredAt);
+        }
+    }
+
+    // Mientras es la actual el shard conserva su referencia, así que la última referencia
+    // de un lector solo puede ser de una versión ya reemplazada y retenida
+    private void release(Version version) {
+        if (version.unpin()) {
+            retainedVersions.decrementAndGet();
+            retainedBytes.addAndGet(-version.bytes());
+        }
+    }
+
+    // Con el lock de escritura del shard: copia los valores, cambia uno y publica la copia.
+    // La versión anterior se cuenta como retenida antes de soltar la referencia del shard,
+    // para que el lector que la libere después nunca descuente algo que no se sumó
+    private void publish(Shard shard, int index, String newData) {
+        Version previous = shard.current;
+        String[] values = previous.values.clone();
+        values[index] = newData;
+        shard.current = new Version(values);
+        publishedVersions.increment();
+
+        long bytes = previous.bytes();
+        retainedVersions.incrementAndGet();
+        retainedBytes.addAndGet(bytes);
+        if (previous.unpin()) {
+            // Nadie la tenía fijada: se libera enseguida
+            retainedVersions.decrementAndGet();
+            retainedBytes.addAndGet(-bytes);
+        } else {
+            peakRetainedVersions.accumulateAndGet(retainedVersions.get(), Math::max);
+            peakRetainedBytes.accumulateAndGet(retainedBytes.get(), Math::max);
+        }
+    }
+
+    public void write(int writerId, int key, String newData) throws InterruptedException {
+        write(writerId, key, newData, null);
+    }
+
+    // whileLocked corre con el lock de escritura del shard tomado, apenas guardado el valor:
+    // así lo que haga (por ejemplo actualizar una caché) queda en el mismo orden que las
+    // escrituras de la clave
+    public void write(int writerId, int key, String newData, Runnable whileLocked) throws InterruptedException {
+        Shard shard = shards[key % shards.length];
+        Probe probe = stats.writeProbe();
+        long start = probe.begin();
+        long waitStart = pacer.now();
+        try {
+            shard.lock.beginWrite();//<-----
+        } catch (InterruptedException e) {
+            // También cuenta la espera de un escritor que se detuvo sin llegar a entrar
+            probe.acquired(writerId, start);
+            stats.recordWriterWait(pacer.now() - waitStart);
+            throw e;
+        }
+        long waited = pacer.now() - waitStart;
+        shard.waitNanos.add(waited);
+        stats.recordWriterWait(waited);
+        long acquiredAt = probe.acquired(writerId, start);
+        try {
+            listener.writerWriting(writerId);
+
+            if (shard.multiVersion) {
+                publish(shard, key / shards.length, newData);
+            } else {
+                shard.current.values[key / shards.length] = newData;
+            }
+            if (whileLocked != null) {
+                whileLocked.run();
+            }
+            data.append(newData);
+
+            listener.dataChanged();
+
+            pacer.pause(2000 + pacer.random().nextInt(3000));
+        } finally {
+            shard.lock.endWrite();//<------
+            probe.released(writerId, acquiredAt);
+            shard.writes.increment();
+        }
+    }
+
+    // Se aplica en el próximo reset()
+    public void setPolicy(LockPolicy policy) {
+        this.policy = policy;
+    }
+
+    public LockPolicy policy() {
+        return policy;
+    }
+
+    // Cantidad de shards, de claves y cómo se eligen; se aplica en el próximo reset()
+    public void setSharding(int shardCount, int keyCount, KeyDistribution distribution) {
+        this.keyCount = Math.max(1, keyCount);
+        this.shardCount = Math.max(1, Math.min(shardCount, this.keyCount));
+        this.distribution = distribution;
+    }
+
+    public int shardCount() {
+        return shardCount;
+    }
+
+    public int keyCount() {
+        return keyCount;
+    }
+
+    public KeyDistribution keyDistribution() {
+        return distribution;
+    }
+
+    // Lecturas y escrituras terminadas en un shard, y el tiempo total que se esperó su lock
+    public long shardReads(int shard) {
+        return shards[shard].reads.sum();
+    }
+
+    public long shardWrites(int shard) {
+        return shards[shard].writes.sum();
+    }
+
+    public long shardWaitNanos(int shard) {
+        return shards[shard].waitNanos.sum();
+    }
+
+    // El shard con más espera acumulada: donde se concentra la contención
+    public int hottestShard() {
+        Shard[] current = shards;
+        int hottest = 0;
+        for (int i = 1; i < current.length; i++) {
+            if (current[i].waitNanos.sum() > current[hottest].waitNanos.sum()) {
+                hottest = i;
+            }
+        }
+        return hottest;
+    }
+
+    // Fracción de la espera total que se acumuló en el shard indicado
+    public double waitShare(int shard) {
+        long total = 0;
+        for (Shard each : shards) {
+            total += each.waitNanos.sum();
+        }
+        return total == 0 ? 0 : (double) shards[shard].waitNanos.sum() / total;
+    }
+
+    public LockStats stats() {
+        return stats;
+    }
+
+    // Versiones que publicaron los escritores en modo MVCC desde el último reset()
+    public long publishedVersions() {
+        return publishedVersions.sum();
+    }
+
+    // Versiones reemplazadas que siguen fijadas por algún lector, y su tamaño estimado en
+    // bytes (sin contar los textos, que comparten con la versión siguiente)
+    public long retainedVersions() {
+        return retainedVersions.get();
+    }
+
+    public long retainedBytes() {
+        return retainedBytes.get();
+    }
+
+    public long peakRetainedVersions() {
+        return peakRetainedVersions.get();
+    }
+
+    public long peakRetainedBytes() {
+        return peakRetainedBytes.get();
+    }
+
+    // Instantánea inmutable del contenido actual: O(1), sin copiar el historial
+    public VersionedStore.Snapshot snapshot() {
+        return data.snapshot();
+    }
+
+    public void reset() {
+        data = new VersionedStore(INITIAL_ENTRY);
+        shards = createShards();
+        keys = distribution.chooser(keyCount);
+        retainedVersions.set(0);
+        retainedBytes.set(0);
+        peakRetainedVersions.set(0);
+        peakRetainedBytes.set(0);
+        publishedVersions.reset();
+        stats.reset();
+        listener.dataChanged();
+    }
+}
@@ -0,0 +1,14 @@
+package org.example.engine.readerswriters;
+
+// Política de exclusión entre lectores y escritores de la Database
+public interface DatabaseLock {
+    // Devuelve un sello para endRead; attempt > 0 indica que la lectura anterior se invalidó
+    long beginRead(int attempt) throws InterruptedException;
+
+    // false si la lectura fue optimista y un escritor la invalidó: hay que repetirla
+    boolean endRead(long stamp);
+
+    void beginWrite() throws InterruptedException;
+
+    void endWrite();
+}
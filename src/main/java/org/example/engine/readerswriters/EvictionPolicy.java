@@ -0,0 +1,15 @@
+package org.example.engine.readerswriters;
+
+// Entradas de la caché acotadas por cantidad; ReadThroughCache la usa con su lock tomado
+interface EvictionPolicy {
+    // Registra el acceso; null si la clave no está
+    CacheEntry get(int key);
+
+    // Agrega o reemplaza la entrada; devuelve cuántas entradas desalojó para hacerle lugar
+    // (contando la propia si no la admitió)
+    int put(int key, CacheEntry entry);
+
+    void remove(int key);
+
+    int size();
+}
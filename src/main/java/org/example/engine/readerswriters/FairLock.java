@@ -0,0 +1,30 @@
+package org.example.engine.readerswriters;
+
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Orden de llegada (FIFO) entre lectores y escritores
+public class FairLock implements DatabaseLock {
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock(true);
+
+    @Override
+    public long beginRead(int attempt) throws InterruptedException {
+        lock.readLock().lockInterruptibly();
+        return 0;
+    }
+
+    @Override
+    public boolean endRead(long stamp) {
+        lock.readLock().unlock();
+        return true;
+    }
+
+    @Override
+    public void beginWrite() throws InterruptedException {
+        lock.writeLock().lockInterruptibly();
+    }
+
+    @Override
+    public void endWrite() {
+        lock.writeLock().unlock();
+    }
+}
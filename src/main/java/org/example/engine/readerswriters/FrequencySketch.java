@@ -0,0 +1,56 @@
+package org.example.engine.readerswriters;
+
+// Frecuencia aproximada de acceso por clave (count-min sketch): cuatro filas de contadores
+// que saturan en 15, se estima con el mínimo de las cuatro. Cada sampleSize accesos todos
+// los contadores se dividen por dos, así la historia vieja pierde peso
+final class FrequencySketch {
+    private static final int DEPTH = 4;
+    private static final int MAX_COUNT = 15;
+    private static final int[] SEEDS = {0x97CB3127, 0x7A5C6F13, 0x3C6EF372, 0xA54FF53A};
+
+    private final int[][] counters;
+    private final int mask;
+    private final int sampleSize;
+    private int additions;
+
+    FrequencySketch(int capacity) {
+        int width = Integer.highestOneBit(Math.max(16, capacity * 4) - 1) << 1;
+        this.counters = new int[DEPTH][width];
+        this.mask = width - 1;
+        this.sampleSize = 10 * Math.max(1, capacity);
+    }
+
+    void increment(int key) {
+        for (int row = 0; row < DEPTH; row++) {
+            int index = index(key, row);
+            if (counters[row][index] < MAX_COUNT) {
+                counters[row][index]++;
+            }
+        }
+        if (++additions >= sampleSize) {
+            halve();
+        }
+    }
+
+    int frequency(int key) {
+        int frequency = MAX_COUNT;
+        for (int row = 0; row < DEPTH; row++) {
+            frequency = Math.min(frequency, counters[row][index(key, row)]);
+        }
+        return frequency;
+    }
+
+    private void halve() {
+        for (int[] row : counters) {
+            for (int i = 0; i < row.length; i++) {
+                row[i] >>>= 1;
+            }
+        }
+        additions /= 2;
+    }
+
+    private int index(int key, int row) {
+        int hash = (key ^ SEEDS[row]) * 0x9E3779B9;
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+}
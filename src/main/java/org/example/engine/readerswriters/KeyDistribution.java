@@ -0,0 +1,66 @@
+package org.example.engine.readerswriters;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+// Qué claves piden lectores y escritores
+public enum KeyDistribution {
+    UNIFORM("Uniforme"),
+    // Exponente 0.99, el de YCSB: con 1000 claves la clave 0 se lleva ~13% de los accesos
+    // y las 10 primeras ~38%
+    ZIPF("Zipf (claves calientes)");
+
+    private static final double ZIPF_EXPONENT = 0.99;
+
+    private final String label;
+
+    KeyDistribution(String label) {
+        this.label = label;
+    }
+
+    // Un generador para claves 0..keys-1; las de menor número son las más pedidas
+    public Chooser chooser(int keys) {
+        if (this == UNIFORM) {
+            return new Chooser(keys, null);
+        }
+        double[] cumulative = new double[keys];
+        double total = 0;
+        for (int key = 0; key < keys; key++) {
+            total += 1 / Math.pow(key + 1, ZIPF_EXPONENT);
+            cumulative[key] = total;
+        }
+        for (int key = 0; key < keys; key++) {
+            cumulative[key] /= total;
+        }
+        return new Chooser(keys, cumulative);
+    }
+
+    @Override
+    public String toString() {
+        return label;
+    }
+
+    // Inmutable: lo comparten todos los actores
+    public static final class Chooser {
+        private final int keys;
+        // Probabilidad acumulada por clave; null para la uniforme
+        private final double[] cumulative;
+
+        private Chooser(int keys, double[] cumulative) {
+            this.keys = keys;
+            this.cumulative = cumulative;
+        }
+
+        public int next(RandomGenerator random) {
+            if (cumulative == null) {
+                return random.nextInt(keys);
+            }
+            int index = Arrays.binarySearch(cumulative, random.nextDouble());
+            return Math.min(keys - 1, index >= 0 ? index : -index - 1);
+        }
+
+        public int keys() {
+            return keys;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package org.example.engine.readerswriters;
+
+public enum LockPolicy {
+    READER_PREFERRING("Prioridad lectores") {
+        @Override
+        public DatabaseLock create() {
+            return new ReaderPreferringLock();
+        }
+    },
+    WRITER_PREFERRING("Prioridad escritores") {
+        @Override
+        public DatabaseLock create() {
+            return new WriterPreferringLock();
+        }
+    },
+    FAIR("FIFO (ReentrantReadWriteLock)") {
+        @Override
+        public DatabaseLock create() {
+            return new FairLock();
+        }
+    },
+    OPTIMISTIC("Optimista (StampedLock)") {
+        @Override
+        public DatabaseLock create() {
+            return new OptimisticLock();
+        }
+    },
+    MVCC("MVCC (versiones)") {
+        @Override
+        public DatabaseLock create() {
+            return new MultiVersionLock();
+        }
+
+        @Override
+        public boolean multiVersion() {
+            return true;
+        }
+    };
+
+    private final String label;
+
+    LockPolicy(String label) {
+        this.label = label;
+    }
+
+    public abstract DatabaseLock create();
+
+    // Los escritores publican versiones nuevas y los lectores leen la que fijaron, sin lock
+    public boolean multiVersion() {
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return label;
+    }
+}
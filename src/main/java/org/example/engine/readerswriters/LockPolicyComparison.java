@@ -0,0 +1,53 @@
+package org.example.engine.readerswriters;
+
+import org.example.engine.Pacer;
+import org.example.engine.metrics.Histogram;
+import org.example.engine.metrics.MetricsRegistry;
+
+// Corre cada política de lock con las pausas de la simulación aceleradas y compara
+// throughput de lectores/escritores, la espera de los escritores (inanición) y, en modo
+// MVCC, cuántas versiones reemplazadas llegaron a quedar retenidas por lectores.
+// Uso: LockPolicyComparison [lectores] [escritores] [ms por política] [aceleración] [shards] [claves]
+public class LockPolicyComparison {
+
+    public static void main(String[] args) throws InterruptedException {
+        int readers = args.length > 0 ? Integer.parseInt(args[0]) : 20;
+        int writers = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+        long millis = args.length > 2 ? Long.parseLong(args[2]) : 3000;
+        double speedup = args.length > 3 ? Double.parseDouble(args[3]) : 100;
+        int shards = args.length > 4 ? Integer.parseInt(args[4]) : 1;
+        int keys = args.length > 5 ? Integer.parseInt(args[5]) : 64;
+
+        int sampleEvery = MetricsRegistry.sampleEvery();
+        MetricsRegistry.setSampleEvery(1); // La peor espera tiene que medirse siempre
+        try {
+            System.out.printf("%d lectores x %d escritores, %d shards, %d claves, tiempo x%.0f, %d ms por política%n",
+                    readers, writers, shards, keys, speedup, millis);
+            System.out.printf("%-30s %12s %12s %14s %14s %12s %10s %14s%n", "Política", "lecturas/s", "escrituras/s",
+                    "esc. p99 (ms)", "esc. máx (ms)", "reintentos", "versiones", "retenidas máx");
+            for (LockPolicy policy : LockPolicy.values()) {
+                ReadersWritersSimulation simulation =
+                        new ReadersWritersSimulation(ReadersWritersListener.NONE, Pacer.scaled(speedup));
+                simulation.setLockPolicy(policy);
+                simulation.setActors(readers, writers);
+                simulation.setSharding(shards, keys, KeyDistribution.UNIFORM);
+
+                simulation.start();
+                Thread.sleep(millis);
+                simulation.stop();
+                simulation.awaitTermination(5000);
+
+                double seconds = simulation.elapsedNanos() / 1e9;
+                LockStats stats = simulation.lockStats();
+                Histogram writerWait = stats.writerWait();
+                Database database = simulation.database();
+                System.out.printf("%-30s %,12.1f %,12.1f %14.2f %14.2f %,12d %,10d %6d (%,d B)%n", policy,
+                        simulation.readCount() / seconds, simulation.writeCount() / seconds,
+                        writerWait.percentile(99) / 1e6, stats.maxWriterWait() / 1e6, stats.optimisticRetries(),
+                        database.publishedVersions(), database.peakRetainedVersions(), database.peakRetainedBytes());
+            }
+        } finally {
+            MetricsRegistry.setSampleEvery(sampleEvery);
+        }
+    }
+}
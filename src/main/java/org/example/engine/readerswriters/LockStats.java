@@ -0,0 +1,79 @@
+package org.example.engine.readerswriters;
+
+import org.example.engine.metrics.Histogram;
+import org.example.engine.metrics.Probe;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+// Espera y retención del lock de la Database, en ns, por tipo de actor y por actor.
+// Se apoya en las sondas de métricas, que muestrean (o están apagadas); la peor espera de
+// los escritores y la cantidad de esperas se cuentan siempre, para no perder el peor caso
+public class LockStats {
+    private final Probe readProbe;
+    private final Probe writeProbe;
+    private final LongAdder optimisticRetries = new LongAdder();
+    private final LongAccumulator maxWriterWait = new LongAccumulator(Math::max, 0);
+    private final LongAdder writerWaits = new LongAdder();
+    private volatile int readers, writers;
+
+    // clock: el reloj de la simulación (Pacer.now)
+    LockStats(LongSupplier clock) {
+        readProbe = new Probe("Lock de lectura", true, clock);
+        writeProbe = new Probe("Lock de escritura", true, clock);
+    }
+
+    void recordRetry() {
+        optimisticRetries.increment();
+    }
+
+    void recordWriterWait(long nanos) {
+        maxWriterWait.accumulate(nanos);
+        writerWaits.increment();
+    }
+
+    Probe readProbe() {
+        return readProbe;
+    }
+
+    Probe writeProbe() {
+        return writeProbe;
+    }
+
+    public Histogram readerWait() {
+        return readProbe.waits();
+    }
+
+    public Histogram writerWait() {
+        return writeProbe.waits();
+    }
+
+    // Peor espera de un escritor: la medida de inanición. Sin muestreo
+    public long maxWriterWait() {
+        return maxWriterWait.get();
+    }
+
+    // Esperas de escritores por el lock (incluidas las de quienes se detuvieron esperando)
+    public long writerWaitCount() {
+        return writerWaits.sum();
+    }
+
+    public long optimisticRetries() {
+        return optimisticRetries.sum();
+    }
+
+    // Cantidad de lectores y escritores para los totales por actor del próximo reset()
+    void setActors(int readers, int writers) {
+        this.readers = readers;
+        this.writers = writers;
+    }
+
+    void reset() {
+        readProbe.reset(readers);
+        writeProbe.reset(writers);
+        optimisticRetries.reset();
+        maxWriterWait.reset();
+        writerWaits.reset();
+    }
+}
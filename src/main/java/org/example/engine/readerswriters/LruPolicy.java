@@ -0,0 +1,47 @@
+package org.example.engine.readerswriters;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Desaloja la entrada usada hace más tiempo (LinkedHashMap en orden de acceso)
+final class LruPolicy implements EvictionPolicy {
+    private final int capacity;
+    private final LinkedHashMap<Integer, CacheEntry> entries;
+    private int evicted;
+
+    LruPolicy(int capacity) {
+        this.capacity = capacity;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, CacheEntry> eldest) {
+                if (size() > LruPolicy.this.capacity) {
+                    evicted++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    @Override
+    public CacheEntry get(int key) {
+        return entries.get(key);
+    }
+
+    @Override
+    public int put(int key, CacheEntry entry) {
+        evicted = 0;
+        entries.put(key, entry);
+        return evicted;
+    }
+
+    @Override
+    public void remove(int key) {
+        entries.remove(key);
+    }
+
+    @Override
+    public int size() {
+        return entries.size();
+    }
+}
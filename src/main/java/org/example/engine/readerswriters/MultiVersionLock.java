@@ -0,0 +1,30 @@
+package org.example.engine.readerswriters;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+// Lock del modo MVCC: los lectores no toman nada porque leen una versión inmutable que
+// fijaron al empezar (ver Database); solo los escritores del mismo shard se excluyen entre
+// sí, para armar cada versión nueva a partir de la última
+public class MultiVersionLock implements DatabaseLock {
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    @Override
+    public long beginRead(int attempt) {
+        return 0;
+    }
+
+    @Override
+    public boolean endRead(long stamp) {
+        return true;
+    }
+
+    @Override
+    public void beginWrite() throws InterruptedException {
+        writeLock.lockInterruptibly();
+    }
+
+    @Override
+    public void endWrite() {
+        writeLock.unlock();
+    }
+}
@@ -0,0 +1,39 @@
+package org.example.engine.readerswriters;
+
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.StampedLock;
+
+// Lecturas optimistas con StampedLock: el lector no bloquea a nadie y al terminar valida
+// que no haya habido escrituras; si las hubo repite la lectura con el lock de lectura
+public class OptimisticLock implements DatabaseLock {
+    private final StampedLock lock = new StampedLock();
+    private final Lock writeLock = lock.asWriteLock();
+
+    @Override
+    public long beginRead(int attempt) throws InterruptedException {
+        if (attempt == 0) {
+            long stamp = lock.tryOptimisticRead();
+            if (stamp != 0) return stamp;
+        }
+        return lock.readLockInterruptibly();
+    }
+
+    @Override
+    public boolean endRead(long stamp) {
+        if (StampedLock.isOptimisticReadStamp(stamp)) {
+            return lock.validate(stamp);
+        }
+        lock.unlockRead(stamp);
+        return true;
+    }
+
+    @Override
+    public void beginWrite() throws InterruptedException {
+        writeLock.lockInterruptibly();
+    }
+
+    @Override
+    public void endWrite() {
+        writeLock.unlock();
+    }
+}
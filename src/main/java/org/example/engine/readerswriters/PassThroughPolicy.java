@@ -0,0 +1,24 @@
+package org.example.engine.readerswriters;
+
+// Sin entradas: cada lectura es un fallo. No guarda nada, así que tampoco desaloja
+final class PassThroughPolicy implements EvictionPolicy {
+
+    @Override
+    public CacheEntry get(int key) {
+        return null;
+    }
+
+    @Override
+    public int put(int key, CacheEntry entry) {
+        return 0;
+    }
+
+    @Override
+    public void remove(int key) {
+    }
+
+    @Override
+    public int size() {
+        return 0;
+    }
+}
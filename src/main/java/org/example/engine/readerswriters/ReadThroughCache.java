@@ -0,0 +1,247 @@
+package org.example.engine.readerswriters;
+
+import org.example.engine.Pacer;
+import org.example.engine.metrics.Probe;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Caché de lectura delante de la Database: un acierto devuelve el valor sin pasar por el
+// lock ni por la lectura lenta (1-3 s). Acotada en entradas (LRU o W-TinyLFU) y con
+// vencimiento por entrada en tiempo simulado (ttlMillis 0: no vencen; con Pacer.NONE
+// tampoco, porque ahí la lectura no cuesta nada).
+// Protección contra estampidas: si varios lectores fallan en la misma clave, solo el
+// primero la carga de la base y los demás esperan esa misma carga.
+// Las escrituras invalidan o reemplazan la clave con el lock de escritura del shard todavía
+// tomado, así dos escritores de la misma clave actualizan la caché en el mismo orden que la
+// base. Si hay una carga en curso de la clave la marcan vieja: esa carga le devuelve el
+// valor a quienes la esperaban pero no lo deja guardado en la caché.
+// Las cargas en curso se comparten por un ConcurrentHashMap y la política de desalojo tiene
+// su propio ReentrantLock, tomado solo para operaciones O(1) sobre sus mapas: la lectura
+// lenta de la base nunca corre con un lock de la caché (ni fija el hilo portador de un hilo
+// virtual), así que las lecturas de shards distintos no se serializan
+public class ReadThroughCache {
+    private final Database database;
+    private final ReadersWritersListener listener;
+    private final Pacer pacer;
+    private final CacheEviction eviction;
+    private final int capacity;
+    private final long ttlNanos;
+    private final CacheWritePolicy writePolicy;
+    private final Probe loadWaitProbe;
+
+    private final ConcurrentHashMap<Integer, Load> loading = new ConcurrentHashMap<>();
+    // Guarda las entradas, y que una carga se quite de loading y se guarde sin que una
+    // escritura de la misma clave quede en el medio
+    private final ReentrantLock lock = new ReentrantLock();
+    private final EvictionPolicy entries;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+    private final LongAdder loadNanos = new LongAdder();
+    private final LongAdder servedNanos = new LongAdder();
+
+    public ReadThroughCache(Database database, ReadersWritersListener listener, Pacer pacer,
+                            CacheEviction eviction, int capacity, long ttlMillis, CacheWritePolicy writePolicy) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("La caché necesita al menos una entrada: " + capacity);
+        }
+        this.database = database;
+        this.listener = listener;
+        this.pacer = pacer;
+        this.loadWaitProbe = new Probe("Caché: esperar una carga en curso", false, pacer::now);
+        this.eviction = eviction;
+        this.capacity = capacity;
+        long nanos = ttlMillis > 0 ? pacer.nanos(ttlMillis) : 0;
+        this.ttlNanos = nanos > 0 ? nanos : Long.MAX_VALUE;
+        this.writePolicy = writePolicy;
+        this.entries = eviction.create(capacity);
+    }
+
+    private static final class Load {
+        private final CompletableFuture<String> result = new CompletableFuture<>();
+        // Con el lock de la caché
+        private boolean stale;
+    }
+
+    public String read(int readerId, int key) throws InterruptedException {
+        long start = pacer.now();
+        while (true) {
+            CacheEntry hit = lookup(key);
+            if (hit != null) {
+                hits.increment();
+                servedNanos.add(pacer.now() - start);
+                listener.readerReading(readerId);
+                return hit.value();
+            }
+
+            // Si otra carga de la clave terminó entre lookup y putIfAbsent se vuelve a cargar:
+            // a lo sumo una lectura de más, nunca una estampida
+            Load load = new Load();
+            Load current = loading.putIfAbsent(key, load);
+            if (current == null) {
+                misses.increment();
+                return load(readerId, key, load, start);
+            }
+
+            // Otro lector ya la está cargando: se espera su resultado
+            long waitStart = loadWaitProbe.begin();
+            String value;
+            try {
+                value = current.result.get();
+            } catch (ExecutionException e) {
+                // Al que cargaba lo detuvieron: se reintenta, quizá como el nuevo cargador
+                loadWaitProbe.acquired(readerId, waitStart);
+                continue;
+            }
+            loadWaitProbe.acquired(readerId, waitStart);
+            coalesced.increment();
+            servedNanos.add(pacer.now() - start);
+            listener.readerReading(readerId);
+            return value;
+        }
+    }
+
+    private CacheEntry lookup(int key) {
+        lock.lock();
+        try {
+            CacheEntry entry = entries.get(key);
+            if (entry != null && entry.expiresAt() - pacer.now() < 0) {
+                entries.remove(key);
+                expirations.increment();
+                return null;
+            }
+            return entry;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private String load(int readerId, int key, Load load, long start) throws InterruptedException {
+        String value;
+        try {
+            value = database.read(readerId, key);
+        } catch (InterruptedException | RuntimeException e) {
+            loading.remove(key, load);
+            load.result.completeExceptionally(e);
+            throw e;
+        }
+        long now = pacer.now();
+        loadNanos.add(now - start);
+        lock.lock();
+        try {
+            loading.remove(key, load);
+            if (!load.stale) {
+                evictions.add(entries.put(key, new CacheEntry(value, expiry(now))));
+            }
+        } finally {
+            lock.unlock();
+        }
+        load.result.complete(value);
+        return value;
+    }
+
+    public void write(int writerId, int key, String newData) throws InterruptedException {
+        database.write(writerId, key, newData, () -> written(key, newData));
+    }
+
+    // Con el lock de escritura del shard: orden de locks shard -> caché, y ningún lector
+    // toma el de un shard con el de la caché tomado
+    private void written(int key, String newData) {
+        lock.lock();
+        try {
+            Load load = loading.get(key);
+            if (load != null) {
+                load.stale = true;
+            }
+            if (writePolicy == CacheWritePolicy.WRITE_THROUGH) {
+                evictions.add(entries.put(key, new CacheEntry(newData, expiry(pacer.now()))));
+            } else {
+                entries.remove(key);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private long expiry(long now) {
+        return ttlNanos == Long.MAX_VALUE ? Long.MAX_VALUE : now + ttlNanos;
+    }
+
+    public CacheEviction eviction() {
+        return eviction;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public CacheWritePolicy writePolicy() {
+        return writePolicy;
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long hits() {
+        return hits.sum();
+    }
+
+    // Lecturas que fueron a la base
+    public long misses() {
+        return misses.sum();
+    }
+
+    // Fallos que esperaron la carga de otro lector en vez de ir a la base
+    public long coalesced() {
+        return coalesced.sum();
+    }
+
+    public long evictions() {
+        return evictions.sum();
+    }
+
+    public long expirations() {
+        return expirations.sum();
+    }
+
+    public double hitRatio() {
+        long hits = hits();
+        long total = hits + misses() + coalesced();
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    public double missRatio() {
+        long total = hits() + misses() + coalesced();
+        return total == 0 ? 0 : 1 - hitRatio();
+    }
+
+    // Duración media de una lectura que fue a la base (ns del Pacer)
+    public double averageLoadNanos() {
+        long misses = misses();
+        return misses == 0 ? 0 : (double) loadNanos.sum() / misses;
+    }
+
+    // Lo que habrían tardado en la base las lecturas resueltas por la caché (aciertos y
+    // cargas compartidas), menos lo que tardaron de verdad (ns del Pacer)
+    public long savedNanos() {
+        long served = hits() + coalesced();
+        return Math.max(0, (long) (served * averageLoadNanos()) - servedNanos.sum());
+    }
+
+    public Probe loadWaitProbe() {
+        return loadWaitProbe;
+    }
+}
@@ -0,0 +1,32 @@
+package org.example.engine.readerswriters;
+
+import org.example.engine.Pacer;
+
+class Reader implements Runnable {
+    private final ReadersWritersSimulation simulation;
+    private final int id;
+
+    Reader(ReadersWritersSimulation simulation, int id) {
+        this.simulation = simulation;
+        this.id = id;
+    }
+
+    @Override
+    public void run() {
+        ReadersWritersListener listener = simulation.listener();
+        Pacer pacer = simulation.pacer();
+        while (simulation.isRunning() && !Thread.currentThread().isInterrupted()) {
+            try {
+                listener.readerWaiting(id);
+
+                simulation.read(id, simulation.database().nextKey());// <------
+                simulation.recordRead();
+                listener.readerFinished(id);
+
+                pacer.pause(2000 + pacer.random().nextInt(3000));
+            } catch (InterruptedException e) {
+                break;
+            }
+        }
+    }
+}
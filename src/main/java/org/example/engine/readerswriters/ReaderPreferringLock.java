@@ -0,0 +1,46 @@
+package org.example.engine.readerswriters;
+
+import java.util.concurrent.Semaphore;
+
+// Algoritmo clásico del primer problema de lectores-escritores: el primer lector toma
+// writeMutex y el último lo suelta, así que con lecturas continuas el escritor no entra
+public class ReaderPreferringLock implements DatabaseLock {
+    private int readerCount = 0;
+    private final Semaphore readCountMutex = new Semaphore(1);
+    private final Semaphore writeMutex = new Semaphore(1);
+
+    @Override
+    public long beginRead(int attempt) throws InterruptedException {
+        readCountMutex.acquire();
+        try {
+            if (readerCount == 0) {
+                writeMutex.acquire();
+            }
+            readerCount++;
+        } finally {
+            readCountMutex.release();
+        }
+        return 0;
+    }
+
+    @Override
+    public boolean endRead(long stamp) {
+        readCountMutex.acquireUninterruptibly();
+        readerCount--;
+        if (readerCount == 0) {
+            writeMutex.release();
+        }
+        readCountMutex.release();
+        return true;
+    }
+
+    @Override
+    public void beginWrite() throws InterruptedException {
+        writeMutex.acquire();//<-----
+    }
+
+    @Override
+    public void endWrite() {
+        writeMutex.release();//<------
+    }
+}
@@ -0,0 +1,27 @@
+package org.example.engine.readerswriters;
+
+public interface ReadersWritersListener {
+    ReadersWritersListener NONE = new ReadersWritersListener() {
+    };
+
+    default void readerWaiting(int readerId) {
+    }
+
+    default void readerReading(int readerId) {
+    }
+
+    default void readerFinished(int readerId) {
+    }
+
+    default void writerWaiting(int writerId) {
+    }
+
+    default void writerWriting(int writerId) {
+    }
+
+    default void writerFinished(int writerId, String data) {
+    }
+
+    default void dataChanged() {
+    }
+}
@@ -0,0 +1,215 @@
+package org.example.engine.readerswriters;
+
+import org.example.engine.AbstractSimulation;
+import org.example.engine.ActorState;
+import org.example.engine.ActorTally;
+import org.example.engine.Pacer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+public class ReadersWritersSimulation extends AbstractSimulation {
+    private final Database database;
+    private final ReadersWritersListener listener;
+    private final ActorTally readerStates = new ActorTally();
+    private final ActorTally writerStates = new ActorTally();
+    private final LongAdder reads = new LongAdder();
+    private final LongAdder writes = new LongAdder();
+
+    private volatile int readerCount = 3;
+    private volatile int writerCount = 2;
+
+    private volatile CacheEviction cacheEviction = CacheEviction.NONE;
+    private volatile int cacheCapacity = 16;
+    private volatile long cacheTtlMillis = 20000;
+    private volatile CacheWritePolicy cacheWritePolicy = CacheWritePolicy.INVALIDATE;
+    // null sin caché
+    private volatile ReadThroughCache cache;
+
+    public ReadersWritersSimulation(ReadersWritersListener listener, Pacer pacer) {
+        super(pacer);
+        this.listener = new TallyingListener(listener);
+        this.database = new Database(this.listener, pacer);
+    }
+
+    @Override
+    protected void prepare() {
+        database.stats().setActors(readerCount, writerCount);
+        database.reset();
+        reads.reset();
+        writes.reset();
+        readerStates.reset(readerCount);
+        writerStates.reset(writerCount);
+
+        metrics().clear();
+        metrics().register(database.stats().readProbe());
+        metrics().register(database.stats().writeProbe());
+
+        cache = cacheEviction == CacheEviction.NONE ? null : new ReadThroughCache(database, listener, pacer(),
+                cacheEviction, cacheCapacity, cacheTtlMillis, cacheWritePolicy);
+        if (cache != null) {
+            cache.loadWaitProbe().reset(readerCount);
+            metrics().register(cache.loadWaitProbe());
+        }
+    }
+
+    @Override
+    protected List<Runnable> createWorkers() {
+        List<Runnable> workers = new ArrayList<>();
+        for (int i = 0; i < readerCount; i++) {
+            workers.add(new Reader(this, i));
+        }
+        for (int i = 0; i < writerCount; i++) {
+            workers.add(new Writer(this, i));
+        }
+        return workers;
+    }
+
+    public Database database() {
+        return database;
+    }
+
+    // Política de acceso de la base de datos para la próxima ejecución
+    public void setLockPolicy(LockPolicy policy) {
+        database.setPolicy(policy);
+    }
+
+    public LockPolicy lockPolicy() {
+        return database.policy();
+    }
+
+    // Shards, claves y distribución de accesos de la base de datos para la próxima ejecución
+    public void setSharding(int shardCount, int keyCount, KeyDistribution distribution) {
+        database.setSharding(shardCount, keyCount, distribution);
+    }
+
+    // Caché de lectura delante de la base para la próxima ejecución (CacheEviction.NONE: sin
+    // caché, cada lectura va a la base). ttlMillis en tiempo simulado, 0: las entradas no vencen
+    public void setCache(CacheEviction eviction, int capacity, long ttlMillis, CacheWritePolicy writePolicy) {
+        this.cacheEviction = eviction;
+        this.cacheCapacity = capacity;
+        this.cacheTtlMillis = ttlMillis;
+        this.cacheWritePolicy = writePolicy;
+    }
+
+    public CacheEviction cacheEviction() {
+        return cacheEviction;
+    }
+
+    // La caché de la última ejecución, o null si corrió sin caché
+    public ReadThroughCache cache() {
+        return cache;
+    }
+
+    public LockStats lockStats() {
+        return database.stats();
+    }
+
+    public void setActors(int readerCount, int writerCount) {
+        this.readerCount = readerCount;
+        this.writerCount = writerCount;
+    }
+
+    public int readerCount() {
+        return readerCount;
+    }
+
+    public int writerCount() {
+        return writerCount;
+    }
+
+    public long readCount() {
+        return reads.sum();
+    }
+
+    public long writeCount() {
+        return writes.sum();
+    }
+
+    // Cuántos lectores/escritores hay esperando, leyendo/escribiendo o descansando
+    public long readers(ActorState state) {
+        return readerStates.count(state);
+    }
+
+    public long writers(ActorState state) {
+        return writerStates.count(state);
+    }
+
+    ReadersWritersListener listener() {
+        return listener;
+    }
+
+    // Lecturas y escrituras de los actores: por la caché si la hay
+    String read(int readerId, int key) throws InterruptedException {
+        ReadThroughCache current = cache;
+        return current != null ? current.read(readerId, key) : database.read(readerId, key);
+    }
+
+    void write(int writerId, int key, String newData) throws InterruptedException {
+        ReadThroughCache current = cache;
+        if (current != null) {
+            current.write(writerId, key, newData);
+        } else {
+            database.write(writerId, key, newData);
+        }
+    }
+
+    void recordRead() {
+        reads.increment();
+    }
+
+    void recordWrite() {
+        writes.increment();
+    }
+
+    // Lleva la cuenta de estados por actor antes de pasar cada evento a la vista
+    private class TallyingListener implements ReadersWritersListener {
+        private final ReadersWritersListener delegate;
+
+        TallyingListener(ReadersWritersListener delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void readerWaiting(int readerId) {
+            readerStates.move(readerId, ActorState.WAITING);
+            delegate.readerWaiting(readerId);
+        }
+
+        @Override
+        public void readerReading(int readerId) {
+            readerStates.move(readerId, ActorState.ACTIVE);
+            delegate.readerReading(readerId);
+        }
+
+        @Override
+        public void readerFinished(int readerId) {
+            readerStates.move(readerId, ActorState.RESTING);
+            delegate.readerFinished(readerId);
+        }
+
+        @Override
+        public void writerWaiting(int writerId) {
+            writerStates.move(writerId, ActorState.WAITING);
+            delegate.writerWaiting(writerId);
+        }
+
+        @Override
+        public void writerWriting(int writerId) {
+            writerStates.move(writerId, ActorState.ACTIVE);
+            delegate.writerWriting(writerId);
+        }
+
+        @Override
+        public void writerFinished(int writerId, String data) {
+            writerStates.move(writerId, ActorState.RESTING);
+            delegate.writerFinished(writerId, data);
+        }
+
+        @Override
+        public void dataChanged() {
+            delegate.dataChanged();
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package org.example.engine.readerswriters;
+
+import org.example.engine.trace.TraceReplayer;
+import org.example.engine.trace.TraceWriter;
+
+// Pasa cada evento a la vista y, si hay una traza abierta, lo graba también. El costo
+// sin grabar es una lectura volatile por evento
+public class ReadersWritersTracer implements ReadersWritersListener {
+    public static final int SCENARIO = 2;
+
+    // Códigos de registro
+    private static final int READER_WAITING = 1;
+    private static final int READER_READING = 2;
+    private static final int READER_FINISHED = 3;
+    private static final int WRITER_WAITING = 4;
+    private static final int WRITER_WRITING = 5;
+    private static final int WRITER_FINISHED = 6;
+
+    private final ReadersWritersListener delegate;
+    private volatile TraceWriter writer;
+
+    public ReadersWritersTracer(ReadersWritersListener delegate) {
+        this.delegate = delegate;
+    }
+
+    // null deja de grabar; cerrar la traza queda a cargo de quien la abrió
+    public void setWriter(TraceWriter writer) {
+        this.writer = writer;
+    }
+
+    // Parámetros del encabezado: lectores y escritores
+    public static int[] params(int readers, int writers) {
+        return new int[]{readers, writers};
+    }
+
+    private void record(int code, int actor) {
+        TraceWriter current = writer;
+        if (current != null) {
+            current.record(code, actor, 0, 0);
+        }
+    }
+
+    @Override
+    public void readerWaiting(int readerId) {
+        record(READER_WAITING, readerId);
+        delegate.readerWaiting(readerId);
+    }
+
+    @Override
+    public void readerReading(int readerId) {
+        record(READER_READING, readerId);
+        delegate.readerReading(readerId);
+    }
+
+    @Override
+    public void readerFinished(int readerId) {
+        record(READER_FINISHED, readerId);
+        delegate.readerFinished(readerId);
+    }
+
+    @Override
+    public void writerWaiting(int writerId) {
+        record(WRITER_WAITING, writerId);
+        delegate.writerWaiting(writerId);
+    }
+
+    @Override
+    public void writerWriting(int writerId) {
+        record(WRITER_WRITING, writerId);
+        delegate.writerWriting(writerId);
+    }
+
+    // El texto no se graba: se rearma en la reproducción igual que lo arma Writer
+    @Override
+    public void writerFinished(int writerId, String data) {
+        record(WRITER_FINISHED, writerId);
+        delegate.writerFinished(writerId, data);
+    }
+
+    @Override
+    public void dataChanged() {
+        delegate.dataChanged();
+    }
+
+    // El texto que Writer escribe en su escritura número count (desde 1)
+    public static String entry(int writerId, int count) {
+        return "Escritor " + (writerId + 1) + " - Entrada #" + count;
+    }
+
+    // Convierte los registros de vuelta en eventos. dataChanged se emite al empezar cada
+    // escritura, como en Database.write, y el texto se rearma igual que en Writer
+    public static TraceReplayer.Sink replayInto(ReadersWritersListener target, int writers) {
+        int[] writeCounts = new int[writers];
+        return (code, a, b, c) -> {
+            switch (code) {
+                case READER_WAITING -> target.readerWaiting(a);
+                case READER_READING -> target.readerReading(a);
+                case READER_FINISHED -> target.readerFinished(a);
+                case WRITER_WAITING -> target.writerWaiting(a);
+                case WRITER_WRITING -> {
+                    target.writerWriting(a);
+                    target.dataChanged();
+                }
+                case WRITER_FINISHED -> target.writerFinished(a, entry(a, ++writeCounts[a]));
+                default -> {
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,56 @@
+package org.example.engine.readerswriters;
+
+import org.example.engine.Pacer;
+import org.example.engine.metrics.Histogram;
+import org.example.engine.metrics.MetricsRegistry;
+
+// Corre la misma carga con 1, 2, 4... shards, con claves uniformes y con claves calientes
+// (Zipf), y compara throughput, espera de los escritores y qué parte de toda la espera se
+// concentra en el shard más usado.
+// Uso: ShardingComparison [lectores] [escritores] [máximo de shards] [claves] [ms por punto] [aceleración] [política]
+public class ShardingComparison {
+
+    public static void main(String[] args) throws InterruptedException {
+        int readers = args.length > 0 ? Integer.parseInt(args[0]) : 20;
+        int writers = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        int maxShards = args.length > 2 ? Integer.parseInt(args[2]) : 16;
+        int keys = args.length > 3 ? Integer.parseInt(args[3]) : 1000;
+        long millis = args.length > 4 ? Long.parseLong(args[4]) : 3000;
+        double speedup = args.length > 5 ? Double.parseDouble(args[5]) : 100;
+        LockPolicy policy = args.length > 6 ? LockPolicy.valueOf(args[6]) : LockPolicy.FAIR;
+
+        int sampleEvery = MetricsRegistry.sampleEvery();
+        MetricsRegistry.setSampleEvery(1); // Las esperas tienen que medirse siempre
+        try {
+            System.out.printf("%d lectores x %d escritores, %d claves, %s, tiempo x%.0f, %d ms por punto%n",
+                    readers, writers, keys, policy, speedup, millis);
+            System.out.printf("%-24s %7s %12s %12s %14s %22s%n", "Claves", "shards", "lecturas/s", "escrituras/s",
+                    "esc. p99 (ms)", "espera en el más usado");
+            for (KeyDistribution distribution : KeyDistribution.values()) {
+                for (int shards = 1; shards <= maxShards; shards *= 2) {
+                    ReadersWritersSimulation simulation =
+                            new ReadersWritersSimulation(ReadersWritersListener.NONE, Pacer.scaled(speedup));
+                    simulation.setLockPolicy(policy);
+                    simulation.setActors(readers, writers);
+                    simulation.setSharding(shards, keys, distribution);
+
+                    simulation.start();
+                    Thread.sleep(millis);
+                    simulation.stop();
+                    simulation.awaitTermination(5000);
+
+                    // Throughput y esperas en tiempo simulado
+                    double seconds = simulation.elapsedNanos() * speedup / 1e9;
+                    Database database = simulation.database();
+                    Histogram writerWait = simulation.lockStats().writerWait();
+                    int hottest = database.hottestShard();
+                    System.out.printf("%-24s %7d %12.2f %12.2f %14.0f %14.0f%% (#%d)%n", distribution, shards,
+                            simulation.readCount() / seconds, simulation.writeCount() / seconds,
+                            writerWait.percentile(99) * speedup / 1e6, database.waitShare(hottest) * 100, hottest);
+                }
+            }
+        } finally {
+            MetricsRegistry.setSampleEvery(sampleEvery);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package org.example.engine.readerswriters;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Registro de solo-agregar en bloques fijos. Una entrada escrita no se modifica nunca,
+// así que una instantánea es solo (bloques, tamaño): se toma en O(1) sin copiar datos y
+// sigue siendo válida aunque después se agreguen millones de entradas.
+// append toma un ReentrantLock solo para escribir la entrada y publicar la instantánea: los
+// escritores de shards distintos apenas se cruzan ahí, y un hilo virtual que espera el lock
+// no fija su hilo portador
+public final class VersionedStore {
+    private static final int CHUNK_BITS = 10;
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    // Solo se modifican dentro de append, con el lock
+    private final ReentrantLock lock = new ReentrantLock();
+    private String[][] chunks = new String[16][];
+    private int size = 0;
+
+    private volatile Snapshot current;
+
+    public VersionedStore(String initialEntry) {
+        current = new Snapshot(this, chunks, 0);
+        append(initialEntry);
+    }
+
+    // Devuelve la versión nueva (cantidad de entradas)
+    public int append(String entry) {
+        lock.lock();
+        try {
+            return appendLocked(entry);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int appendLocked(String entry) {
+        int chunk = size >>> CHUNK_BITS;
+        if (chunk == chunks.length) {
+            // Solo se copia el directorio de bloques; las instantáneas viejas conservan el suyo
+            chunks = Arrays.copyOf(chunks, chunks.length * 2);
+        }
+        if (chunks[chunk] == null) {
+            chunks[chunk] = new String[CHUNK_SIZE];
+        }
+        chunks[chunk][size & CHUNK_MASK] = entry;
+        size++;
+        current = new Snapshot(this, chunks, size); // Publica la entrada a los lectores
+        return size;
+    }
+
+    public Snapshot snapshot() {
+        return current;
+    }
+
+    public int version() {
+        return current.size();
+    }
+
+    // Vista inmutable de las primeras size entradas
+    public static final class Snapshot {
+        private final VersionedStore store;
+        private final String[][] chunks;
+        private final int size;
+
+        private Snapshot(VersionedStore store, String[][] chunks, int size) {
+            this.store = store;
+            this.chunks = chunks;
+            this.size = size;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public String get(int index) {
+            Objects.checkIndex(index, size);
+            return chunks[index >>> CHUNK_BITS][index & CHUNK_MASK];
+        }
+
+        // true si other es una versión anterior del mismo registro, es decir que esta
+        // instantánea solo le agrega entradas al final
+        public boolean continues(Snapshot other) {
+            return other != null && other.store == store && other.size <= size;
+        }
+
+        // Agrega las entradas [from, to) separadas por saltos de línea
+        public StringBuilder appendTo(StringBuilder out, int from, int to) {
+            Objects.checkFromToIndex(from, to, size);
+            for (int i = from; i < to; i++) {
+                out.append(chunks[i >>> CHUNK_BITS][i & CHUNK_MASK]).append('\n');
+            }
+            return out;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package org.example.engine.readerswriters;
+
+import java.util.AbstractMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// W-TinyLFU: las entradas nuevas entran a una ventana LRU chica (1% de la capacidad); la que
+// sale de la ventana solo pasa a la zona principal si se la pidió más veces que a la que
+// tendría que desalojar (FrequencySketch), así una ráfaga de claves que se piden una sola vez
+// no desplaza a las calientes. La zona principal es un LRU segmentado: a prueba, y
+// protegida (80%) para las que tuvieron un acierto estando a prueba
+final class WindowTinyLfuPolicy implements EvictionPolicy {
+    private final int windowCapacity;
+    private final int mainCapacity;
+    private final int protectedCapacity;
+    private final FrequencySketch sketch;
+    private final LinkedHashMap<Integer, CacheEntry> window = new LinkedHashMap<>(16, 0.75f, true);
+    private final LinkedHashMap<Integer, CacheEntry> probation = new LinkedHashMap<>(16, 0.75f, true);
+    private final LinkedHashMap<Integer, CacheEntry> protectedEntries = new LinkedHashMap<>(16, 0.75f, true);
+
+    WindowTinyLfuPolicy(int capacity) {
+        this.windowCapacity = Math.max(1, capacity / 100);
+        this.mainCapacity = Math.max(0, capacity - windowCapacity);
+        this.protectedCapacity = mainCapacity * 8 / 10;
+        this.sketch = new FrequencySketch(capacity);
+    }
+
+    @Override
+    public CacheEntry get(int key) {
+        sketch.increment(key);
+        CacheEntry entry = window.get(key);
+        if (entry != null) {
+            return entry;
+        }
+        entry = protectedEntries.get(key);
+        if (entry != null) {
+            return entry;
+        }
+        entry = probation.remove(key);
+        if (entry != null) {
+            // Segundo acierto: pasa a la zona protegida, que devuelve su más vieja a prueba
+            protectedEntries.put(key, entry);
+            if (protectedEntries.size() > protectedCapacity) {
+                Map.Entry<Integer, CacheEntry> demoted = removeEldest(protectedEntries);
+                probation.put(demoted.getKey(), demoted.getValue());
+            }
+        }
+        return entry;
+    }
+
+    @Override
+    public int put(int key, CacheEntry entry) {
+        if (window.containsKey(key)) {
+            window.put(key, entry);
+            return 0;
+        }
+        if (protectedEntries.containsKey(key)) {
+            protectedEntries.put(key, entry);
+            return 0;
+        }
+        if (probation.containsKey(key)) {
+            probation.put(key, entry);
+            return 0;
+        }
+        window.put(key, entry);
+        if (window.size() <= windowCapacity) {
+            return 0;
+        }
+        Map.Entry<Integer, CacheEntry> candidate = removeEldest(window);
+        return admit(candidate.getKey(), candidate.getValue());
+    }
+
+    // La candidata que sale de la ventana contra la víctima de la zona principal
+    private int admit(int key, CacheEntry entry) {
+        if (probation.size() + protectedEntries.size() < mainCapacity) {
+            probation.put(key, entry);
+            return 0;
+        }
+        LinkedHashMap<Integer, CacheEntry> victims = !probation.isEmpty() ? probation : protectedEntries;
+        if (victims.isEmpty()) {
+            return 1; // Sin zona principal: la candidata se descarta
+        }
+        int victim = victims.keySet().iterator().next();
+        if (sketch.frequency(key) > sketch.frequency(victim)) {
+            victims.remove(victim);
+            probation.put(key, entry);
+        }
+        return 1;
+    }
+
+    private static Map.Entry<Integer, CacheEntry> removeEldest(LinkedHashMap<Integer, CacheEntry> segment) {
+        Iterator<Map.Entry<Integer, CacheEntry>> iterator = segment.entrySet().iterator();
+        Map.Entry<Integer, CacheEntry> eldest = iterator.next();
+        // Copia: la entrada del mapa deja de ser válida al sacarla
+        Map.Entry<Integer, CacheEntry> removed = new AbstractMap.SimpleImmutableEntry<>(eldest);
+        iterator.remove();
+        return removed;
+    }
+
+    @Override
+    public void remove(int key) {
+        if (window.remove(key) == null && probation.remove(key) == null) {
+            protectedEntries.remove(key);
+        }
+    }
+
+    @Override
+    public int size() {
+        return window.size() + probation.size() + protectedEntries.size();
+    }
+}
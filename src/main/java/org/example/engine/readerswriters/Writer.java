@@ -0,0 +1,34 @@
+package org.example.engine.readerswriters;
+
+import org.example.engine.Pacer;
+
+class Writer implements Runnable {
+    private final ReadersWritersSimulation simulation;
+    private final int id;
+    private int writeCount = 1;
+
+    Writer(ReadersWritersSimulation simulation, int id) {
+        this.simulation = simulation;
+        this.id = id;
+    }
+
+    @Override
+    public void run() {
+        ReadersWritersListener listener = simulation.listener();
+        Pacer pacer = simulation.pacer();
+        while (simulation.isRunning() && !Thread.currentThread().isInterrupted()) {
+            try {
+                listener.writerWaiting(id);
+
+                String newData = "Escritor " + (id + 1) + " - Entrada #" + writeCount++;
+                simulation.write(id, simulation.database().nextKey(), newData); // <------
+                simulation.recordWrite();
+                listener.writerFinished(id, newData);
+
+                pacer.pause(3000 + pacer.random().nextInt(4000));
+            } catch (InterruptedException e) {
+                break;
+            }
+        }
+    }
+}
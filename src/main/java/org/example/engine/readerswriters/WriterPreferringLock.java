@@ -0,0 +1,74 @@
+package org.example.engine.readerswriters;
+
+import java.util.concurrent.Semaphore;
+
+// Segundo problema de lectores-escritores: el primer escritor en espera cierra readTry y
+// los lectores nuevos ya no pueden entrar hasta que no quede ningún escritor
+public class WriterPreferringLock implements DatabaseLock {
+    private int readerCount = 0, writerCount = 0;
+    private final Semaphore readCountMutex = new Semaphore(1);
+    private final Semaphore writeCountMutex = new Semaphore(1);
+    private final Semaphore readTry = new Semaphore(1);
+    private final Semaphore resource = new Semaphore(1);
+
+    @Override
+    public long beginRead(int attempt) throws InterruptedException {
+        readTry.acquire();
+        try {
+            readCountMutex.acquire();
+            try {
+                if (readerCount == 0) {
+                    resource.acquire();
+                }
+                readerCount++;
+            } finally {
+                readCountMutex.release();
+            }
+        } finally {
+            readTry.release();
+        }
+        return 0;
+    }
+
+    @Override
+    public boolean endRead(long stamp) {
+        readCountMutex.acquireUninterruptibly();
+        readerCount--;
+        if (readerCount == 0) {
+            resource.release();
+        }
+        readCountMutex.release();
+        return true;
+    }
+
+    @Override
+    public void beginWrite() throws InterruptedException {
+        writeCountMutex.acquire();
+        writerCount++;
+        if (writerCount == 1) {
+            readTry.acquireUninterruptibly();
+        }
+        writeCountMutex.release();
+        try {
+            resource.acquire();
+        } catch (InterruptedException e) {
+            leaveWriters();
+            throw e;
+        }
+    }
+
+    @Override
+    public void endWrite() {
+        resource.release();
+        leaveWriters();
+    }
+
+    private void leaveWriters() {
+        writeCountMutex.acquireUninterruptibly();
+        writerCount--;
+        if (writerCount == 0) {
+            readTry.release();
+        }
+        writeCountMutex.release();
+    }
+}
@@ -0,0 +1,102 @@
+package org.example.engine.trace;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// Lectura de una traza grabada por TraceWriter, mapeada en solo lectura: acceso aleatorio
+// a cualquier registro sin cargar el archivo en el heap
+public class TraceReader implements AutoCloseable {
+    private final FileChannel channel;
+    private final MappedByteBuffer[] segments;
+    private final int scenario;
+    private final int[] params = new int[3];
+    private final long size;
+    private final long startedAt;
+
+    public TraceReader(Path file) throws IOException {
+        channel = FileChannel.open(file, StandardOpenOption.READ);
+        if (channel.size() < TraceWriter.HEADER_BYTES) {
+            channel.close();
+            throw new IOException("No es una traza: " + file);
+        }
+        MappedByteBuffer header = map(0, TraceWriter.HEADER_BYTES);
+        if (header.getInt(0) != TraceWriter.MAGIC || header.getInt(4) != TraceWriter.VERSION) {
+            channel.close();
+            throw new IOException("No es una traza o es de otra versión: " + file);
+        }
+        scenario = header.getInt(8);
+        for (int i = 0; i < params.length; i++) {
+            params[i] = header.getInt(12 + 4 * i);
+        }
+        size = header.getLong(24);
+        startedAt = header.getLong(32);
+
+        long segmentRecords = 1L << TraceWriter.SEGMENT_SHIFT;
+        segments = new MappedByteBuffer[(int) ((size + segmentRecords - 1) >>> TraceWriter.SEGMENT_SHIFT)];
+        for (int i = 0; i < segments.length; i++) {
+            long records = Math.min(segmentRecords, size - i * segmentRecords);
+            segments[i] = map(TraceWriter.HEADER_BYTES + i * segmentRecords * TraceWriter.RECORD_BYTES,
+                    records * TraceWriter.RECORD_BYTES);
+        }
+    }
+
+    private MappedByteBuffer map(long position, long length) throws IOException {
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        return buffer;
+    }
+
+    public int scenario() {
+        return scenario;
+    }
+
+    public int param(int index) {
+        return params[index];
+    }
+
+    public long size() {
+        return size;
+    }
+
+    // Hora de pared (ms) en que empezó la grabación
+    public long startedAt() {
+        return startedAt;
+    }
+
+    public long time(long index) {
+        return segment(index).getLong(offset(index));
+    }
+
+    public int code(long index) {
+        return segment(index).getInt(offset(index) + 8);
+    }
+
+    public int a(long index) {
+        return segment(index).getInt(offset(index) + 12);
+    }
+
+    public int b(long index) {
+        return segment(index).getInt(offset(index) + 16);
+    }
+
+    public int c(long index) {
+        return segment(index).getInt(offset(index) + 20);
+    }
+
+    private MappedByteBuffer segment(long index) {
+        return segments[(int) (index >>> TraceWriter.SEGMENT_SHIFT)];
+    }
+
+    private static int offset(long index) {
+        return (int) (index & ((1 << TraceWriter.SEGMENT_SHIFT) - 1)) * TraceWriter.RECORD_BYTES;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
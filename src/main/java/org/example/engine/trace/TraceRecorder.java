@@ -0,0 +1,79 @@
+package org.example.engine.trace;
+
+import org.example.engine.AbstractSimulation;
+import org.example.engine.ExecutionMode;
+import org.example.engine.Pacer;
+import org.example.engine.philosophers.PhilosophersListener;
+import org.example.engine.philosophers.PhilosophersSimulation;
+import org.example.engine.philosophers.PhilosophersTracer;
+import org.example.engine.producerconsumer.ProducerConsumerListener;
+import org.example.engine.producerconsumer.ProducerConsumerSimulation;
+import org.example.engine.producerconsumer.ProducerConsumerTracer;
+import org.example.engine.readerswriters.ReadersWritersListener;
+import org.example.engine.readerswriters.ReadersWritersSimulation;
+import org.example.engine.readerswriters.ReadersWritersTracer;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+// Graba sin interfaz gráfica una corrida de un escenario a una traza binaria, para
+// reproducirla después en su pestaña ("Reproducir traza...").
+// Uso: TraceRecorder <pc|lectores|filosofos> [archivo] [ms] [aceleración] [actores]
+public class TraceRecorder {
+    // A partir de esta cantidad de actores cada uno corre en un hilo virtual
+    private static final int VIRTUAL_THRESHOLD = 500;
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        String scenario = args.length > 0 ? args[0] : "pc";
+        Path file = Path.of(args.length > 1 ? args[1] : scenario + ".trace");
+        long millis = args.length > 2 ? Long.parseLong(args[2]) : 10_000;
+        double speedup = args.length > 3 ? Double.parseDouble(args[3]) : 100;
+        int actors = args.length > 4 ? Integer.parseInt(args[4]) : 5;
+        ExecutionMode mode = actors >= VIRTUAL_THRESHOLD ? ExecutionMode.VIRTUAL : ExecutionMode.PLATFORM;
+        Pacer pacer = Pacer.scaled(speedup);
+
+        TraceWriter writer;
+        AbstractSimulation simulation;
+        switch (scenario) {
+            case "pc" -> {
+                int capacity = 10;
+                ProducerConsumerTracer tracer = new ProducerConsumerTracer(ProducerConsumerListener.NONE);
+                ProducerConsumerSimulation producerConsumer = new ProducerConsumerSimulation(capacity, tracer, pacer);
+                producerConsumer.setActors(actors, actors);
+                writer = new TraceWriter(file, ProducerConsumerTracer.SCENARIO,
+                        ProducerConsumerTracer.params(actors, actors, capacity));
+                tracer.setWriter(writer);
+                simulation = producerConsumer;
+            }
+            case "lectores" -> {
+                int writers = Math.max(1, actors / 5);
+                ReadersWritersTracer tracer = new ReadersWritersTracer(ReadersWritersListener.NONE);
+                ReadersWritersSimulation readersWriters = new ReadersWritersSimulation(tracer, pacer);
+                readersWriters.setActors(actors, writers);
+                writer = new TraceWriter(file, ReadersWritersTracer.SCENARIO,
+                        ReadersWritersTracer.params(actors, writers));
+                tracer.setWriter(writer);
+                simulation = readersWriters;
+            }
+            case "filosofos" -> {
+                PhilosophersTracer tracer = new PhilosophersTracer(PhilosophersListener.NONE);
+                PhilosophersSimulation philosophers = new PhilosophersSimulation(actors, tracer, pacer);
+                writer = new TraceWriter(file, PhilosophersTracer.SCENARIO, PhilosophersTracer.params(actors));
+                tracer.setWriter(writer);
+                simulation = philosophers;
+            }
+            default -> throw new IllegalArgumentException("Escenario desconocido: " + scenario
+                    + " (pc, lectores o filosofos)");
+        }
+
+        simulation.setExecutionMode(mode);
+        simulation.start();
+        Thread.sleep(millis);
+        simulation.stop();
+        simulation.awaitTermination(5000);
+        writer.close();
+
+        System.out.printf("%s: %,d eventos (%,.0f/s), %,d descartados, %s%n", file, writer.recordCount(),
+                writer.recordCount() * 1000.0 / millis, writer.droppedCount(), mode);
+    }
+}
@@ -0,0 +1,88 @@
+package org.example.engine.trace;
+
+import java.time.Duration;
+
+// Reproduce una traza en su propio hilo, respetando los intervalos grabados divididos por
+// la velocidad (que se puede cambiar en marcha). Las esperas menores a MIN_SLEEP_NANOS se
+// acumulan, así que a velocidades altas se despachan tandas de eventos por cada sleep
+public class TraceReplayer {
+    private static final long MIN_SLEEP_NANOS = 1_000_000;
+
+    // Recibe cada registro tal como se grabó
+    @FunctionalInterface
+    public interface Sink {
+        void event(int code, int a, int b, int c);
+    }
+
+    private final TraceReader reader;
+    private final Sink sink;
+    private final Runnable onFinished;
+    private volatile double speed = 1;
+    private volatile boolean running = false;
+    private volatile long position = 0;
+    private Thread thread;
+
+    // onFinished corre en el hilo de reproducción, tanto al terminar como al detenerla
+    public TraceReplayer(TraceReader reader, Sink sink, Runnable onFinished) {
+        this.reader = reader;
+        this.sink = sink;
+        this.onFinished = onFinished;
+    }
+
+    // Múltiplo del tiempo real grabado; Double.POSITIVE_INFINITY reproduce sin pausas
+    public void setSpeed(double speed) {
+        this.speed = speed;
+    }
+
+    public synchronized void start() {
+        if (running) return;
+        running = true;
+        thread = new Thread(this::run, "trace-replay");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public synchronized void stop() {
+        running = false;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Registros ya despachados
+    public long position() {
+        return position;
+    }
+
+    private void run() {
+        try {
+            long size = reader.size();
+            long previous = size > 0 ? reader.time(0) : 0;
+            double debt = 0;
+            for (long i = 0; i < size && running; i++) {
+                long time = reader.time(i);
+                // Los registros de hilos distintos pueden llegar levemente desordenados
+                debt += Math.max(0, time - previous) / speed;
+                previous = Math.max(previous, time);
+                if (debt >= MIN_SLEEP_NANOS) {
+                    Thread.sleep(Duration.ofNanos((long) debt));
+                    debt = 0;
+                }
+                int code = reader.code(i);
+                if (code != 0) {
+                    sink.event(code, reader.a(i), reader.b(i), reader.c(i));
+                }
+                position = i + 1;
+            }
+        } catch (InterruptedException e) {
+            // Detenida
+        } finally {
+            running = false;
+            onFinished.run();
+        }
+    }
+}
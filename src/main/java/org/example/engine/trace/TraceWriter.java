@@ -0,0 +1,171 @@
+package org.example.engine.trace;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Traza binaria de eventos en un archivo mapeado a memoria. Cada registro ocupa
+// RECORD_BYTES fijos (ns desde el inicio, código, tres argumentos); los hilos de la
+// simulación reservan su posición con un getAndIncrement y escriben directo en las
+// páginas mapeadas, sin E/S ni locks: el sistema operativo las baja a disco por su cuenta.
+// El archivo crece de a un segmento: el primer registro que cae en uno nuevo lo mapea (con
+// un lock, una vez cada SEGMENT_SHIFT registros), así una corrida corta ocupa lo que grabó
+// y no maxRecords. Lo que no entra en maxRecords se descarta y se cuenta
+public class TraceWriter implements AutoCloseable {
+    static final int MAGIC = 0x53494D54; // "SIMT"
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 40;
+    static final int RECORD_BYTES = 24;
+    // Registros por segmento mapeado: 64 Ki, 1,5 MB
+    static final int SEGMENT_SHIFT = 16;
+
+    private static final long DEFAULT_MAX_RECORDS = 1L << 24;
+
+    private final Path file;
+    private final FileChannel channel;
+    private final MappedByteBuffer header;
+    // Se mapean a medida que se llenan; null los que todavía no se usaron
+    private final AtomicReferenceArray<MappedByteBuffer> segments;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final long maxRecords;
+    // maxRecords, o menos si no se pudo mapear un segmento (disco lleno)
+    private volatile long limit;
+    private final long startNanos = System.nanoTime();
+    private final AtomicLong next = new AtomicLong();
+    private final LongAdder dropped = new LongAdder();
+    private volatile boolean closed = false;
+
+    // scenario y params identifican qué se grabó y con cuántos actores, para la reproducción
+    public TraceWriter(Path file, int scenario, int[] params) throws IOException {
+        this(file, scenario, params, DEFAULT_MAX_RECORDS);
+    }
+
+    public TraceWriter(Path file, int scenario, int[] params, long maxRecords) throws IOException {
+        if (params.length > 3) {
+            throw new IllegalArgumentException("Como máximo 3 parámetros de escenario");
+        }
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        this.file = file;
+        this.maxRecords = maxRecords;
+        this.limit = maxRecords;
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.SPARSE);
+
+        header = map(0, HEADER_BYTES);
+        header.putInt(0, MAGIC);
+        header.putInt(4, VERSION);
+        header.putInt(8, scenario);
+        for (int i = 0; i < params.length; i++) {
+            header.putInt(12 + 4 * i, params[i]);
+        }
+        header.putLong(24, 0);
+        header.putLong(32, System.currentTimeMillis());
+
+        long segmentRecords = 1L << SEGMENT_SHIFT;
+        segments = new AtomicReferenceArray<>((int) ((maxRecords + segmentRecords - 1) >>> SEGMENT_SHIFT));
+    }
+
+    private MappedByteBuffer map(long position, long size) throws IOException {
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, position, size);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        return buffer;
+    }
+
+    // Seguro desde cualquier hilo. code 0 está reservado para "registro vacío"
+    public void record(int code, int a, int b, int c) {
+        if (closed) return;
+        long index = next.getAndIncrement();
+        MappedByteBuffer segment = index < limit ? segment((int) (index >>> SEGMENT_SHIFT)) : null;
+        if (segment == null) {
+            dropped.increment();
+            return;
+        }
+        int offset = (int) (index & ((1 << SEGMENT_SHIFT) - 1)) * RECORD_BYTES;
+        segment.putLong(offset, System.nanoTime() - startNanos);
+        segment.putInt(offset + 12, a);
+        segment.putInt(offset + 16, b);
+        segment.putInt(offset + 20, c);
+        // El código va último: un registro a medio escribir al cerrar se lee como vacío
+        segment.putInt(offset + 8, code);
+    }
+
+    // null si ya se cerró o si no se pudo mapear
+    private MappedByteBuffer segment(int index) {
+        MappedByteBuffer segment = segments.get(index);
+        if (segment != null) {
+            return segment;
+        }
+        lock.lock();
+        try {
+            segment = segments.get(index);
+            if (segment != null || closed) {
+                return segment;
+            }
+            long first = (long) index << SEGMENT_SHIFT;
+            if (first >= limit) {
+                return null;
+            }
+            long records = Math.min(1L << SEGMENT_SHIFT, maxRecords - first);
+            try {
+                segment = map(HEADER_BYTES + first * RECORD_BYTES, records * RECORD_BYTES);
+            } catch (IOException e) {
+                limit = first; // De acá en adelante se descarta
+                return null;
+            }
+            segments.set(index, segment);
+            return segment;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public Path file() {
+        return file;
+    }
+
+    public long recordCount() {
+        return Math.min(next.get(), limit);
+    }
+
+    public long droppedCount() {
+        return dropped.sum();
+    }
+
+    // El archivo no se trunca: con las páginas todavía mapeadas, un hilo rezagado
+    // escribiendo fuera del tamaño nuevo terminaría en SIGBUS. Queda disperso y el
+    // encabezado dice cuántos registros valen
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            if (closed) return;
+            closed = true;
+            long count = recordCount();
+            for (int i = 0; i < segments.length(); i++) {
+                MappedByteBuffer segment = segments.get(i);
+                if (segment != null) {
+                    segment.force();
+                } else {
+                    // Lo reservado en un segmento que no llegó a mapearse no está en el archivo
+                    count = Math.min(count, (long) i << SEGMENT_SHIFT);
+                }
+            }
+            header.putLong(24, count);
+            header.force();
+            channel.close();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,291 @@
+package org.example.engine.virtualtime;
+
+import org.example.engine.AbstractSimulation;
+import org.example.engine.ExecutionMode;
+import org.example.engine.Pacer;
+
+import java.lang.reflect.Constructor;
+import java.util.ArrayDeque;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.concurrent.Executor;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.random.RandomGenerator;
+
+// Reloj virtual para correr las simulaciones de siempre (los mismos Producer, Database,
+// DiningTable y sus locks) sin esperar el tiempo real. Cada actor es un hilo virtual y
+// todos corren de a uno, en un planificador propio, sobre el hilo que llama a advance: un
+// actor sigue hasta que se bloquea en una primitiva de java.util.concurrent o pide una
+// pausa, y solo cuando ninguno puede seguir el reloj salta a la próxima pausa que vence.
+// Una hora simulada cuesta lo que cuesta ejecutar sus eventos, y como el orden de ejecución
+// y el azar de random() dependen solo de la semilla, la misma semilla repite la corrida.
+//
+// Los actores solo pueden esperar en primitivas de java.util.concurrent (un monitor ocupado
+// o un sleep real traban el planificador) y, si esperan activamente, cediendo el hilo con
+// Thread.yield: el reloj reconoce a los que solo ceden y avanza el tiempo cuando nadie más
+// puede correr. Un planificador propio para hilos virtuales no es API pública del JDK:
+// hace falta --add-opens java.base/java.lang=ALL-UNNAMED
+public class VirtualClock implements Pacer {
+    // Las sondas toman 0 como "sin medir"
+    private static final long ORIGIN = 1;
+
+    private final Thread.Builder.OfVirtual threads;
+    private final Random random;
+    private final ReentrantLock lock = new ReentrantLock();
+    // Continuaciones de hilos listos para correr, y las de los que cedieron con Thread.yield
+    private final ArrayDeque<Runnable> ready = new ArrayDeque<>();
+    private final ArrayDeque<Runnable> yielded = new ArrayDeque<>();
+    private final PriorityQueue<Wakeup> wakeups = new PriorityQueue<>();
+    private volatile long now = ORIGIN;
+    private long sequence;
+    private long events;
+    private int live;
+    // La continuación que está corriendo el hilo de advance
+    private Runnable running;
+
+    public VirtualClock(long seed) {
+        this.threads = builder(this::submit);
+        this.random = new Random(seed);
+    }
+
+    // Un hilo dormido hasta time; las que vencen juntas, en el orden en que se pidieron
+    private static final class Wakeup implements Comparable<Wakeup> {
+        final long time;
+        final long sequence;
+        final Thread thread;
+        volatile boolean due;
+        // Interrumpido antes de vencer: se descarta al llegar a la cabeza sin mover el reloj
+        volatile boolean cancelled;
+
+        Wakeup(long time, long sequence, Thread thread) {
+            this.time = time;
+            this.sequence = sequence;
+            this.thread = thread;
+        }
+
+        @Override
+        public int compareTo(Wakeup other) {
+            int byTime = Long.compare(time, other.time);
+            return byTime != 0 ? byTime : Long.compare(sequence, other.sequence);
+        }
+    }
+
+    private static Thread.Builder.OfVirtual builder(Executor scheduler) {
+        try {
+            Class<?> type = Class.forName("java.lang.ThreadBuilders$VirtualThreadBuilder");
+            Constructor<?> constructor = type.getDeclaredConstructor(Executor.class);
+            constructor.setAccessible(true);
+            return (Thread.Builder.OfVirtual) constructor.newInstance(scheduler);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            throw new UnsupportedOperationException(
+                    "El reloj virtual necesita --add-opens java.base/java.lang=ALL-UNNAMED", e);
+        }
+    }
+
+    // Lo llama el JDK cada vez que un hilo del reloj puede correr: al arrancar, al
+    // despertarlo (unpark, interrupt) o al ceder con Thread.yield
+    private void submit(Runnable continuation) {
+        lock.lock();
+        try {
+            // El mismo hilo que estaba corriendo vuelve a la cola: solo puede haber cedido
+            if (continuation == running) {
+                yielded.add(continuation);
+            } else {
+                ready.add(continuation);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void pause(long millis) throws InterruptedException {
+        sleep(nanos(millis));
+    }
+
+    @Override
+    public void backoff(long nanos) throws InterruptedException {
+        sleep(nanos);
+    }
+
+    private void sleep(long nanos) throws InterruptedException {
+        if (Thread.interrupted()) {
+            throw new InterruptedException();
+        }
+        Wakeup wakeup;
+        lock.lock();
+        try {
+            wakeup = new Wakeup(now + Math.max(0, nanos), sequence++, Thread.currentThread());
+            wakeups.add(wakeup);
+        } finally {
+            lock.unlock();
+        }
+        while (!wakeup.due) {
+            LockSupport.park(this);
+            if (Thread.interrupted()) {
+                wakeup.cancelled = true;
+                throw new InterruptedException();
+            }
+        }
+    }
+
+    @Override
+    public long now() {
+        return now;
+    }
+
+    @Override
+    public RandomGenerator random() {
+        return random;
+    }
+
+    // Siempre un hilo virtual de este reloj, sea cual sea el modo de ejecución
+    @Override
+    public Thread newThread(ExecutionMode mode, Runnable task) {
+        lock.lock();
+        try {
+            live++;
+        } finally {
+            lock.unlock();
+        }
+        return threads.unstarted(() -> {
+            try {
+                task.run();
+            } finally {
+                lock.lock();
+                try {
+                    live--;
+                } finally {
+                    lock.unlock();
+                }
+            }
+        });
+    }
+
+    @Override
+    public boolean virtualTime() {
+        return true;
+    }
+
+    // Corre los actores y adelanta el reloj millis; vuelve cuando ninguno puede seguir antes
+    // de esa hora. Lo llama un hilo a la vez: ese hilo es el que ejecuta a todos los actores
+    public void advance(long millis) {
+        long deadline = now + nanos(millis);
+        while (true) {
+            Runnable next = poll(ready);
+            if (next != null) {
+                run(next);
+                continue;
+            }
+            if (spinRound()) {
+                continue;
+            }
+            Wakeup wakeup;
+            lock.lock();
+            try {
+                wakeup = wakeups.peek();
+                while (wakeup != null && wakeup.cancelled) {
+                    wakeups.poll();
+                    wakeup = wakeups.peek();
+                }
+                if (wakeup == null || wakeup.time > deadline) {
+                    break;
+                }
+                wakeups.poll();
+                now = wakeup.time;
+                events++;
+            } finally {
+                lock.unlock();
+            }
+            wakeup.due = true;
+            LockSupport.unpark(wakeup.thread);
+        }
+        now = Math.max(now, deadline);
+    }
+
+    // Una vuelta por los que esperan activamente. true si alguno dejó de girar o despertó a
+    // otro: todavía hay trabajo en el instante actual. Si todos volvieron a ceder, lo que
+    // esperan solo puede llegar con el paso del tiempo
+    private boolean spinRound() {
+        ArrayDeque<Runnable> round;
+        lock.lock();
+        try {
+            if (yielded.isEmpty()) {
+                return false;
+            }
+            round = new ArrayDeque<>(yielded);
+            yielded.clear();
+        } finally {
+            lock.unlock();
+        }
+        for (Runnable continuation : round) {
+            run(continuation);
+        }
+        lock.lock();
+        try {
+            return !ready.isEmpty() || yielded.size() < round.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Runnable poll(ArrayDeque<Runnable> queue) {
+        lock.lock();
+        try {
+            return queue.poll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void run(Runnable continuation) {
+        running = continuation;
+        try {
+            continuation.run();
+        } finally {
+            running = null;
+        }
+    }
+
+    // Arranca la simulación, la deja correr millis de tiempo simulado y la detiene; al
+    // volver todos sus hilos terminaron. La simulación tiene que usar este reloj como Pacer
+    public void run(AbstractSimulation simulation, long millis) {
+        if (simulation.pacer() != this) {
+            throw new IllegalArgumentException("La simulación no usa este reloj");
+        }
+        simulation.start();
+        advance(millis);
+        simulation.stop();
+        // Los actores interrumpidos terminan sin que pase el tiempo
+        advance(0);
+        int remaining = liveThreads();
+        if (remaining > 0) {
+            throw new IllegalStateException(remaining + " hilos no terminaron al detener la simulación");
+        }
+    }
+
+    // Pausas que vencieron desde que se creó el reloj
+    public long events() {
+        lock.lock();
+        try {
+            return events;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Tiempo simulado desde que se creó el reloj
+    public long elapsedNanos() {
+        return now - ORIGIN;
+    }
+
+    public int liveThreads() {
+        lock.lock();
+        try {
+            return live;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package org.example.engine.virtualtime;
+
+import org.example.engine.metrics.MetricsRegistry;
+import org.example.engine.philosophers.ForkStrategy;
+import org.example.engine.philosophers.PhilosophersListener;
+import org.example.engine.philosophers.PhilosophersSimulation;
+import org.example.engine.producerconsumer.ProducerConsumerListener;
+import org.example.engine.producerconsumer.ProducerConsumerSimulation;
+import org.example.engine.readerswriters.LockPolicy;
+import org.example.engine.readerswriters.ReadersWritersListener;
+import org.example.engine.readerswriters.ReadersWritersSimulation;
+
+// Corre los tres escenarios en tiempo virtual, con cada política y algoritmo, y muestra
+// cuánto tiempo simulado se cubrió por segundo real. Misma semilla, mismos resultados.
+// Uso: VirtualTimeRunner [minutos simulados] [semilla]
+// (con --add-opens java.base/java.lang=ALL-UNNAMED, ver VirtualClock)
+public class VirtualTimeRunner {
+
+    public static void main(String[] args) {
+        long minutes = args.length > 0 ? Long.parseLong(args[0]) : 60;
+        long seed = args.length > 1 ? Long.parseLong(args[1]) : 42;
+        long virtualMillis = minutes * 60_000;
+
+        // Las ventanas de muestreo son de tiempo real: en tiempo virtual se mide todo
+        int sampleEvery = MetricsRegistry.sampleEvery();
+        MetricsRegistry.setSampleEvery(1);
+        try {
+            System.out.printf("%d minutos simulados, semilla %d%n", minutes, seed);
+            System.out.printf("%-48s %12s %10s %12s  %s%n", "Escenario", "eventos", "real (ms)", "aceleración", "resultado");
+
+            long start = System.nanoTime();
+            VirtualClock clock = new VirtualClock(seed);
+            ProducerConsumerSimulation producerConsumer =
+                    new ProducerConsumerSimulation(10, ProducerConsumerListener.NONE, clock);
+            producerConsumer.setActors(3, 2);
+            producerConsumer.setProducerDelay(() -> 1000);
+            producerConsumer.setConsumerDelay(() -> 1000);
+            producerConsumer.setMeasureLatency(true);
+            clock.run(producerConsumer, virtualMillis);
+            print("Productor-consumidor 3x2", clock, start, String.format(
+                    "%d items, entrega p99=%d ms, espera productor p99=%d ms",
+                    producerConsumer.consumedCount(), producerConsumer.handoffLatency().percentile(99) / 1_000_000,
+                    producerConsumer.producerWait().percentile(99) / 1_000_000));
+
+            for (LockPolicy policy : LockPolicy.values()) {
+                start = System.nanoTime();
+                clock = new VirtualClock(seed);
+                ReadersWritersSimulation readersWriters = new ReadersWritersSimulation(ReadersWritersListener.NONE, clock);
+                readersWriters.setActors(20, 3);
+                readersWriters.setLockPolicy(policy);
+                clock.run(readersWriters, virtualMillis);
+                print("Lectores-escritores: " + policy, clock, start, String.format(
+                        "%d lecturas, %d escrituras, espera escritor p99=%d ms máx=%d ms, reintentos %d",
+                        readersWriters.readCount(), readersWriters.writeCount(),
+                        readersWriters.lockStats().writerWait().percentile(99) / 1_000_000,
+                        readersWriters.lockStats().maxWriterWait() / 1_000_000,
+                        readersWriters.lockStats().optimisticRetries()));
+            }
+
+            for (ForkStrategy strategy : ForkStrategy.values()) {
+                start = System.nanoTime();
+                clock = new VirtualClock(seed);
+                PhilosophersSimulation philosophers = new PhilosophersSimulation(100, PhilosophersListener.NONE, clock);
+                philosophers.setStrategy(strategy);
+                clock.run(philosophers, virtualMillis);
+                print("Filósofos x100: " + strategy, clock, start, String.format(
+                        "%d comidas, concurrencia %.2f, equidad (Jain) %.3f, hambre p99=%d ms",
+                        philosophers.mealCount(), philosophers.concurrency(), philosophers.stats().fairness(),
+                        philosophers.stats().hungerWait().percentile(99) / 1_000_000));
+            }
+        } finally {
+            MetricsRegistry.setSampleEvery(sampleEvery);
+        }
+    }
+
+    private static void print(String name, VirtualClock clock, long start, String result) {
+        double wallMillis = (System.nanoTime() - start) / 1e6;
+        System.out.printf("%-48s %,12d %10.1f %11.0fx  %s%n", name, clock.events(), wallMillis,
+                clock.elapsedNanos() / 1e6 / wallMillis, result);
+    }
+}
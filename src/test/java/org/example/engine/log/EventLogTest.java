@@ -0,0 +1,115 @@
+package org.example.engine.log;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EventLogTest {
+
+    @Test
+    void capacityRoundsUpToAPowerOfTwo() {
+        assertEquals(8, new EventLog(8).capacity());
+        assertEquals(8, new EventLog(5).capacity());
+        assertEquals(16, new EventLog(9).capacity());
+        assertEquals(4, new EventLog(0).capacity());
+    }
+
+    @Test
+    void cursorStartsAtTheNextEvent() {
+        EventLog log = new EventLog(8);
+        log.append(1, 1);
+        EventLog.Cursor cursor = log.cursor();
+        log.append(2, 2);
+        List<Integer> codes = new ArrayList<>();
+        assertEquals(1, cursor.drain((time, code, a, b, c, ref) -> codes.add(code), 10));
+        assertEquals(List.of(2), codes);
+    }
+
+    // Un lector que quedó más de una vuelta atrás salta a los últimos capacity eventos y
+    // cuenta el resto como perdidos, en vez de leer celdas ya reescritas
+    @Test
+    void laggingCursorSkipsAheadAfterTheRingWraps() {
+        EventLog log = new EventLog(8);
+        EventLog.Cursor cursor = log.cursor();
+        for (int i = 0; i < 20; i++) {
+            log.append(100 + i, i, -i, i * 2, "e" + i);
+        }
+        List<Integer> seen = new ArrayList<>();
+        int delivered = cursor.drain((time, code, a, b, c, ref) -> {
+            assertEquals(100 + a, code);
+            assertEquals(-a, b);
+            assertEquals(a * 2, c);
+            assertEquals("e" + a, ref);
+            seen.add(a);
+        }, Integer.MAX_VALUE);
+        assertEquals(8, delivered);
+        assertEquals(List.of(12, 13, 14, 15, 16, 17, 18, 19), seen);
+        assertEquals(12, cursor.lost());
+        assertEquals(0, cursor.drain((time, code, a, b, c, ref) -> seen.add(a), 10));
+    }
+
+    @Test
+    void drainStopsAtMaxAndResumes() {
+        EventLog log = new EventLog(16);
+        EventLog.Cursor cursor = log.cursor();
+        for (int i = 0; i < 10; i++) {
+            log.append(0, i);
+        }
+        List<Integer> seen = new ArrayList<>();
+        assertEquals(4, cursor.drain((time, code, a, b, c, ref) -> seen.add(a), 4));
+        assertEquals(6, cursor.drain((time, code, a, b, c, ref) -> seen.add(a), 100));
+        assertEquals(List.of(0, 1, 2, 3, 4, 5, 6, 7, 8, 9), seen);
+        assertEquals(0, cursor.lost());
+    }
+
+    // Escritores que dan muchas vueltas a un anillo chico mientras un lector drena: cada
+    // evento entregado tiene que ser uno que se escribió entero (sin campos de dos escrituras),
+    // cada escritor en orden, y entregados + perdidos tienen que sumar todo lo escrito
+    @Test
+    void concurrentWritersNeverDeliverTornEvents() throws InterruptedException {
+        EventLog log = new EventLog(16);
+        EventLog.Cursor cursor = log.cursor();
+        int writers = 4;
+        int perWriter = 200_000;
+        List<Thread> threads = new ArrayList<>();
+        for (int w = 0; w < writers; w++) {
+            int writer = w;
+            threads.add(Thread.ofPlatform().start(() -> {
+                for (int i = 0; i < perWriter; i++) {
+                    log.append(writer * 31 + i, writer, i, ~i, null);
+                }
+            }));
+        }
+
+        int[] last = new int[writers];
+        Arrays.fill(last, -1);
+        AtomicReference<String> torn = new AtomicReference<>();
+        long[] delivered = new long[1];
+        EventLog.Visitor check = (time, code, a, b, c, ref) -> {
+            if (a < 0 || a >= writers || c != ~b || code != a * 31 + b || b <= last[a]) {
+                torn.compareAndSet(null, "código " + code + ", args " + a + ", " + b + ", " + c);
+                return;
+            }
+            last[a] = b;
+            delivered[0]++;
+        };
+        while (threads.stream().anyMatch(Thread::isAlive)) {
+            cursor.drain(check, 64);
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        cursor.drain(check, Integer.MAX_VALUE);
+
+        assertNull(torn.get());
+        assertEquals((long) writers * perWriter, delivered[0] + cursor.lost());
+        assertTrue(delivered[0] > 0);
+    }
+}
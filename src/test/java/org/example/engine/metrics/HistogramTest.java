@@ -0,0 +1,117 @@
+package org.example.engine.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HistogramTest {
+
+    // Hasta 31 cada valor tiene su bucket; después 32 por potencia de dos
+    @Test
+    void smallValuesAreExactAndLargerOnesShareBuckets() {
+        for (long value = 0; value < 32; value++) {
+            assertEquals(value, Histogram.bucketOf(value));
+            assertEquals(value, Histogram.lowerBound((int) value));
+            assertEquals(value, Histogram.upperBound((int) value));
+        }
+        assertEquals(Histogram.bucketOf(64), Histogram.bucketOf(65));
+        assertEquals(Histogram.bucketOf(65) + 1, Histogram.bucketOf(66));
+    }
+
+    // Los buckets cubren todos los long sin huecos ni solapamientos
+    @Test
+    void bucketsAreContiguousUpToLongMax() {
+        int last = Histogram.bucketOf(Long.MAX_VALUE);
+        for (int bucket = 0; bucket < last; bucket++) {
+            long lower = Histogram.lowerBound(bucket);
+            long upper = Histogram.upperBound(bucket);
+            assertEquals(bucket, Histogram.bucketOf(lower));
+            assertEquals(bucket, Histogram.bucketOf(upper));
+            assertEquals(upper + 1, Histogram.lowerBound(bucket + 1), "después del bucket " + bucket);
+            // Error relativo de ~3%: el ancho nunca pasa de 1/32 del inicio
+            assertTrue(upper - lower <= lower / 32, "bucket " + bucket + ": " + lower + ".." + upper);
+        }
+        assertEquals(Long.MAX_VALUE, Histogram.upperBound(last));
+    }
+
+    @Test
+    void percentilesAreUpperBoundsCappedAtMax() {
+        Histogram histogram = new Histogram();
+        assertEquals(0, histogram.percentile(99));
+        for (long value = 1; value <= 1000; value++) {
+            histogram.record(value * 1000);
+        }
+        assertEquals(1000, histogram.count());
+        assertEquals(1_000_000, histogram.max());
+        assertEquals(1_000_000, histogram.percentile(100));
+        long median = histogram.percentile(50);
+        assertTrue(median >= 500_000 && median <= 500_000 * 1.04, "p50=" + median);
+        long p99 = histogram.percentile(99);
+        assertTrue(p99 >= 990_000 && p99 <= 1_000_000, "p99=" + p99);
+        assertEquals(Histogram.upperBound(Histogram.bucketOf(1000)), histogram.percentile(0));
+    }
+
+    @Test
+    void negativeValuesCountAsZero() {
+        Histogram histogram = new Histogram();
+        histogram.record(-5);
+        assertEquals(1, histogram.count());
+        assertEquals(0, histogram.max());
+        assertEquals(0, histogram.percentile(100));
+    }
+
+    // countAbove cuenta por bucket: lo que cae en el bucket del límite no lo supera
+    @Test
+    void countAboveSkipsTheThresholdBucket() {
+        Histogram histogram = new Histogram();
+        for (int i = 0; i < 10; i++) {
+            histogram.record(1000);
+            histogram.record(1_000_000);
+        }
+        assertEquals(20, histogram.countAbove(0));
+        assertEquals(10, histogram.countAbove(10_000));
+        assertEquals(0, histogram.countAbove(1_000_000));
+        assertEquals(0, histogram.countAbove(1_000_001));
+        assertEquals(10, histogram.countAbove(999));
+    }
+
+    @Test
+    void addMergesCountsAndMax() {
+        Histogram a = new Histogram();
+        Histogram b = new Histogram();
+        a.record(10);
+        b.record(20);
+        b.record(5000);
+        a.add(b);
+        assertEquals(3, a.count());
+        assertEquals(5000, a.max());
+        a.reset();
+        assertEquals(0, a.count());
+        assertEquals(0, a.max());
+    }
+
+    @Test
+    void concurrentRecordsAreAllCounted() throws InterruptedException {
+        Histogram histogram = new Histogram();
+        int threads = 8;
+        int perThread = 100_000;
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            long offset = t;
+            workers.add(Thread.ofPlatform().start(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    histogram.record(i * threads + offset);
+                }
+            }));
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        assertEquals((long) threads * perThread, histogram.count());
+        assertEquals((long) threads * perThread - 1, histogram.max());
+    }
+}
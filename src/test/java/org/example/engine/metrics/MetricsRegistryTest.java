@@ -0,0 +1,93 @@
+package org.example.engine.metrics;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MetricsRegistryTest {
+    private boolean enabled;
+    private int sampleEvery;
+
+    @BeforeEach
+    void saveRegistry() {
+        enabled = MetricsRegistry.isEnabled();
+        sampleEvery = MetricsRegistry.sampleEvery();
+        MetricsRegistry.setEnabled(true);
+    }
+
+    @AfterEach
+    void restoreRegistry() {
+        MetricsRegistry.setEnabled(enabled);
+        MetricsRegistry.setSampleEvery(sampleEvery);
+    }
+
+    @Test
+    void sampleEveryOneMeasuresAlways() {
+        MetricsRegistry.setSampleEvery(1);
+        awaitSampling(true);
+        for (int i = 0; i < 100; i++) {
+            assertTrue(MetricsRegistry.isSampling());
+        }
+    }
+
+    @Test
+    void sampleEveryBelowOneMeansOne() {
+        MetricsRegistry.setSampleEvery(0);
+        assertEquals(1, MetricsRegistry.sampleEvery());
+    }
+
+    // Con ventanas de 1 ms cada 4 ms la medición se prende y se apaga sola; al volver a 1 el
+    // hilo de muestreo termina y queda prendida
+    @Test
+    void windowedSamplingOpensAndClosesWindows() {
+        MetricsRegistry.setSampleEvery(4);
+        awaitSampling(true);
+        awaitSampling(false);
+        awaitSampling(true);
+
+        MetricsRegistry.setSampleEvery(1);
+        awaitSampling(true);
+        long until = System.nanoTime() + 20_000_000;
+        while (System.nanoTime() < until) {
+            assertTrue(MetricsRegistry.isSampling());
+        }
+    }
+
+    @Test
+    void disablingStopsSampling() {
+        MetricsRegistry.setSampleEvery(4);
+        MetricsRegistry.setEnabled(false);
+        awaitSampling(false);
+        long until = System.nanoTime() + 20_000_000;
+        while (System.nanoTime() < until) {
+            assertFalse(MetricsRegistry.isSampling());
+        }
+    }
+
+    @Test
+    void registersEachProbeOnceInOrder() {
+        MetricsRegistry registry = new MetricsRegistry();
+        Probe first = new Probe("primera", false);
+        Probe second = new Probe("segunda", true);
+        registry.register(first);
+        registry.register(second);
+        registry.register(first);
+        assertEquals(List.of(first, second), registry.probes());
+        registry.clear();
+        assertTrue(registry.probes().isEmpty());
+    }
+
+    private static void awaitSampling(boolean expected) {
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (MetricsRegistry.isSampling() != expected) {
+            assertTrue(System.nanoTime() < deadline, "isSampling() nunca pasó a " + expected);
+            Thread.onSpinWait();
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package org.example.engine.metrics;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ProbeTest {
+    private final AtomicLong clock = new AtomicLong(1000);
+    private boolean enabled;
+    private int sampleEvery;
+
+    @BeforeEach
+    void measureEverything() {
+        enabled = MetricsRegistry.isEnabled();
+        sampleEvery = MetricsRegistry.sampleEvery();
+        MetricsRegistry.setEnabled(true);
+        MetricsRegistry.setSampleEvery(1);
+    }
+
+    @AfterEach
+    void restoreRegistry() {
+        MetricsRegistry.setEnabled(enabled);
+        MetricsRegistry.setSampleEvery(sampleEvery);
+    }
+
+    @Test
+    void recordsWaitAndHoldPerActor() {
+        Probe probe = new Probe("lock", true, clock::get);
+        probe.reset(2);
+
+        long start = probe.begin();
+        clock.addAndGet(250);
+        long acquiredAt = probe.acquired(1, start);
+        clock.addAndGet(40);
+        probe.released(1, acquiredAt);
+
+        assertEquals(1000, start);
+        assertEquals(1250, acquiredAt);
+        assertEquals(1, probe.waits().count());
+        assertEquals(250, probe.waits().max());
+        assertEquals(40, probe.holds().max());
+        assertEquals(0, probe.acquisitions(0));
+        assertEquals(1, probe.acquisitions(1));
+        assertEquals(250, probe.waitNanos(1));
+        assertEquals(250, probe.maxWait(1));
+        assertEquals(40, probe.holdNanos(1));
+    }
+
+    // Actores fuera de rango (o -1) solo van a los histogramas
+    @Test
+    void unknownActorsOnlyFeedTheHistograms() {
+        Probe probe = new Probe("lock", false, clock::get);
+        probe.reset(1);
+        long start = probe.begin();
+        clock.addAndGet(10);
+        probe.acquired(-1, start);
+        probe.acquired(5, start);
+        assertEquals(2, probe.waits().count());
+        assertEquals(0, probe.acquisitions(0));
+    }
+
+    @Test
+    void disabledMetricsSkipTheClock() {
+        MetricsRegistry.setEnabled(false);
+        AtomicLong reads = new AtomicLong();
+        Probe probe = new Probe("lock", true, () -> {
+            reads.incrementAndGet();
+            return clock.get();
+        });
+        probe.reset(1);
+        long start = probe.begin();
+        long acquiredAt = probe.acquired(0, start);
+        probe.released(0, acquiredAt);
+        assertEquals(0, start);
+        assertEquals(0, acquiredAt);
+        assertEquals(0, reads.get());
+        assertEquals(0, probe.waits().count());
+    }
+
+    @Test
+    void resetClearsHistogramsAndResizesActors() {
+        Probe probe = new Probe("lock", true, clock::get);
+        probe.reset(1);
+        probe.acquired(0, probe.begin());
+        probe.reset(3);
+        assertEquals(0, probe.waits().count());
+        assertEquals(3, probe.actors());
+        assertEquals(0, probe.acquisitions(0));
+    }
+
+    @Test
+    void concurrentActorsAreAllCounted() throws InterruptedException {
+        Probe probe = new Probe("lock", true, System::nanoTime);
+        int actors = 8;
+        int perActor = 50_000;
+        probe.reset(actors);
+        List<Thread> workers = new ArrayList<>();
+        for (int a = 0; a < actors; a++) {
+            int actor = a;
+            workers.add(Thread.ofPlatform().start(() -> {
+                for (int i = 0; i < perActor; i++) {
+                    long acquiredAt = probe.acquired(actor, probe.begin());
+                    probe.released(actor, acquiredAt);
+                }
+            }));
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        assertEquals((long) actors * perActor, probe.waits().count());
+        assertEquals((long) actors * perActor, probe.holds().count());
+        for (int a = 0; a < actors; a++) {
+            assertEquals(perActor, probe.acquisitions(a));
+        }
+    }
+}
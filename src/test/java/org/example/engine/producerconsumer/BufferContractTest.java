@@ -0,0 +1,83 @@
+package org.example.engine.producerconsumer;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Lo que tiene que cumplir cualquier Buffer de BufferType (Flow no tiene produce/consume):
+// cada item se consume una vez, en orden por productor salvo el robo de trabajo, y offer
+// solo falla con el buffer lleno. Las pruebas propias de cada implementación van en su *Test
+class BufferContractTest {
+
+    private interface BufferTest {
+        void run(Buffer buffer) throws Exception;
+    }
+
+    // consumers: las colas de WORK_STEALING; SharedMemoryBuffer se cierra al terminar
+    private static void with(BufferType type, int capacity, int consumers, BufferTest test) throws Exception {
+        Buffer buffer = type.create(capacity, WaitStrategy.YIELD, ProducerConsumerListener.NONE, consumers);
+        try {
+            test.run(buffer);
+        } finally {
+            if (buffer instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    // Con varias colas el orden solo se garantiza dentro de cada una
+    private static boolean keepsOrder(BufferType type) {
+        return type != BufferType.WORK_STEALING;
+    }
+
+    private static int actors(BufferType type) {
+        return type.singleProducerSingleConsumer() ? 1 : 3;
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = BufferType.class, names = "FLOW", mode = EnumSource.Mode.EXCLUDE)
+    void deliversEveryItemOnce(BufferType type) throws Exception {
+        int actors = actors(type);
+        with(type, 64, actors, buffer ->
+                BufferStress.run(buffer, actors, actors, 200_000 / actors, 1, keepsOrder(type)));
+    }
+
+    // Capacidad que no es potencia de dos (índice por módulo) y tandas más grandes que el anillo
+    @ParameterizedTest
+    @EnumSource(value = BufferType.class, names = "FLOW", mode = EnumSource.Mode.EXCLUDE)
+    void batchesWrapAroundNonPowerOfTwoCapacity(BufferType type) throws Exception {
+        int actors = actors(type);
+        with(type, 7, actors, buffer ->
+                BufferStress.run(buffer, actors, actors, 200_000 / actors, 16, keepsOrder(type)));
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = BufferType.class, names = "FLOW", mode = EnumSource.Mode.EXCLUDE)
+    void capacityOneUnderContention(BufferType type) throws Exception {
+        int actors = type.singleProducerSingleConsumer() ? 1 : 2;
+        with(type, 1, actors, buffer -> BufferStress.run(buffer, actors, actors, 10_000, 1, keepsOrder(type)));
+    }
+
+    // Varias vueltas seguidas: los índices y las secuencias de las celdas dan la vuelta
+    @ParameterizedTest
+    @EnumSource(value = BufferType.class, names = "FLOW", mode = EnumSource.Mode.EXCLUDE)
+    void offerFailsOnlyWhileFullAcrossWraparounds(BufferType type) throws Exception {
+        with(type, 3, 1, buffer -> {
+            for (int round = 0; round < 10; round++) {
+                for (int i = 1; i <= 3; i++) {
+                    assertTrue(buffer.offer(round * 10 + i), "vuelta " + round + ", item " + i);
+                }
+                assertFalse(buffer.offer(-1));
+                assertEquals(3, buffer.size());
+                assertEquals(3, buffer.snapshot().count());
+                for (int i = 1; i <= 3; i++) {
+                    assertEquals(round * 10 + i, buffer.consume());
+                }
+                assertEquals(0, buffer.size());
+            }
+        });
+    }
+}
@@ -0,0 +1,145 @@
+package org.example.engine.producerconsumer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+// Corre productores y consumidores sobre un buffer y verifica que cada item se consuma
+// exactamente una vez y, si se pide, que cada consumidor vea los items de cada productor en
+// el orden en que se publicaron. Cada item lleva productor y secuencia (desde 1)
+final class BufferStress {
+    private static final int SEQUENCE_BITS = 20;
+    private static final long TIMEOUT_MILLIS = 60_000;
+
+    private BufferStress() {
+    }
+
+    static int item(int producer, int sequence) {
+        return (producer << SEQUENCE_BITS) | sequence;
+    }
+
+    static void run(Buffer buffer, int producers, int consumers, int perProducer, int batch, boolean checkOrder)
+            throws InterruptedException {
+        run(buffer, buffer, producers, consumers, perProducer, batch, checkOrder);
+    }
+
+    // batch 1: produce/consume de a uno; mayor: produceAll/drainTo en tandas de 1 a batch items
+    static void run(Buffer producerSide, Buffer consumerSide, int producers, int consumers, int perProducer,
+                    int batch, boolean checkOrder) throws InterruptedException {
+        if (perProducer >= 1 << SEQUENCE_BITS) {
+            throw new IllegalArgumentException("Demasiados items por productor: " + perProducer);
+        }
+        int total = producers * perProducer;
+        AtomicInteger consumed = new AtomicInteger();
+        Queue<Throwable> errors = new ConcurrentLinkedQueue<>();
+        int[][] logs = new int[consumers][total];
+        int[] logSizes = new int[consumers];
+
+        List<Thread> consumerThreads = new ArrayList<>();
+        for (int c = 0; c < consumers; c++) {
+            int consumer = c;
+            consumerThreads.add(Thread.ofPlatform().name("consumidor-" + c).start(() -> {
+                int[] taken = new int[batch];
+                try {
+                    while (true) {
+                        int count = batch == 1 ? take(consumerSide, taken)
+                                : consumerSide.drainTo(taken, 1 + ThreadLocalRandom.current().nextInt(batch));
+                        for (int i = 0; i < count; i++) {
+                            logs[consumer][logSizes[consumer]++] = taken[i];
+                        }
+                        consumed.addAndGet(count);
+                    }
+                } catch (InterruptedException e) {
+                    // Fin: ya se consumió todo
+                } catch (Throwable t) {
+                    errors.add(t);
+                }
+            }));
+        }
+
+        List<Thread> producerThreads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            int producer = p;
+            producerThreads.add(Thread.ofPlatform().name("productor-" + p).start(() -> {
+                int[] pending = new int[batch];
+                try {
+                    int sequence = 1;
+                    while (sequence <= perProducer) {
+                        if (batch == 1) {
+                            producerSide.produce(item(producer, sequence++));
+                            continue;
+                        }
+                        int length = Math.min(1 + ThreadLocalRandom.current().nextInt(batch),
+                                perProducer - sequence + 1);
+                        for (int i = 0; i < length; i++) {
+                            pending[i] = item(producer, sequence++);
+                        }
+                        producerSide.produceAll(pending, 0, length);
+                    }
+                } catch (Throwable t) {
+                    errors.add(t);
+                }
+            }));
+        }
+
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        for (Thread producer : producerThreads) {
+            producer.join(Math.max(1, deadline - System.currentTimeMillis()));
+        }
+        while (consumed.get() < total && errors.isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(1);
+        }
+        for (Thread consumer : consumerThreads) {
+            consumer.interrupt();
+        }
+        for (Thread consumer : consumerThreads) {
+            consumer.join(TIMEOUT_MILLIS);
+        }
+        for (Thread thread : producerThreads) {
+            if (thread.isAlive()) {
+                thread.interrupt();
+                fail("Un productor no terminó: quedó bloqueado con el buffer lleno");
+            }
+        }
+        if (!errors.isEmpty()) {
+            throw new AssertionError("Falló un hilo", errors.peek());
+        }
+        assertEquals(total, consumed.get(), "items consumidos");
+        assertEquals(0, consumerSide.size(), "items que quedaron en el buffer");
+
+        int[][] seen = new int[producers][perProducer + 1];
+        for (int c = 0; c < consumers; c++) {
+            int[] last = new int[producers];
+            for (int i = 0; i < logSizes[c]; i++) {
+                int item = logs[c][i];
+                int producer = item >>> SEQUENCE_BITS;
+                int sequence = item & ((1 << SEQUENCE_BITS) - 1);
+                assertTrue(producer < producers && sequence >= 1 && sequence <= perProducer,
+                        "item que nadie produjo: " + item);
+                seen[producer][sequence]++;
+                if (checkOrder) {
+                    assertTrue(sequence > last[producer], "el consumidor " + c + " vio la secuencia " + sequence
+                            + " del productor " + producer + " después de la " + last[producer]);
+                    last[producer] = sequence;
+                }
+            }
+        }
+        for (int p = 0; p < producers; p++) {
+            for (int s = 1; s <= perProducer; s++) {
+                assertEquals(1, seen[p][s], "veces que se consumió la secuencia " + s + " del productor " + p);
+            }
+        }
+    }
+
+    private static int take(Buffer buffer, int[] target) throws InterruptedException {
+        target[0] = buffer.consume();
+        return 1;
+    }
+}
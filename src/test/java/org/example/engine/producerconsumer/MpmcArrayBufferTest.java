@@ -0,0 +1,31 @@
+package org.example.engine.producerconsumer;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// El contrato común de los buffers está en BufferContractTest
+class MpmcArrayBufferTest {
+
+    private static MpmcArrayBuffer buffer(int capacity) {
+        return new MpmcArrayBuffer(capacity, WaitStrategy.YIELD, ProducerConsumerListener.NONE);
+    }
+
+    @Test
+    void pollDoesNotBlockAndStopsAtMax() {
+        MpmcArrayBuffer buffer = buffer(8);
+        int[] target = new int[8];
+        assertEquals(0, buffer.poll(target, 0, 8));
+        for (int i = 1; i <= 5; i++) {
+            assertTrue(buffer.offer(i));
+        }
+        assertEquals(3, buffer.poll(target, 2, 3));
+        assertEquals(1, target[2]);
+        assertEquals(3, target[4]);
+        assertEquals(2, buffer.poll(target, 0, 8));
+        assertEquals(4, target[0]);
+        assertEquals(5, target[1]);
+        assertEquals(0, buffer.size());
+    }
+}
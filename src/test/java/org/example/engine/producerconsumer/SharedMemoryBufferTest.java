@@ -0,0 +1,61 @@
+package org.example.engine.producerconsumer;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// El contrato común de los buffers está en BufferContractTest
+class SharedMemoryBufferTest {
+
+    private static SharedMemoryBuffer temporary(int capacity) throws IOException {
+        return SharedMemoryBuffer.createTemporary(capacity, WaitStrategy.YIELD, ProducerConsumerListener.NONE);
+    }
+
+    // Productor y consumidor con mapeos distintos de la misma región, como dos procesos
+    @Test
+    void attachedSideSeesTheSameRing() throws Exception {
+        try (SharedMemoryBuffer producerSide = temporary(32);
+             SharedMemoryBuffer consumerSide = SharedMemoryBuffer.attach(producerSide.file(), WaitStrategy.YIELD,
+                     ProducerConsumerListener.NONE)) {
+            assertEquals(32, consumerSide.capacity());
+            BufferStress.run(producerSide, consumerSide, 1, 1, 100_000, 8, true);
+            assertEquals(100_000, producerSide.producedCount());
+            assertEquals(100_000, consumerSide.consumedCount());
+        }
+    }
+
+    // Cada región temporal tiene su archivo, distinto del de SharedMemoryChannel, y se borra al cerrarla
+    @Test
+    void temporaryRegionUsesItsOwnFileAndDeletesIt() throws IOException {
+        SharedMemoryBuffer first = temporary(4);
+        SharedMemoryBuffer second = temporary(4);
+        Path file = first.file();
+        assertNotEquals(SharedMemoryBuffer.defaultFile(), file);
+        assertNotEquals(second.file(), file);
+        assertTrue(Files.exists(file));
+
+        first.close();
+        first.close();
+        second.close();
+        assertFalse(Files.exists(file));
+        assertFalse(Files.exists(second.file()));
+    }
+
+    @Test
+    void observerCannotWrite() throws IOException {
+        try (SharedMemoryBuffer buffer = temporary(4);
+             SharedMemoryBuffer observer = SharedMemoryBuffer.observe(buffer.file())) {
+            assertTrue(buffer.offer(5));
+            assertEquals(1, observer.size());
+            assertThrows(IllegalStateException.class, () -> observer.offer(6));
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package org.example.engine.producerconsumer;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// El contrato común de los buffers está en BufferContractTest
+class WorkStealingBufferTest {
+
+    private static WorkStealingBuffer buffer(int capacity, int queues) {
+        return new WorkStealingBuffer(capacity, queues, WaitStrategy.YIELD, ProducerConsumerListener.NONE);
+    }
+
+    // Más colas que consumidores: las colas sin dueño solo se vacían robando
+    @Test
+    void orphanQueuesAreDrainedByStealingUnderContention() throws InterruptedException {
+        WorkStealingBuffer buffer = buffer(64, 4);
+        BufferStress.run(buffer, 4, 2, 50_000, 4, false);
+        assertTrue(buffer.stolenFraction() > 0.2, "fracción robada: " + buffer.stolenFraction());
+    }
+
+    // Con una sola cola es FIFO como MpmcArrayBuffer
+    @Test
+    void singleQueueKeepsEachProducersOrder() throws InterruptedException {
+        BufferStress.run(buffer(16, 1), 3, 1, 50_000, 1, true);
+    }
+
+    // Más colas pedidas que capacidad: colas de una celda
+    @Test
+    void singleCellQueues() throws InterruptedException {
+        WorkStealingBuffer buffer = buffer(3, 8);
+        assertEquals(3, buffer.queueCount());
+        BufferStress.run(buffer, 2, 3, 20_000, 1, false);
+    }
+
+    @Test
+    void consumerStealsHalfOfAnotherQueue() throws InterruptedException {
+        WorkStealingBuffer buffer = buffer(8, 2);
+        for (int i = 1; i <= 8; i++) {
+            assertTrue(buffer.offer(i));
+        }
+        assertFalse(buffer.offer(9));
+
+        // Un solo consumidor: se queda con la cola 0 y le roba a la 1
+        int[] taken = new int[8];
+        int[] count = new int[1];
+        Thread consumer = Thread.ofPlatform().start(() -> {
+            try {
+                int[] target = new int[8];
+                while (count[0] < 8) {
+                    int n = buffer.drainTo(target, 8);
+                    System.arraycopy(target, 0, taken, count[0], n);
+                    count[0] += n;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        consumer.join(10_000);
+        assertFalse(consumer.isAlive());
+
+        Arrays.sort(taken);
+        assertArrayEquals(new int[]{1, 2, 3, 4, 5, 6, 7, 8}, taken);
+        assertEquals(0.5, buffer.stolenFraction(), 1e-9);
+        assertEquals(0, buffer.size());
+    }
+}
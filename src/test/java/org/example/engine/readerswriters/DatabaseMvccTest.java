@@ -0,0 +1,106 @@
+package org.example.engine.readerswriters;
+
+import org.example.engine.virtualtime.VirtualClock;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Lectores y escritores como hilos de un VirtualClock: una lectura tarda 1-3 s y una
+// escritura 2-5 s de tiempo simulado, así se sabe qué versión tiene fijada cada lector
+class DatabaseMvccTest {
+    private static final int KEY = 3;
+
+    private final VirtualClock clock = new VirtualClock(1);
+    private final Database database = new Database(ReadersWritersListener.NONE, clock);
+
+    private interface Action {
+        void run() throws InterruptedException;
+    }
+
+    private void start(Action action) {
+        clock.newThread(null, () -> {
+            try {
+                action.run();
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        }).start();
+    }
+
+    @BeforeEach
+    void multiVersion() {
+        database.setPolicy(LockPolicy.MVCC);
+        database.reset();
+        start(() -> database.write(0, KEY, "v1"));
+        clock.advance(10_000);
+    }
+
+    @Test
+    void pinnedReaderKeepsItsVersionWhileWritersCommit() {
+        List<String> values = new CopyOnWriteArrayList<>();
+        start(() -> values.add(database.read(0, KEY)));
+        start(() -> {
+            clock.pause(200);
+            database.write(1, KEY, "v2");
+        });
+        start(() -> {
+            clock.pause(300);
+            database.write(2, KEY, "v3");
+        });
+
+        // El primer escritor ya publicó v2 y el lector sigue leyendo v1
+        clock.advance(500);
+        assertTrue(values.isEmpty());
+        assertEquals(1, database.retainedVersions());
+        assertTrue(database.retainedBytes() > 0);
+
+        clock.advance(20_000);
+        assertEquals(List.of("v1"), values);
+        assertEquals(0, clock.liveThreads());
+
+        start(() -> values.add(database.read(0, KEY)));
+        clock.advance(10_000);
+        assertEquals(List.of("v1", "v3"), values);
+    }
+
+    // La versión reemplazada se libera cuando la suelta el último lector que la tenía fijada
+    @Test
+    void replacedVersionsAreFreedAfterTheLastUnpin() {
+        int readers = 5;
+        for (int i = 0; i < readers; i++) {
+            int reader = i;
+            start(() -> database.read(reader, KEY));
+        }
+        start(() -> {
+            clock.pause(100);
+            database.write(0, KEY, "v2");
+        });
+        clock.advance(500);
+        assertEquals(1, database.retainedVersions());
+
+        clock.advance(20_000);
+        assertEquals(0, database.retainedVersions());
+        assertEquals(0, database.retainedBytes());
+        assertEquals(1, database.peakRetainedVersions());
+        assertEquals(2, database.publishedVersions());
+    }
+
+    // Sin lectores fijando nada, cada escritura libera la versión anterior enseguida
+    @Test
+    void unpinnedVersionsAreFreedImmediately() {
+        start(() -> {
+            for (int i = 2; i <= 5; i++) {
+                database.write(0, KEY, "v" + i);
+            }
+        });
+        clock.advance(60_000);
+        assertEquals(0, database.retainedVersions());
+        assertEquals(0, database.peakRetainedVersions());
+        assertEquals(5, database.publishedVersions());
+    }
+}
@@ -0,0 +1,112 @@
+package org.example.engine.readerswriters;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class EvictionPolicyTest {
+
+    private static CacheEntry entry(int key) {
+        return new CacheEntry("v" + key, Long.MAX_VALUE);
+    }
+
+    @Test
+    void lruEvictsTheLeastRecentlyUsed() {
+        LruPolicy lru = new LruPolicy(2);
+        assertEquals(0, lru.put(1, entry(1)));
+        assertEquals(0, lru.put(2, entry(2)));
+        assertNotNull(lru.get(1)); // 2 pasa a ser la más vieja
+        assertEquals(1, lru.put(3, entry(3)));
+
+        assertNull(lru.get(2));
+        assertNotNull(lru.get(1));
+        assertNotNull(lru.get(3));
+        assertEquals(2, lru.size());
+    }
+
+    @Test
+    void lruReplacingAKeyEvictsNothing() {
+        LruPolicy lru = new LruPolicy(2);
+        lru.put(1, entry(1));
+        lru.put(2, entry(2));
+        assertEquals(0, lru.put(1, new CacheEntry("otro", Long.MAX_VALUE)));
+        assertEquals("otro", lru.get(1).value());
+        lru.remove(2);
+        assertEquals(1, lru.size());
+    }
+
+    // Una ráfaga de claves pedidas una sola vez pasa por la ventana y se descarta: la zona
+    // principal conserva a las que ya se pidieron varias veces
+    @Test
+    void tinyLfuRejectsOneHitWondersAndAdmitsHotKeys() {
+        WindowTinyLfuPolicy policy = new WindowTinyLfuPolicy(100); // Ventana 1, principal 99
+        for (int key = 1; key <= 100; key++) {
+            assertEquals(0, policy.put(key, entry(key)));
+        }
+        for (int round = 0; round < 3; round++) {
+            for (int key = 1; key <= 99; key++) {
+                assertNotNull(policy.get(key), "clave " + key);
+            }
+        }
+
+        for (int key = 1000; key < 1050; key++) {
+            policy.put(key, entry(key));
+        }
+        assertEquals(100, policy.size());
+        for (int key = 1; key <= 99; key++) {
+            assertNotNull(policy.get(key), "clave caliente " + key);
+        }
+        assertNull(policy.get(1000));
+
+        // Una clave nueva pero pedida más que las de la zona principal sí entra
+        for (int i = 0; i < 10; i++) {
+            policy.get(2000);
+        }
+        policy.put(2000, entry(2000));
+        assertEquals(1, policy.put(2001, entry(2001))); // Saca a 2000 de la ventana
+        assertNotNull(policy.get(2000));
+        assertEquals(100, policy.size());
+    }
+
+    // Con la misma ráfaga un LRU pierde todas las claves calientes
+    @Test
+    void lruLosesHotKeysToAScan() {
+        LruPolicy lru = new LruPolicy(100);
+        for (int key = 1; key <= 100; key++) {
+            lru.put(key, entry(key));
+            lru.get(key);
+            lru.get(key);
+        }
+        for (int key = 1000; key < 1100; key++) {
+            lru.put(key, entry(key));
+        }
+        for (int key = 1; key <= 100; key++) {
+            assertNull(lru.get(key));
+        }
+    }
+
+    @Test
+    void frequencySketchCountsSaturatesAndAges() {
+        FrequencySketch sketch = new FrequencySketch(100);
+        for (int i = 0; i < 5; i++) {
+            sketch.increment(7);
+        }
+        assertEquals(5, sketch.frequency(7));
+        assertEquals(0, sketch.frequency(8));
+        for (int i = 0; i < 20; i++) {
+            sketch.increment(7);
+        }
+        assertEquals(15, sketch.frequency(7));
+
+        // Capacidad 1: cada 10 accesos los contadores se dividen por dos
+        FrequencySketch small = new FrequencySketch(1);
+        for (int i = 0; i < 9; i++) {
+            small.increment(3);
+        }
+        assertEquals(9, small.frequency(3));
+        small.increment(3);
+        assertEquals(5, small.frequency(3));
+    }
+}
@@ -0,0 +1,152 @@
+package org.example.engine.readerswriters;
+
+import org.example.engine.virtualtime.VirtualClock;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+// Los actores corren como hilos de un VirtualClock: las lecturas (1-3 s) y escrituras
+// (2-5 s) de la base pasan en tiempo simulado y el orden de los eventos es reproducible
+class ReadThroughCacheTest {
+    private static final int KEY = 3;
+
+    private final VirtualClock clock = new VirtualClock(1);
+    private final Database database = new Database(ReadersWritersListener.NONE, clock);
+
+    private ReadThroughCache cache(long ttlMillis, CacheWritePolicy writePolicy) {
+        return new ReadThroughCache(database, ReadersWritersListener.NONE, clock, CacheEviction.LRU, 16,
+                ttlMillis, writePolicy);
+    }
+
+    private interface Action {
+        void run() throws InterruptedException;
+    }
+
+    private void start(Action action) {
+        clock.newThread(null, () -> {
+            try {
+                action.run();
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        }).start();
+    }
+
+    @Test
+    void concurrentMissesOnOneKeyLoadItOnce() {
+        ReadThroughCache cache = cache(0, CacheWritePolicy.INVALIDATE);
+        start(() -> database.write(0, KEY, "v1"));
+        clock.advance(10_000);
+
+        int readers = 10;
+        List<String> values = new CopyOnWriteArrayList<>();
+        for (int i = 0; i < readers; i++) {
+            int reader = i;
+            start(() -> values.add(cache.read(reader, KEY)));
+        }
+        clock.advance(10_000);
+
+        assertEquals(readers, values.size());
+        values.forEach(value -> assertEquals("v1", value));
+        assertEquals(1, database.shardReads(0));
+        assertEquals(1, cache.misses());
+        assertEquals(readers - 1, cache.coalesced());
+        assertEquals(0, clock.liveThreads());
+    }
+
+    // Con MVCC la escritura no espera a la lectura en curso: la carga vuelve con el valor
+    // viejo, se lo entrega a su lector pero no lo guarda
+    @Test
+    void writeDuringALoadKeepsTheOldValueOutOfTheCache() {
+        database.setPolicy(LockPolicy.MVCC);
+        database.reset();
+        ReadThroughCache cache = cache(0, CacheWritePolicy.INVALIDATE);
+        start(() -> database.write(0, KEY, "v1"));
+        clock.advance(10_000);
+
+        List<String> values = new CopyOnWriteArrayList<>();
+        start(() -> values.add(cache.read(0, KEY)));
+        start(() -> {
+            clock.pause(500);
+            cache.write(0, KEY, "v2");
+        });
+        clock.advance(10_000);
+        assertEquals(List.of("v1"), values);
+        assertEquals(0, cache.size());
+
+        start(() -> values.add(cache.read(0, KEY)));
+        clock.advance(10_000);
+        assertEquals(List.of("v1", "v2"), values);
+        assertEquals(2, cache.misses());
+        assertEquals(0, cache.hits());
+    }
+
+    // Con escritura directa el valor nuevo ya está en la caché y la carga vieja no lo pisa
+    @Test
+    void staleLoadDoesNotOverwriteAWriteThroughValue() {
+        database.setPolicy(LockPolicy.MVCC);
+        database.reset();
+        ReadThroughCache cache = cache(0, CacheWritePolicy.WRITE_THROUGH);
+        start(() -> database.write(0, KEY, "v1"));
+        clock.advance(10_000);
+
+        List<String> values = new CopyOnWriteArrayList<>();
+        start(() -> values.add(cache.read(0, KEY)));
+        start(() -> {
+            clock.pause(500);
+            cache.write(0, KEY, "v2");
+        });
+        clock.advance(10_000);
+        start(() -> values.add(cache.read(0, KEY)));
+        clock.advance(10_000);
+
+        assertEquals(List.of("v1", "v2"), values);
+        assertEquals(1, cache.misses());
+        assertEquals(1, cache.hits());
+    }
+
+    @Test
+    void entriesExpireAfterTheirTtl() {
+        ReadThroughCache cache = cache(5000, CacheWritePolicy.INVALIDATE);
+        List<String> values = new CopyOnWriteArrayList<>();
+        start(() -> {
+            values.add(cache.read(0, KEY));
+            clock.pause(4000);
+            values.add(cache.read(0, KEY)); // Menos de 5 s desde la carga
+            clock.pause(2000);
+            values.add(cache.read(0, KEY)); // Vencida
+        });
+        clock.advance(30_000);
+
+        assertEquals(3, values.size());
+        assertNull(values.get(0));
+        assertEquals(1, cache.hits());
+        assertEquals(2, cache.misses());
+        assertEquals(1, cache.expirations());
+        assertEquals(2, database.shardReads(0));
+    }
+
+    @Test
+    void writesInvalidateTheKey() {
+        ReadThroughCache cache = cache(0, CacheWritePolicy.INVALIDATE);
+        List<String> values = new CopyOnWriteArrayList<>();
+        start(() -> {
+            values.add(cache.read(0, KEY));
+            cache.write(0, KEY, "v1");
+            values.add(cache.read(0, KEY));
+            values.add(cache.read(0, KEY));
+        });
+        clock.advance(30_000);
+
+        assertEquals(3, values.size());
+        assertNull(values.get(0));
+        assertEquals("v1", values.get(1));
+        assertEquals("v1", values.get(2));
+        assertEquals(2, cache.misses());
+        assertEquals(1, cache.hits());
+    }
+}
@@ -0,0 +1,104 @@
+package org.example.engine.readerswriters;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class VersionedStoreTest {
+
+    @Test
+    void appendPublishesANewVersion() {
+        VersionedStore store = new VersionedStore("inicial");
+        assertEquals(1, store.version());
+        assertEquals(2, store.append("a"));
+        assertEquals(3, store.append("b"));
+        VersionedStore.Snapshot snapshot = store.snapshot();
+        assertEquals(3, snapshot.size());
+        assertEquals("inicial\na\nb\n", snapshot.appendTo(new StringBuilder(), 0, 3).toString());
+    }
+
+    // Una instantánea fija su versión: lo que se agrega después no aparece en ella, ni
+    // siquiera cuando el directorio de bloques se copia para crecer
+    @Test
+    void snapshotKeepsItsVersionWhileTheStoreGrows() {
+        VersionedStore store = new VersionedStore("e0");
+        VersionedStore.Snapshot pinned = store.snapshot();
+        for (int i = 1; i < 100_000; i++) {
+            store.append("e" + i);
+        }
+        VersionedStore.Snapshot latest = store.snapshot();
+
+        assertEquals(1, pinned.size());
+        assertEquals("e0", pinned.get(0));
+        assertThrows(IndexOutOfBoundsException.class, () -> pinned.get(1));
+        assertEquals(100_000, latest.size());
+        for (int i = 0; i < latest.size(); i++) {
+            assertEquals("e" + i, latest.get(i));
+        }
+        assertTrue(latest.continues(pinned));
+        assertFalse(pinned.continues(latest));
+        assertFalse(latest.continues(new VersionedStore("e0").snapshot()));
+        assertFalse(latest.continues(null));
+    }
+
+    // Lectores que toman instantáneas mientras dos escritores agregan: cada instantánea ve
+    // un prefijo completo (sin huecos) y las versiones que ve un mismo lector no retroceden
+    @Test
+    void readsOverlappingWritesSeeCompletePrefixes() throws InterruptedException {
+        VersionedStore store = new VersionedStore("inicial");
+        int writers = 2;
+        int perWriter = 50_000;
+        List<Thread> threads = new ArrayList<>();
+        for (int w = 0; w < writers; w++) {
+            String prefix = "w" + w + "-";
+            threads.add(Thread.ofPlatform().start(() -> {
+                for (int i = 0; i < perWriter; i++) {
+                    store.append(prefix + i);
+                }
+            }));
+        }
+        AtomicReference<String> failure = new AtomicReference<>();
+        List<Thread> readers = new ArrayList<>();
+        for (int r = 0; r < 2; r++) {
+            readers.add(Thread.ofPlatform().start(() -> {
+                VersionedStore.Snapshot previous = null;
+                int[] next = new int[writers];
+                int checked = 1;
+                while (failure.get() == null) {
+                    VersionedStore.Snapshot snapshot = store.snapshot();
+                    if (previous != null && !snapshot.continues(previous)) {
+                        failure.compareAndSet(null, "la versión retrocedió a " + snapshot.size());
+                    }
+                    for (; checked < snapshot.size(); checked++) {
+                        String entry = snapshot.get(checked);
+                        int writer = entry == null ? -1 : entry.charAt(1) - '0';
+                        if (writer < 0 || writer >= writers
+                                || !entry.equals("w" + writer + "-" + next[writer]++)) {
+                            failure.compareAndSet(null, "entrada " + checked + ": " + entry);
+                        }
+                    }
+                    previous = snapshot;
+                    if (snapshot.size() == 1 + writers * perWriter) {
+                        return;
+                    }
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        for (Thread reader : readers) {
+            reader.join(30_000);
+        }
+        assertNull(failure.get());
+        assertEquals(1 + writers * perWriter, store.version());
+    }
+}
@@ -0,0 +1,154 @@
+package org.example.engine.trace;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TraceWriterTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void recordsRoundTripThroughTheReader() throws IOException {
+        Path file = directory.resolve("traza.bin");
+        try (TraceWriter writer = new TraceWriter(file, 7, new int[]{3, 2, 10}, 100)) {
+            for (int i = 0; i < 50; i++) {
+                writer.record(1 + i % 5, i, -i, i * 1000);
+            }
+            assertEquals(50, writer.recordCount());
+            assertEquals(0, writer.droppedCount());
+        }
+        try (TraceReader reader = new TraceReader(file)) {
+            assertEquals(7, reader.scenario());
+            assertEquals(3, reader.param(0));
+            assertEquals(2, reader.param(1));
+            assertEquals(10, reader.param(2));
+            assertEquals(50, reader.size());
+            long previous = 0;
+            for (int i = 0; i < 50; i++) {
+                assertEquals(1 + i % 5, reader.code(i));
+                assertEquals(i, reader.a(i));
+                assertEquals(-i, reader.b(i));
+                assertEquals(i * 1000, reader.c(i));
+                assertTrue(reader.time(i) >= previous);
+                previous = reader.time(i);
+            }
+        }
+    }
+
+    @Test
+    void recordsPastTheLimitAreDroppedAndCounted() throws IOException {
+        Path file = directory.resolve("llena.bin");
+        try (TraceWriter writer = new TraceWriter(file, 1, new int[0], 10)) {
+            for (int i = 0; i < 25; i++) {
+                writer.record(1, i, 0, 0);
+            }
+            assertEquals(10, writer.recordCount());
+            assertEquals(15, writer.droppedCount());
+        }
+        try (TraceReader reader = new TraceReader(file)) {
+            assertEquals(10, reader.size());
+            assertEquals(9, reader.a(9));
+        }
+    }
+
+    // El archivo crece de a segmento: una corrida corta con el límite por defecto (16 M
+    // registros, 384 MB) no reserva más que su primer segmento
+    @Test
+    void fileGrowsBySegment() throws IOException {
+        Path file = directory.resolve("corta.bin");
+        long segmentBytes = (1L << TraceWriter.SEGMENT_SHIFT) * TraceWriter.RECORD_BYTES;
+        try (TraceWriter writer = new TraceWriter(file, 1, new int[0])) {
+            writer.record(1, 0, 0, 0);
+            assertTrue(Files.size(file) <= TraceWriter.HEADER_BYTES + segmentBytes, "tamaño: " + Files.size(file));
+            for (int i = 1; i <= 1 << TraceWriter.SEGMENT_SHIFT; i++) {
+                writer.record(2, i, 0, 0);
+            }
+            assertTrue(Files.size(file) <= TraceWriter.HEADER_BYTES + 2 * segmentBytes, "tamaño: " + Files.size(file));
+        }
+        try (TraceReader reader = new TraceReader(file)) {
+            long size = 1 + (1L << TraceWriter.SEGMENT_SHIFT);
+            assertEquals(size, reader.size());
+            assertEquals(1, reader.code(0));
+            assertEquals(2, reader.code(size - 1));
+            assertEquals(size - 1, reader.a(size - 1));
+        }
+    }
+
+    @Test
+    void concurrentWritersAreAllRecorded() throws IOException, InterruptedException {
+        Path file = directory.resolve("hilos.bin");
+        int threads = 4;
+        int perThread = 50_000;
+        try (TraceWriter writer = new TraceWriter(file, 1, new int[0])) {
+            List<Thread> workers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                workers.add(Thread.ofPlatform().start(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        writer.record(1 + thread, i, 0, 0);
+                    }
+                }));
+            }
+            for (Thread worker : workers) {
+                worker.join();
+            }
+        }
+        long[] perCode = new long[threads + 1];
+        try (TraceReader reader = new TraceReader(file)) {
+            assertEquals((long) threads * perThread, reader.size());
+            for (long i = 0; i < reader.size(); i++) {
+                perCode[reader.code(i)]++;
+            }
+        }
+        for (int t = 1; t <= threads; t++) {
+            assertEquals(perThread, perCode[t]);
+        }
+    }
+
+    @Test
+    void rejectsFilesThatAreNotTraces() throws IOException {
+        Path file = Files.writeString(directory.resolve("otro.txt"), "esto no es una traza, ni siquiera de cerca");
+        assertThrows(IOException.class, () -> new TraceReader(file));
+    }
+
+    // Reproducción sin pausas: el sink recibe los registros en orden y sin los vacíos
+    @Test
+    void replayerDeliversEveryRecordInOrder() throws IOException, InterruptedException {
+        Path file = directory.resolve("reproducir.bin");
+        try (TraceWriter writer = new TraceWriter(file, 1, new int[0], 1000)) {
+            for (int i = 0; i < 200; i++) {
+                writer.record(3, i, i + 1, i + 2);
+            }
+        }
+        List<int[]> events = new ArrayList<>();
+        CountDownLatch finished = new CountDownLatch(1);
+        try (TraceReader reader = new TraceReader(file)) {
+            TraceReplayer replayer = new TraceReplayer(reader,
+                    (code, a, b, c) -> events.add(new int[]{code, a, b, c}), finished::countDown);
+            replayer.setSpeed(Double.POSITIVE_INFINITY);
+            replayer.start();
+            assertTrue(finished.await(10, TimeUnit.SECONDS));
+            assertEquals(200, replayer.position());
+        }
+        assertEquals(200, events.size());
+        for (int i = 0; i < 200; i++) {
+            int[] event = events.get(i);
+            assertEquals(3, event[0]);
+            assertEquals(i, event[1]);
+            assertEquals(i + 1, event[2]);
+            assertEquals(i + 2, event[3]);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package org.example.engine.virtualtime;
+
+import org.example.engine.Pacer;
+import org.example.engine.metrics.Histogram;
+import org.example.engine.metrics.MetricsRegistry;
+import org.example.engine.philosophers.ForkStrategy;
+import org.example.engine.philosophers.PhilosophersListener;
+import org.example.engine.philosophers.PhilosophersSimulation;
+import org.example.engine.producerconsumer.ProducerConsumerListener;
+import org.example.engine.producerconsumer.ProducerConsumerSimulation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class VirtualClockTest {
+    private int sampleEvery;
+
+    // Las ventanas de muestreo son de tiempo real: en tiempo virtual se mide todo
+    @BeforeEach
+    void measureEverything() {
+        sampleEvery = MetricsRegistry.sampleEvery();
+        MetricsRegistry.setSampleEvery(1);
+    }
+
+    @AfterEach
+    void restoreSampling() {
+        MetricsRegistry.setSampleEvery(sampleEvery);
+    }
+
+    @Test
+    void pausesOnlyEndWhenTheClockReachesThem() throws InterruptedException {
+        VirtualClock clock = new VirtualClock(1);
+        AtomicInteger ticks = new AtomicInteger();
+        Thread thread = clock.newThread(null, () -> {
+            try {
+                while (true) {
+                    clock.pause(1000);
+                    ticks.incrementAndGet();
+                }
+            } catch (InterruptedException e) {
+                // Fin
+            }
+        });
+        thread.start();
+
+        clock.advance(3500);
+        assertEquals(3, ticks.get());
+        assertEquals(3_500_000_000L, clock.elapsedNanos());
+        clock.advance(500);
+        assertEquals(4, ticks.get());
+
+        thread.interrupt();
+        clock.advance(0);
+        assertEquals(0, clock.liveThreads());
+    }
+
+    // Un productor rápido contra un consumidor de 1 s en un buffer de 1 lugar: el productor
+    // pasa bloqueado en el semáforo lo que tarda cada consumo, sin que pase el tiempo real
+    @Test
+    void realSemaphoreContentionIsMeasuredInSimulatedTime() {
+        VirtualClock clock = new VirtualClock(1);
+        ProducerConsumerSimulation simulation = new ProducerConsumerSimulation(1, ProducerConsumerListener.NONE, clock);
+        simulation.setConsumerDelay(() -> 1000);
+
+        long start = System.nanoTime();
+        clock.run(simulation, 60_000);
+        long wallNanos = System.nanoTime() - start;
+
+        assertTrue(simulation.consumedCount() >= 59 && simulation.consumedCount() <= 61,
+                "consumidos: " + simulation.consumedCount());
+        Histogram producerWait = simulation.producerWait();
+        assertTrue(producerWait.percentile(50) >= 900_000_000L && producerWait.max() <= 1_100_000_000L,
+                "espera del productor p50=" + producerWait.percentile(50) + " máx=" + producerWait.max());
+        assertTrue(wallNanos < 10_000_000_000L, "un minuto simulado tardó " + wallNanos / 1_000_000 + " ms reales");
+    }
+
+    @Test
+    void sameSeedRepeatsTheRun() {
+        assertEquals(philosophersRun(7), philosophersRun(7));
+    }
+
+    // Con espera aleatoria el resultado depende del azar del reloj
+    private static String philosophersRun(long seed) {
+        VirtualClock clock = new VirtualClock(seed);
+        PhilosophersSimulation simulation = new PhilosophersSimulation(20, PhilosophersListener.NONE, clock);
+        simulation.setStrategy(ForkStrategy.BACKOFF);
+        clock.run(simulation, 30_000);
+        return simulation.mealCount() + " comidas, " + simulation.stats().retries() + " reintentos, "
+                + simulation.stats().hungerWait().max() + " ns de hambre máxima, " + clock.events() + " eventos";
+    }
+
+    @Test
+    void rejectsASimulationOnAnotherPacer() {
+        VirtualClock clock = new VirtualClock(1);
+        PhilosophersSimulation simulation = new PhilosophersSimulation(5, PhilosophersListener.NONE, Pacer.NONE);
+        assertThrows(IllegalArgumentException.class, () -> clock.run(simulation, 1000));
+    }
+}